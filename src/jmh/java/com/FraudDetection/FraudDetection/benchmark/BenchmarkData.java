@@ -0,0 +1,150 @@
+package com.FraudDetection.FraudDetection.benchmark;
+
+import com.FraudDetection.FraudDetection.entity.Account;
+import com.FraudDetection.FraudDetection.entity.AccountStatus;
+import com.FraudDetection.FraudDetection.entity.Customer;
+import com.FraudDetection.FraudDetection.entity.CustomerStatus;
+import com.FraudDetection.FraudDetection.entity.RiskLevel;
+import com.FraudDetection.FraudDetection.entity.Transaction;
+import com.FraudDetection.FraudDetection.entity.TransactionStatus;
+import com.FraudDetection.FraudDetection.entity.TransactionType;
+import com.FraudDetection.FraudDetection.service.FraudDetectionResult;
+import com.FraudDetection.FraudDetection.service.RuleResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded synthetic accounts, account histories and incoming transactions. Most incoming
+ * transactions look like the account's recent activity; a share of them come from a city
+ * the account could not have reached since its last transaction, or after a burst.
+ */
+final class BenchmarkData {
+    
+    static final String[] CITIES = {
+        "New York, NY, USA", "Chicago, IL, USA", "Miami, FL, USA", "Los Angeles, CA, USA",
+        "Toronto, ON, CANADA", "London, UK", "Paris, FRANCE", "Tokyo, JAPAN", "Lagos, NIGERIA"
+    };
+    
+    private static final TransactionType[] TYPES = {
+        TransactionType.POS_PURCHASE, TransactionType.ONLINE_PAYMENT, TransactionType.CONTACTLESS_PAYMENT,
+        TransactionType.ATM_WITHDRAWAL, TransactionType.TRANSFER, TransactionType.INTERNATIONAL_TRANSFER
+    };
+    
+    private static final String[] RULES = {"VELOCITY_RULE", "GEO_LOCATION_RULE", "AMOUNT_RULE", "PATTERN_RULE"};
+    
+    final LocalDateTime now = LocalDateTime.of(2025, 6, 2, 14, 30);
+    final Map<String, Account> accounts = new HashMap<>();
+    final Map<String, List<Transaction>> history = new HashMap<>();
+    final Transaction[] incoming;
+    
+    private final SplittableRandom random;
+    private long nextReference;
+    
+    /**
+     * @param accountCount     accounts to create
+     * @param historyPerDay    average transactions per account over the last day
+     * @param suspiciousShare  share of incoming transactions that should trigger a rule, 0-1
+     */
+    BenchmarkData(int accountCount, int historyPerDay, double suspiciousShare, long seed) {
+        this.random = new SplittableRandom(seed);
+        this.incoming = new Transaction[accountCount];
+        
+        for (int i = 0; i < accountCount; i++) {
+            String accountNumber = String.format("ACC%08d", i);
+            accounts.put(accountNumber, account(i, accountNumber));
+            
+            String homeCity = CITIES[random.nextInt(5)];
+            List<Transaction> past = new ArrayList<>();
+            int count = 1 + random.nextInt(2 * historyPerDay);
+            LocalDateTime timestamp = now.minusHours(24);
+            for (int t = 0; t < count; t++) {
+                timestamp = timestamp.plusSeconds(1 + random.nextLong(24 * 3600 / count));
+                past.add(transaction(accountNumber, timestamp, amount(), homeCity));
+            }
+            
+            boolean suspicious = random.nextDouble() < suspiciousShare;
+            if (suspicious && random.nextBoolean()) {
+                // Burst of large transactions just before the incoming one
+                for (int b = 0; b < 12; b++) {
+                    past.add(transaction(accountNumber, now.minusMinutes(30 - 2 * b), BigDecimal.valueOf(1500), homeCity));
+                }
+            }
+            history.put(accountNumber, past);
+            
+            String city = suspicious ? CITIES[5 + random.nextInt(CITIES.length - 5)] : homeCity;
+            incoming[i] = transaction(accountNumber, now, amount(), city);
+        }
+    }
+    
+    /**
+     * Rule results as the evaluator would hand them to scoring and the decision engine,
+     * with between none and all rules triggered.
+     */
+    FraudDetectionResult[] results(int count) {
+        FraudDetectionResult[] results = new FraudDetectionResult[count];
+        for (int i = 0; i < count; i++) {
+            FraudDetectionResult result = FraudDetectionResult.builder()
+                .transactionId(incoming[i % incoming.length].getTransactionReference())
+                .processedAt(now)
+                .riskScore(BigDecimal.valueOf(random.nextInt(10_000), 2))
+                .build();
+            
+            for (String rule : RULES) {
+                result.addRuleResult(random.nextInt(4) == 0
+                    ? RuleResult.triggered(rule, BigDecimal.valueOf(30 + random.nextInt(70)), "Synthetic trigger")
+                    : RuleResult.notTriggered(rule));
+            }
+            results[i] = result;
+        }
+        return results;
+    }
+    
+    private Account account(int index, String accountNumber) {
+        Customer customer = Customer.builder()
+            .id((long) index)
+            .customerNumber(String.format("CUS%08d", index))
+            .status(CustomerStatus.ACTIVE)
+            .riskLevel(RiskLevel.values()[random.nextInt(RiskLevel.values().length)])
+            .customerSince(now.minusDays(random.nextInt(3650)))
+            .lastLogin(now.minusHours(random.nextInt(72)))
+            .build();
+        
+        return Account.builder()
+            .id((long) index)
+            .accountNumber(accountNumber)
+            .customer(customer)
+            .status(AccountStatus.ACTIVE)
+            .riskLevel(RiskLevel.values()[random.nextInt(RiskLevel.values().length)])
+            .flaggedForMonitoring(random.nextInt(50) == 0)
+            .currency("USD")
+            .openedAt(now.minusDays(random.nextInt(3650)))
+            .build();
+    }
+    
+    private Transaction transaction(String accountNumber, LocalDateTime timestamp, BigDecimal amount, String location) {
+        return Transaction.builder()
+            .id(++nextReference)
+            .transactionReference("TXN" + nextReference)
+            .accountId(accountNumber)
+            .amount(amount)
+            .currency("USD")
+            .merchantId("MERCH" + random.nextInt(500))
+            .transactionType(TYPES[random.nextInt(TYPES.length)])
+            .status(TransactionStatus.PENDING)
+            .timestamp(timestamp)
+            .location(location)
+            .deviceId("DEV" + random.nextInt(1000))
+            .build();
+    }
+    
+    private BigDecimal amount() {
+        // Mostly small, with a long tail
+        return BigDecimal.valueOf(Math.round(Math.exp(2 + 3 * random.nextDouble()) * 100), 2);
+    }
+}
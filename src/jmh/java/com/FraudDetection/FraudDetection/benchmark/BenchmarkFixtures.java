@@ -0,0 +1,52 @@
+package com.FraudDetection.FraudDetection.benchmark;
+
+import com.FraudDetection.FraudDetection.repository.AccountRepository;
+import com.FraudDetection.FraudDetection.repository.AccountStaticRiskRepository;
+import com.FraudDetection.FraudDetection.repository.TransactionRepository;
+import com.FraudDetection.FraudDetection.service.FraudDecisionEngine;
+import com.FraudDetection.FraudDetection.service.RiskScoringService;
+import com.FraudDetection.FraudDetection.service.geo.Gazetteer;
+import com.FraudDetection.FraudDetection.service.geo.TrajectoryCache;
+import com.FraudDetection.FraudDetection.service.model.ModelScoringEngine;
+import com.FraudDetection.FraudDetection.service.profile.RiskProfileCache;
+import com.FraudDetection.FraudDetection.service.profile.StaticRiskStore;
+import com.FraudDetection.FraudDetection.service.rules.GeoLocationFraudRule;
+import com.FraudDetection.FraudDetection.service.rules.RuleEvaluationContextFactory;
+import com.FraudDetection.FraudDetection.service.rules.RuleRegistry;
+import com.FraudDetection.FraudDetection.service.rules.VelocityFraudRule;
+import com.FraudDetection.FraudDetection.service.velocity.DistinctCounterStore;
+import com.FraudDetection.FraudDetection.service.velocity.VelocityCounterStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * The rule, scoring and decision beans wired as in the application, with their
+ * {@code @Value} defaults, over in-memory repositories. No JPA, web or scheduling.
+ */
+final class BenchmarkFixtures {
+    
+    private BenchmarkFixtures() {
+    }
+    
+    static AnnotationConfigApplicationContext start(BenchmarkData data) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+        
+        context.registerBean(TransactionRepository.class, () -> StubRepositories.transactions(data.history));
+        context.registerBean(AccountRepository.class, () -> StubRepositories.accounts(data.accounts));
+        context.registerBean(AccountStaticRiskRepository.class, StubRepositories::staticRisk);
+        context.registerBean(ObjectMapper.class, () -> new ObjectMapper());
+        context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        
+        context.register(VelocityCounterStore.class, DistinctCounterStore.class, Gazetteer.class,
+            TrajectoryCache.class, VelocityFraudRule.class, GeoLocationFraudRule.class, RuleRegistry.class,
+            RuleEvaluationContextFactory.class, RiskProfileCache.class, StaticRiskStore.class,
+            ModelScoringEngine.class, RiskScoringService.class, FraudDecisionEngine.class);
+        
+        context.refresh();
+        return context;
+    }
+}
@@ -0,0 +1,49 @@
+package com.FraudDetection.FraudDetection.benchmark;
+
+import com.FraudDetection.FraudDetection.service.FraudDecision;
+import com.FraudDetection.FraudDetection.service.FraudDecisionEngine;
+import com.FraudDetection.FraudDetection.service.FraudDetectionResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * Decisions over rule results spread across the approve, review and reject bands.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DecisionEngineBenchmark {
+    
+    private AnnotationConfigApplicationContext context;
+    private FraudDecisionEngine decisionEngine;
+    private FraudDetectionResult[] results;
+    private int next;
+    
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(16, 5, 0.1, 42);
+        context = BenchmarkFixtures.start(data);
+        decisionEngine = context.getBean(FraudDecisionEngine.class);
+        results = data.results(4096);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public FraudDecision makeDecision() {
+        FraudDetectionResult result = results[next];
+        next = next + 1 < results.length ? next + 1 : 0;
+        return decisionEngine.makeDecision(result);
+    }
+}
@@ -0,0 +1,53 @@
+package com.FraudDetection.FraudDetection.benchmark;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the benchmarks twice: throughput in ops/s, then average time in ns/op with the GC
+ * profiler for allocated bytes per operation ({@code gc.alloc.rate.norm}). Takes the usual
+ * JMH command line; passing {@code -bm} runs only the given modes.
+ *
+ * <pre>
+ * mvn -Pbenchmarks test-compile exec:exec
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.args="RuleBenchmark -p historyPerDay=50"
+ * </pre>
+ */
+public final class FraudBenchmarks {
+    
+    private FraudBenchmarks() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList()) {
+            Main.main(args);
+            return;
+        }
+        
+        if (!commandLine.getBenchModes().isEmpty()) {
+            new Runner(commandLine).run();
+            return;
+        }
+        
+        new Runner(new OptionsBuilder().parent(commandLine)
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.SECONDS)
+            .build()).run();
+        
+        ChainedOptionsBuilder averageTime = new OptionsBuilder().parent(commandLine)
+            .mode(Mode.AverageTime)
+            .timeUnit(TimeUnit.NANOSECONDS);
+        if (commandLine.getProfilers().isEmpty()) {
+            averageTime.addProfiler(GCProfiler.class);
+        }
+        new Runner(averageTime.build()).run();
+    }
+}
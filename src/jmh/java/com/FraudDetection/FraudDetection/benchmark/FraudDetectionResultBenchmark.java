@@ -0,0 +1,68 @@
+package com.FraudDetection.FraudDetection.benchmark;
+
+import com.FraudDetection.FraudDetection.service.FraudDetectionResult;
+import com.FraudDetection.FraudDetection.service.RuleResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * The aggregation helpers scoring, decisions and alerts call on the rule results.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FraudDetectionResultBenchmark {
+    
+    private FraudDetectionResult[] results;
+    private int next;
+    
+    @Setup
+    public void setUp() {
+        results = new BenchmarkData(16, 5, 0.1, 42).results(4096);
+    }
+    
+    @Benchmark
+    public List<RuleResult> triggeredRuleResults() {
+        return nextResult().getTriggeredRuleResults();
+    }
+    
+    @Benchmark
+    public String triggeredRules() {
+        return nextResult().getTriggeredRules();
+    }
+    
+    @Benchmark
+    public BigDecimal totalRuleScore() {
+        return nextResult().getTotalRuleScore();
+    }
+    
+    @Benchmark
+    public BigDecimal maxRuleScore() {
+        return nextResult().getMaxRuleScore();
+    }
+    
+    @Benchmark
+    public boolean degraded() {
+        return nextResult().isDegraded();
+    }
+    
+    @Benchmark
+    public String summary() {
+        return nextResult().getSummary();
+    }
+    
+    private FraudDetectionResult nextResult() {
+        FraudDetectionResult result = results[next];
+        next = next + 1 < results.length ? next + 1 : 0;
+        return result;
+    }
+}
@@ -0,0 +1,79 @@
+package com.FraudDetection.FraudDetection.benchmark;
+
+import com.FraudDetection.FraudDetection.entity.Transaction;
+import com.FraudDetection.FraudDetection.service.FraudDetectionResult;
+import com.FraudDetection.FraudDetection.service.RiskScoringService;
+import com.FraudDetection.FraudDetection.service.rules.RuleEvaluationContext;
+import com.FraudDetection.FraudDetection.service.rules.RuleEvaluationContextFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.math.BigDecimal;
+
+/**
+ * Risk scoring with the account and customer profile served from a stub repository.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RiskScoringBenchmark {
+    
+    private AnnotationConfigApplicationContext context;
+    private RiskScoringService riskScoringService;
+    private RuleEvaluationContextFactory contextFactory;
+    private Transaction[] transactions;
+    private FraudDetectionResult[] results;
+    private RuleEvaluationContext[] ruleContexts;
+    private int next;
+    
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(4096, 5, 0.1, 42);
+        context = BenchmarkFixtures.start(data);
+        riskScoringService = context.getBean(RiskScoringService.class);
+        contextFactory = context.getBean(RuleEvaluationContextFactory.class);
+        transactions = data.incoming;
+        results = data.results(transactions.length);
+        
+        // Contexts whose profile the rules already loaded
+        ruleContexts = new RuleEvaluationContext[transactions.length];
+        for (int i = 0; i < transactions.length; i++) {
+            ruleContexts[i] = contextFactory.create(transactions[i]);
+            ruleContexts[i].getRiskProfile();
+        }
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    /**
+     * Looks up the profile itself, as scoring without a rule context does.
+     */
+    @Benchmark
+    public BigDecimal withProfileLookup() {
+        int i = advance();
+        return riskScoringService.calculateRiskScore(transactions[i], results[i]);
+    }
+    
+    @Benchmark
+    public BigDecimal withLoadedContext() {
+        int i = advance();
+        return riskScoringService.calculateRiskScore(transactions[i], results[i], ruleContexts[i]);
+    }
+    
+    private int advance() {
+        int i = next;
+        next = next + 1 < transactions.length ? next + 1 : 0;
+        return i;
+    }
+}
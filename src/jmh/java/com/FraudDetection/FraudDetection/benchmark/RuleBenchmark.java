@@ -0,0 +1,84 @@
+package com.FraudDetection.FraudDetection.benchmark;
+
+import com.FraudDetection.FraudDetection.entity.Transaction;
+import com.FraudDetection.FraudDetection.service.RuleResult;
+import com.FraudDetection.FraudDetection.service.rules.GeoLocationFraudRule;
+import com.FraudDetection.FraudDetection.service.rules.RuleEvaluationContext;
+import com.FraudDetection.FraudDetection.service.rules.RuleEvaluationContextFactory;
+import com.FraudDetection.FraudDetection.service.rules.VelocityFraudRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * Velocity and geo-location rules over in-memory account history. Each invocation gets a
+ * fresh evaluation context, so the history fetch and filtering are part of the cost.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RuleBenchmark {
+    
+    // Average transactions per account over the last day
+    @Param({"5", "50"})
+    public int historyPerDay;
+    
+    private AnnotationConfigApplicationContext context;
+    private VelocityFraudRule velocityRule;
+    private GeoLocationFraudRule geoLocationRule;
+    private RuleEvaluationContextFactory contextFactory;
+    private Transaction[] transactions;
+    private int next;
+    
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData(4096, historyPerDay, 0.1, 42);
+        context = BenchmarkFixtures.start(data);
+        velocityRule = context.getBean(VelocityFraudRule.class);
+        geoLocationRule = context.getBean(GeoLocationFraudRule.class);
+        contextFactory = context.getBean(RuleEvaluationContextFactory.class);
+        transactions = data.incoming;
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public RuleResult velocity() {
+        Transaction transaction = nextTransaction();
+        return velocityRule.evaluate(transaction, contextFactory.create(transaction));
+    }
+    
+    @Benchmark
+    public RuleResult geoLocation() {
+        Transaction transaction = nextTransaction();
+        return geoLocationRule.evaluate(transaction, contextFactory.create(transaction));
+    }
+    
+    /**
+     * Both rules sharing one context, as the evaluators run them.
+     */
+    @Benchmark
+    public RuleResult bothSharingContext() {
+        Transaction transaction = nextTransaction();
+        RuleEvaluationContext ruleContext = contextFactory.create(transaction);
+        velocityRule.evaluate(transaction, ruleContext);
+        return geoLocationRule.evaluate(transaction, ruleContext);
+    }
+    
+    private Transaction nextTransaction() {
+        Transaction transaction = transactions[next];
+        next = next + 1 < transactions.length ? next + 1 : 0;
+        return transaction;
+    }
+}
@@ -0,0 +1,85 @@
+package com.FraudDetection.FraudDetection.benchmark;
+
+import com.FraudDetection.FraudDetection.entity.Account;
+import com.FraudDetection.FraudDetection.entity.Transaction;
+import com.FraudDetection.FraudDetection.repository.AccountRepository;
+import com.FraudDetection.FraudDetection.repository.AccountStaticRiskRepository;
+import com.FraudDetection.FraudDetection.repository.TransactionRepository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Repositories answering the lookups of the scoring path from in-memory maps, so the
+ * benchmarks measure the rules and scoring rather than the database. Any other repository
+ * method throws.
+ */
+final class StubRepositories {
+    
+    private StubRepositories() {
+    }
+    
+    /**
+     * Serves account history from {@code history}, each list sorted by timestamp.
+     */
+    static TransactionRepository transactions(Map<String, List<Transaction>> history) {
+        return stub(TransactionRepository.class, (proxy, method, args) -> switch (method.getName()) {
+            case "findByAccountIdAndTimestampBetween", "findAccountHistory" ->
+                between(history.getOrDefault((String) args[0], List.of()), (LocalDateTime) args[1], (LocalDateTime) args[2]);
+            case "findFirstByAccountIdAndTimestampBeforeOrderByTimestampDesc", "findLastBefore" ->
+                latestBefore(history.getOrDefault((String) args[0], List.of()), (LocalDateTime) args[1]);
+            default -> unsupported(TransactionRepository.class, method.getName());
+        });
+    }
+    
+    static AccountRepository accounts(Map<String, Account> accounts) {
+        return stub(AccountRepository.class, (proxy, method, args) -> switch (method.getName()) {
+            case "findByAccountNumber", "findWithCustomerByAccountNumber" ->
+                Optional.ofNullable(accounts.get((String) args[0]));
+            default -> unsupported(AccountRepository.class, method.getName());
+        });
+    }
+    
+    static AccountStaticRiskRepository staticRisk() {
+        return stub(AccountStaticRiskRepository.class,
+            (proxy, method, args) -> unsupported(AccountStaticRiskRepository.class, method.getName()));
+    }
+    
+    private static List<Transaction> between(List<Transaction> transactions, LocalDateTime start, LocalDateTime end) {
+        List<Transaction> matching = new ArrayList<>();
+        for (Transaction transaction : transactions) {
+            if (!transaction.getTimestamp().isBefore(start) && !transaction.getTimestamp().isAfter(end)) {
+                matching.add(transaction);
+            }
+        }
+        return matching;
+    }
+    
+    private static Optional<Transaction> latestBefore(List<Transaction> transactions, LocalDateTime before) {
+        for (int i = transactions.size() - 1; i >= 0; i--) {
+            if (transactions.get(i).getTimestamp().isBefore(before)) {
+                return Optional.of(transactions.get(i));
+            }
+        }
+        return Optional.empty();
+    }
+    
+    private static <T> T stub(Class<T> type, InvocationHandler handler) {
+        InvocationHandler withObjectMethods = (proxy, method, args) -> switch (method.getName()) {
+            case "toString" -> "Stub" + type.getSimpleName();
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            default -> handler.invoke(proxy, method, args);
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, withObjectMethods));
+    }
+    
+    private static Object unsupported(Class<?> type, String method) {
+        throw new UnsupportedOperationException(type.getSimpleName() + "." + method + " is not stubbed");
+    }
+}
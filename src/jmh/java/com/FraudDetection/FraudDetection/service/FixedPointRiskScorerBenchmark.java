@@ -0,0 +1,98 @@
+package com.FraudDetection.FraudDetection.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+/**
+ * The fixed-point and the {@code BigDecimal} scoring paths over the same inputs. Lives in
+ * the scorer's package because the scorer is package-private; compare the paths by
+ * {@code gc.alloc.rate.norm}, which the average-time run of {@code FraudBenchmarks}
+ * reports:
+ *
+ * <pre>
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.args="FixedPointRiskScorerBenchmark -bm avgt -prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FixedPointRiskScorerBenchmark {
+    
+    private static final int[] FACTOR_POINTS = { 0, 5, 10, 15, 20, 25, 30, 35, 40, 45, 50 };
+    
+    private final FixedPointRiskScorer scorer = new FixedPointRiskScorer(0.6, 0.2, 0.1, 0.1, 20, 100);
+    private ScoringInput[] inputs;
+    private int next;
+    
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        inputs = new ScoringInput[4096];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = ScoringInput.random(random);
+        }
+    }
+    
+    @Benchmark
+    public BigDecimal exactPath() {
+        ScoringInput input = advance();
+        return scorer.exactTotal(
+            FixedPointRiskScorer.exactRuleScore(input.maxRuleScore, input.triggeredCount),
+            FixedPointRiskScorer.exactTransactionScore(input.factorPoints, input.amountPoints, input.largeAmount),
+            BigDecimal.valueOf(input.accountScore),
+            BigDecimal.valueOf(input.customerScore));
+    }
+    
+    /**
+     * As {@link RiskScoringService} uses it: primitives, with one {@code BigDecimal} for the
+     * final score.
+     */
+    @Benchmark
+    public BigDecimal fixedPointPath() {
+        ScoringInput input = advance();
+        long hundredths = scorer.totalHundredths(
+            FixedPointRiskScorer.ruleScore(input.maxRuleScore.doubleValue(), input.triggeredCount),
+            FixedPointRiskScorer.transactionScore(input.factorPoints, input.amountPoints),
+            input.accountScore,
+            input.customerScore);
+        if (hundredths != FixedPointRiskScorer.UNRESOLVED) {
+            return BigDecimal.valueOf(hundredths, 2);
+        }
+        return scorer.exactTotal(
+            FixedPointRiskScorer.exactRuleScore(input.maxRuleScore, input.triggeredCount),
+            FixedPointRiskScorer.exactTransactionScore(input.factorPoints, input.amountPoints, input.largeAmount),
+            BigDecimal.valueOf(input.accountScore),
+            BigDecimal.valueOf(input.customerScore));
+    }
+    
+    private ScoringInput advance() {
+        ScoringInput input = inputs[next];
+        next = next + 1 < inputs.length ? next + 1 : 0;
+        return input;
+    }
+    
+    private record ScoringInput(BigDecimal maxRuleScore, int triggeredCount, int factorPoints, double amountPoints,
+                                boolean largeAmount, int accountScore, int customerScore) {
+        
+        static ScoringInput random(Random random) {
+            // Rule scores with one decimal, as the rules produce
+            BigDecimal maxRuleScore = BigDecimal.valueOf(random.nextInt(1001), 1);
+            
+            BigDecimal amount = BigDecimal.valueOf(random.nextInt(10_000_000), 2);
+            boolean largeAmount = amount.compareTo(BigDecimal.valueOf(10000)) > 0;
+            double amountPoints = largeAmount ? 30 * Math.min(amount.doubleValue() / 50000, 1.0) : 0;
+            
+            return new ScoringInput(maxRuleScore, random.nextInt(7), FACTOR_POINTS[random.nextInt(FACTOR_POINTS.length)],
+                amountPoints, largeAmount, random.nextInt(101), random.nextInt(101));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.FraudDetection.FraudDetection.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+
+/**
+ * Outcome of the measured part of a run. Latencies are in nanoseconds. The response time
+ * histogram measures from when each transaction was due to be sent, so time spent queued
+ * behind a stall counts against every transaction that should have gone out during it
+ * (corrected for coordinated omission); the service time histogram measures from when a
+ * worker actually started on it.
+ */
+record LoadReport(
+    int targetRate,
+    double measuredSeconds,
+    long completed,
+    long failed,
+    Histogram responseTime,
+    Histogram serviceTime,
+    long sqlStatements,
+    long fraudBursts,
+    long fraudTransactions,
+    long trips,
+    double hotAccountShare
+) {
+    
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+    
+    double throughput() {
+        return (completed + failed) / measuredSeconds;
+    }
+    
+    double sqlStatementsPerTransaction() {
+        return completed + failed == 0 ? 0 : (double) sqlStatements / (completed + failed);
+    }
+    
+    void print(PrintStream out) {
+        out.printf("%nTarget rate          %,d tx/s%n", targetRate);
+        out.printf("Achieved throughput  %,.1f tx/s over %.1f s%n", throughput(), measuredSeconds);
+        out.printf("Completed            %,d (%,d failed)%n", completed + failed, failed);
+        out.printf("SQL statements       %.2f per transaction%n", sqlStatementsPerTransaction());
+        out.printf("Workload             %,d fraud bursts (%,d transactions), %,d trips, top 1%% of accounts %.0f%% of traffic%n",
+            fraudBursts, fraudTransactions, trips, 100 * hotAccountShare);
+        
+        out.printf("%n%-12s %14s %14s%n", "Percentile", "Response ms", "Service ms");
+        for (double percentile : PERCENTILES) {
+            out.printf("%-12s %14.3f %14.3f%n", "p" + format(percentile),
+                millis(responseTime.getValueAtPercentile(percentile)), millis(serviceTime.getValueAtPercentile(percentile)));
+        }
+        out.printf("%-12s %14.3f %14.3f%n", "max", millis(responseTime.getMaxValue()), millis(serviceTime.getMaxValue()));
+    }
+    
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+    
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,82 @@
+package com.FraudDetection.FraudDetection.loadtest;
+
+import com.FraudDetection.FraudDetection.FraudDetectionApplication;
+import com.FraudDetection.FraudDetection.entity.Account;
+import com.FraudDetection.FraudDetection.entity.Customer;
+import com.FraudDetection.FraudDetection.repository.AccountRepository;
+import com.FraudDetection.FraudDetection.repository.CustomerRepository;
+import com.FraudDetection.FraudDetection.service.FraudDetectionService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * End-to-end load test of {@link FraudDetectionService#processTransaction}. Starts the
+ * application without the web layer on an in-memory H2 database in PostgreSQL mode, seeds
+ * customers and accounts, drives synthetic traffic open-loop at the target rate and prints
+ * response time percentiles, throughput and SQL statements per transaction.
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--rate=1000 --duration-seconds=120"
+ * </pre>
+ *
+ * Transaction timestamps run {@code --time-scale} times faster than the wall clock, so a
+ * short run covers enough simulated time for travel and daily velocity limits to matter.
+ */
+@Slf4j
+public final class LoadTest {
+    
+    private static final int SEED_CHUNK_SIZE = 1000;
+    
+    private LoadTest() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        
+        try (ConfigurableApplicationContext context =
+                 SpringApplication.run(FraudDetectionApplication.class, options.applicationArguments())) {
+            SyntheticWorkload workload = new SyntheticWorkload(options);
+            seed(context, workload, options.accounts());
+            
+            Statistics statistics = context.getBean(EntityManagerFactory.class)
+                .unwrap(SessionFactory.class).getStatistics();
+            if (!statistics.isStatisticsEnabled()) {
+                log.warn("Hibernate statistics are disabled, SQL statements will read as 0");
+            }
+            
+            LoadReport report = new OpenLoopDriver(options, workload,
+                context.getBean(FraudDetectionService.class), statistics).run();
+            report.print(System.out);
+        }
+    }
+    
+    private static void seed(ConfigurableApplicationContext context, SyntheticWorkload workload, int accounts) {
+        CustomerRepository customerRepository = context.getBean(CustomerRepository.class);
+        AccountRepository accountRepository = context.getBean(AccountRepository.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        
+        long start = System.nanoTime();
+        for (int from = 0; from < accounts; from += SEED_CHUNK_SIZE) {
+            int chunkFrom = from;
+            int chunkTo = Math.min(from + SEED_CHUNK_SIZE, accounts);
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Customer> customers = customerRepository.saveAll(workload.customers(chunkFrom, chunkTo));
+                List<Account> chunk = new ArrayList<>(customers.size());
+                for (int i = 0; i < customers.size(); i++) {
+                    chunk.add(workload.account(chunkFrom + i, customers.get(i)));
+                }
+                accountRepository.saveAll(chunk);
+            });
+        }
+        log.info("Seeded {} customers and accounts in {} ms", accounts, (System.nanoTime() - start) / 1_000_000);
+    }
+}
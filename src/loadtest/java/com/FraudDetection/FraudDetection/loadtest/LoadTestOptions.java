@@ -0,0 +1,101 @@
+package com.FraudDetection.FraudDetection.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load test settings from {@code --name=value} arguments. Arguments that are not load test
+ * settings are passed on to the application, overriding the embedded H2 defaults, so
+ * {@code --fraud.pipeline.mode=DECIDE_FIRST} changes the pipeline under test. To run against
+ * a local Postgres, override the {@code spring.datasource} url, driver-class-name, username
+ * and password.
+ */
+record LoadTestOptions(
+    int rate,
+    Duration duration,
+    Duration warmup,
+    int threads,
+    int accounts,
+    double zipfExponent,
+    double fraudBurstRate,
+    int maxBurstSize,
+    double travelRate,
+    int timeScale,
+    long seed,
+    Map<String, String> applicationProperties
+) {
+    
+    private static final Map<String, String> APPLICATION_DEFAULTS = Map.ofEntries(
+        Map.entry("spring.main.web-application-type", "none"),
+        Map.entry("spring.main.banner-mode", "off"),
+        Map.entry("spring.datasource.url",
+            "jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1"),
+        Map.entry("spring.datasource.driver-class-name", "org.h2.Driver"),
+        Map.entry("spring.datasource.username", "sa"),
+        Map.entry("spring.datasource.password", ""),
+        // Let Hibernate detect the dialect of whichever database the URL points at
+        Map.entry("spring.jpa.database-platform", ""),
+        Map.entry("spring.jpa.show-sql", "false"),
+        Map.entry("spring.jpa.properties.hibernate.format_sql", "false"),
+        Map.entry("spring.jpa.properties.hibernate.generate_statistics", "true"),
+        Map.entry("spring.datasource.hikari.maximum-pool-size", "32"),
+        Map.entry("logging.level.root", "WARN"),
+        Map.entry("logging.level.com.FraudDetection", "WARN"),
+        Map.entry("logging.level.com.FraudDetection.FraudDetection.loadtest", "INFO"),
+        Map.entry("logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener", "OFF")
+    );
+    
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        
+        LoadTestOptions options = new LoadTestOptions(
+            Integer.parseInt(take(values, "rate", "500")),
+            Duration.ofSeconds(Long.parseLong(take(values, "duration-seconds", "60"))),
+            Duration.ofSeconds(Long.parseLong(take(values, "warmup-seconds", "15"))),
+            Integer.parseInt(take(values, "threads", "64")),
+            Integer.parseInt(take(values, "accounts", "10000")),
+            Double.parseDouble(take(values, "zipf-exponent", "0.8")),
+            Double.parseDouble(take(values, "fraud-burst-rate", "0.002")),
+            Integer.parseInt(take(values, "max-burst-size", "12")),
+            Double.parseDouble(take(values, "travel-rate", "0.02")),
+            Integer.parseInt(take(values, "time-scale", "600")),
+            Long.parseLong(take(values, "seed", "42")),
+            merged(values));
+        
+        if (options.rate <= 0 || options.threads <= 0 || options.accounts <= 0 || options.timeScale <= 0
+                || options.maxBurstSize < 3 || options.duration.isZero()) {
+            throw new IllegalArgumentException("rate, threads, accounts, time-scale and duration must be positive, "
+                + "max-burst-size at least 3");
+        }
+        return options;
+    }
+    
+    /**
+     * The application properties as command line arguments.
+     */
+    String[] applicationArguments() {
+        List<String> arguments = new ArrayList<>();
+        applicationProperties.forEach((name, value) -> arguments.add("--" + name + "=" + value));
+        return arguments.toArray(String[]::new);
+    }
+    
+    private static String take(Map<String, String> values, String name, String defaultValue) {
+        String value = values.remove(name);
+        return value != null ? value : defaultValue;
+    }
+    
+    private static Map<String, String> merged(Map<String, String> overrides) {
+        Map<String, String> properties = new LinkedHashMap<>(APPLICATION_DEFAULTS);
+        properties.putAll(overrides);
+        return properties;
+    }
+}
@@ -0,0 +1,121 @@
+package com.FraudDetection.FraudDetection.loadtest;
+
+import com.FraudDetection.FraudDetection.entity.Transaction;
+import com.FraudDetection.FraudDetection.service.FraudDetectionService;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.hibernate.stat.Statistics;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends transactions at a fixed rate regardless of how fast they complete. Each send is
+ * scheduled at start + n / rate; a slow service makes the work queue grow rather than
+ * slowing the sender, and the wait in the queue is part of the measured response time.
+ * Transactions are generated on the sending thread and scored on a worker pool through
+ * {@link FraudDetectionService#submitTransaction}, so account lanes apply when enabled.
+ */
+@Slf4j
+final class OpenLoopDriver {
+    
+    private static final long DRAIN_TIMEOUT_SECONDS = 60;
+    
+    private final LoadTestOptions options;
+    private final SyntheticWorkload workload;
+    private final FraudDetectionService fraudDetectionService;
+    private final Statistics statistics;
+    
+    private final Recorder responseTime = new Recorder(3);
+    private final Recorder serviceTime = new Recorder(3);
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong outstanding = new AtomicLong();
+    private final AtomicBoolean failureLogged = new AtomicBoolean();
+    
+    OpenLoopDriver(LoadTestOptions options, SyntheticWorkload workload, FraudDetectionService fraudDetectionService,
+                   Statistics statistics) {
+        this.options = options;
+        this.workload = workload;
+        this.fraudDetectionService = fraudDetectionService;
+        this.statistics = statistics;
+    }
+    
+    LoadReport run() throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(options.threads(),
+            Thread.ofPlatform().name("load-", 0).daemon(true).factory());
+        
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        LocalDateTime simulatedStart = LocalDateTime.now();
+        
+        long statementsAtStart = -1;
+        long sent = 0;
+        log.info("Warming up for {} s, then measuring for {} s at {} tx/s",
+            options.warmup().toSeconds(), options.duration().toSeconds(), options.rate());
+        
+        for (long intended = start; intended < end; intended = start + ++sent * intervalNanos) {
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            
+            boolean measured = intended >= measureFrom;
+            if (measured && statementsAtStart < 0) {
+                statementsAtStart = statistics.getPrepareStatementCount();
+            }
+            
+            LocalDateTime simulatedNow = simulatedStart.plusNanos((intended - start) * options.timeScale());
+            Transaction transaction = workload.next(simulatedNow);
+            long dueAt = intended;
+            outstanding.incrementAndGet();
+            workers.execute(() -> send(transaction, dueAt, measured));
+        }
+        
+        if (outstanding.get() > options.rate()) {
+            log.warn("{} transactions still queued at the end of the run; the service did not keep up",
+                outstanding.get());
+        }
+        
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DRAIN_TIMEOUT_SECONDS);
+        while (outstanding.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        long drainedAt = System.nanoTime();
+        workers.shutdownNow();
+        
+        // Statements of the last warmup transactions still in flight are counted too
+        Histogram response = responseTime.getIntervalHistogram();
+        Histogram service = serviceTime.getIntervalHistogram();
+        long statements = statementsAtStart >= 0 ? statistics.getPrepareStatementCount() - statementsAtStart : 0;
+        
+        return new LoadReport(options.rate(), (drainedAt - measureFrom) / 1e9,
+            completed.get(), failed.get(), response, service, statements,
+            workload.getFraudBursts(), workload.getFraudTransactions(), workload.getTrips(), workload.getHotAccountShare());
+    }
+    
+    private void send(Transaction transaction, long dueAt, boolean measured) {
+        long startedAt = System.nanoTime();
+        fraudDetectionService.submitTransaction(transaction).whenComplete((result, error) -> {
+            long doneAt = System.nanoTime();
+            if (measured) {
+                responseTime.recordValue(doneAt - dueAt);
+                serviceTime.recordValue(doneAt - startedAt);
+                (error == null ? completed : failed).incrementAndGet();
+            }
+            if (error != null && failureLogged.compareAndSet(false, true)) {
+                log.warn("Transaction {} failed, further failures are only counted",
+                    transaction.getTransactionReference(), error);
+            }
+            outstanding.decrementAndGet();
+        });
+    }
+}
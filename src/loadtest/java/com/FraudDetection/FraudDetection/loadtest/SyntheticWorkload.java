@@ -0,0 +1,277 @@
+package com.FraudDetection.FraudDetection.loadtest;
+
+import com.FraudDetection.FraudDetection.entity.Account;
+import com.FraudDetection.FraudDetection.entity.AccountStatus;
+import com.FraudDetection.FraudDetection.entity.AccountType;
+import com.FraudDetection.FraudDetection.entity.Customer;
+import com.FraudDetection.FraudDetection.entity.CustomerStatus;
+import com.FraudDetection.FraudDetection.entity.RiskLevel;
+import com.FraudDetection.FraudDetection.entity.Transaction;
+import com.FraudDetection.FraudDetection.entity.TransactionStatus;
+import com.FraudDetection.FraudDetection.entity.TransactionType;
+import com.FraudDetection.FraudDetection.service.geo.GeoDistance;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded synthetic customers, accounts and transactions. Account activity follows a Zipf
+ * distribution, so a few accounts are very busy and most are quiet. Cardholders travel
+ * between cities only when the time since their last transaction allows the flight; fraud
+ * arrives in bursts of large transactions from a far city and an unknown device on a
+ * random account, interleaved with the regular traffic.
+ * <p>
+ * Not thread-safe: transactions are generated on the dispatching thread only.
+ */
+final class SyntheticWorkload {
+    
+    private static final double FLIGHT_SPEED_KMH = 800;
+    
+    private record City(String location, String state, String country, double latitude, double longitude) {
+    }
+    
+    private static final City[] HOME_CITIES = {
+        new City("New York, NY, USA", "NY", "USA", 40.7128, -74.0060),
+        new City("Chicago, IL, USA", "IL", "USA", 41.8781, -87.6298),
+        new City("Los Angeles, CA, USA", "CA", "USA", 34.0522, -118.2437),
+        new City("Houston, TX, USA", "TX", "USA", 29.7604, -95.3698),
+        new City("Miami, FL, USA", "FL", "USA", 25.7617, -80.1918),
+        new City("Seattle, WA, USA", "WA", "USA", 47.6062, -122.3321),
+        new City("Boston, MA, USA", "MA", "USA", 42.3601, -71.0589),
+        new City("Toronto, ON, CANADA", "ON", "CANADA", 43.6532, -79.3832)
+    };
+    
+    private static final City[] FAR_CITIES = {
+        new City("London, UK", "ENG", "UK", 51.5074, -0.1278),
+        new City("Paris, FRANCE", "IDF", "FRANCE", 48.8566, 2.3522),
+        new City("Lagos, NIGERIA", "LA", "NIGERIA", 6.5244, 3.3792),
+        new City("Moscow, RUSSIA", "MOW", "RUSSIA", 55.7558, 37.6173),
+        new City("Mumbai, INDIA", "MH", "INDIA", 19.0760, 72.8777),
+        new City("Beijing, CHINA", "BJ", "CHINA", 39.9042, 116.4074),
+        new City("Sao Paulo, BRAZIL", "SP", "BRAZIL", -23.5505, -46.6333)
+    };
+    
+    private static final TransactionType[] EVERYDAY_TYPES = {
+        TransactionType.POS_PURCHASE, TransactionType.POS_PURCHASE, TransactionType.CONTACTLESS_PAYMENT,
+        TransactionType.ONLINE_PAYMENT, TransactionType.MOBILE_PAYMENT, TransactionType.BILL_PAYMENT,
+        TransactionType.ATM_WITHDRAWAL, TransactionType.TRANSFER
+    };
+    
+    private static final TransactionType[] FRAUD_TYPES = {
+        TransactionType.ONLINE_PAYMENT, TransactionType.WIRE_TRANSFER, TransactionType.INTERNATIONAL_TRANSFER,
+        TransactionType.CRYPTOCURRENCY_EXCHANGE, TransactionType.ATM_WITHDRAWAL
+    };
+    
+    private static final class Cardholder {
+        final String accountNumber;
+        final City home;
+        final String deviceId;
+        final double typicalAmount;
+        City current;
+        LocalDateTime lastAt;
+        
+        Cardholder(String accountNumber, City home, String deviceId, double typicalAmount) {
+            this.accountNumber = accountNumber;
+            this.home = home;
+            this.deviceId = deviceId;
+            this.typicalAmount = typicalAmount;
+            this.current = home;
+        }
+    }
+    
+    private final LoadTestOptions options;
+    private final SplittableRandom random;
+    private final ZipfDistribution activity;
+    private final Cardholder[] cardholders;
+    private final int[] accountOfRank;
+    private final Deque<Transaction> pendingBurst = new ArrayDeque<>();
+    
+    private long sequence;
+    private long fraudBursts;
+    private long fraudTransactions;
+    private long trips;
+    
+    SyntheticWorkload(LoadTestOptions options) {
+        this.options = options;
+        this.random = new SplittableRandom(options.seed());
+        this.activity = new ZipfDistribution(options.accounts(), options.zipfExponent());
+        this.cardholders = new Cardholder[options.accounts()];
+        
+        for (int i = 0; i < cardholders.length; i++) {
+            cardholders[i] = new Cardholder(accountNumber(i), HOME_CITIES[random.nextInt(HOME_CITIES.length)],
+                String.format("DEV%010d", random.nextLong(10_000_000_000L)),
+                Math.exp(2.5 + random.nextDouble() * 2));
+        }
+        
+        // Busiest ranks go to random accounts rather than the first ones created
+        accountOfRank = new int[cardholders.length];
+        for (int i = 0; i < accountOfRank.length; i++) {
+            int j = random.nextInt(i + 1);
+            accountOfRank[i] = accountOfRank[j];
+            accountOfRank[j] = i;
+        }
+    }
+    
+    /**
+     * One customer per account, with the customer number matching the account index.
+     */
+    List<Customer> customers(int from, int to) {
+        List<Customer> customers = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            City home = cardholders[i].home;
+            customers.add(Customer.builder()
+                .customerNumber(String.format("LTC%08d", i))
+                .firstName("Load")
+                .lastName("Customer" + i)
+                .email("customer" + i + "@loadtest.example")
+                .phoneNumber(String.format("+1555%07d", i))
+                .dateOfBirth(LocalDate.of(1950 + random.nextInt(55), 1 + random.nextInt(12), 1 + random.nextInt(28)))
+                .address(i + " Synthetic St")
+                .city(home.location().substring(0, home.location().indexOf(',')))
+                .state(home.state())
+                .zipCode(String.format("%05d", random.nextInt(100_000)))
+                .country(home.country())
+                .status(CustomerStatus.ACTIVE)
+                .riskLevel(riskLevel())
+                .lastLogin(LocalDateTime.now().minusHours(random.nextInt(24 * 30)))
+                .build());
+        }
+        return customers;
+    }
+    
+    Account account(int index, Customer customer) {
+        BigDecimal balance = BigDecimal.valueOf(random.nextInt(5_000_000), 2);
+        return Account.builder()
+            .accountNumber(cardholders[index].accountNumber)
+            .customer(customer)
+            .accountType(random.nextInt(10) == 0 ? AccountType.CREDIT_CARD : AccountType.CHECKING)
+            .status(AccountStatus.ACTIVE)
+            .balance(balance)
+            .availableBalance(balance)
+            .currency("USD")
+            .riskLevel(riskLevel())
+            .flaggedForMonitoring(random.nextInt(100) == 0)
+            .build();
+    }
+    
+    /**
+     * The next transaction to submit, stamped with the simulated time it is sent at.
+     */
+    Transaction next(LocalDateTime simulatedNow) {
+        if (!pendingBurst.isEmpty() && random.nextInt(4) == 0) {
+            Transaction transaction = pendingBurst.poll();
+            transaction.setTimestamp(simulatedNow);
+            return transaction;
+        }
+        
+        if (random.nextDouble() < options.fraudBurstRate()) {
+            startFraudBurst();
+            Transaction transaction = pendingBurst.poll();
+            transaction.setTimestamp(simulatedNow);
+            return transaction;
+        }
+        
+        Cardholder cardholder = cardholders[accountOfRank[activity.sample(random)]];
+        travel(cardholder, simulatedNow);
+        cardholder.lastAt = simulatedNow;
+        
+        double amount = cardholder.typicalAmount * Math.exp(random.nextGaussian() * 0.8);
+        return transaction(cardholder.accountNumber, amount, EVERYDAY_TYPES[random.nextInt(EVERYDAY_TYPES.length)],
+            cardholder.current, cardholder.deviceId, simulatedNow);
+    }
+    
+    long getFraudBursts() {
+        return fraudBursts;
+    }
+    
+    long getFraudTransactions() {
+        return fraudTransactions;
+    }
+    
+    long getTrips() {
+        return trips;
+    }
+    
+    /**
+     * Share of the regular traffic that goes to the busiest 1% of accounts.
+     */
+    double getHotAccountShare() {
+        return activity.headShare(Math.max(1, cardholders.length / 100));
+    }
+    
+    private void startFraudBurst() {
+        Cardholder victim = cardholders[random.nextInt(cardholders.length)];
+        City city = FAR_CITIES[random.nextInt(FAR_CITIES.length)];
+        String deviceId = String.format("DEV%010d", random.nextLong(10_000_000_000L));
+        int size = 3 + random.nextInt(options.maxBurstSize() - 2);
+        
+        for (int i = 0; i < size; i++) {
+            double amount = 500 + random.nextDouble() * 4_500;
+            pendingBurst.add(transaction(victim.accountNumber, amount, FRAUD_TYPES[random.nextInt(FRAUD_TYPES.length)],
+                city, deviceId, null));
+        }
+        fraudBursts++;
+        fraudTransactions += size;
+    }
+    
+    /**
+     * Occasionally starts or ends a trip, but only to a city the cardholder could have
+     * flown to since their last transaction.
+     */
+    private void travel(Cardholder cardholder, LocalDateTime now) {
+        if (cardholder.lastAt == null || random.nextDouble() >= options.travelRate()) {
+            return;
+        }
+        
+        City destination = cardholder.current != cardholder.home && random.nextBoolean()
+            ? cardholder.home
+            : HOME_CITIES[random.nextInt(HOME_CITIES.length)];
+        double km = GeoDistance.haversineKm(cardholder.current.latitude(), cardholder.current.longitude(),
+            destination.latitude(), destination.longitude());
+        double hours = Duration.between(cardholder.lastAt, now).toMillis() / 3_600_000.0;
+        
+        if (destination != cardholder.current && hours * FLIGHT_SPEED_KMH >= km + 2 * FLIGHT_SPEED_KMH) {
+            cardholder.current = destination;
+            trips++;
+        }
+    }
+    
+    private Transaction transaction(String accountNumber, double amount, TransactionType type, City city,
+                                    String deviceId, LocalDateTime timestamp) {
+        long id = ++sequence;
+        int merchant = random.nextInt(2_000);
+        return Transaction.builder()
+            .transactionReference(String.format("LT%016d", id))
+            .accountId(accountNumber)
+            .amount(BigDecimal.valueOf(Math.max(1, Math.round(amount * 100)), 2))
+            .currency("USD")
+            .merchantId("MERCH" + merchant)
+            .merchantName("Merchant " + merchant)
+            .transactionType(type)
+            .status(TransactionStatus.PENDING)
+            .timestamp(timestamp)
+            .location(city.location())
+            .latitude(BigDecimal.valueOf(city.latitude()))
+            .longitude(BigDecimal.valueOf(city.longitude()))
+            .ipAddress("10." + random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256))
+            .userAgent("LoadTest/1.0")
+            .deviceId(deviceId)
+            .build();
+    }
+    
+    private RiskLevel riskLevel() {
+        int draw = random.nextInt(100);
+        return draw < 80 ? RiskLevel.LOW : draw < 95 ? RiskLevel.MEDIUM : draw < 99 ? RiskLevel.HIGH : RiskLevel.VERY_HIGH;
+    }
+    
+    private static String accountNumber(int index) {
+        return String.format("LT%08d", index);
+    }
+}
@@ -0,0 +1,38 @@
+package com.FraudDetection.FraudDetection.loadtest;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Ranks 0 to size-1 drawn with probability proportional to 1 / (rank + 1)^exponent, by
+ * binary search over the precomputed cumulative distribution.
+ */
+final class ZipfDistribution {
+    
+    private final double[] cumulative;
+    
+    ZipfDistribution(int size, double exponent) {
+        cumulative = new double[size];
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= total;
+        }
+    }
+    
+    int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+    
+    /**
+     * Share of all draws that land on the top {@code ranks} ranks.
+     */
+    double headShare(int ranks) {
+        return cumulative[Math.min(ranks, cumulative.length) - 1];
+    }
+}
@@ -0,0 +1,30 @@
+package com.FraudDetection.FraudDetection.config;
+
+import com.FraudDetection.FraudDetection.service.metrics.SqlStatementCountingDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the data source so statements can be attributed to transactions and rules.
+ */
+@Configuration
+@ConditionalOnProperty(name = "fraud.metrics.sql-statements.enabled", havingValue = "true")
+public class SqlStatementCountingConfig {
+    
+    @Bean
+    static BeanPostProcessor sqlStatementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SqlStatementCountingDataSource)) {
+                    return new SqlStatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
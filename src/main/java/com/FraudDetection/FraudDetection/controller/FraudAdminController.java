@@ -0,0 +1,404 @@
+package com.FraudDetection.FraudDetection.controller;
+
+import com.FraudDetection.FraudDetection.service.AccountLaneExecutor;
+import com.FraudDetection.FraudDetection.service.DecisionPolicy;
+import com.FraudDetection.FraudDetection.service.DecisionPolicySettings;
+import com.FraudDetection.FraudDetection.service.FraudDecision;
+import com.FraudDetection.FraudDetection.service.FraudDecisionEngine;
+import com.FraudDetection.FraudDetection.service.FraudDetectionResult;
+import com.FraudDetection.FraudDetection.service.RuleResult;
+import com.FraudDetection.FraudDetection.service.ShortCircuitRuleEvaluator;
+import com.FraudDetection.FraudDetection.service.explain.Explanation;
+import com.FraudDetection.FraudDetection.service.explain.RecentResultCache;
+import com.FraudDetection.FraudDetection.service.geo.TrajectoryCache;
+import com.FraudDetection.FraudDetection.service.model.ModelScoringEngine;
+import com.FraudDetection.FraudDetection.service.model.RiskModel;
+import com.FraudDetection.FraudDetection.service.profile.RiskProfileCache;
+import com.FraudDetection.FraudDetection.service.profile.StaticRiskMaterializer;
+import com.FraudDetection.FraudDetection.service.profile.StaticRiskRun;
+import com.FraudDetection.FraudDetection.service.profile.StaticRiskStore;
+import com.FraudDetection.FraudDetection.service.profiling.FlightRecordingService;
+import com.FraudDetection.FraudDetection.service.resilience.RuleCircuitBreakers;
+import com.FraudDetection.FraudDetection.service.shadow.ShadowEvaluator;
+import com.FraudDetection.FraudDetection.service.velocity.MultiDimensionalVelocityEngine;
+import com.FraudDetection.FraudDetection.service.velocity.VelocityCounterStore;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/fraud")
+@RequiredArgsConstructor
+@Tag(name = "Fraud Administration", description = "Operational endpoints for the fraud detection engine")
+public class FraudAdminController {
+    
+    private final RiskProfileCache riskProfileCache;
+    private final VelocityCounterStore velocityCounterStore;
+    private final MultiDimensionalVelocityEngine velocityEngine;
+    private final TrajectoryCache trajectoryCache;
+    private final StaticRiskStore staticRiskStore;
+    private final StaticRiskMaterializer staticRiskMaterializer;
+    private final ModelScoringEngine modelScoringEngine;
+    private final FraudDecisionEngine fraudDecisionEngine;
+    private final RecentResultCache recentResultCache;
+    private final ShadowEvaluator shadowEvaluator;
+    private final ShortCircuitRuleEvaluator shortCircuitRuleEvaluator;
+    private final AccountLaneExecutor accountLaneExecutor;
+    private final RuleCircuitBreakers ruleCircuitBreakers;
+    private final FlightRecordingService flightRecordingService;
+    
+    @GetMapping("/caches")
+    @Operation(summary = "Cache statistics", description = "Returns size and hit-rate statistics of the in-memory scoring caches")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cache statistics retrieved successfully")
+    })
+    public ResponseEntity<Map<String, Object>> cacheStatistics() {
+        Map<String, Object> caches = new HashMap<>();
+        caches.put("timestamp", LocalDateTime.now());
+        
+        CacheStats stats = riskProfileCache.getStats();
+        Map<String, Object> profileCache = new HashMap<>();
+        profileCache.put("enabled", riskProfileCache.isEnabled());
+        profileCache.put("size", riskProfileCache.getSize());
+        profileCache.put("requests", stats.requestCount());
+        profileCache.put("hits", stats.hitCount());
+        profileCache.put("misses", stats.missCount());
+        profileCache.put("hitRate", stats.hitRate());
+        profileCache.put("evictions", stats.evictionCount());
+        profileCache.put("averageLoadPenaltyMs", stats.averageLoadPenalty() / 1_000_000.0);
+        caches.put("riskProfiles", profileCache);
+        
+        Map<String, Object> velocity = new HashMap<>();
+        velocity.put("enabled", velocityCounterStore.isEnabled());
+        velocity.put("ready", velocityCounterStore.isReady());
+        velocity.put("trackedAccounts", velocityCounterStore.getTrackedAccountCount());
+        caches.put("velocity", velocity);
+        
+        Map<String, Object> velocityDimensions = new HashMap<>();
+        velocityDimensions.put("enabled", velocityEngine.isEnabled());
+        velocityDimensions.put("ready", velocityEngine.isReady());
+        caches.put("velocityDimensions", velocityDimensions);
+        
+        Map<String, Object> trajectories = new HashMap<>();
+        trajectories.put("enabled", trajectoryCache.isEnabled());
+        trajectories.put("trackedAccounts", trajectoryCache.getTrackedAccountCount());
+        caches.put("trajectories", trajectories);
+        
+        Map<String, Object> staticRisk = new HashMap<>();
+        staticRisk.put("enabled", staticRiskStore.isEnabled());
+        staticRisk.put("ready", staticRiskStore.isReady());
+        staticRisk.put("accounts", staticRiskStore.getSize());
+        staticRisk.put("lastFullRun", staticRiskMaterializer.getLastFullRun());
+        staticRisk.put("lastIncrementalRun", staticRiskMaterializer.getLastIncrementalRun());
+        caches.put("staticRisk", staticRisk);
+        
+        Map<String, Object> recentResults = new HashMap<>();
+        recentResults.put("enabled", recentResultCache.isEnabled());
+        recentResults.put("size", recentResultCache.getSize());
+        caches.put("recentResults", recentResults);
+        
+        return ResponseEntity.ok(caches);
+    }
+    
+    @DeleteMapping("/caches/risk-profiles")
+    @Operation(summary = "Clear risk profile cache", description = "Evicts all cached account risk profiles, e.g. after bulk changes made outside the application")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Cache cleared")
+    })
+    public ResponseEntity<Void> clearRiskProfileCache() {
+        riskProfileCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+    
+    @PostMapping("/static-risk/materialize")
+    @Operation(summary = "Rematerialize static risk", description = "Recomputes the precomputed static risk of every account now instead of waiting for the nightly run")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Materialization finished"),
+        @ApiResponse(responseCode = "409", description = "Static risk is disabled or a run is already in progress")
+    })
+    public ResponseEntity<StaticRiskRun> materializeStaticRisk() {
+        StaticRiskRun run = staticRiskMaterializer.materializeAll();
+        if (run == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.ok(run);
+    }
+    
+    @GetMapping("/model")
+    @Operation(summary = "Active scoring model", description = "Returns the model blended into risk scores and the outcome of the last load")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Model status retrieved successfully")
+    })
+    public ResponseEntity<Map<String, Object>> modelStatus() {
+        return ResponseEntity.ok(describeModel());
+    }
+    
+    @PostMapping("/model/reload")
+    @Operation(summary = "Reload scoring model", description = "Loads the model file now instead of waiting for the next change check; a file that fails validation leaves the current model active")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Model loaded"),
+        @ApiResponse(responseCode = "409", description = "Model scoring is disabled"),
+        @ApiResponse(responseCode = "422", description = "Model file missing or invalid")
+    })
+    public ResponseEntity<Map<String, Object>> reloadModel() {
+        if (!modelScoringEngine.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(describeModel());
+        }
+        
+        try {
+            modelScoringEngine.reload();
+            return ResponseEntity.ok(describeModel());
+        } catch (Exception e) {
+            Map<String, Object> response = describeModel();
+            response.put("error", e.getMessage());
+            return ResponseEntity.unprocessableEntity().body(response);
+        }
+    }
+    
+    private Map<String, Object> describeModel() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("enabled", modelScoringEngine.isEnabled());
+        status.put("file", modelScoringEngine.getModelFile());
+        status.put("weight", modelScoringEngine.getWeight());
+        status.put("lastError", modelScoringEngine.getLastError());
+        
+        RiskModel model = modelScoringEngine.getModel();
+        if (model != null) {
+            status.put("name", model.getName());
+            status.put("version", model.getVersion());
+            status.put("type", model.getType());
+            status.put("loadedAt", modelScoringEngine.getLoadedAt());
+        }
+        return status;
+    }
+    
+    @GetMapping("/decision-policy")
+    @Operation(summary = "Active decision policy", description = "Returns the thresholds, critical rules and severity rules the decision engine currently applies")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Decision policy retrieved successfully")
+    })
+    public ResponseEntity<Map<String, Object>> decisionPolicy() {
+        return ResponseEntity.ok(describePolicy(fraudDecisionEngine.getPolicy()));
+    }
+    
+    @PutMapping("/decision-policy")
+    @Operation(summary = "Replace decision policy", description = "Validates and activates a new decision policy without a restart; omitted fields keep their current value. The policy is not persisted and reverts to the configuration on restart")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "New policy active"),
+        @ApiResponse(responseCode = "400", description = "Invalid policy, the current policy stays active")
+    })
+    public ResponseEntity<Map<String, Object>> updateDecisionPolicy(@RequestBody DecisionPolicySettings settings) {
+        try {
+            return ResponseEntity.ok(describePolicy(fraudDecisionEngine.updatePolicy(settings)));
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", e.getMessage());
+            response.put("activeVersion", fraudDecisionEngine.getPolicy().getVersion());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
+    private Map<String, Object> describePolicy(DecisionPolicy policy) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("version", policy.getVersion());
+        response.put("activatedAt", policy.getActivatedAt());
+        response.put("settings", policy.getSettings());
+        return response;
+    }
+    
+    @GetMapping("/rules/short-circuit")
+    @Operation(summary = "Short-circuit rule evaluation", description = "Returns the current rule evaluation order with average rule cost and how often evaluation stopped early")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Evaluation statistics retrieved successfully")
+    })
+    public ResponseEntity<Map<String, Object>> shortCircuitStatistics() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("evaluations", shortCircuitRuleEvaluator.getEvaluations());
+        response.put("shortCircuits", shortCircuitRuleEvaluator.getShortCircuits());
+        response.put("rules", shortCircuitRuleEvaluator.getRuleStats());
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/rules/circuit-breakers")
+    @Operation(summary = "Rule circuit breakers", description = "Returns the state, failure and slow-call rates of each rule's circuit breaker and how often it skipped the rule")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Circuit breaker states retrieved successfully")
+    })
+    public ResponseEntity<Map<String, Object>> circuitBreakers() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("enabled", ruleCircuitBreakers.isEnabled());
+        response.put("degradedMode", fraudDecisionEngine.getPolicy().getSettings().getDegradedMode());
+        response.put("rules", ruleCircuitBreakers.getStats());
+        return ResponseEntity.ok(response);
+    }
+    
+    @DeleteMapping("/rules/circuit-breakers")
+    @Operation(summary = "Reset rule circuit breakers", description = "Closes every rule circuit breaker and zeroes its counters")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Circuit breakers reset")
+    })
+    public ResponseEntity<Void> resetCircuitBreakers() {
+        ruleCircuitBreakers.reset();
+        return ResponseEntity.noContent().build();
+    }
+    
+    @GetMapping("/lanes")
+    @Operation(summary = "Account lanes", description = "Returns the queue depth and processed and rejected counts of each account lane")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lane statistics retrieved successfully")
+    })
+    public ResponseEntity<Map<String, Object>> laneStatistics() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("enabled", accountLaneExecutor.isEnabled());
+        response.put("laneCount", accountLaneExecutor.getLaneCount());
+        response.put("lanes", accountLaneExecutor.getLaneStats());
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/shadow")
+    @Operation(summary = "Shadow decisioning results", description = "Returns agreement counts and score deltas of each challenger against the champion decision")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Shadow results retrieved successfully")
+    })
+    public ResponseEntity<Map<String, Object>> shadowResults() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("active", shadowEvaluator.isActive());
+        response.put("submitted", shadowEvaluator.getSubmitted());
+        response.put("dropped", shadowEvaluator.getDropped());
+        response.put("queued", shadowEvaluator.getQueued());
+        response.put("challengers", shadowEvaluator.getReports());
+        return ResponseEntity.ok(response);
+    }
+    
+    @DeleteMapping("/shadow/stats")
+    @Operation(summary = "Reset shadow results", description = "Zeroes the challenger counters, e.g. after changing the champion policy")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Counters reset")
+    })
+    public ResponseEntity<Void> resetShadowResults() {
+        shadowEvaluator.resetStats();
+        return ResponseEntity.noContent().build();
+    }
+    
+    @GetMapping("/recording")
+    @Operation(summary = "Flight recording status", description = "Returns the state, file and size of the flight recording started last, if it was not stopped yet")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Recording status retrieved successfully")
+    })
+    public ResponseEntity<Map<String, Object>> recordingStatus() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("enabled", flightRecordingService.isEnabled());
+        response.put("recording", flightRecordingService.getStatus());
+        return ResponseEntity.ok(response);
+    }
+    
+    @PostMapping("/recording/start")
+    @Operation(summary = "Start flight recording", description = "Starts a Java Flight Recorder recording with the fraud pipeline events next to GC, lock and I/O events. It stops by itself after the given duration, capped by fraud.profiling.recording.max-duration-minutes, and is written to a file in the recording directory")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Recording started"),
+        @ApiResponse(responseCode = "400", description = "Invalid duration"),
+        @ApiResponse(responseCode = "409", description = "Recordings are disabled or one is already running"),
+        @ApiResponse(responseCode = "500", description = "Recording directory or settings could not be read")
+    })
+    public ResponseEntity<Map<String, Object>> startRecording(@RequestParam(defaultValue = "5") int durationMinutes) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            response.put("recording", flightRecordingService.start(durationMinutes));
+            response.put("maxDurationMinutes", flightRecordingService.getMaxDurationMinutes());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (IllegalStateException e) {
+            response.put("error", e.getMessage());
+            response.put("recording", flightRecordingService.getStatus());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        } catch (IOException e) {
+            response.put("error", e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+    
+    @PostMapping("/recording/stop")
+    @Operation(summary = "Stop flight recording", description = "Stops the running flight recording and writes it to its file; a recording whose duration already ran out is only released")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Recording stopped and written"),
+        @ApiResponse(responseCode = "404", description = "No recording was started")
+    })
+    public ResponseEntity<Map<String, Object>> stopRecording() {
+        FlightRecordingService.RecordingStatus status = flightRecordingService.stop();
+        if (status == null) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("recording", status);
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/decisions/{transactionReference}/explanation")
+    @Operation(summary = "Explain decision", description = "Renders the decision reason, contributing factors and rule reasons of a recently scored transaction, with the reason codes and arguments behind them")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Explanation rendered"),
+        @ApiResponse(responseCode = "404", description = "No recent result for the transaction, or recent results are disabled")
+    })
+    public ResponseEntity<Map<String, Object>> explainDecision(@PathVariable String transactionReference) {
+        FraudDetectionResult result = recentResultCache.get(transactionReference);
+        if (result == null) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("transactionReference", transactionReference);
+        response.put("processedAt", result.getProcessedAt());
+        response.put("riskScore", result.getRiskScore());
+        
+        FraudDecision decision = result.getFraudDecision();
+        if (decision != null) {
+            response.put("decision", decision.getDecision());
+            response.put("reason", decision.getReason());
+            response.put("reasonCodes", codes(decision.getExplanation()));
+            response.put("contributingFactors", decision.getContributingFactors());
+        }
+        
+        List<Map<String, Object>> rules = new ArrayList<>();
+        for (RuleResult ruleResult : result.getRuleResults()) {
+            Map<String, Object> rule = new HashMap<>();
+            rule.put("ruleName", ruleResult.getRuleName());
+            rule.put("triggered", ruleResult.isTriggered());
+            rule.put("score", ruleResult.getScore());
+            rule.put("severity", ruleResult.getSeverity());
+            rule.put("reason", ruleResult.getReason());
+            rule.put("reasonCodes", codes(ruleResult.getExplanation()));
+            rules.add(rule);
+        }
+        response.put("rules", rules);
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    private static List<Explanation.Detail> codes(Explanation explanation) {
+        return explanation != null ? explanation.getDetails() : List.of();
+    }
+}
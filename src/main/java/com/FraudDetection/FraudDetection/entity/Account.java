@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import io.swagger.v3.oas.annotations.media.Schema;
+import com.FraudDetection.FraudDetection.service.profile.RiskProfileInvalidationListener;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -14,6 +15,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(RiskProfileInvalidationListener.class)
 @Table(name = "accounts", indexes = {
     @Index(name = "idx_account_number", columnList = "accountNumber"),
     @Index(name = "idx_account_customer_id", columnList = "customer_id"),
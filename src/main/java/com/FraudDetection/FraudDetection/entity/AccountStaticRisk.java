@@ -0,0 +1,87 @@
+package com.FraudDetection.FraudDetection.entity;
+
+import jakarta.persistence.*;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "account_static_risk", indexes = {
+    @Index(name = "idx_static_risk_computed_at", columnList = "computedAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Precomputed static account and customer risk points of an account")
+public class AccountStaticRisk implements Persistable<String> {
+    
+    @Id
+    @Column(length = 20)
+    @Schema(description = "Account number", example = "ACC-001234")
+    private String accountNumber;
+    
+    @Column
+    @Schema(description = "Owning customer ID", example = "1")
+    private Long customerId;
+    
+    @Column(nullable = false)
+    @Schema(description = "Account points from risk level, status and monitoring flag", example = "35")
+    private int accountBasePoints;
+    
+    @Column
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @Schema(description = "Until when the account counts as new")
+    private LocalDateTime newAccountUntil;
+    
+    @Column(nullable = false)
+    @Schema(description = "Customer points from risk level and status", example = "13")
+    private int customerBasePoints;
+    
+    @Column
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @Schema(description = "Until when the customer counts as new")
+    private LocalDateTime newCustomerUntil;
+    
+    @Column
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @Schema(description = "From when the customer counts as inactive")
+    private LocalDateTime inactiveCustomerFrom;
+    
+    @Column(nullable = false)
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @Schema(description = "Latest update timestamp of the account and customer rows it was computed from")
+    private LocalDateTime sourceUpdatedAt;
+    
+    @Column(nullable = false)
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @Schema(description = "When the row was computed")
+    private LocalDateTime computedAt;
+    
+    // Rows are replaced wholesale by the materialization job, so new instances are inserted
+    // without the select that merging an assigned identifier would need
+    @Transient
+    private boolean persisted;
+    
+    @Override
+    public String getId() {
+        return accountNumber;
+    }
+    
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+    
+    @PostLoad
+    @PostPersist
+    protected void markPersisted() {
+        this.persisted = true;
+    }
+}
@@ -30,7 +30,8 @@ import java.time.LocalDateTime;
 public class AuditLog {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_log_seq")
+    @SequenceGenerator(name = "audit_log_seq", sequenceName = "audit_logs_seq", allocationSize = 50)
     @Schema(description = "Unique audit log ID", example = "1")
     private Long id;
     
@@ -138,6 +139,9 @@ public class AuditLog {
     // JPA Lifecycle callbacks
     @PrePersist
     protected void onCreate() {
-        this.createdAt = LocalDateTime.now();
+        // Keep the event time of entries written asynchronously
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
     }
 }
\ No newline at end of file
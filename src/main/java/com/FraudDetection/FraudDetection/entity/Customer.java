@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import io.swagger.v3.oas.annotations.media.Schema;
+import com.FraudDetection.FraudDetection.service.profile.RiskProfileInvalidationListener;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -15,6 +16,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@EntityListeners(RiskProfileInvalidationListener.class)
 @Table(name = "customers", indexes = {
     @Index(name = "idx_customer_email", columnList = "email"),
     @Index(name = "idx_customer_phone", columnList = "phoneNumber"),
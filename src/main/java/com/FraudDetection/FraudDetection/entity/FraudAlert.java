@@ -31,7 +31,8 @@ import java.util.List;
 public class FraudAlert {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fraud_alert_seq")
+    @SequenceGenerator(name = "fraud_alert_seq", sequenceName = "fraud_alerts_seq", allocationSize = 50)
     @Schema(description = "Unique fraud alert ID", example = "1")
     private Long id;
     
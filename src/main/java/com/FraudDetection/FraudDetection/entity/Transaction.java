@@ -32,7 +32,8 @@ import java.util.List;
 public class Transaction {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transactions_seq", allocationSize = 50)
     @Schema(description = "Unique transaction ID", example = "1")
     private Long id;
     
@@ -187,7 +188,10 @@ public class Transaction {
     // JPA Lifecycle callbacks
     @PrePersist
     protected void onCreate() {
-        this.timestamp = LocalDateTime.now();
+        // Transactions scored before they are written already carry the scored timestamp
+        if (this.timestamp == null) {
+            this.timestamp = LocalDateTime.now();
+        }
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
     }
@@ -23,6 +23,27 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     // Find by unique account number
     Optional<Account> findByAccountNumber(String accountNumber);
     
+    // Find by account number with the owning customer loaded in the same query
+    @Query("SELECT a FROM Account a LEFT JOIN FETCH a.customer WHERE a.accountNumber = :accountNumber")
+    Optional<Account> findWithCustomerByAccountNumber(@Param("accountNumber") String accountNumber);
+    
+    // Find a range of accounts with their customers, for batch jobs
+    @Query("SELECT a FROM Account a LEFT JOIN FETCH a.customer WHERE a.id BETWEEN :fromId AND :toId")
+    List<Account> findWithCustomerByIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+    
+    @Query("SELECT a FROM Account a LEFT JOIN FETCH a.customer WHERE a.id IN :ids")
+    List<Account> findWithCustomerByIdIn(@Param("ids") List<Long> ids);
+    
+    @Query("SELECT MIN(a.id) FROM Account a")
+    Long findMinId();
+    
+    @Query("SELECT MAX(a.id) FROM Account a")
+    Long findMaxId();
+    
+    // Find accounts changed since a point in time, directly or through their customer
+    @Query("SELECT a.id FROM Account a LEFT JOIN a.customer c WHERE a.updatedAt > :since OR c.updatedAt > :since ORDER BY a.id")
+    List<Long> findIdsUpdatedSince(@Param("since") LocalDateTime since);
+    
     // Find by customer
     List<Account> findByCustomer(Customer customer);
     List<Account> findByCustomerId(Long customerId);
@@ -0,0 +1,28 @@
+package com.FraudDetection.FraudDetection.repository;
+
+import com.FraudDetection.FraudDetection.entity.AccountStaticRisk;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AccountStaticRiskRepository extends JpaRepository<AccountStaticRisk, String> {
+    
+    // Keyset page through the table in account number order
+    List<AccountStaticRisk> findByAccountNumberGreaterThanOrderByAccountNumber(String accountNumber, Pageable pageable);
+    
+    // Newest source change covered by the table
+    @Query("SELECT MAX(s.sourceUpdatedAt) FROM AccountStaticRisk s")
+    LocalDateTime findLatestSourceUpdate();
+    
+    // Remove rows of accounts that no longer exist
+    @Modifying
+    @Query("DELETE FROM AccountStaticRisk s WHERE s.computedAt < :cutoff")
+    int deleteComputedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
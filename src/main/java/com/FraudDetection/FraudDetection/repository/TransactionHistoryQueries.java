@@ -0,0 +1,22 @@
+package com.FraudDetection.FraudDetection.repository;
+
+import com.FraudDetection.FraudDetection.entity.Transaction;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Account history lookups of the rule evaluation context with a statement timeout, so the
+ * database aborts the query of a rule that ran out of its time budget instead of running
+ * it to completion. A null or zero timeout applies none.
+ */
+public interface TransactionHistoryQueries {
+    
+    // Same as findByAccountIdAndTimestampBetween
+    List<Transaction> findAccountHistory(String accountId, LocalDateTime startDate, LocalDateTime endDate, Duration timeout);
+    
+    // Same as findFirstByAccountIdAndTimestampBeforeOrderByTimestampDesc
+    Optional<Transaction> findLastBefore(String accountId, LocalDateTime timestamp, Duration timeout);
+}
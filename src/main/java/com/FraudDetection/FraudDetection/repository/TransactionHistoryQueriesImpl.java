@@ -0,0 +1,52 @@
+package com.FraudDetection.FraudDetection.repository;
+
+import com.FraudDetection.FraudDetection.entity.Transaction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+class TransactionHistoryQueriesImpl implements TransactionHistoryQueries {
+    
+    private static final String TIMEOUT_HINT = "jakarta.persistence.query.timeout";
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<Transaction> findAccountHistory(String accountId, LocalDateTime startDate, LocalDateTime endDate,
+                                                Duration timeout) {
+        TypedQuery<Transaction> query = entityManager.createQuery(
+                "SELECT t FROM Transaction t WHERE t.accountId = :accountId AND t.timestamp BETWEEN :startDate AND :endDate",
+                Transaction.class)
+            .setParameter("accountId", accountId)
+            .setParameter("startDate", startDate)
+            .setParameter("endDate", endDate);
+        return withTimeout(query, timeout).getResultList();
+    }
+    
+    @Override
+    public Optional<Transaction> findLastBefore(String accountId, LocalDateTime timestamp, Duration timeout) {
+        TypedQuery<Transaction> query = entityManager.createQuery(
+                "SELECT t FROM Transaction t WHERE t.accountId = :accountId AND t.timestamp < :timestamp "
+                    + "ORDER BY t.timestamp DESC",
+                Transaction.class)
+            .setParameter("accountId", accountId)
+            .setParameter("timestamp", timestamp)
+            .setMaxResults(1);
+        return withTimeout(query, timeout).getResultList().stream().findFirst();
+    }
+    
+    private static TypedQuery<Transaction> withTimeout(TypedQuery<Transaction> query, Duration timeout) {
+        if (timeout == null || timeout.isZero() || timeout.isNegative()) {
+            return query;
+        }
+        // JDBC statement timeouts have whole-second resolution; round up so a short budget still applies
+        int seconds = (int) Math.max(1, (timeout.toMillis() + 999) / 1000);
+        return query.setHint(TIMEOUT_HINT, seconds * 1000);
+    }
+}
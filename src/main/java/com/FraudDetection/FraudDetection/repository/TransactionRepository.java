@@ -16,7 +16,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionHistoryQueries {
     
     // Find by unique transaction reference
     Optional<Transaction> findByTransactionReference(String transactionReference);
@@ -92,6 +92,7 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     
     // Find first transaction before a timestamp (for geo-location fraud detection)
     Optional<Transaction> findFirstByAccountIdAndTimestampBeforeOrderByTimestampDesc(String accountId, LocalDateTime timestamp);
+    List<Transaction> findByAccountIdAndTimestampBeforeOrderByTimestampDesc(String accountId, LocalDateTime timestamp, Pageable pageable);
     
     // Find distinct countries for geo-location fraud detection
     @Query("SELECT DISTINCT t.location FROM Transaction t WHERE t.accountId = :accountId AND t.timestamp BETWEEN :startDate AND :endDate")
@@ -0,0 +1,190 @@
+package com.FraudDetection.FraudDetection.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Routes work to a fixed set of single-threaded lanes by hashing the account id.
+ * All transactions of one account run on the same lane in submission order, so two
+ * authorizations for the same account never score against the same velocity window
+ * concurrently. Different accounts spread across lanes and scale with cores.
+ */
+@Component
+@Slf4j
+public class AccountLaneExecutor {
+
+    @Value("${fraud.pipeline.lanes.enabled:false}")
+    private boolean enabled;
+
+    // 0 means one lane per available processor
+    @Value("${fraud.pipeline.lanes.count:0}")
+    private int configuredLaneCount;
+
+    @Value("${fraud.pipeline.lanes.queue-capacity:1024}")
+    private int queueCapacity;
+
+    @Value("${fraud.pipeline.lanes.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private Lane[] lanes;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        int laneCount = configuredLaneCount > 0 ? configuredLaneCount : Runtime.getRuntime().availableProcessors();
+        lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane(i, queueCapacity);
+        }
+
+        log.info("Started {} account lanes (queue capacity {})", laneCount, queueCapacity);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getLaneCount() {
+        return lanes != null ? lanes.length : 0;
+    }
+
+    /**
+     * Runs the task on the lane that owns the account. When lanes are disabled the
+     * task runs on the calling thread.
+     */
+    public <T> CompletableFuture<T> submit(String accountId, Supplier<T> task) {
+        if (!enabled) {
+            try {
+                return CompletableFuture.completedFuture(task.get());
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        Lane lane = lanes[laneOf(accountId)];
+
+        // Already on the owning lane: queuing would wait on ourselves
+        if (Thread.currentThread() == lane.thread) {
+            try {
+                return CompletableFuture.completedFuture(task.get());
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        try {
+            lane.executor.execute(() -> {
+                try {
+                    future.complete(task.get());
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                } finally {
+                    lane.processedCount++;
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            lane.rejectedCount.incrementAndGet();
+            future.completeExceptionally(new FraudDetectionException(
+                String.format("Account lane %d is saturated (%d queued)", lane.index, queueCapacity), e));
+        }
+
+        return future;
+    }
+
+    public int laneOf(String accountId) {
+        int hash = accountId != null ? accountId.hashCode() : 0;
+        // Spread the high bits so sequential account numbers do not cluster
+        hash ^= (hash >>> 16);
+        hash *= 0x45d9f3b;
+        hash ^= (hash >>> 16);
+        return Math.floorMod(hash, lanes != null ? lanes.length : 1);
+    }
+
+    /**
+     * Queue depth and counters of every lane; empty when lanes are disabled.
+     */
+    public List<LaneStats> getLaneStats() {
+        if (lanes == null) {
+            return List.of();
+        }
+
+        List<LaneStats> stats = new ArrayList<>(lanes.length);
+        for (Lane lane : lanes) {
+            stats.add(new LaneStats(lane.index, lane.executor.getQueue().size(), lane.processedCount, lane.rejectedCount.get()));
+        }
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (lanes == null) {
+            return;
+        }
+
+        for (Lane lane : lanes) {
+            lane.executor.shutdown();
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMs);
+        for (Lane lane : lanes) {
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                if (!lane.executor.awaitTermination(remaining, TimeUnit.NANOSECONDS)) {
+                    log.warn("Account lane {} did not drain in time, {} tasks dropped",
+                        lane.index, lane.executor.shutdownNow().size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                lane.executor.shutdownNow();
+            }
+        }
+    }
+
+    public record LaneStats(int lane, int queued, long processed, long rejected) {
+    }
+
+    /**
+     * One single-threaded lane. Its counters are written only by the lane thread
+     * (processed) or updated atomically (rejected), and each lane keeps them in its own
+     * object so lanes never contend on a shared cache line.
+     */
+    private static final class Lane {
+        private final int index;
+        private final ThreadPoolExecutor executor;
+        private final AtomicLong rejectedCount = new AtomicLong();
+        private volatile Thread thread;
+        private volatile long processedCount;
+
+        private Lane(int index, int queueCapacity) {
+            this.index = index;
+            this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread laneThread = new Thread(runnable, "fraud-lane-" + index);
+                    laneThread.setDaemon(true);
+                    this.thread = laneThread;
+                    return laneThread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+            this.executor.prestartCoreThread();
+        }
+    }
+}
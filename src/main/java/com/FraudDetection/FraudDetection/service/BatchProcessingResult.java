@@ -0,0 +1,72 @@
+package com.FraudDetection.FraudDetection.service;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchProcessingResult {
+
+    private int totalCount;
+    private int successCount;
+    private int failureCount;
+    private LocalDateTime processedAt;
+
+    // True when the batch write failed and items were re-processed one by one
+    private boolean fallbackUsed;
+
+    @Builder.Default
+    private List<ItemResult> items = new ArrayList<>();
+
+    public static BatchProcessingResult of(List<ItemResult> items, boolean fallbackUsed) {
+        int successCount = (int) items.stream().filter(ItemResult::isSuccess).count();
+
+        return BatchProcessingResult.builder()
+            .totalCount(items.size())
+            .successCount(successCount)
+            .failureCount(items.size() - successCount)
+            .processedAt(LocalDateTime.now())
+            .fallbackUsed(fallbackUsed)
+            .items(items)
+            .build();
+    }
+
+    public boolean hasFailures() {
+        return failureCount > 0;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private String transactionReference;
+        private boolean success;
+        private FraudDetectionResult result;
+        private String errorMessage;
+
+        public static ItemResult success(String transactionReference, FraudDetectionResult result) {
+            return ItemResult.builder()
+                .transactionReference(transactionReference)
+                .success(true)
+                .result(result)
+                .build();
+        }
+
+        public static ItemResult failure(String transactionReference, String errorMessage) {
+            return ItemResult.builder()
+                .transactionReference(transactionReference)
+                .success(false)
+                .errorMessage(errorMessage)
+                .build();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.FraudDetection.FraudDetection.service;
+
+import com.FraudDetection.FraudDetection.service.rules.RuleRegistry;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An immutable, compiled decision policy. Thresholds are held in hundredths of a score
+ * point to compare against {@link FraudDecisionEngine#toHundredths}, and critical rules as
+ * a bitset over {@link RuleRegistry} ids. {@link #summarize} reads the rule results once
+ * for everything a decision needs.
+ */
+public final class DecisionPolicy {
+    
+    private final long version;
+    private final LocalDateTime activatedAt;
+    private final DecisionPolicySettings settings;
+    
+    private final RuleRegistry ruleRegistry;
+    private final BitSet criticalRuleIds;
+    private final Set<String> highSeverities;
+    
+    final int autoRejectHundredths;
+    final int manualReviewHundredths;
+    final int multipleHighSeverityCount;
+    final int multipleHighSeverityRejectHundredths;
+    final int multipleRulesReviewHundredths;
+    final int multipleRulesReviewCount;
+    final int escalationHundredths;
+    final int autoApproveHundredths;
+    final DegradedMode degradedMode;
+    
+    private DecisionPolicy(long version, DecisionPolicySettings settings, RuleRegistry ruleRegistry,
+                           BitSet criticalRuleIds, Set<String> highSeverities) {
+        this.version = version;
+        this.activatedAt = LocalDateTime.now();
+        this.settings = settings;
+        this.ruleRegistry = ruleRegistry;
+        this.criticalRuleIds = criticalRuleIds;
+        this.highSeverities = highSeverities;
+        this.autoRejectHundredths = settings.getAutoRejectThreshold() * 100;
+        this.manualReviewHundredths = settings.getManualReviewThreshold() * 100;
+        this.multipleHighSeverityCount = settings.getMultipleHighSeverityCount();
+        this.multipleHighSeverityRejectHundredths = settings.getMultipleHighSeverityRejectScore() * 100;
+        this.multipleRulesReviewHundredths = settings.getMultipleRulesReviewScore() * 100;
+        this.multipleRulesReviewCount = settings.getMultipleRulesReviewCount();
+        this.escalationHundredths = settings.getEscalationScore() * 100;
+        this.autoApproveHundredths = settings.getAutoApproveThreshold() * 100;
+        this.degradedMode = settings.getDegradedMode();
+    }
+    
+    /**
+     * Validates complete settings and compiles them. Invalid settings are rejected with
+     * {@link IllegalArgumentException}.
+     */
+    public static DecisionPolicy compile(long version, DecisionPolicySettings settings, RuleRegistry ruleRegistry) {
+        List<String> problems = new ArrayList<>();
+        
+        int autoApprove = requireScore(settings.getAutoApproveThreshold(), "autoApproveThreshold", problems);
+        int manualReview = requireScore(settings.getManualReviewThreshold(), "manualReviewThreshold", problems);
+        int autoReject = requireScore(settings.getAutoRejectThreshold(), "autoRejectThreshold", problems);
+        requireScore(settings.getHighConfidenceThreshold(), "highConfidenceThreshold", problems);
+        requireScore(settings.getMultipleHighSeverityRejectScore(), "multipleHighSeverityRejectScore", problems);
+        requireScore(settings.getMultipleRulesReviewScore(), "multipleRulesReviewScore", problems);
+        requireScore(settings.getEscalationScore(), "escalationScore", problems);
+        requireCount(settings.getMultipleHighSeverityCount(), "multipleHighSeverityCount", problems);
+        requireCount(settings.getMultipleRulesReviewCount(), "multipleRulesReviewCount", problems);
+        
+        if (settings.getDegradedMode() == null) {
+            problems.add("degradedMode is required");
+        }
+        
+        if (autoApprove > manualReview || manualReview > autoReject) {
+            problems.add("thresholds must satisfy autoApprove <= manualReview <= autoReject");
+        }
+        
+        BitSet criticalRuleIds = new BitSet(ruleRegistry.size());
+        List<String> criticalRules = settings.getCriticalRules() != null ? settings.getCriticalRules() : List.of();
+        for (String ruleName : criticalRules) {
+            int ruleId = ruleRegistry.idOf(ruleName != null ? ruleName.trim() : null);
+            if (ruleId == RuleRegistry.UNKNOWN) {
+                problems.add("unknown critical rule " + ruleName + ", known rules are " + ruleRegistry.getRuleNames());
+            } else {
+                criticalRuleIds.set(ruleId);
+            }
+        }
+        
+        List<String> highSeverities = settings.getHighSeverities() != null ? settings.getHighSeverities() : List.of();
+        if (highSeverities.stream().anyMatch(severity -> severity == null || severity.isBlank())) {
+            problems.add("highSeverities must not contain blank values");
+        }
+        
+        if (!problems.isEmpty()) {
+            throw new IllegalArgumentException("Invalid decision policy: " + String.join("; ", problems));
+        }
+        
+        DecisionPolicySettings normalized = DecisionPolicySettings.builder()
+            .autoApproveThreshold(autoApprove)
+            .manualReviewThreshold(manualReview)
+            .autoRejectThreshold(autoReject)
+            .highConfidenceThreshold(settings.getHighConfidenceThreshold())
+            .criticalRules(criticalRuleIds.stream().mapToObj(ruleRegistry::nameOf).toList())
+            .highSeverities(List.copyOf(highSeverities))
+            .multipleHighSeverityCount(settings.getMultipleHighSeverityCount())
+            .multipleHighSeverityRejectScore(settings.getMultipleHighSeverityRejectScore())
+            .multipleRulesReviewScore(settings.getMultipleRulesReviewScore())
+            .multipleRulesReviewCount(settings.getMultipleRulesReviewCount())
+            .escalationScore(settings.getEscalationScore())
+            .degradedMode(settings.getDegradedMode())
+            .build();
+        
+        return new DecisionPolicy(version, normalized, ruleRegistry, criticalRuleIds, Set.copyOf(highSeverities));
+    }
+    
+    public long getVersion() {
+        return version;
+    }
+    
+    public LocalDateTime getActivatedAt() {
+        return activatedAt;
+    }
+    
+    /**
+     * A copy of the settings this policy was compiled from.
+     */
+    public DecisionPolicySettings getSettings() {
+        return new DecisionPolicySettings().mergedOnto(settings);
+    }
+    
+    public boolean isCriticalRule(String ruleName) {
+        int ruleId = ruleRegistry.idOf(ruleName);
+        return ruleId != RuleRegistry.UNKNOWN && criticalRuleIds.get(ruleId);
+    }
+    
+    public boolean isHighSeverity(String severity) {
+        return severity != null && highSeverities.contains(severity);
+    }
+    
+    /**
+     * One pass over the rule results: how many triggered, how many of those are high
+     * severity, and whether a critical rule is among them.
+     */
+    public RuleSummary summarize(List<RuleResult> ruleResults) {
+        int triggered = 0;
+        int highSeverity = 0;
+        boolean critical = false;
+        
+        if (ruleResults != null) {
+            for (RuleResult ruleResult : ruleResults) {
+                if (!ruleResult.isTriggered()) {
+                    continue;
+                }
+                triggered++;
+                if (isHighSeverity(ruleResult.getSeverity())) {
+                    highSeverity++;
+                }
+                if (!critical && isCriticalRule(ruleResult.getRuleName())) {
+                    critical = true;
+                }
+            }
+        }
+        
+        return new RuleSummary(triggered, highSeverity, critical, highSeverity >= multipleHighSeverityCount);
+    }
+    
+    private static int requireScore(Integer value, String field, List<String> problems) {
+        if (value == null || value < 0 || value > 100) {
+            problems.add(field + " must be between 0 and 100");
+            return 0;
+        }
+        return value;
+    }
+    
+    private static void requireCount(Integer value, String field, List<String> problems) {
+        if (value == null || value < 1) {
+            problems.add(field + " must be at least 1");
+        }
+    }
+    
+    public record RuleSummary(int triggeredCount, int highSeverityCount, boolean criticalRuleViolation,
+                              boolean multipleHighSeverityRules) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.FraudDetection.FraudDetection.service;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The editable form of a {@link DecisionPolicy}. Scores are on the 0-100 risk scale. In an
+ * update, fields left null keep their current value.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Fraud decision policy settings")
+public class DecisionPolicySettings {
+    
+    @Schema(description = "Score below which a transaction counts as low risk", example = "30")
+    private Integer autoApproveThreshold;
+    
+    @Schema(description = "Score from which a transaction goes to manual review", example = "70")
+    private Integer manualReviewThreshold;
+    
+    @Schema(description = "Score from which a transaction is rejected", example = "85")
+    private Integer autoRejectThreshold;
+    
+    @Schema(description = "Confidence from which a decision counts as high confidence", example = "80")
+    private Integer highConfidenceThreshold;
+    
+    @Schema(description = "Rules whose triggering always needs at least a manual review", example = "[\"VELOCITY_RULE\", \"GEO_LOCATION_RULE\"]")
+    private List<String> criticalRules;
+    
+    @Schema(description = "Rule result severities that count as high severity", example = "[\"HIGH\", \"CRITICAL\"]")
+    private List<String> highSeverities;
+    
+    @Schema(description = "High-severity rules needed to count as multiple high-severity rules", example = "2")
+    private Integer multipleHighSeverityCount;
+    
+    @Schema(description = "Score from which multiple high-severity rules lead to rejection", example = "75")
+    private Integer multipleHighSeverityRejectScore;
+    
+    @Schema(description = "Score from which several triggered rules lead to manual review", example = "50")
+    private Integer multipleRulesReviewScore;
+    
+    @Schema(description = "Triggered rules needed for the multiple-rules review", example = "2")
+    private Integer multipleRulesReviewCount;
+    
+    @Schema(description = "Score from which a review is escalated", example = "80")
+    private Integer escalationScore;
+    
+    @Schema(description = "Decision for transactions with rules skipped by an open circuit breaker", example = "REVIEW_ABOVE_APPROVE_THRESHOLD")
+    private DegradedMode degradedMode;
+    
+    /**
+     * These settings with null fields taken from {@code current}.
+     */
+    public DecisionPolicySettings mergedOnto(DecisionPolicySettings current) {
+        return DecisionPolicySettings.builder()
+            .autoApproveThreshold(autoApproveThreshold != null ? autoApproveThreshold : current.autoApproveThreshold)
+            .manualReviewThreshold(manualReviewThreshold != null ? manualReviewThreshold : current.manualReviewThreshold)
+            .autoRejectThreshold(autoRejectThreshold != null ? autoRejectThreshold : current.autoRejectThreshold)
+            .highConfidenceThreshold(highConfidenceThreshold != null ? highConfidenceThreshold : current.highConfidenceThreshold)
+            .criticalRules(criticalRules != null ? criticalRules : current.criticalRules)
+            .highSeverities(highSeverities != null ? highSeverities : current.highSeverities)
+            .multipleHighSeverityCount(multipleHighSeverityCount != null ? multipleHighSeverityCount : current.multipleHighSeverityCount)
+            .multipleHighSeverityRejectScore(multipleHighSeverityRejectScore != null ? multipleHighSeverityRejectScore : current.multipleHighSeverityRejectScore)
+            .multipleRulesReviewScore(multipleRulesReviewScore != null ? multipleRulesReviewScore : current.multipleRulesReviewScore)
+            .multipleRulesReviewCount(multipleRulesReviewCount != null ? multipleRulesReviewCount : current.multipleRulesReviewCount)
+            .escalationScore(escalationScore != null ? escalationScore : current.escalationScore)
+            .degradedMode(degradedMode != null ? degradedMode : current.degradedMode)
+            .build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.FraudDetection.FraudDetection.service;
+
+/**
+ * How the decision treats a transaction whose rules were not all evaluated normally
+ * because their circuit breakers were open. Rejections stand in every mode.
+ */
+public enum DegradedMode {
+    DECIDE_ON_AVAILABLE("Decide on the available results, as if the missing rules had not triggered"),
+    REVIEW_ABOVE_APPROVE_THRESHOLD("Send to manual review unless the score is below the auto-approve threshold"),
+    REVIEW("Send every transaction that would be approved to manual review");
+    
+    private final String description;
+    
+    DegradedMode(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
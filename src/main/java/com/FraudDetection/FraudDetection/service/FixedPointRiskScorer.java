@@ -0,0 +1,116 @@
+package com.FraudDetection.FraudDetection.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Arithmetic core of {@link RiskScoringService}. The fast path combines the component
+ * scores as primitives and yields the final score in hundredths; the exact path is the
+ * original {@code BigDecimal} computation.
+ * <p>
+ * Both paths round the same exact value to two decimals with HALF_UP. The primitive
+ * result can differ from the exact one only when the value lies within rounding error of
+ * a half-hundredth; those rare inputs are reported as {@link #UNRESOLVED} and the caller
+ * recomputes them exactly, so the final scores are identical.
+ */
+final class FixedPointRiskScorer {
+    
+    static final long UNRESOLVED = -1;
+    
+    // Far above the double rounding error of scores in the hundreds, far below 0.5
+    private static final double TIE_TOLERANCE = 1e-6;
+    
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+    private static final double[] MULTI_RULE_BONUS = { 0.1, 0.05, 0.025, 0.0125 };
+    
+    private final double ruleWeight;
+    private final double transactionWeight;
+    private final double accountWeight;
+    private final double customerWeight;
+    private final int baseScore;
+    private final int maxScore;
+    
+    FixedPointRiskScorer(double ruleWeight, double transactionWeight, double accountWeight,
+                         double customerWeight, int baseScore, int maxScore) {
+        this.ruleWeight = ruleWeight;
+        this.transactionWeight = transactionWeight;
+        this.accountWeight = accountWeight;
+        this.customerWeight = customerWeight;
+        this.baseScore = baseScore;
+        this.maxScore = maxScore;
+    }
+    
+    /**
+     * Maximum rule score plus a diminishing bonus for each additional triggered rule
+     * (10%, 5%, 2.5%, 1.25%), capped at 100.
+     */
+    static double ruleScore(double maxRuleScore, int triggeredCount) {
+        if (triggeredCount == 0) {
+            return 0;
+        }
+        
+        double score = maxRuleScore;
+        for (int i = 1; i < triggeredCount && i <= MULTI_RULE_BONUS.length; i++) {
+            score += maxRuleScore * MULTI_RULE_BONUS[i - 1];
+        }
+        return Math.min(score, 100);
+    }
+    
+    static BigDecimal exactRuleScore(BigDecimal maxRuleScore, int triggeredCount) {
+        if (triggeredCount == 0) {
+            return BigDecimal.ZERO;
+        }
+        
+        BigDecimal multiRuleBonus = BigDecimal.ZERO;
+        for (int i = 1; i < triggeredCount && i <= MULTI_RULE_BONUS.length; i++) {
+            double bonusPercent = Math.pow(0.5, i - 1) * 0.1;
+            multiRuleBonus = multiRuleBonus.add(maxRuleScore.multiply(BigDecimal.valueOf(bonusPercent)));
+        }
+        return maxRuleScore.add(multiRuleBonus).min(ONE_HUNDRED);
+    }
+    
+    /**
+     * Transaction score from its whole-point factors and, for large amounts, the
+     * amount-based points, capped at 100.
+     */
+    static double transactionScore(int factorPoints, double amountPoints) {
+        return Math.min(factorPoints + amountPoints, 100);
+    }
+    
+    static BigDecimal exactTransactionScore(int factorPoints, double amountPoints, boolean largeAmount) {
+        BigDecimal score = largeAmount ? BigDecimal.valueOf(amountPoints) : BigDecimal.ZERO;
+        return score.add(BigDecimal.valueOf(factorPoints)).min(ONE_HUNDRED);
+    }
+    
+    /**
+     * Weighted total in hundredths, or {@link #UNRESOLVED} when the primitive sum is too
+     * close to a rounding boundary to be trusted.
+     */
+    long totalHundredths(double ruleScore, double transactionScore, int accountScore, int customerScore) {
+        double total = ruleScore * ruleWeight
+            + transactionScore * transactionWeight
+            + accountScore * accountWeight
+            + customerScore * customerWeight
+            + baseScore;
+        
+        double hundredths = Math.min(total, maxScore) * 100;
+        double fraction = hundredths - Math.floor(hundredths);
+        if (Math.abs(fraction - 0.5) < TIE_TOLERANCE) {
+            return UNRESOLVED;
+        }
+        
+        return (long) Math.floor(hundredths + 0.5);
+    }
+    
+    BigDecimal exactTotal(BigDecimal ruleScore, BigDecimal transactionScore, BigDecimal accountScore, BigDecimal customerScore) {
+        BigDecimal weightedScore = ruleScore.multiply(BigDecimal.valueOf(ruleWeight))
+            .add(transactionScore.multiply(BigDecimal.valueOf(transactionWeight)))
+            .add(accountScore.multiply(BigDecimal.valueOf(accountWeight)))
+            .add(customerScore.multiply(BigDecimal.valueOf(customerWeight)));
+        
+        // Add base score and cap at max score
+        BigDecimal finalScore = weightedScore.add(BigDecimal.valueOf(baseScore));
+        
+        return finalScore.min(BigDecimal.valueOf(maxScore)).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -1,5 +1,7 @@
 package com.FraudDetection.FraudDetection.service;
 
+import com.FraudDetection.FraudDetection.service.explain.Explanation;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import lombok.Builder;
 import lombok.NoArgsConstructor;
@@ -25,6 +27,27 @@ public class FraudDecision {
     private boolean requiresEscalation;
     private String escalationReason;
     
+    // Structured forms of reason and contributingFactors, rendered when those are first read
+    @JsonIgnore
+    private Explanation explanation;
+    
+    @JsonIgnore
+    private Explanation factorExplanation;
+    
+    public String getReason() {
+        if (reason == null && explanation != null) {
+            reason = explanation.render();
+        }
+        return reason;
+    }
+    
+    public List<String> getContributingFactors() {
+        if (contributingFactors == null && factorExplanation != null) {
+            contributingFactors = factorExplanation.renderDetails();
+        }
+        return contributingFactors;
+    }
+    
     public boolean isApproved() {
         return decision == DecisionType.APPROVED;
     }
@@ -57,26 +80,26 @@ public class FraudDecision {
             .build();
     }
     
-    public static FraudDecision rejected(String reason, List<String> contributingFactors) {
+    public static FraudDecision rejected(Explanation reason, Explanation contributingFactors) {
         return FraudDecision.builder()
             .decision(DecisionType.REJECTED)
-            .reason(reason)
+            .explanation(reason)
             .decidedAt(LocalDateTime.now())
             .decidedBy("SYSTEM")
-            .contributingFactors(contributingFactors)
+            .factorExplanation(contributingFactors)
             .confidenceLevel(BigDecimal.valueOf(90))
             .recommendedAction("BLOCK_TRANSACTION")
             .requiresEscalation(false)
             .build();
     }
     
-    public static FraudDecision requiresReview(String reason, List<String> contributingFactors, boolean escalate) {
+    public static FraudDecision requiresReview(Explanation reason, Explanation contributingFactors, boolean escalate) {
         return FraudDecision.builder()
             .decision(DecisionType.REQUIRES_REVIEW)
-            .reason(reason)
+            .explanation(reason)
             .decidedAt(LocalDateTime.now())
             .decidedBy("SYSTEM")
-            .contributingFactors(contributingFactors)
+            .factorExplanation(contributingFactors)
             .confidenceLevel(BigDecimal.valueOf(60))
             .recommendedAction("MANUAL_REVIEW")
             .requiresEscalation(escalate)
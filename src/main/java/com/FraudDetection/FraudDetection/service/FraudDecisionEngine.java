@@ -1,19 +1,28 @@
 package com.FraudDetection.FraudDetection.service;
 
+import com.FraudDetection.FraudDetection.service.explain.Explanation;
+import com.FraudDetection.FraudDetection.service.explain.ReasonCode;
+import com.FraudDetection.FraudDetection.service.rules.RuleRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class FraudDecisionEngine {
     
+    private final RuleRegistry ruleRegistry;
+    
     @Value("${fraud.decision.auto-approve-threshold:30}")
     private int autoApproveThreshold;
     
@@ -29,49 +38,139 @@ public class FraudDecisionEngine {
     @Value("${fraud.decision.critical-rules:VELOCITY_RULE,GEO_LOCATION_RULE}")
     private List<String> criticalRules;
     
+    @Value("${fraud.decision.high-severities:HIGH,CRITICAL}")
+    private List<String> highSeverities;
+    
+    @Value("${fraud.decision.multiple-high-severity-count:2}")
+    private int multipleHighSeverityCount;
+    
+    @Value("${fraud.decision.multiple-high-severity-reject-score:75}")
+    private int multipleHighSeverityRejectScore;
+    
+    @Value("${fraud.decision.multiple-rules-review-score:50}")
+    private int multipleRulesReviewScore;
+    
+    @Value("${fraud.decision.multiple-rules-review-count:2}")
+    private int multipleRulesReviewCount;
+    
+    @Value("${fraud.decision.escalation-score:80}")
+    private int escalationScore;
+    
+    @Value("${fraud.decision.degraded-mode:REVIEW_ABOVE_APPROVE_THRESHOLD}")
+    private DegradedMode degradedMode;
+    
+    // Read once per decision; replaced as a whole, never modified
+    private final AtomicReference<DecisionPolicy> policy = new AtomicReference<>();
+    
+    @PostConstruct
+    public void compileInitialPolicy() {
+        List<String> knownCriticalRules = new ArrayList<>();
+        for (String ruleName : criticalRules) {
+            if (ruleRegistry.isRegistered(ruleName.trim())) {
+                knownCriticalRules.add(ruleName.trim());
+            } else {
+                log.warn("Critical rule {} is not a registered rule and is ignored", ruleName);
+            }
+        }
+        
+        policy.set(DecisionPolicy.compile(1, DecisionPolicySettings.builder()
+            .autoApproveThreshold(autoApproveThreshold)
+            .manualReviewThreshold(manualReviewThreshold)
+            .autoRejectThreshold(autoRejectThreshold)
+            .highConfidenceThreshold(highConfidenceThreshold)
+            .criticalRules(knownCriticalRules)
+            .highSeverities(highSeverities)
+            .multipleHighSeverityCount(multipleHighSeverityCount)
+            .multipleHighSeverityRejectScore(multipleHighSeverityRejectScore)
+            .multipleRulesReviewScore(multipleRulesReviewScore)
+            .multipleRulesReviewCount(multipleRulesReviewCount)
+            .escalationScore(escalationScore)
+            .degradedMode(degradedMode)
+            .build(), ruleRegistry));
+    }
+    
+    public DecisionPolicy getPolicy() {
+        return policy.get();
+    }
+    
+    /**
+     * Compiles the settings, with null fields taken from the active policy, and makes the
+     * result the active policy. Decisions in flight finish on the policy they started with.
+     * Invalid settings are rejected with {@link IllegalArgumentException} and change nothing.
+     */
+    public DecisionPolicy updatePolicy(DecisionPolicySettings update) {
+        DecisionPolicy updated = policy.updateAndGet(current ->
+            DecisionPolicy.compile(current.getVersion() + 1, update.mergedOnto(current.getSettings()), ruleRegistry));
+        
+        log.info("Decision policy version {} activated: {}", updated.getVersion(), updated.getSettings());
+        return updated;
+    }
+    
+    /**
+     * Compiles a policy that is never activated, with null fields taken from the active
+     * policy. Used to evaluate challenger configurations next to the active policy.
+     */
+    public DecisionPolicy compileVariant(DecisionPolicySettings overrides) {
+        return DecisionPolicy.compile(0, overrides.mergedOnto(policy.get().getSettings()), ruleRegistry);
+    }
+    
     public FraudDecision makeDecision(FraudDetectionResult result) {
         log.debug("Making fraud decision for transaction: {}", result.getTransactionId());
         
-        BigDecimal riskScore = result.getRiskScore();
-        List<RuleResult> triggeredRules = result.getTriggeredRuleResults();
+        FraudDecision decision = makeDecision(result, policy.get());
         
-        // Check for critical rule violations
-        boolean hasCriticalRuleViolation = hasCriticalRuleViolation(triggeredRules);
+        log.info("Fraud decision made for transaction {}: {} (confidence: {}%, risk score: {})", 
+            result.getTransactionId(), decision.getDecision(), decision.getConfidenceLevel(), result.getRiskScore());
         
-        // Check for multiple high-severity rules
-        boolean hasMultipleHighSeverityRules = hasMultipleHighSeverityRules(triggeredRules);
+        return decision;
+    }
+    
+    /**
+     * Decides under the given policy instead of the active one, without logging.
+     */
+    public FraudDecision makeDecision(FraudDetectionResult result, DecisionPolicy activePolicy) {
+        BigDecimal riskScore = result.getRiskScore();
+        int scoreHundredths = toHundredths(riskScore);
+        
+        // Critical rules, high-severity rules and triggered count in one pass
+        DecisionPolicy.RuleSummary summary = activePolicy.summarize(result.getRuleResults());
         
         // Make decision based on risk score and rule characteristics
-        FraudDecision decision = determineDecision(riskScore, hasCriticalRuleViolation, 
-            hasMultipleHighSeverityRules, triggeredRules);
+        FraudDecision decision = determineDecision(activePolicy, riskScore, scoreHundredths, summary, result);
         
         // Calculate confidence level
-        BigDecimal confidence = calculateConfidenceLevel(riskScore, triggeredRules);
+        BigDecimal confidence = calculateConfidenceLevel(scoreHundredths, summary);
         decision.setConfidenceLevel(confidence);
         
-        log.info("Fraud decision made for transaction {}: {} (confidence: {}%, risk score: {})", 
-            result.getTransactionId(), decision.getDecision(), confidence, riskScore);
-        
         return decision;
     }
     
-    private FraudDecision determineDecision(BigDecimal riskScore, boolean hasCriticalRuleViolation, 
-                                          boolean hasMultipleHighSeverityRules, List<RuleResult> triggeredRules) {
-        
-        List<String> contributingFactors = buildContributingFactors(riskScore, hasCriticalRuleViolation, 
-            hasMultipleHighSeverityRules, triggeredRules);
+    /**
+     * True when the results so far already force an auto-reject under the active policy.
+     * Further triggered rules can only raise the score and the rule counts, so the
+     * decision cannot change unless the score can go down.
+     */
+    public boolean isCertainReject(FraudDetectionResult partialResult) {
+        DecisionPolicy activePolicy = policy.get();
+        DecisionPolicy.RuleSummary summary = activePolicy.summarize(partialResult.getRuleResults());
+        return shouldAutoReject(activePolicy, toHundredths(partialResult.getRiskScore()), summary);
+    }
+    
+    private FraudDecision determineDecision(DecisionPolicy policy, BigDecimal riskScore, int scoreHundredths,
+                                          DecisionPolicy.RuleSummary summary, FraudDetectionResult result) {
         
         // Auto-reject scenarios
-        if (shouldAutoReject(riskScore, hasCriticalRuleViolation, hasMultipleHighSeverityRules)) {
-            String reason = buildRejectReason(riskScore, hasCriticalRuleViolation, hasMultipleHighSeverityRules);
-            return FraudDecision.rejected(reason, contributingFactors);
+        if (shouldAutoReject(policy, scoreHundredths, summary)) {
+            Explanation reason = buildRejectReason(policy, riskScore, scoreHundredths, summary);
+            return FraudDecision.rejected(reason, buildContributingFactors(riskScore, summary, result));
         }
         
-        // Manual review scenarios
-        if (shouldRequireManualReview(riskScore, hasCriticalRuleViolation, triggeredRules)) {
-            String reason = buildReviewReason(riskScore, hasCriticalRuleViolation, triggeredRules);
-            boolean requiresEscalation = shouldEscalate(riskScore, hasCriticalRuleViolation, hasMultipleHighSeverityRules);
-            return FraudDecision.requiresReview(reason, contributingFactors, requiresEscalation);
+        // Manual review scenarios, including transactions the rules could not fully assess
+        boolean degradedReview = result.isDegraded() && shouldReviewDegraded(policy, scoreHundredths);
+        if (degradedReview || shouldRequireManualReview(policy, scoreHundredths, summary)) {
+            Explanation reason = buildReviewReason(policy, riskScore, scoreHundredths, summary, result);
+            boolean requiresEscalation = shouldEscalate(policy, scoreHundredths, summary);
+            return FraudDecision.requiresReview(reason, buildContributingFactors(riskScore, summary, result), requiresEscalation);
         }
         
         // Auto-approve scenario
@@ -79,191 +178,205 @@ public class FraudDecisionEngine {
         return FraudDecision.approved(reason);
     }
     
-    private boolean shouldAutoReject(BigDecimal riskScore, boolean hasCriticalRuleViolation, 
-                                   boolean hasMultipleHighSeverityRules) {
+    private boolean shouldAutoReject(DecisionPolicy policy, int scoreHundredths, DecisionPolicy.RuleSummary summary) {
         
         // Auto-reject if risk score is very high
-        if (riskScore.compareTo(BigDecimal.valueOf(autoRejectThreshold)) >= 0) {
+        if (scoreHundredths >= policy.autoRejectHundredths) {
             return true;
         }
         
         // Auto-reject if critical rule violated with high risk score
-        if (hasCriticalRuleViolation && riskScore.compareTo(BigDecimal.valueOf(manualReviewThreshold)) >= 0) {
+        if (summary.criticalRuleViolation() && scoreHundredths >= policy.manualReviewHundredths) {
             return true;
         }
         
         // Auto-reject if multiple high-severity rules triggered
-        if (hasMultipleHighSeverityRules && riskScore.compareTo(BigDecimal.valueOf(75)) >= 0) {
+        if (summary.multipleHighSeverityRules() && scoreHundredths >= policy.multipleHighSeverityRejectHundredths) {
             return true;
         }
         
         return false;
     }
     
-    private boolean shouldRequireManualReview(BigDecimal riskScore, boolean hasCriticalRuleViolation, 
-                                            List<RuleResult> triggeredRules) {
+    private boolean shouldRequireManualReview(DecisionPolicy policy, int scoreHundredths, DecisionPolicy.RuleSummary summary) {
         
         // Manual review if risk score is in the review range
-        if (riskScore.compareTo(BigDecimal.valueOf(manualReviewThreshold)) >= 0) {
+        if (scoreHundredths >= policy.manualReviewHundredths) {
             return true;
         }
         
         // Manual review if critical rule is violated
-        if (hasCriticalRuleViolation) {
+        if (summary.criticalRuleViolation()) {
             return true;
         }
         
         // Manual review if moderate risk score with multiple triggered rules
-        if (riskScore.compareTo(BigDecimal.valueOf(50)) >= 0 && triggeredRules.size() >= 2) {
+        if (scoreHundredths >= policy.multipleRulesReviewHundredths && summary.triggeredCount() >= policy.multipleRulesReviewCount) {
             return true;
         }
         
         // Manual review if any high-severity rule is triggered
-        if (triggeredRules.stream().anyMatch(rule -> "HIGH".equals(rule.getSeverity()) || "CRITICAL".equals(rule.getSeverity()))) {
+        if (summary.highSeverityCount() > 0) {
             return true;
         }
         
         return false;
     }
     
-    private boolean shouldEscalate(BigDecimal riskScore, boolean hasCriticalRuleViolation, 
-                                 boolean hasMultipleHighSeverityRules) {
+    private boolean shouldReviewDegraded(DecisionPolicy policy, int scoreHundredths) {
+        return switch (policy.degradedMode) {
+            case DECIDE_ON_AVAILABLE -> false;
+            case REVIEW_ABOVE_APPROVE_THRESHOLD -> scoreHundredths >= policy.autoApproveHundredths;
+            case REVIEW -> true;
+        };
+    }
+    
+    private boolean shouldEscalate(DecisionPolicy policy, int scoreHundredths, DecisionPolicy.RuleSummary summary) {
         
         // Escalate if risk score is very high but not auto-rejected
-        if (riskScore.compareTo(BigDecimal.valueOf(80)) >= 0) {
+        if (scoreHundredths >= policy.escalationHundredths) {
             return true;
         }
         
         // Escalate if critical rule violated
-        if (hasCriticalRuleViolation) {
+        if (summary.criticalRuleViolation()) {
             return true;
         }
         
         // Escalate if multiple high-severity rules
-        if (hasMultipleHighSeverityRules) {
+        if (summary.multipleHighSeverityRules()) {
             return true;
         }
         
         return false;
     }
     
-    private boolean hasCriticalRuleViolation(List<RuleResult> triggeredRules) {
-        return triggeredRules.stream()
-            .anyMatch(rule -> criticalRules.contains(rule.getRuleName()) && rule.isTriggered());
-    }
-    
-    private boolean hasMultipleHighSeverityRules(List<RuleResult> triggeredRules) {
-        long highSeverityCount = triggeredRules.stream()
-            .filter(rule -> "HIGH".equals(rule.getSeverity()) || "CRITICAL".equals(rule.getSeverity()))
-            .count();
-        
-        return highSeverityCount >= 2;
-    }
-    
-    private BigDecimal calculateConfidenceLevel(BigDecimal riskScore, List<RuleResult> triggeredRules) {
-        BigDecimal baseConfidence = BigDecimal.valueOf(50); // Start with 50% confidence
+    private BigDecimal calculateConfidenceLevel(int scoreHundredths, DecisionPolicy.RuleSummary summary) {
+        int confidence = 50; // Start with 50% confidence
         
         // Increase confidence based on risk score
-        if (riskScore.compareTo(BigDecimal.valueOf(80)) >= 0) {
-            baseConfidence = baseConfidence.add(BigDecimal.valueOf(30));
-        } else if (riskScore.compareTo(BigDecimal.valueOf(60)) >= 0) {
-            baseConfidence = baseConfidence.add(BigDecimal.valueOf(20));
-        } else if (riskScore.compareTo(BigDecimal.valueOf(40)) >= 0) {
-            baseConfidence = baseConfidence.add(BigDecimal.valueOf(10));
+        if (scoreHundredths >= 8000) {
+            confidence += 30;
+        } else if (scoreHundredths >= 6000) {
+            confidence += 20;
+        } else if (scoreHundredths >= 4000) {
+            confidence += 10;
         }
         
         // Increase confidence based on number of triggered rules
-        int triggeredCount = triggeredRules.size();
+        int triggeredCount = summary.triggeredCount();
         if (triggeredCount >= 3) {
-            baseConfidence = baseConfidence.add(BigDecimal.valueOf(15));
+            confidence += 15;
         } else if (triggeredCount >= 2) {
-            baseConfidence = baseConfidence.add(BigDecimal.valueOf(10));
+            confidence += 10;
         } else if (triggeredCount == 1) {
-            baseConfidence = baseConfidence.add(BigDecimal.valueOf(5));
+            confidence += 5;
         }
         
         // Increase confidence for critical rule violations
-        if (hasCriticalRuleViolation(triggeredRules)) {
-            baseConfidence = baseConfidence.add(BigDecimal.valueOf(10));
+        if (summary.criticalRuleViolation()) {
+            confidence += 10;
         }
         
         // Cap confidence at 95%
-        return baseConfidence.min(BigDecimal.valueOf(95));
+        return BigDecimal.valueOf(Math.min(confidence, 95));
     }
     
-    private String buildRejectReason(BigDecimal riskScore, boolean hasCriticalRuleViolation, 
-                                   boolean hasMultipleHighSeverityRules) {
-        StringBuilder reason = new StringBuilder("Transaction rejected due to: ");
+    /**
+     * Risk score in hundredths, rounded down so that {@code score >= threshold} holds
+     * exactly when {@code hundredths >= threshold * 100} for whole-number thresholds.
+     */
+    static int toHundredths(BigDecimal riskScore) {
+        if (riskScore.scale() == 2) {
+            return riskScore.unscaledValue().intValue();
+        }
+        return riskScore.movePointRight(2).setScale(0, RoundingMode.FLOOR).intValue();
+    }
+    
+    private Explanation buildRejectReason(DecisionPolicy policy, BigDecimal riskScore, int scoreHundredths,
+                                          DecisionPolicy.RuleSummary summary) {
+        Explanation reason = Explanation.of(ReasonCode.REJECTED);
         
-        if (riskScore.compareTo(BigDecimal.valueOf(autoRejectThreshold)) >= 0) {
-            reason.append("Very high risk score (").append(riskScore).append("); ");
+        if (scoreHundredths >= policy.autoRejectHundredths) {
+            reason.add(ReasonCode.VERY_HIGH_RISK_SCORE, riskScore);
         }
         
-        if (hasCriticalRuleViolation) {
-            reason.append("Critical fraud rule violation; ");
+        if (summary.criticalRuleViolation()) {
+            reason.add(ReasonCode.CRITICAL_RULE_VIOLATION);
         }
         
-        if (hasMultipleHighSeverityRules) {
-            reason.append("Multiple high-severity fraud indicators; ");
+        if (summary.multipleHighSeverityRules()) {
+            reason.add(ReasonCode.MULTIPLE_HIGH_SEVERITY_INDICATORS);
         }
         
-        return reason.toString().trim();
+        return reason;
     }
     
-    private String buildReviewReason(BigDecimal riskScore, boolean hasCriticalRuleViolation, 
-                                   List<RuleResult> triggeredRules) {
-        StringBuilder reason = new StringBuilder("Manual review required due to: ");
+    private Explanation buildReviewReason(DecisionPolicy policy, BigDecimal riskScore, int scoreHundredths,
+                                          DecisionPolicy.RuleSummary summary, FraudDetectionResult result) {
+        Explanation reason = Explanation.of(ReasonCode.REVIEW_REQUIRED);
+        
+        if (scoreHundredths >= policy.manualReviewHundredths) {
+            reason.add(ReasonCode.HIGH_RISK_SCORE, riskScore);
+        }
         
-        if (riskScore.compareTo(BigDecimal.valueOf(manualReviewThreshold)) >= 0) {
-            reason.append("High risk score (").append(riskScore).append("); ");
+        if (summary.criticalRuleViolation()) {
+            reason.add(ReasonCode.CRITICAL_RULE_TRIGGERED);
         }
         
-        if (hasCriticalRuleViolation) {
-            reason.append("Critical fraud rule triggered; ");
+        if (summary.triggeredCount() >= 2) {
+            reason.add(ReasonCode.MULTIPLE_INDICATORS, summary.triggeredCount());
         }
         
-        if (triggeredRules.size() >= 2) {
-            reason.append("Multiple fraud indicators (").append(triggeredRules.size()).append("); ");
+        if (result.isDegraded()) {
+            reason.add(ReasonCode.DEGRADED_RULES, result.getDegradedRuleResults().stream()
+                .map(RuleResult::getRuleName)
+                .collect(Collectors.joining(", ")));
         }
         
-        return reason.toString().trim();
+        return reason;
     }
     
-    private List<String> buildContributingFactors(BigDecimal riskScore, boolean hasCriticalRuleViolation, 
-                                                boolean hasMultipleHighSeverityRules, List<RuleResult> triggeredRules) {
-        List<String> factors = new ArrayList<>();
+    private Explanation buildContributingFactors(BigDecimal riskScore, DecisionPolicy.RuleSummary summary,
+                                                 FraudDetectionResult result) {
+        Explanation factors = Explanation.list();
         
-        factors.add("Risk Score: " + riskScore);
+        factors.add(ReasonCode.FACTOR_RISK_SCORE, riskScore);
         
-        if (hasCriticalRuleViolation) {
-            factors.add("Critical Rule Violation");
+        if (summary.criticalRuleViolation()) {
+            factors.add(ReasonCode.FACTOR_CRITICAL_RULE);
         }
         
-        if (hasMultipleHighSeverityRules) {
-            factors.add("Multiple High-Severity Rules");
+        if (summary.multipleHighSeverityRules()) {
+            factors.add(ReasonCode.FACTOR_MULTIPLE_HIGH_SEVERITY);
         }
         
-        for (RuleResult rule : triggeredRules) {
-            factors.add(rule.getRuleName() + " (Score: " + rule.getScore() + ", Severity: " + rule.getSeverity() + ")");
+        for (RuleResult rule : result.getRuleResults()) {
+            if (rule.isTriggered()) {
+                factors.add(ReasonCode.FACTOR_RULE, rule.getRuleName(), rule.getScore(), rule.getSeverity());
+            } else if (rule.isDegraded()) {
+                factors.add(ReasonCode.FACTOR_DEGRADED_RULE, rule.getRuleName());
+            }
         }
         
         return factors;
     }
     
     public DecisionMetrics getDecisionMetrics(BigDecimal riskScore, List<RuleResult> triggeredRules) {
-        boolean hasCriticalRuleViolation = hasCriticalRuleViolation(triggeredRules);
-        boolean hasMultipleHighSeverityRules = hasMultipleHighSeverityRules(triggeredRules);
-        BigDecimal confidence = calculateConfidenceLevel(riskScore, triggeredRules);
+        DecisionPolicy activePolicy = policy.get();
+        DecisionPolicy.RuleSummary summary = activePolicy.summarize(triggeredRules);
+        BigDecimal confidence = calculateConfidenceLevel(toHundredths(riskScore), summary);
+        DecisionPolicySettings settings = activePolicy.getSettings();
         
         return DecisionMetrics.builder()
             .riskScore(riskScore)
             .confidenceLevel(confidence)
-            .triggeredRuleCount(triggeredRules.size())
-            .hasCriticalRuleViolation(hasCriticalRuleViolation)
-            .hasMultipleHighSeverityRules(hasMultipleHighSeverityRules)
-            .autoApproveThreshold(BigDecimal.valueOf(autoApproveThreshold))
-            .manualReviewThreshold(BigDecimal.valueOf(manualReviewThreshold))
-            .autoRejectThreshold(BigDecimal.valueOf(autoRejectThreshold))
+            .triggeredRuleCount(summary.triggeredCount())
+            .hasCriticalRuleViolation(summary.criticalRuleViolation())
+            .hasMultipleHighSeverityRules(summary.multipleHighSeverityRules())
+            .autoApproveThreshold(BigDecimal.valueOf(settings.getAutoApproveThreshold()))
+            .manualReviewThreshold(BigDecimal.valueOf(settings.getManualReviewThreshold()))
+            .autoRejectThreshold(BigDecimal.valueOf(settings.getAutoRejectThreshold()))
             .build();
     }
     
@@ -1,5 +1,6 @@
 package com.FraudDetection.FraudDetection.service;
 
+import com.FraudDetection.FraudDetection.service.metrics.SqlStatementReport;
 import lombok.Data;
 import lombok.Builder;
 import lombok.NoArgsConstructor;
@@ -26,6 +27,9 @@ public class FraudDetectionResult {
     @Builder.Default
     private List<RuleResult> ruleResults = new ArrayList<>();
     
+    // Debug section, only filled with fraud.metrics.sql-statements.include-in-result
+    private SqlStatementReport sqlStatements;
+    
     public void addRuleResult(RuleResult ruleResult) {
         if (this.ruleResults == null) {
             this.ruleResults = new ArrayList<>();
@@ -51,6 +55,37 @@ public class FraudDetectionResult {
             .collect(Collectors.toList());
     }
     
+    public List<RuleResult> getTimedOutRuleResults() {
+        return ruleResults.stream()
+            .filter(RuleResult::isTimedOut)
+            .collect(Collectors.toList());
+    }
+    
+    public List<RuleResult> getSkippedRuleResults() {
+        return ruleResults.stream()
+            .filter(RuleResult::isSkipped)
+            .collect(Collectors.toList());
+    }
+    
+    public List<RuleResult> getDegradedRuleResults() {
+        return ruleResults.stream()
+            .filter(RuleResult::isDegraded)
+            .collect(Collectors.toList());
+    }
+    
+    /**
+     * True when at least one rule was skipped or approximated because its circuit breaker
+     * was open.
+     */
+    public boolean isDegraded() {
+        for (RuleResult ruleResult : ruleResults) {
+            if (ruleResult.isDegraded()) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     public String getTriggeredRules() {
         return getTriggeredRuleResults().stream()
             .map(RuleResult::getRuleName)
@@ -105,11 +140,11 @@ public class FraudDetectionResult {
     }
     
     public boolean hasHighRiskScore() {
-        return riskScore != null && riskScore.compareTo(BigDecimal.valueOf(70)) >= 0;
+        return riskScore != null && riskScore.compareTo(ScoreThresholds.HIGH) >= 0;
     }
     
     public boolean hasCriticalRiskScore() {
-        return riskScore != null && riskScore.compareTo(BigDecimal.valueOf(90)) >= 0;
+        return riskScore != null && riskScore.compareTo(ScoreThresholds.CRITICAL) >= 0;
     }
     
     public String getSummary() {
@@ -3,17 +3,43 @@ package com.FraudDetection.FraudDetection.service;
 import com.FraudDetection.FraudDetection.entity.*;
 import com.FraudDetection.FraudDetection.repository.FraudAlertRepository;
 import com.FraudDetection.FraudDetection.repository.TransactionRepository;
-import com.FraudDetection.FraudDetection.repository.AuditLogRepository;
+import com.FraudDetection.FraudDetection.service.audit.AuditLogWriter;
+import com.FraudDetection.FraudDetection.service.explain.RecentResultCache;
+import com.FraudDetection.FraudDetection.service.metrics.FraudMetrics;
+import com.FraudDetection.FraudDetection.service.metrics.PipelineStage;
+import com.FraudDetection.FraudDetection.service.metrics.SqlStatementScope;
+import com.FraudDetection.FraudDetection.service.metrics.SqlStatementTracker;
+import com.FraudDetection.FraudDetection.service.profiling.AccountHashes;
+import com.FraudDetection.FraudDetection.service.profiling.FraudAlertCreatedEvent;
+import com.FraudDetection.FraudDetection.service.profiling.FraudTransactionScoredEvent;
+import com.FraudDetection.FraudDetection.service.resilience.RuleCircuitBreakers;
 import com.FraudDetection.FraudDetection.service.rules.FraudRule;
+import com.FraudDetection.FraudDetection.service.rules.RuleEvaluationContext;
+import com.FraudDetection.FraudDetection.service.rules.RuleEvaluationContextFactory;
+import com.FraudDetection.FraudDetection.service.shadow.ShadowEvaluator;
+import com.FraudDetection.FraudDetection.service.velocity.PendingTransactions;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -22,32 +48,84 @@ public class FraudDetectionService {
 
     private final TransactionRepository transactionRepository;
     private final FraudAlertRepository fraudAlertRepository;
-    private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
     private final List<FraudRule> fraudRules;
     private final RiskScoringService riskScoringService;
     private final FraudDecisionEngine fraudDecisionEngine;
+    private final PlatformTransactionManager transactionManager;
+    private final ParallelRuleEvaluator parallelRuleEvaluator;
+    private final ShortCircuitRuleEvaluator shortCircuitRuleEvaluator;
+    private final AccountLaneExecutor accountLaneExecutor;
+    private final RecentResultCache recentResultCache;
+    private final ShadowEvaluator shadowEvaluator;
+    private final RuleEvaluationContextFactory ruleEvaluationContextFactory;
+    private final RuleCircuitBreakers ruleCircuitBreakers;
+    private final FraudMetrics fraudMetrics;
+    private final SqlStatementTracker sqlStatementTracker;
 
-    @Transactional
+    @Value("${fraud.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${fraud.rules.execution.mode:SEQUENTIAL}")
+    private RuleExecutionMode ruleExecutionMode;
+
+    @Value("${fraud.pipeline.mode:PERSIST_FIRST}")
+    private PipelineMode pipelineMode;
+
+    /**
+     * Scores and writes one transaction. With account lanes enabled it runs on the lane that
+     * owns the account, and the caller waits for it.
+     * @param transaction The transaction to evaluate
+     * @return The fraud detection result
+     */
     public FraudDetectionResult processTransaction(Transaction transaction) {
+        return onLane(transaction.getAccountId(), () -> processOnCurrentThread(transaction));
+    }
+
+    /**
+     * Queues the transaction on the lane that owns its account so that transactions of the
+     * same account are scored strictly one after another, in submission order.
+     * @param transaction The transaction to evaluate
+     * @return Future completed with the fraud detection result
+     */
+    public CompletableFuture<FraudDetectionResult> submitTransaction(Transaction transaction) {
+        return accountLaneExecutor.submit(transaction.getAccountId(), () -> processOnCurrentThread(transaction));
+    }
+
+    private FraudDetectionResult processOnCurrentThread(Transaction transaction) {
         log.info("Processing transaction for fraud detection: {}", transaction.getTransactionReference());
         
+        FraudTransactionScoredEvent scoredEvent = new FraudTransactionScoredEvent();
+        scoredEvent.begin();
+        
+        // Spans the commit, which is when most writes are flushed
+        SqlStatementScope sqlScope = sqlStatementTracker.openTransaction();
+        FraudDetectionResult result = null;
+        try {
+            result = pipelineMode == PipelineMode.DECIDE_FIRST
+                ? processDecideFirst(transaction)
+                : new TransactionTemplate(transactionManager).execute(status -> processPersistFirst(transaction));
+            return result;
+        } finally {
+            sqlStatementTracker.closeTransaction(sqlScope, result);
+            scoredEvent.end();
+            commitScoredEvent(scoredEvent, transaction, result, pipelineMode.name());
+        }
+    }
+
+    private FraudDetectionResult processPersistFirst(Transaction transaction) {
         try {
             // Save transaction first
+            long persistStart = System.nanoTime();
             Transaction savedTransaction = transactionRepository.save(transaction);
+            fraudMetrics.recordStage(PipelineStage.PERSIST, System.nanoTime() - persistStart);
             
             // Create audit log entry
             createAuditLogEntry(savedTransaction, "FRAUD_DETECTION_STARTED", "Starting fraud detection process");
             
-            // Execute fraud detection rules
-            FraudDetectionResult result = executeRulesEngine(savedTransaction);
-            
-            // Calculate risk score
-            BigDecimal riskScore = riskScoringService.calculateRiskScore(savedTransaction, result);
-            result.setRiskScore(riskScore);
-            
-            // Make fraud decision
-            FraudDecision decision = fraudDecisionEngine.makeDecision(result);
-            result.setFraudDecision(decision);
+            // Execute rules, calculate risk score and make fraud decision
+            FraudDetectionResult result = scoreTransaction(savedTransaction);
+            FraudDecision decision = result.getFraudDecision();
             
             // Create fraud alert if needed
             if (result.isFraudulent() || result.requiresReview()) {
@@ -60,7 +138,7 @@ public class FraudDetectionService {
             // Create final audit log entry
             createAuditLogEntry(savedTransaction, "FRAUD_DETECTION_COMPLETED", 
                 String.format("Fraud detection completed. Decision: %s, Risk Score: %s", 
-                    decision.getDecision(), riskScore));
+                    decision.getDecision(), result.getRiskScore()));
             
             log.info("Fraud detection completed for transaction: {} with decision: {}", 
                 savedTransaction.getTransactionReference(), decision.getDecision());
@@ -69,27 +147,374 @@ public class FraudDetectionService {
             
         } catch (Exception e) {
             log.error("Error processing transaction for fraud detection: {}", transaction.getTransactionReference(), e);
-            createAuditLogEntry(transaction, "FRAUD_DETECTION_ERROR", "Error during fraud detection: " + e.getMessage());
+            submitErrorAudit(transaction, "Error during fraud detection: " + e.getMessage());
+            throw new FraudDetectionException("Failed to process transaction for fraud detection", e);
+        }
+    }
+
+    /**
+     * Scores the in-memory transaction against committed history, then writes it once with
+     * its final status together with any alert. No database transaction is held while rules run.
+     */
+    private FraudDetectionResult processDecideFirst(Transaction transaction) {
+        try {
+            if (transaction.getTimestamp() == null) {
+                transaction.setTimestamp(LocalDateTime.now());
+            }
+            
+            AuditLog startedEntry = buildAuditLog(transaction, "FRAUD_DETECTION_STARTED", "Starting fraud detection process");
+            
+            // Execute rules, calculate risk score and make fraud decision; velocity counts
+            // are held back until the write below commits
+            PendingTransactions pending = new PendingTransactions();
+            FraudDetectionResult result = scoreTransaction(transaction,
+                ruleEvaluationContextFactory.create(transaction, pending));
+            FraudDecision decision = result.getFraudDecision();
+            
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                pending.attach();
+                persistScored(transaction, result, startedEntry);
+            });
+            
+            log.info("Fraud detection completed for transaction: {} with decision: {}", 
+                transaction.getTransactionReference(), decision.getDecision());
+            
+            return result;
+            
+        } catch (Exception e) {
+            log.error("Error processing transaction for fraud detection: {}", transaction.getTransactionReference(), e);
+            submitErrorAudit(transaction, "Error during fraud detection: " + e.getMessage());
             throw new FraudDetectionException("Failed to process transaction for fraud detection", e);
         }
     }
 
-    private FraudDetectionResult executeRulesEngine(Transaction transaction) {
+    /**
+     * Writes an already scored transaction once with its final status, together with any
+     * alert and its audit entries, in the caller's database transaction.
+     */
+    private void persistScored(Transaction transaction, FraudDetectionResult result, AuditLog startedEntry) {
+        transaction.setStatus(resolveTransactionStatus(result));
+        
+        // Single INSERT with the final status
+        long persistStart = System.nanoTime();
+        Transaction savedTransaction = transactionRepository.save(transaction);
+        fraudMetrics.recordStage(PipelineStage.PERSIST, System.nanoTime() - persistStart);
+        
+        List<AuditLog> auditLogs = new ArrayList<>(3);
+        auditLogs.add(startedEntry);
+        
+        if (result.isFraudulent() || result.requiresReview()) {
+            log.info("Creating fraud alert for transaction: {}", savedTransaction.getTransactionReference());
+            long alertStart = System.nanoTime();
+            FraudAlertCreatedEvent alertEvent = new FraudAlertCreatedEvent();
+            alertEvent.begin();
+            FraudAlert alert = fraudAlertRepository.save(buildFraudAlert(savedTransaction, result));
+            alertEvent.end();
+            fraudMetrics.recordStage(PipelineStage.ALERT, System.nanoTime() - alertStart);
+            commitAlertEvent(alertEvent, alert, result);
+            auditLogs.add(buildAuditLog(savedTransaction, "FRAUD_ALERT_CREATED", 
+                String.format("Fraud alert created: ID %s", alert.getId())));
+        }
+        
+        auditLogs.add(buildAuditLog(savedTransaction, "FRAUD_DETECTION_COMPLETED", 
+            String.format("Fraud detection completed. Decision: %s, Risk Score: %s", 
+                result.getFraudDecision().getDecision(), result.getRiskScore())));
+        
+        long auditStart = System.nanoTime();
+        auditLogWriter.submitAll(auditLogs);
+        fraudMetrics.recordStage(PipelineStage.AUDIT, System.nanoTime() - auditStart);
+    }
+
+    /**
+     * Scores a micro-batch of transactions in a single unit of work.
+     * Transactions, status updates, alerts and audit entries are written as JDBC batches;
+     * a failure while scoring one item is recorded against that item only. If the batch
+     * write itself fails, every item is written again in its own transaction with the
+     * result it was already given; only items the batch never reached are scored then.
+     * <p>
+     * With account lanes enabled the batch is split by lane and each part runs, as its own
+     * unit of work, on the lane that owns its accounts.
+     * @param transactions The transactions to evaluate
+     * @return Per-item results in input order
+     */
+    public BatchProcessingResult processTransactions(List<Transaction> transactions) {
+        if (transactions == null || transactions.isEmpty()) {
+            return BatchProcessingResult.of(List.of(), false);
+        }
+        
+        if (transactions.size() > maxBatchSize) {
+            throw new FraudDetectionException(String.format(
+                "Batch size %d exceeds maximum of %d", transactions.size(), maxBatchSize));
+        }
+        
+        if (!accountLaneExecutor.isEnabled()) {
+            return processBatch(transactions);
+        }
+        
+        Map<Integer, List<Integer>> positionsByLane = new LinkedHashMap<>();
+        for (int i = 0; i < transactions.size(); i++) {
+            positionsByLane.computeIfAbsent(accountLaneExecutor.laneOf(transactions.get(i).getAccountId()),
+                lane -> new ArrayList<>()).add(i);
+        }
+        
+        List<List<Integer>> parts = new ArrayList<>(positionsByLane.values());
+        List<CompletableFuture<BatchProcessingResult>> futures = new ArrayList<>(parts.size());
+        for (List<Integer> positions : parts) {
+            List<Transaction> part = new ArrayList<>(positions.size());
+            positions.forEach(position -> part.add(transactions.get(position)));
+            futures.add(accountLaneExecutor.submit(part.get(0).getAccountId(), () -> processBatch(part)));
+        }
+        
+        BatchProcessingResult.ItemResult[] items = new BatchProcessingResult.ItemResult[transactions.size()];
+        boolean fallbackUsed = false;
+        for (int p = 0; p < parts.size(); p++) {
+            List<Integer> positions = parts.get(p);
+            try {
+                BatchProcessingResult partResult = futures.get(p).join();
+                fallbackUsed |= partResult.isFallbackUsed();
+                for (int i = 0; i < positions.size(); i++) {
+                    items[positions.get(i)] = partResult.getItems().get(i);
+                }
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                log.error("Batch part of {} transactions failed on its lane: {}", positions.size(), cause.getMessage(), cause);
+                for (int position : positions) {
+                    items[position] = BatchProcessingResult.ItemResult.failure(
+                        transactions.get(position).getTransactionReference(), cause.getMessage());
+                }
+            }
+        }
+        
+        return BatchProcessingResult.of(Arrays.asList(items), fallbackUsed);
+    }
+
+    private BatchProcessingResult processBatch(List<Transaction> transactions) {
+        log.info("Processing batch of {} transactions for fraud detection", transactions.size());
+        
+        List<TransactionStatus> originalStatuses = transactions.stream()
+            .map(Transaction::getStatus)
+            .toList();
+        
+        // Filled while scoring, so the fallback keeps what the batch already decided
+        List<BatchProcessingResult.ItemResult> scoredItems = new ArrayList<>(transactions.size());
+        PendingTransactions pending = new PendingTransactions();
+        
+        try {
+            BatchProcessingResult batchResult = new TransactionTemplate(transactionManager)
+                .execute(status -> {
+                    pending.attach();
+                    return executeBatch(transactions, scoredItems);
+                });
+            
+            log.info("Batch fraud detection completed: {} succeeded, {} failed", 
+                batchResult.getSuccessCount(), batchResult.getFailureCount());
+            
+            return batchResult;
+            
+        } catch (Exception e) {
+            log.error("Batch write failed, falling back to per-transaction processing: {}", e.getMessage(), e);
+            
+            // Reset state assigned during the rolled-back batch before retrying item by item
+            for (int i = 0; i < transactions.size(); i++) {
+                transactions.get(i).setId(null);
+                transactions.get(i).setStatus(originalStatuses.get(i));
+            }
+            
+            return processIndividually(transactions, scoredItems, pending);
+        }
+    }
+
+    private BatchProcessingResult executeBatch(List<Transaction> transactions, List<BatchProcessingResult.ItemResult> items) {
+        // Single batched INSERT; flushed by the first rule query
+        List<Transaction> savedTransactions = transactionRepository.saveAll(transactions);
+        
+        List<AuditLog> auditLogs = new ArrayList<>(savedTransactions.size() * 2);
+        List<FraudDetectionResult> results = new ArrayList<>(savedTransactions.size());
+        
+        // Score everything before touching entities again so that status updates
+        // are not flushed one by one by the rule queries
+        for (Transaction transaction : savedTransactions) {
+            auditLogs.add(buildAuditLog(transaction, "FRAUD_DETECTION_STARTED", "Starting fraud detection process"));
+            
+            // Scoring only; the batch is written once all items are scored
+            FraudTransactionScoredEvent scoredEvent = new FraudTransactionScoredEvent();
+            scoredEvent.begin();
+            try {
+                FraudDetectionResult result = scoreTransaction(transaction);
+                scoredEvent.end();
+                commitScoredEvent(scoredEvent, transaction, result, "BATCH");
+                results.add(result);
+                items.add(BatchProcessingResult.ItemResult.success(transaction.getTransactionReference(), result));
+                
+            } catch (Exception e) {
+                scoredEvent.end();
+                commitScoredEvent(scoredEvent, transaction, null, "BATCH");
+                log.error("Error processing transaction {} in batch: {}", transaction.getTransactionReference(), e.getMessage(), e);
+                results.add(null);
+                items.add(BatchProcessingResult.ItemResult.failure(transaction.getTransactionReference(), e.getMessage()));
+                auditLogs.add(buildErrorAuditLog(transaction, "Error during fraud detection: " + e.getMessage()));
+            }
+        }
+        
+        List<FraudAlert> alerts = new ArrayList<>();
+        List<FraudDetectionResult> alertResults = new ArrayList<>();
+        
+        for (int i = 0; i < savedTransactions.size(); i++) {
+            Transaction transaction = savedTransactions.get(i);
+            FraudDetectionResult result = results.get(i);
+            if (result == null) {
+                continue;
+            }
+            
+            if (result.isFraudulent() || result.requiresReview()) {
+                alerts.add(buildFraudAlert(transaction, result));
+                alertResults.add(result);
+            }
+            
+            transaction.setStatus(resolveTransactionStatus(result));
+            
+            auditLogs.add(buildAuditLog(transaction, "FRAUD_DETECTION_COMPLETED", 
+                String.format("Fraud detection completed. Decision: %s, Risk Score: %s", 
+                    result.getFraudDecision().getDecision(), result.getRiskScore())));
+        }
+        
+        fraudAlertRepository.saveAll(alerts);
+        
+        // Reported on commit only; alerts of a failed batch are reported by the fallback
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (int i = 0; i < alerts.size(); i++) {
+                    commitAlertEvent(new FraudAlertCreatedEvent(), alerts.get(i), alertResults.get(i));
+                }
+            }
+        });
+        
+        for (FraudAlert alert : alerts) {
+            auditLogs.add(buildAuditLog(alert.getTransaction(), "FRAUD_ALERT_CREATED", 
+                String.format("Fraud alert created: ID %s", alert.getId())));
+        }
+        
+        auditLogWriter.submitAll(auditLogs);
+        
+        return BatchProcessingResult.of(items, false);
+    }
+
+    /**
+     * Writes each item of a failed batch in its own transaction. Items the batch scored keep
+     * their result, so rules, metrics and events see every transaction once; the velocity
+     * counts held back for the batch are committed with the item they belong to.
+     */
+    private BatchProcessingResult processIndividually(List<Transaction> transactions,
+                                                      List<BatchProcessingResult.ItemResult> scoredItems,
+                                                      PendingTransactions pending) {
+        TransactionTemplate itemTemplate = new TransactionTemplate(transactionManager);
+        itemTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        
+        List<BatchProcessingResult.ItemResult> items = new ArrayList<>(transactions.size());
+        
+        for (int i = 0; i < transactions.size(); i++) {
+            Transaction transaction = transactions.get(i);
+            String reference = transaction.getTransactionReference();
+            
+            if (i >= scoredItems.size()) {
+                // The batch failed before scoring this item
+                try {
+                    FraudDetectionResult result = itemTemplate.execute(status -> processOnCurrentThread(transaction));
+                    items.add(BatchProcessingResult.ItemResult.success(reference, result));
+                } catch (Exception e) {
+                    items.add(BatchProcessingResult.ItemResult.failure(reference, e.getMessage()));
+                }
+                continue;
+            }
+            
+            BatchProcessingResult.ItemResult scored = scoredItems.get(i);
+            if (!scored.isSuccess()) {
+                // Its error audit entry was rolled back with the batch, as was its row
+                items.add(scored);
+                submitErrorAudit(transaction, "Error during fraud detection: " + scored.getErrorMessage());
+                continue;
+            }
+            
+            try {
+                itemTemplate.executeWithoutResult(status -> {
+                    pending.select(transaction).attach();
+                    persistScored(transaction, scored.getResult(), 
+                        buildAuditLog(transaction, "FRAUD_DETECTION_STARTED", "Starting fraud detection process"));
+                });
+                items.add(scored);
+            } catch (Exception e) {
+                log.error("Error writing transaction {} after batch failure: {}", reference, e.getMessage(), e);
+                items.add(BatchProcessingResult.ItemResult.failure(reference, e.getMessage()));
+            }
+        }
+        
+        return BatchProcessingResult.of(items, true);
+    }
+
+    private FraudDetectionResult scoreTransaction(Transaction transaction) {
+        // History and profile lookups are shared by the rules and the scoring of this transaction
+        return scoreTransaction(transaction, ruleEvaluationContextFactory.create(transaction));
+    }
+
+    private FraudDetectionResult scoreTransaction(Transaction transaction, RuleEvaluationContext context) {
+        // Execute fraud detection rules
+        long rulesStart = System.nanoTime();
+        FraudDetectionResult result = executeRulesEngine(transaction, context);
+        long scoringStart = System.nanoTime();
+        fraudMetrics.recordStage(PipelineStage.RULES, scoringStart - rulesStart);
+        
+        // Calculate risk score
+        BigDecimal riskScore = riskScoringService.calculateRiskScore(transaction, result, context);
+        result.setRiskScore(riskScore);
+        long decisionStart = System.nanoTime();
+        fraudMetrics.recordStage(PipelineStage.SCORING, decisionStart - scoringStart);
+        
+        // Make fraud decision
+        FraudDecision decision = fraudDecisionEngine.makeDecision(result);
+        result.setFraudDecision(decision);
+        fraudMetrics.recordStage(PipelineStage.DECISION, System.nanoTime() - decisionStart);
+        
+        // Explanations stay unrendered until the alert, the response or the explain endpoint needs them
+        recentResultCache.put(result);
+        
+        // Challengers see the same result off this thread; never affects the decision above
+        shadowEvaluator.submit(transaction, result, context);
+        
+        return result;
+    }
+
+    private FraudDetectionResult executeRulesEngine(Transaction transaction, RuleEvaluationContext context) {
         log.debug("Executing fraud detection rules for transaction: {}", transaction.getTransactionReference());
         
         FraudDetectionResult result = new FraudDetectionResult();
         result.setTransactionId(transaction.getTransactionReference());
         result.setProcessedAt(LocalDateTime.now());
         
+        List<RuleResult> ruleResults = switch (ruleExecutionMode) {
+            case PARALLEL -> parallelRuleEvaluator.evaluate(fraudRules, transaction, context);
+            case SHORT_CIRCUIT -> shortCircuitRuleEvaluator.evaluate(transaction, context);
+            case SEQUENTIAL -> evaluateRulesSequentially(transaction, context);
+        };
+        
+        for (RuleResult ruleResult : ruleResults) {
+            result.addRuleResult(ruleResult);
+            
+            log.debug("Rule {} executed for transaction {}: triggered={}, score={}", 
+                ruleResult.getRuleName(), transaction.getTransactionReference(), 
+                ruleResult.isTriggered(), ruleResult.getScore());
+        }
+        
+        return result;
+    }
+
+    private List<RuleResult> evaluateRulesSequentially(Transaction transaction, RuleEvaluationContext context) {
+        List<RuleResult> ruleResults = new ArrayList<>(fraudRules.size());
+        
         // Execute all fraud rules
         for (FraudRule rule : fraudRules) {
             try {
-                RuleResult ruleResult = rule.evaluate(transaction);
-                result.addRuleResult(ruleResult);
-                
-                log.debug("Rule {} executed for transaction {}: triggered={}, score={}", 
-                    rule.getRuleName(), transaction.getTransactionReference(), 
-                    ruleResult.isTriggered(), ruleResult.getScore());
+                ruleResults.add(ruleCircuitBreakers.evaluate(rule, transaction, context));
                     
             } catch (Exception e) {
                 log.error("Error executing rule {} for transaction {}: {}", 
@@ -102,17 +527,32 @@ public class FraudDetectionService {
                     .score(BigDecimal.ZERO)
                     .reason("Rule execution failed: " + e.getMessage())
                     .build();
-                result.addRuleResult(errorResult);
+                ruleResults.add(errorResult);
             }
         }
         
-        return result;
+        return ruleResults;
     }
 
     private void createFraudAlert(Transaction transaction, FraudDetectionResult result) {
         log.info("Creating fraud alert for transaction: {}", transaction.getTransactionReference());
         
-        FraudAlert alert = FraudAlert.builder()
+        long alertStart = System.nanoTime();
+        FraudAlertCreatedEvent alertEvent = new FraudAlertCreatedEvent();
+        alertEvent.begin();
+        FraudAlert alert = buildFraudAlert(transaction, result);
+        
+        fraudAlertRepository.save(alert);
+        alertEvent.end();
+        fraudMetrics.recordStage(PipelineStage.ALERT, System.nanoTime() - alertStart);
+        commitAlertEvent(alertEvent, alert, result);
+        
+        createAuditLogEntry(transaction, "FRAUD_ALERT_CREATED", 
+            String.format("Fraud alert created: ID %s", alert.getId()));
+    }
+
+    private FraudAlert buildFraudAlert(Transaction transaction, FraudDetectionResult result) {
+        return FraudAlert.builder()
             .transaction(transaction)
             .ruleType(result.getTriggeredRules())
             .ruleDescription(result.getDescription())
@@ -122,19 +562,48 @@ public class FraudDetectionService {
             .status(FraudAlertStatus.ACTIVE)
             .createdAt(LocalDateTime.now())
             .build();
+    }
+
+    // Events are only enabled while a flight recording runs; fields are filled after the check
+    private static void commitScoredEvent(FraudTransactionScoredEvent event, Transaction transaction,
+                                          FraudDetectionResult result, String mode) {
+        if (!event.shouldCommit()) {
+            return;
+        }
         
-        fraudAlertRepository.save(alert);
+        event.transactionReference = transaction.getTransactionReference();
+        event.accountHash = AccountHashes.of(transaction.getAccountId());
+        event.pipelineMode = mode;
+        if (result != null && result.getFraudDecision() != null) {
+            event.decision = result.getFraudDecision().getDecision().name();
+            event.riskScore = result.getRiskScore() != null ? result.getRiskScore().doubleValue() : 0;
+            event.triggeredRules = result.getTriggeredRuleCount();
+        } else {
+            event.decision = "ERROR";
+        }
+        event.commit();
+    }
+
+    private static void commitAlertEvent(FraudAlertCreatedEvent event, FraudAlert alert, FraudDetectionResult result) {
+        if (!event.shouldCommit()) {
+            return;
+        }
         
-        createAuditLogEntry(transaction, "FRAUD_ALERT_CREATED", 
-            String.format("Fraud alert created: ID %s", alert.getId()));
+        Transaction transaction = alert.getTransaction();
+        event.transactionReference = transaction.getTransactionReference();
+        event.accountHash = AccountHashes.of(transaction.getAccountId());
+        event.decision = result.getFraudDecision().getDecision().name();
+        event.severity = alert.getSeverity() != null ? alert.getSeverity().name() : null;
+        event.riskScore = alert.getRiskScore() != null ? alert.getRiskScore().doubleValue() : 0;
+        event.commit();
     }
 
     private FraudSeverity determineSeverity(BigDecimal riskScore) {
-        if (riskScore.compareTo(BigDecimal.valueOf(90)) >= 0) {
+        if (riskScore.compareTo(ScoreThresholds.CRITICAL) >= 0) {
             return FraudSeverity.CRITICAL;
-        } else if (riskScore.compareTo(BigDecimal.valueOf(70)) >= 0) {
+        } else if (riskScore.compareTo(ScoreThresholds.HIGH) >= 0) {
             return FraudSeverity.HIGH;
-        } else if (riskScore.compareTo(BigDecimal.valueOf(50)) >= 0) {
+        } else if (riskScore.compareTo(ScoreThresholds.MEDIUM) >= 0) {
             return FraudSeverity.MEDIUM;
         } else {
             return FraudSeverity.LOW;
@@ -142,37 +611,103 @@ public class FraudDetectionService {
     }
 
     private void updateTransactionStatus(Transaction transaction, FraudDetectionResult result) {
-        TransactionStatus newStatus;
+        TransactionStatus newStatus = resolveTransactionStatus(result);
+        
+        long persistStart = System.nanoTime();
+        transaction.setStatus(newStatus);
+        // Note: processedAt field doesn't exist in Transaction entity
+        transactionRepository.save(transaction);
+        fraudMetrics.recordStage(PipelineStage.PERSIST, System.nanoTime() - persistStart);
         
+        log.debug("Updated transaction {} status to {}", transaction.getTransactionReference(), newStatus);
+    }
+
+    private TransactionStatus resolveTransactionStatus(FraudDetectionResult result) {
         switch (result.getFraudDecision().getDecision()) {
             case APPROVED:
-                newStatus = TransactionStatus.PENDING;
-                break;
+                return TransactionStatus.PENDING;
             case REJECTED:
-                newStatus = TransactionStatus.FAILED;
-                break;
+                return TransactionStatus.FAILED;
             case REQUIRES_REVIEW:
-                newStatus = TransactionStatus.PENDING;
-                break;
+                return TransactionStatus.PENDING;
             default:
-                newStatus = TransactionStatus.PENDING;
+                return TransactionStatus.PENDING;
         }
-        
-        transaction.setStatus(newStatus);
-        // Note: processedAt field doesn't exist in Transaction entity
-        transactionRepository.save(transaction);
-        
-        log.debug("Updated transaction {} status to {}", transaction.getTransactionReference(), newStatus);
     }
 
     private void createAuditLogEntry(Transaction transaction, String action, String details) {
-        AuditLog auditLog = AuditLog.builder()
+        long auditStart = System.nanoTime();
+        auditLogWriter.submit(buildAuditLog(transaction, action, details));
+        fraudMetrics.recordStage(PipelineStage.AUDIT, System.nanoTime() - auditStart);
+    }
+
+    private AuditLog buildAuditLog(Transaction transaction, String action, String details) {
+        return AuditLog.builder()
             .transaction(transaction)
+            .entityType("TRANSACTION")
+            .entityId(transaction.getTransactionReference())
             .action(action)
+            .actionDescription(truncate(details, 100))
+            .additionalDetails(truncate(details, 1000))
+            .performedBy("SYSTEM")
+            .eventCategory("FRAUD_DETECTION")
+            .severity(AuditSeverity.INFO)
+            .successful(true)
             .createdAt(LocalDateTime.now())
             .build();
+    }
+
+    private AuditLog buildErrorAuditLog(Transaction transaction, String details) {
+        AuditLog auditLog = buildAuditLog(transaction, "FRAUD_DETECTION_ERROR", details);
+        auditLog.setSeverity(AuditSeverity.ERROR);
+        auditLog.setSuccessful(false);
+        auditLog.setErrorMessage(truncate(details, 500));
+        return auditLog;
+    }
+
+    /**
+     * Writes the error entry of a failed transaction on its own, never linked to the
+     * transaction row, which may be unsaved or about to roll back. A failure here is only
+     * logged so that it cannot hide the error being recorded.
+     */
+    /**
+     * Runs the task on the lane that owns the account and waits for it, or right here when
+     * lanes are disabled.
+     */
+    private <T> T onLane(String accountId, Supplier<T> task) {
+        if (!accountLaneExecutor.isEnabled()) {
+            return task.get();
+        }
         
-        auditLogRepository.save(auditLog);
+        try {
+            return accountLaneExecutor.submit(accountId, task).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private void submitErrorAudit(Transaction transaction, String details) {
+        try {
+            AuditLog errorEntry = buildErrorAuditLog(transaction, details);
+            errorEntry.setTransaction(null);
+            auditLogWriter.submitIndependent(errorEntry);
+        } catch (Exception e) {
+            log.error("Failed to write error audit entry for transaction {}: {}", 
+                transaction.getTransactionReference(), e.getMessage(), e);
+        }
+    }
+
+    private String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        return value.substring(0, maxLength);
     }
 
     public List<FraudAlert> getActiveAlertsForAccount(String accountId) {
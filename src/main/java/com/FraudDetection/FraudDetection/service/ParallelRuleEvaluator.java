@@ -0,0 +1,94 @@
+package com.FraudDetection.FraudDetection.service;
+
+import com.FraudDetection.FraudDetection.entity.Transaction;
+import com.FraudDetection.FraudDetection.service.metrics.FraudMetrics;
+import com.FraudDetection.FraudDetection.service.resilience.RuleCircuitBreakers;
+import com.FraudDetection.FraudDetection.service.rules.FraudRule;
+import com.FraudDetection.FraudDetection.service.rules.RuleEvaluationContext;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Fans rule evaluation out to virtual threads so the rule stage takes about as long
+ * as the slowest rule. Each rule is bounded by the per-rule deadline and the whole
+ * stage by the overall deadline; a rule that misses its deadline yields a timed-out result.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ParallelRuleEvaluator {
+    
+    private final RuleCircuitBreakers ruleCircuitBreakers;
+    private final FraudMetrics fraudMetrics;
+    
+    @Value("${fraud.rules.execution.overall-timeout-ms:250}")
+    private long overallTimeoutMs;
+    
+    @Value("${fraud.rules.execution.per-rule-timeout-ms:200}")
+    private long perRuleTimeoutMs;
+    
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("fraud-rule-", 0).factory());
+    
+    public List<RuleResult> evaluate(List<FraudRule> rules, Transaction transaction, RuleEvaluationContext context) {
+        long startTime = System.nanoTime();
+        long overallDeadline = startTime + TimeUnit.MILLISECONDS.toNanos(overallTimeoutMs);
+        long ruleDeadline = startTime + TimeUnit.MILLISECONDS.toNanos(perRuleTimeoutMs);
+        long deadline = Math.min(overallDeadline, ruleDeadline);
+        
+        List<Future<RuleResult>> futures = new ArrayList<>(rules.size());
+        for (FraudRule rule : rules) {
+            futures.add(executor.submit(() -> ruleCircuitBreakers.evaluate(rule, transaction, context)));
+        }
+        
+        List<RuleResult> results = new ArrayList<>(rules.size());
+        
+        for (int i = 0; i < rules.size(); i++) {
+            FraudRule rule = rules.get(i);
+            Future<RuleResult> future = futures.get(i);
+            
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                results.add(future.get(remaining, TimeUnit.NANOSECONDS));
+                
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                long budgetMs = TimeUnit.NANOSECONDS.toMillis(deadline - startTime);
+                log.warn("Rule {} exceeded its {}ms budget for transaction {}", 
+                    rule.getRuleName(), budgetMs, transaction.getTransactionReference());
+                results.add(RuleResult.timedOut(rule.getRuleName(), budgetMs));
+                fraudMetrics.recordTimedOut(rule.getRuleName());
+                
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                log.error("Error executing rule {} for transaction {}: {}", 
+                    rule.getRuleName(), transaction.getTransactionReference(), cause.getMessage());
+                results.add(RuleResult.error(rule.getRuleName(), cause.getMessage()));
+                
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.subList(i, futures.size()).forEach(pending -> pending.cancel(true));
+                throw new FraudDetectionException("Interrupted while evaluating fraud rules", e);
+            }
+        }
+        
+        return results;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
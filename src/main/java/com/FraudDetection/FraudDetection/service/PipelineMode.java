@@ -0,0 +1,16 @@
+package com.FraudDetection.FraudDetection.service;
+
+public enum PipelineMode {
+    PERSIST_FIRST("Transaction is saved as PENDING, scored, then updated with its final status"),
+    DECIDE_FIRST("Transaction is scored in memory, then saved once with its final status");
+    
+    private final String description;
+    
+    PipelineMode(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
@@ -1,17 +1,22 @@
 package com.FraudDetection.FraudDetection.service;
 
 import com.FraudDetection.FraudDetection.entity.*;
-import com.FraudDetection.FraudDetection.repository.CustomerRepository;
-import com.FraudDetection.FraudDetection.repository.AccountRepository;
+import com.FraudDetection.FraudDetection.service.model.FeatureExtractor;
+import com.FraudDetection.FraudDetection.service.model.ModelScoringEngine;
+import com.FraudDetection.FraudDetection.service.model.RiskModel;
+import com.FraudDetection.FraudDetection.service.profile.RiskProfile;
+import com.FraudDetection.FraudDetection.service.profile.RiskProfileCache;
+import com.FraudDetection.FraudDetection.service.profile.StaticRiskComponent;
+import com.FraudDetection.FraudDetection.service.profile.StaticRiskStore;
+import com.FraudDetection.FraudDetection.service.rules.RuleEvaluationContext;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @Service
@@ -19,8 +24,9 @@ import java.util.List;
 @Slf4j
 public class RiskScoringService {
     
-    private final CustomerRepository customerRepository;
-    private final AccountRepository accountRepository;
+    private final RiskProfileCache riskProfileCache;
+    private final StaticRiskStore staticRiskStore;
+    private final ModelScoringEngine modelScoringEngine;
     
     @Value("${fraud.scoring.base-score:20}")
     private int baseScore;
@@ -40,102 +46,187 @@ public class RiskScoringService {
     @Value("${fraud.scoring.customer-weight:0.1}")
     private double customerWeight;
     
+    private static final BigDecimal LARGE_AMOUNT_THRESHOLD = BigDecimal.valueOf(10000);
+    
+    private FixedPointRiskScorer scorer;
+    
+    @PostConstruct
+    void initScorer() {
+        scorer = new FixedPointRiskScorer(ruleWeight, transactionWeight, accountWeight, customerWeight, baseScore, maxScore);
+    }
+    
     public BigDecimal calculateRiskScore(Transaction transaction, FraudDetectionResult result) {
+        return calculateRiskScore(transaction, result, scorer, baseScore, null, null);
+    }
+    
+    /**
+     * Scores with the risk profile already loaded for the rules of this transaction, so
+     * scoring does not look it up again.
+     */
+    public BigDecimal calculateRiskScore(Transaction transaction, FraudDetectionResult result,
+                                         RuleEvaluationContext context) {
+        return calculateRiskScore(transaction, result, scorer, baseScore, context, null);
+    }
+    
+    /**
+     * Scores with the weights of a variant instead of the configured ones and the static
+     * risk the champion scored with, so nothing is looked up again. Used to evaluate
+     * challenger configurations.
+     */
+    public BigDecimal calculateRiskScore(Transaction transaction, FraudDetectionResult result, Variant variant,
+                                         StaticRiskComponent staticRisk) {
+        return calculateRiskScore(transaction, result, variant.scorer, variant.settings.getBaseScore(), null, staticRisk);
+    }
+    
+    /**
+     * The account's static risk as {@link #calculateRiskScore(Transaction, FraudDetectionResult, RuleEvaluationContext)}
+     * uses it, for handing to variants scored later.
+     */
+    public StaticRiskComponent staticRisk(Transaction transaction, RuleEvaluationContext context) {
+        return staticRisk(transaction.getAccountId(), context);
+    }
+    
+    public ScoringSettings getSettings() {
+        return ScoringSettings.builder()
+            .ruleWeight(ruleWeight)
+            .transactionWeight(transactionWeight)
+            .accountWeight(accountWeight)
+            .customerWeight(customerWeight)
+            .baseScore(baseScore)
+            .maxScore(maxScore)
+            .build();
+    }
+    
+    /**
+     * Scoring variant with the given settings, null fields taken from the configured scoring.
+     * Invalid settings are rejected with {@link IllegalArgumentException}.
+     */
+    public Variant variant(ScoringSettings overrides) {
+        ScoringSettings settings = overrides.mergedOnto(getSettings());
+        for (double weight : new double[] {settings.getRuleWeight(), settings.getTransactionWeight(),
+                settings.getAccountWeight(), settings.getCustomerWeight()}) {
+            if (!(weight >= 0 && weight <= 1)) {
+                throw new IllegalArgumentException("Scoring weights must be between 0 and 1, got " + weight);
+            }
+        }
+        if (settings.getBaseScore() < 0 || settings.getMaxScore() <= settings.getBaseScore()) {
+            throw new IllegalArgumentException("Scoring needs 0 <= baseScore < maxScore");
+        }
+        
+        return new Variant(settings, new FixedPointRiskScorer(settings.getRuleWeight(), settings.getTransactionWeight(),
+            settings.getAccountWeight(), settings.getCustomerWeight(), settings.getBaseScore(), settings.getMaxScore()));
+    }
+    
+    private BigDecimal calculateRiskScore(Transaction transaction, FraudDetectionResult result,
+                                          FixedPointRiskScorer activeScorer, int fallbackScore,
+                                          RuleEvaluationContext context, StaticRiskComponent knownStaticRisk) {
         log.debug("Calculating risk score for transaction: {}", transaction.getTransactionReference());
         
         try {
-            // Get rule-based score
-            BigDecimal ruleScore = calculateRuleBasedScore(result);
-            
-            // Get transaction-based score
-            BigDecimal transactionScore = calculateTransactionRiskScore(transaction);
+            // Component scores as primitives; BigDecimal is only created for the final score
+            double ruleScore = ruleBasedScore(result);
+            double transactionScore = FixedPointRiskScorer.transactionScore(
+                transactionFactorPoints(transaction), amountPoints(transaction.getAmount()));
+            StaticRiskComponent staticRisk = knownStaticRisk != null
+                ? knownStaticRisk
+                : staticRisk(transaction.getAccountId(), context);
+            LocalDateTime now = LocalDateTime.now();
+            int accountScore = staticRisk.accountPoints(now);
+            int customerScore = staticRisk.customerPoints(now);
             
-            // Get account-based score
-            BigDecimal accountScore = calculateAccountRiskScore(transaction.getAccountId());
+            long totalHundredths = activeScorer.totalHundredths(ruleScore, transactionScore, accountScore, customerScore);
+            BigDecimal totalScore = totalHundredths != FixedPointRiskScorer.UNRESOLVED
+                ? BigDecimal.valueOf(totalHundredths, 2)
+                : activeScorer.exactTotal(calculateRuleBasedScore(result), calculateTransactionRiskScore(transaction),
+                    BigDecimal.valueOf(accountScore), BigDecimal.valueOf(customerScore));
             
-            // Get customer-based score
-            BigDecimal customerScore = calculateCustomerRiskScore(transaction.getAccountId());
-            
-            // Calculate weighted total score
-            BigDecimal totalScore = calculateWeightedScore(ruleScore, transactionScore, accountScore, customerScore);
+            if (modelScoringEngine.isActive()) {
+                totalScore = modelScoringEngine.blend(totalScore, FeatureExtractor.extract(
+                    transaction, result, ruleScore, transactionScore, accountScore, customerScore));
+            }
             
-            log.debug("Risk score calculated for transaction {}: rules={}, transaction={}, account={}, customer={}, total={}", 
-                transaction.getTransactionReference(), ruleScore, transactionScore, accountScore, customerScore, totalScore);
+            if (log.isDebugEnabled()) {
+                log.debug("Risk score calculated for transaction {}: rules={}, transaction={}, account={}, customer={}, total={}", 
+                    transaction.getTransactionReference(), ruleScore, transactionScore, accountScore, customerScore, totalScore);
+            }
             
             return totalScore;
             
         } catch (Exception e) {
             log.error("Error calculating risk score for transaction {}: {}", transaction.getTransactionReference(), e.getMessage(), e);
-            return BigDecimal.valueOf(baseScore); // Return base score on error
+            return BigDecimal.valueOf(fallbackScore); // Return base score on error
         }
     }
     
-    private BigDecimal calculateRuleBasedScore(FraudDetectionResult result) {
-        if (result.getRuleResults() == null || result.getRuleResults().isEmpty()) {
-            return BigDecimal.ZERO;
+    private double ruleBasedScore(FraudDetectionResult result) {
+        List<RuleResult> ruleResults = result.getRuleResults();
+        if (ruleResults == null || ruleResults.isEmpty()) {
+            return 0;
         }
         
-        // Calculate score based on triggered rules
-        List<RuleResult> triggeredRules = result.getTriggeredRuleResults();
-        
-        if (triggeredRules.isEmpty()) {
-            return BigDecimal.ZERO;
-        }
-        
-        // Use the maximum rule score as the base, then add factors for multiple triggered rules
-        BigDecimal maxRuleScore = result.getMaxRuleScore();
-        
-        // Add bonus for multiple triggered rules (diminishing returns)
-        int triggeredCount = triggeredRules.size();
-        BigDecimal multiRuleBonus = BigDecimal.ZERO;
-        
-        if (triggeredCount > 1) {
-            // Each additional rule adds decreasing bonus: 10%, 5%, 2%, 1%
-            for (int i = 1; i < triggeredCount && i <= 4; i++) {
-                double bonusPercent = Math.pow(0.5, i - 1) * 0.1; // 10%, 5%, 2.5%, 1.25%
-                multiRuleBonus = multiRuleBonus.add(maxRuleScore.multiply(BigDecimal.valueOf(bonusPercent)));
+        double maxRuleScore = Double.NEGATIVE_INFINITY;
+        int triggeredCount = 0;
+        for (RuleResult ruleResult : ruleResults) {
+            maxRuleScore = Math.max(maxRuleScore, ruleResult.getScore().doubleValue());
+            if (ruleResult.isTriggered()) {
+                triggeredCount++;
             }
         }
         
-        BigDecimal ruleScore = maxRuleScore.add(multiRuleBonus);
+        return FixedPointRiskScorer.ruleScore(maxRuleScore, triggeredCount);
+    }
+    
+    private BigDecimal calculateRuleBasedScore(FraudDetectionResult result) {
+        if (result.getRuleResults() == null || result.getRuleResults().isEmpty()) {
+            return BigDecimal.ZERO;
+        }
         
-        // Cap at 100
-        return ruleScore.min(BigDecimal.valueOf(100));
+        // Use the maximum rule score as the base, then add a diminishing bonus for
+        // each additional triggered rule
+        return FixedPointRiskScorer.exactRuleScore(result.getMaxRuleScore(), result.getTriggeredRuleCount());
     }
     
     private BigDecimal calculateTransactionRiskScore(Transaction transaction) {
-        BigDecimal score = BigDecimal.ZERO;
-        
-        // Amount-based risk
         BigDecimal amount = transaction.getAmount();
-        if (amount.compareTo(BigDecimal.valueOf(10000)) > 0) {
-            // High amount transactions are riskier
-            double amountFactor = Math.min(amount.doubleValue() / 50000, 1.0); // Max factor at 50k
-            score = score.add(BigDecimal.valueOf(30 * amountFactor));
+        return FixedPointRiskScorer.exactTransactionScore(transactionFactorPoints(transaction), amountPoints(amount),
+            amount.compareTo(LARGE_AMOUNT_THRESHOLD) > 0);
+    }
+    
+    private double amountPoints(BigDecimal amount) {
+        if (amount.compareTo(LARGE_AMOUNT_THRESHOLD) <= 0) {
+            return 0;
         }
         
+        // High amount transactions are riskier
+        double amountFactor = Math.min(amount.doubleValue() / 50000, 1.0); // Max factor at 50k
+        return 30 * amountFactor;
+    }
+    
+    private int transactionFactorPoints(Transaction transaction) {
+        int points = 0;
+        
         // Time-based risk (unusual hours)
         int hour = transaction.getTimestamp().getHour();
         if (hour >= 23 || hour <= 5) {
-            score = score.add(BigDecimal.valueOf(15)); // Night transactions are riskier
+            points += 15; // Night transactions are riskier
         }
         
         // Transaction type risk
         TransactionType type = transaction.getTransactionType();
         switch (type) {
             case CRYPTOCURRENCY_EXCHANGE:
-                score = score.add(BigDecimal.valueOf(25));
+                points += 25;
                 break;
             case INTERNATIONAL_TRANSFER:
             case WIRE_TRANSFER:
-                score = score.add(BigDecimal.valueOf(20));
+                points += 20;
                 break;
             case ONLINE_PAYMENT:
             case MOBILE_PAYMENT:
-                score = score.add(BigDecimal.valueOf(10));
+                points += 10;
                 break;
             case ATM_WITHDRAWAL:
-                score = score.add(BigDecimal.valueOf(5));
+                points += 5;
                 break;
             default:
                 // Other types are considered lower risk
@@ -144,158 +235,65 @@ public class RiskScoringService {
         
         // Currency risk (foreign currency)
         if (!"USD".equals(transaction.getCurrency())) {
-            score = score.add(BigDecimal.valueOf(10));
+            points += 10;
         }
         
         // Channel risk
         // Channel risk - commenting out as getChannel() method doesn't exist
         // if ("ONLINE".equalsIgnoreCase(transaction.getChannel())) {
-        //     score = score.add(BigDecimal.valueOf(5));
+        //     points += 5;
         // }
         
-        return score.min(BigDecimal.valueOf(100));
+        return points;
     }
     
-    private BigDecimal calculateAccountRiskScore(String accountId) {
-        try {
-            Account account = accountRepository.findByAccountNumber(accountId).orElse(null);
-            
-            if (account == null) {
-                return BigDecimal.valueOf(50); // Unknown account is risky
-            }
-            
-            BigDecimal score = BigDecimal.ZERO;
-            
-            // Risk level-based score
-            RiskLevel riskLevel = account.getRiskLevel();
-            switch (riskLevel) {
-                case VERY_HIGH:
-                    score = score.add(BigDecimal.valueOf(40));
-                    break;
-                case HIGH:
-                    score = score.add(BigDecimal.valueOf(30));
-                    break;
-                case MEDIUM:
-                    score = score.add(BigDecimal.valueOf(15));
-                    break;
-                case LOW:
-                    score = score.add(BigDecimal.valueOf(5));
-                    break;
-            }
-            
-            // Account status risk
-            if (account.getStatus() == AccountStatus.SUSPENDED) {
-                score = score.add(BigDecimal.valueOf(50));
-            } else if (account.getStatus() == AccountStatus.RESTRICTED) {
-                score = score.add(BigDecimal.valueOf(25));
-            }
-            
-            // Flagged account risk
-            if (Boolean.TRUE.equals(account.getFlaggedForMonitoring())) {
-                score = score.add(BigDecimal.valueOf(20));
-            }
-            
-            // New account risk (accounts less than 30 days old)
-            if (account.getOpenedAt() != null) {
-                long daysSinceOpening = ChronoUnit.DAYS.between(account.getOpenedAt(), LocalDateTime.now());
-                if (daysSinceOpening < 30) {
-                    score = score.add(BigDecimal.valueOf(15));
-                }
-            }
-            
-            return score.min(BigDecimal.valueOf(100));
-            
-        } catch (Exception e) {
-            log.error("Error calculating account risk score for account {}: {}", accountId, e.getMessage());
-            return BigDecimal.valueOf(25); // Default risk score on error
+    /**
+     * The account's static risk: precomputed when materialized, otherwise derived from the
+     * live profile, taken from the evaluation context when there is one.
+     */
+    private StaticRiskComponent staticRisk(String accountId, RuleEvaluationContext context) {
+        StaticRiskComponent component = staticRiskStore.get(accountId);
+        if (component != null) {
+            return component;
         }
+        return StaticRiskComponent.of(context != null ? context.getRiskProfile() : loadRiskProfile(accountId));
     }
     
-    private BigDecimal calculateCustomerRiskScore(String accountId) {
+    /**
+     * Account and customer attributes in one lookup, or null when the lookup failed.
+     */
+    private RiskProfile loadRiskProfile(String accountId) {
         try {
-            Account account = accountRepository.findByAccountNumber(accountId).orElse(null);
-            if (account == null) {
-                return BigDecimal.valueOf(25);
-            }
-            
-            Customer customer = account.getCustomer();
-            if (customer == null) {
-                return BigDecimal.valueOf(25);
-            }
-            
-            BigDecimal score = BigDecimal.ZERO;
-            
-            // Customer risk level
-            RiskLevel riskLevel = customer.getRiskLevel();
-            switch (riskLevel) {
-                case VERY_HIGH:
-                    score = score.add(BigDecimal.valueOf(35));
-                    break;
-                case HIGH:
-                    score = score.add(BigDecimal.valueOf(25));
-                    break;
-                case MEDIUM:
-                    score = score.add(BigDecimal.valueOf(10));
-                    break;
-                case LOW:
-                    score = score.add(BigDecimal.valueOf(3));
-                    break;
-            }
-            
-            // Customer status risk
-            if (customer.getStatus() == CustomerStatus.SUSPENDED) {
-                score = score.add(BigDecimal.valueOf(40));
-            } else if (customer.getStatus() == CustomerStatus.BLOCKED) {
-                score = score.add(BigDecimal.valueOf(35));
-            } else if (customer.getStatus() == CustomerStatus.FROZEN) {
-                score = score.add(BigDecimal.valueOf(20));
-            }
-            
-            // New customer risk (customers less than 90 days)
-            if (customer.getCustomerSince() != null) {
-                long daysSinceJoining = ChronoUnit.DAYS.between(customer.getCustomerSince(), LocalDateTime.now());
-                if (daysSinceJoining < 90) {
-                    score = score.add(BigDecimal.valueOf(10));
-                }
-            }
-            
-            // Inactive customer risk (no recent login)
-            if (customer.getLastLogin() != null) {
-                long daysSinceLogin = ChronoUnit.DAYS.between(customer.getLastLogin(), LocalDateTime.now());
-                if (daysSinceLogin > 180) {
-                    score = score.add(BigDecimal.valueOf(15)); // Long inactive period
-                }
-            }
-            
-            return score.min(BigDecimal.valueOf(100));
-            
+            return riskProfileCache.get(accountId);
         } catch (Exception e) {
-            log.error("Error calculating customer risk score for account {}: {}", accountId, e.getMessage());
-            return BigDecimal.valueOf(25); // Default risk score on error
+            log.error("Error loading risk profile for account {}: {}", accountId, e.getMessage());
+            return null;
         }
     }
     
     private BigDecimal calculateWeightedScore(BigDecimal ruleScore, BigDecimal transactionScore, 
                                             BigDecimal accountScore, BigDecimal customerScore) {
-        
-        BigDecimal weightedScore = ruleScore.multiply(BigDecimal.valueOf(ruleWeight))
-            .add(transactionScore.multiply(BigDecimal.valueOf(transactionWeight)))
-            .add(accountScore.multiply(BigDecimal.valueOf(accountWeight)))
-            .add(customerScore.multiply(BigDecimal.valueOf(customerWeight)));
-        
-        // Add base score and cap at max score
-        BigDecimal finalScore = weightedScore.add(BigDecimal.valueOf(baseScore));
-        
-        return finalScore.min(BigDecimal.valueOf(maxScore)).setScale(2, RoundingMode.HALF_UP);
+        return scorer.exactTotal(ruleScore, transactionScore, accountScore, customerScore);
     }
     
     public RiskScoreBreakdown getRiskScoreBreakdown(Transaction transaction, FraudDetectionResult result) {
         BigDecimal ruleScore = calculateRuleBasedScore(result);
         BigDecimal transactionScore = calculateTransactionRiskScore(transaction);
-        BigDecimal accountScore = calculateAccountRiskScore(transaction.getAccountId());
-        BigDecimal customerScore = calculateCustomerRiskScore(transaction.getAccountId());
+        StaticRiskComponent staticRisk = staticRisk(transaction.getAccountId(), null);
+        LocalDateTime now = LocalDateTime.now();
+        BigDecimal accountScore = BigDecimal.valueOf(staticRisk.accountPoints(now));
+        BigDecimal customerScore = BigDecimal.valueOf(staticRisk.customerPoints(now));
         BigDecimal totalScore = calculateWeightedScore(ruleScore, transactionScore, accountScore, customerScore);
         
+        BigDecimal modelScore = null;
+        RiskModel model = modelScoringEngine.getModel();
+        if (model != null && modelScoringEngine.isActive()) {
+            double[] features = FeatureExtractor.extract(transaction, result, ruleScore.doubleValue(),
+                transactionScore.doubleValue(), accountScore.intValue(), customerScore.intValue());
+            modelScore = modelScoringEngine.score(features);
+            totalScore = modelScoringEngine.blend(totalScore, features);
+        }
+        
         return RiskScoreBreakdown.builder()
             .ruleBasedScore(ruleScore)
             .transactionScore(transactionScore)
@@ -307,9 +305,30 @@ public class RiskScoringService {
             .accountWeight(BigDecimal.valueOf(accountWeight))
             .customerWeight(BigDecimal.valueOf(customerWeight))
             .baseScore(BigDecimal.valueOf(baseScore))
+            .modelScore(modelScore)
+            .modelWeight(modelScore != null ? BigDecimal.valueOf(modelScoringEngine.getWeight()) : null)
+            .model(modelScore != null ? model.getName() + ":" + model.getVersion() : null)
             .build();
     }
     
+    /**
+     * Compiled scoring settings, see {@link #variant(ScoringSettings)}.
+     */
+    public static final class Variant {
+        
+        private final ScoringSettings settings;
+        private final FixedPointRiskScorer scorer;
+        
+        private Variant(ScoringSettings settings, FixedPointRiskScorer scorer) {
+            this.settings = settings;
+            this.scorer = scorer;
+        }
+        
+        public ScoringSettings getSettings() {
+            return settings;
+        }
+    }
+    
     @lombok.Data
     @lombok.Builder
     public static class RiskScoreBreakdown {
@@ -323,5 +342,8 @@ public class RiskScoringService {
         private BigDecimal accountWeight;
         private BigDecimal customerWeight;
         private BigDecimal baseScore;
+        private BigDecimal modelScore;
+        private BigDecimal modelWeight;
+        private String model;
     }
 }
\ No newline at end of file
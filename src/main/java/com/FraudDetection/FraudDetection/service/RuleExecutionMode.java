@@ -0,0 +1,17 @@
+package com.FraudDetection.FraudDetection.service;
+
+public enum RuleExecutionMode {
+    SEQUENTIAL("Rules are evaluated one after another on the calling thread"),
+    PARALLEL("Rules are evaluated concurrently on virtual threads with time budgets"),
+    SHORT_CIRCUIT("Rules are evaluated by priority and cost, stopping once the decision is settled");
+    
+    private final String description;
+    
+    RuleExecutionMode(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
@@ -1,5 +1,8 @@
 package com.FraudDetection.FraudDetection.service;
 
+import com.FraudDetection.FraudDetection.service.explain.Explanation;
+import com.FraudDetection.FraudDetection.service.explain.ReasonCode;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import lombok.Builder;
 import lombok.NoArgsConstructor;
@@ -25,10 +28,28 @@ public class RuleResult {
     private long executionTimeMs;
     private Map<String, Object> ruleData;
     private String recommendation;
+    private boolean timedOut;
+    
+    // Not evaluated because the decision was settled by an earlier rule
+    private boolean skipped;
+    
+    // Not evaluated, or evaluated on in-memory state only, because the rule's circuit breaker is open
+    private boolean degraded;
+    
+    // Structured reason; rendered into reason when that is first read
+    @JsonIgnore
+    private Explanation explanation;
     
     @Builder.Default
     private LocalDateTime timestamp = LocalDateTime.now();
     
+    public String getReason() {
+        if (reason == null && explanation != null) {
+            reason = explanation.render();
+        }
+        return reason;
+    }
+    
     public boolean isHighSeverity() {
         return "HIGH".equalsIgnoreCase(severity) || "CRITICAL".equalsIgnoreCase(severity);
     }
@@ -38,7 +59,7 @@ public class RuleResult {
     }
     
     public boolean hasHighScore() {
-        return score != null && score.compareTo(BigDecimal.valueOf(70)) >= 0;
+        return score != null && score.compareTo(ScoreThresholds.HIGH) >= 0;
     }
     
     public static RuleResult triggered(String ruleName, BigDecimal score, String reason) {
@@ -74,12 +95,49 @@ public class RuleResult {
             .build();
     }
     
+    public static RuleResult timedOut(String ruleName, long budgetMs) {
+        return RuleResult.builder()
+            .ruleName(ruleName)
+            .triggered(false)
+            .score(BigDecimal.ZERO)
+            .reason("Rule evaluation exceeded time budget of " + budgetMs + "ms")
+            .evaluatedAt(LocalDateTime.now())
+            .severity("TIMEOUT")
+            .executionTimeMs(budgetMs)
+            .timedOut(true)
+            .build();
+    }
+    
+    public static RuleResult skipped(String ruleName, String settledBy) {
+        return RuleResult.builder()
+            .ruleName(ruleName)
+            .triggered(false)
+            .score(BigDecimal.ZERO)
+            .explanation(Explanation.of(ReasonCode.RULE_SKIPPED).add(ReasonCode.DECISION_SETTLED_BY, settledBy))
+            .evaluatedAt(LocalDateTime.now())
+            .severity("SKIPPED")
+            .skipped(true)
+            .build();
+    }
+    
+    public static RuleResult degraded(String ruleName) {
+        return RuleResult.builder()
+            .ruleName(ruleName)
+            .triggered(false)
+            .score(BigDecimal.ZERO)
+            .explanation(Explanation.of(ReasonCode.RULE_SKIPPED).add(ReasonCode.CIRCUIT_OPEN))
+            .evaluatedAt(LocalDateTime.now())
+            .severity("DEGRADED")
+            .degraded(true)
+            .build();
+    }
+    
     private static String determineSeverity(BigDecimal score) {
-        if (score.compareTo(BigDecimal.valueOf(90)) >= 0) {
+        if (score.compareTo(ScoreThresholds.CRITICAL) >= 0) {
             return "CRITICAL";
-        } else if (score.compareTo(BigDecimal.valueOf(70)) >= 0) {
+        } else if (score.compareTo(ScoreThresholds.HIGH) >= 0) {
             return "HIGH";
-        } else if (score.compareTo(BigDecimal.valueOf(50)) >= 0) {
+        } else if (score.compareTo(ScoreThresholds.MEDIUM) >= 0) {
             return "MEDIUM";
         } else {
             return "LOW";
@@ -0,0 +1,17 @@
+package com.FraudDetection.FraudDetection.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Score boundaries shared by rule, alert and result severities. Kept as constants so
+ * severity checks on the scoring path compare against existing instances.
+ */
+public final class ScoreThresholds {
+    
+    public static final BigDecimal CRITICAL = BigDecimal.valueOf(90);
+    public static final BigDecimal HIGH = BigDecimal.valueOf(70);
+    public static final BigDecimal MEDIUM = BigDecimal.valueOf(50);
+    
+    private ScoreThresholds() {
+    }
+}
@@ -0,0 +1,38 @@
+package com.FraudDetection.FraudDetection.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Weights and bounds of the risk score. Used to describe scoring variants; fields left
+ * null take the value of the configured scoring.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoringSettings {
+    
+    private Double ruleWeight;
+    private Double transactionWeight;
+    private Double accountWeight;
+    private Double customerWeight;
+    private Integer baseScore;
+    private Integer maxScore;
+    
+    /**
+     * These settings with null fields taken from {@code current}.
+     */
+    public ScoringSettings mergedOnto(ScoringSettings current) {
+        return ScoringSettings.builder()
+            .ruleWeight(ruleWeight != null ? ruleWeight : current.ruleWeight)
+            .transactionWeight(transactionWeight != null ? transactionWeight : current.transactionWeight)
+            .accountWeight(accountWeight != null ? accountWeight : current.accountWeight)
+            .customerWeight(customerWeight != null ? customerWeight : current.customerWeight)
+            .baseScore(baseScore != null ? baseScore : current.baseScore)
+            .maxScore(maxScore != null ? maxScore : current.maxScore)
+            .build();
+    }
+}
@@ -0,0 +1,182 @@
+package com.FraudDetection.FraudDetection.service;
+
+import com.FraudDetection.FraudDetection.entity.Transaction;
+import com.FraudDetection.FraudDetection.service.metrics.FraudMetrics;
+import com.FraudDetection.FraudDetection.service.model.ModelScoringEngine;
+import com.FraudDetection.FraudDetection.service.resilience.RuleCircuitBreakers;
+import com.FraudDetection.FraudDetection.service.rules.FraudRule;
+import com.FraudDetection.FraudDetection.service.rules.RuleEvaluationContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Evaluates rules one after another, highest priority first and, within a priority, the
+ * cheapest first by measured execution time. Evaluation stops as soon as the rules so far
+ * already force an auto-reject. The remaining rules are not evaluated and get a skipped result, but still
+ * observe the transaction so their velocity and location history stays complete.
+ * <p>
+ * The auto-reject check relies on the risk score only growing as more rules trigger,
+ * which holds for the weighted rule score but not for a blended model score, so it is
+ * not applied while a model is active.
+ */
+@Component
+@Slf4j
+public class ShortCircuitRuleEvaluator {
+    
+    // Weight of a new sample in the moving average of a rule's execution time, as a shift
+    private static final int COST_SMOOTHING_SHIFT = 3;
+    
+    private final FraudRule[] rules;
+    private final RiskScoringService riskScoringService;
+    private final FraudDecisionEngine fraudDecisionEngine;
+    private final ModelScoringEngine modelScoringEngine;
+    private final RuleCircuitBreakers ruleCircuitBreakers;
+    private final FraudMetrics fraudMetrics;
+    
+    private final AtomicLongArray costNanos;
+    private final LongAdder[] skipped;
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder shortCircuits = new LongAdder();
+    
+    // Indices into rules, in evaluation order; replaced as a whole
+    private volatile int[] order;
+    
+    public ShortCircuitRuleEvaluator(List<FraudRule> fraudRules, RiskScoringService riskScoringService,
+                                     FraudDecisionEngine fraudDecisionEngine, ModelScoringEngine modelScoringEngine,
+                                     RuleCircuitBreakers ruleCircuitBreakers, FraudMetrics fraudMetrics) {
+        this.rules = fraudRules.toArray(new FraudRule[0]);
+        this.riskScoringService = riskScoringService;
+        this.fraudDecisionEngine = fraudDecisionEngine;
+        this.modelScoringEngine = modelScoringEngine;
+        this.ruleCircuitBreakers = ruleCircuitBreakers;
+        this.fraudMetrics = fraudMetrics;
+        this.costNanos = new AtomicLongArray(rules.length);
+        this.skipped = new LongAdder[rules.length];
+        for (int i = 0; i < rules.length; i++) {
+            skipped[i] = new LongAdder();
+        }
+        reorder();
+    }
+    
+    public List<RuleResult> evaluate(Transaction transaction, RuleEvaluationContext context) {
+        int[] evaluationOrder = order;
+        List<RuleResult> results = new ArrayList<>(evaluationOrder.length);
+        boolean rejectCheck = !modelScoringEngine.isActive();
+        evaluations.increment();
+        
+        for (int position = 0; position < evaluationOrder.length; position++) {
+            int index = evaluationOrder[position];
+            FraudRule rule = rules[index];
+            
+            RuleResult result;
+            long start = System.nanoTime();
+            try {
+                result = ruleCircuitBreakers.evaluate(rule, transaction, context);
+            } catch (Exception e) {
+                log.error("Error executing rule {} for transaction {}: {}", 
+                    rule.getRuleName(), transaction.getTransactionReference(), e.getMessage());
+                result = RuleResult.error(rule.getRuleName(), e.getMessage());
+            }
+            recordCost(index, System.nanoTime() - start);
+            results.add(result);
+            
+            boolean last = position == evaluationOrder.length - 1;
+            if (!last && rejectCheck && result.isTriggered() && isCertainReject(transaction, context, results)) {
+                skipRemaining(transaction, context, evaluationOrder, position + 1, rule.getRuleName(), results);
+                break;
+            }
+        }
+        
+        return results;
+    }
+    
+    /**
+     * Re-sorts the rules by priority and the execution times measured since the last sort.
+     */
+    @Scheduled(fixedDelayString = "${fraud.rules.execution.reorder-interval-ms:10000}")
+    public void reorder() {
+        Integer[] indices = new Integer[rules.length];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i;
+        }
+        
+        Arrays.sort(indices, Comparator.<Integer>comparingInt(i -> -rules[i].getPriority())
+            .thenComparingLong(costNanos::get));
+        
+        int[] sorted = new int[indices.length];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = indices[i];
+        }
+        order = sorted;
+    }
+    
+    public long getEvaluations() {
+        return evaluations.sum();
+    }
+    
+    public long getShortCircuits() {
+        return shortCircuits.sum();
+    }
+    
+    /**
+     * The rules in current evaluation order with their priority, average cost and how often
+     * they were skipped.
+     */
+    public List<RuleStats> getRuleStats() {
+        List<RuleStats> stats = new ArrayList<>(rules.length);
+        for (int index : order) {
+            stats.add(new RuleStats(rules[index].getRuleName(), rules[index].getPriority(),
+                costNanos.get(index) / 1000.0, skipped[index].sum()));
+        }
+        return stats;
+    }
+    
+    private boolean isCertainReject(Transaction transaction, RuleEvaluationContext context, List<RuleResult> results) {
+        FraudDetectionResult partial = FraudDetectionResult.builder()
+            .transactionId(transaction.getTransactionReference())
+            .ruleResults(results)
+            .build();
+        partial.setRiskScore(riskScoringService.calculateRiskScore(transaction, partial, context));
+        return fraudDecisionEngine.isCertainReject(partial);
+    }
+    
+    private void skipRemaining(Transaction transaction, RuleEvaluationContext context, int[] evaluationOrder, int from,
+                               String settledBy, List<RuleResult> results) {
+        shortCircuits.increment();
+        
+        for (int position = from; position < evaluationOrder.length; position++) {
+            int index = evaluationOrder[position];
+            FraudRule rule = rules[index];
+            skipped[index].increment();
+            fraudMetrics.recordSkipped(rule.getRuleName());
+            results.add(RuleResult.skipped(rule.getRuleName(), settledBy));
+            
+            try {
+                rule.observe(transaction, context);
+            } catch (Exception e) {
+                log.warn("Rule {} failed to observe skipped transaction {}: {}",
+                    rule.getRuleName(), transaction.getTransactionReference(), e.getMessage());
+            }
+        }
+        
+        log.debug("Decision for transaction {} settled by {}, skipped {} rules",
+            transaction.getTransactionReference(), settledBy, evaluationOrder.length - from);
+    }
+    
+    private void recordCost(int index, long nanos) {
+        // Lost updates under contention only delay the average, they do not corrupt it
+        long average = costNanos.get(index);
+        costNanos.set(index, average == 0 ? nanos : average + ((nanos - average) >> COST_SMOOTHING_SHIFT));
+    }
+    
+    public record RuleStats(String ruleName, int priority, double averageCostMicros, long skipped) {
+    }
+}
@@ -0,0 +1,337 @@
+package com.FraudDetection.FraudDetection.service.audit;
+
+import com.FraudDetection.FraudDetection.entity.AuditLog;
+import com.FraudDetection.FraudDetection.entity.Transaction;
+import com.FraudDetection.FraudDetection.repository.AuditLogRepository;
+import com.FraudDetection.FraudDetection.repository.TransactionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Audit sink that takes audit inserts off the decision path.
+ * Entries are queued after the surrounding database transaction commits and written in
+ * batches by a background thread. When the queue stays full past the offer timeout, or a
+ * batch cannot be written, entries are appended to an overflow file that is replayed once
+ * the database accepts writes again. Pending entries are flushed on shutdown.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AuditLogWriter {
+
+    private final AuditLogRepository auditLogRepository;
+    private final TransactionRepository transactionRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${fraud.audit.async.enabled:false}")
+    private boolean asyncEnabled;
+
+    @Value("${fraud.audit.async.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${fraud.audit.async.flush-size:200}")
+    private int flushSize;
+
+    @Value("${fraud.audit.async.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    @Value("${fraud.audit.async.offer-timeout-ms:5}")
+    private long offerTimeoutMs;
+
+    @Value("${fraud.audit.async.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    @Value("${fraud.audit.async.overflow-file:data/audit-overflow.jsonl}")
+    private String overflowFile;
+
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong spilledCount = new AtomicLong();
+    private final Object spillLock = new Object();
+
+    private BlockingQueue<AuditLog> queue;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!asyncEnabled) {
+            return;
+        }
+
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writerThread = Thread.ofPlatform()
+            .name("audit-log-writer")
+            .daemon(true)
+            .start(this::runWriter);
+
+        log.info("Asynchronous audit writer started (capacity={}, flushSize={}, flushIntervalMs={})",
+            queueCapacity, flushSize, flushIntervalMs);
+    }
+
+    /**
+     * Records an audit entry that belongs to the current database transaction.
+     * In async mode it is queued only once that transaction commits.
+     */
+    public void submit(AuditLog auditLog) {
+        submitAll(List.of(auditLog));
+    }
+
+    public void submitAll(List<AuditLog> auditLogs) {
+        if (auditLogs.isEmpty()) {
+            return;
+        }
+
+        if (!asyncEnabled) {
+            auditLogRepository.saveAll(auditLogs);
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    auditLogs.forEach(AuditLogWriter.this::enqueue);
+                }
+            });
+        } else {
+            auditLogs.forEach(this::enqueue);
+        }
+    }
+
+    /**
+     * Records an audit entry that must survive a rollback of the current database
+     * transaction, such as a processing error. It is written in a transaction of its own.
+     * The transaction association is dropped unless the row is already committed, since an
+     * unsaved row or one written by the active transaction may never exist; the entity id
+     * still names the transaction.
+     */
+    public void submitIndependent(AuditLog auditLog) {
+        Transaction transaction = auditLog.getTransaction();
+        if (transaction != null
+                && (transaction.getId() == null || TransactionSynchronizationManager.isActualTransactionActive())) {
+            auditLog.setTransaction(null);
+        }
+
+        if (asyncEnabled) {
+            enqueue(auditLog);
+            return;
+        }
+
+        TransactionTemplate independent = new TransactionTemplate(transactionManager);
+        independent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        independent.executeWithoutResult(status -> auditLogRepository.save(auditLog));
+    }
+
+    public int getQueueDepth() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    public long getSpilledCount() {
+        return spilledCount.get();
+    }
+
+    private void enqueue(AuditLog auditLog) {
+        if (!running) {
+            spill(List.of(auditLog));
+            return;
+        }
+
+        try {
+            // Backpressure: block the caller briefly before overflowing to disk
+            if (queue.offer(auditLog, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+            log.warn("Audit queue full ({} entries), spilling entry to {}", queueCapacity, overflowFile);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        spill(List.of(auditLog));
+    }
+
+    private void runWriter() {
+        replaySpilled();
+
+        List<AuditLog> batch = new ArrayList<>(flushSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                collectBatch(batch);
+            } catch (InterruptedException e) {
+                // Shutdown requested; keep draining until the queue is empty
+                queue.drainTo(batch, flushSize - batch.size());
+            }
+
+            if (batch.isEmpty()) {
+                replaySpilled();
+                continue;
+            }
+
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void collectBatch(List<AuditLog> batch) throws InterruptedException {
+        AuditLog first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+
+        while (batch.size() < flushSize) {
+            queue.drainTo(batch, flushSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= flushSize || remaining <= 0) {
+                return;
+            }
+
+            AuditLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void writeBatch(List<AuditLog> batch) {
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> auditLogRepository.saveAll(batch));
+            writtenCount.addAndGet(batch.size());
+        } catch (Exception e) {
+            log.error("Failed to write batch of {} audit entries, spilling to {}: {}", batch.size(), overflowFile, e.getMessage());
+            spill(batch);
+        }
+    }
+
+    private void spill(List<AuditLog> auditLogs) {
+        synchronized (spillLock) {
+            Path path = Paths.get(overflowFile);
+
+            try {
+                if (path.getParent() != null) {
+                    Files.createDirectories(path.getParent());
+                }
+
+                try (FileOutputStream out = new FileOutputStream(path.toFile(), true);
+                     BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+                    for (AuditLog auditLog : auditLogs) {
+                        writer.write(objectMapper.writeValueAsString(SpilledAuditEntry.from(auditLog)));
+                        writer.newLine();
+                    }
+                    writer.flush();
+                    out.getFD().sync();
+                }
+
+                spilledCount.addAndGet(auditLogs.size());
+
+            } catch (IOException e) {
+                log.error("Failed to spill {} audit entries to {}; entries lost: {}", auditLogs.size(), overflowFile, auditLogs, e);
+            }
+        }
+    }
+
+    private void replaySpilled() {
+        Path path = Paths.get(overflowFile);
+        Path replayPath = Paths.get(overflowFile + ".replay");
+
+        synchronized (spillLock) {
+            try {
+                if (!Files.exists(replayPath)) {
+                    if (!Files.exists(path) || Files.size(path) == 0) {
+                        return;
+                    }
+                    Files.move(path, replayPath, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (IOException e) {
+                log.error("Failed to prepare audit overflow file {} for replay: {}", overflowFile, e.getMessage());
+                return;
+            }
+        }
+
+        try {
+            List<AuditLog> auditLogs = new ArrayList<>();
+            for (String line : Files.readAllLines(replayPath, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                SpilledAuditEntry entry = objectMapper.readValue(line, SpilledAuditEntry.class);
+                AuditLog auditLog = entry.toAuditLog();
+                if (entry.transactionId() != null) {
+                    auditLog.setTransaction(transactionRepository.getReferenceById(entry.transactionId()));
+                }
+                auditLogs.add(auditLog);
+            }
+
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> auditLogRepository.saveAll(auditLogs));
+            Files.delete(replayPath);
+            writtenCount.addAndGet(auditLogs.size());
+
+            log.info("Replayed {} spilled audit entries from {}", auditLogs.size(), overflowFile);
+
+        } catch (Exception e) {
+            // Keep the replay file; it is retried on the next idle cycle
+            log.warn("Failed to replay spilled audit entries from {}: {}", replayPath, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!asyncEnabled || writerThread == null) {
+            return;
+        }
+
+        log.info("Flushing {} pending audit entries before shutdown", queue.size());
+        running = false;
+        writerThread.interrupt();
+
+        try {
+            writerThread.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Anything the writer could not flush in time is kept on disk
+        List<AuditLog> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            log.warn("Audit writer did not drain in time, spilling {} entries to {}", remaining.size(), overflowFile);
+            spill(remaining);
+        }
+    }
+}
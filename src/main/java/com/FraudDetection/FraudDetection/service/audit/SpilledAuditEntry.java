@@ -0,0 +1,60 @@
+package com.FraudDetection.FraudDetection.service.audit;
+
+import com.FraudDetection.FraudDetection.entity.AuditLog;
+import com.FraudDetection.FraudDetection.entity.AuditSeverity;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat, serializable copy of an {@link AuditLog} written to the overflow file when the
+ * in-memory queue is full or the database rejects a batch.
+ */
+record SpilledAuditEntry(
+    Long transactionId,
+    String entityType,
+    String entityId,
+    String action,
+    String actionDescription,
+    String performedBy,
+    String sourceSystem,
+    String additionalDetails,
+    AuditSeverity severity,
+    String eventCategory,
+    Boolean successful,
+    String errorMessage,
+    LocalDateTime createdAt) {
+    
+    static SpilledAuditEntry from(AuditLog auditLog) {
+        return new SpilledAuditEntry(
+            auditLog.getTransaction() != null ? auditLog.getTransaction().getId() : null,
+            auditLog.getEntityType(),
+            auditLog.getEntityId(),
+            auditLog.getAction(),
+            auditLog.getActionDescription(),
+            auditLog.getPerformedBy(),
+            auditLog.getSourceSystem(),
+            auditLog.getAdditionalDetails(),
+            auditLog.getSeverity(),
+            auditLog.getEventCategory(),
+            auditLog.getSuccessful(),
+            auditLog.getErrorMessage(),
+            auditLog.getCreatedAt());
+    }
+    
+    AuditLog toAuditLog() {
+        return AuditLog.builder()
+            .entityType(entityType)
+            .entityId(entityId)
+            .action(action)
+            .actionDescription(actionDescription)
+            .performedBy(performedBy)
+            .sourceSystem(sourceSystem)
+            .additionalDetails(additionalDetails)
+            .severity(severity)
+            .eventCategory(eventCategory)
+            .successful(successful)
+            .errorMessage(errorMessage)
+            .createdAt(createdAt)
+            .build();
+    }
+}
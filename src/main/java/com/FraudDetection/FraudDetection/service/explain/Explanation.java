@@ -0,0 +1,82 @@
+package com.FraudDetection.FraudDetection.service.explain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Structured reason for a rule result or decision: an optional headline and a list of
+ * reason codes with their arguments. Nothing is formatted until the text is asked for,
+ * so results that are never read cost a few small objects instead of formatted strings.
+ */
+public final class Explanation {
+    
+    private final ReasonCode headline;
+    private final List<Detail> details = new ArrayList<>(4);
+    
+    private Explanation(ReasonCode headline) {
+        this.headline = headline;
+    }
+    
+    public static Explanation of(ReasonCode headline) {
+        return new Explanation(headline);
+    }
+    
+    /**
+     * Explanation without a headline, rendered as a list (see {@link #renderDetails()}).
+     */
+    public static Explanation list() {
+        return new Explanation(null);
+    }
+    
+    public Explanation add(ReasonCode code, Object... args) {
+        details.add(new Detail(code, args));
+        return this;
+    }
+    
+    public ReasonCode getHeadline() {
+        return headline;
+    }
+    
+    public List<Detail> getDetails() {
+        return details;
+    }
+    
+    public boolean isEmpty() {
+        return details.isEmpty();
+    }
+    
+    /**
+     * Headline followed by the details, each terminated with "; ", e.g.
+     * {@code "Velocity violation detected: Hourly transaction count 12 exceeds limit 10;"}.
+     */
+    public String render() {
+        StringBuilder text = new StringBuilder(64);
+        if (headline != null) {
+            text.append(headline.getTemplate()).append(' ');
+        }
+        for (Detail detail : details) {
+            text.append(detail.render()).append("; ");
+        }
+        return text.toString().trim();
+    }
+    
+    public List<String> renderDetails() {
+        List<String> rendered = new ArrayList<>(details.size());
+        for (Detail detail : details) {
+            rendered.add(detail.render());
+        }
+        return rendered;
+    }
+    
+    @Override
+    public String toString() {
+        return render();
+    }
+    
+    public record Detail(ReasonCode code, Object[] args) {
+        
+        public String render() {
+            return code.render(args);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.FraudDetection.FraudDetection.service.explain;
+
+/**
+ * Codes of the statements that make up an {@link Explanation}, each with the
+ * {@link String#format} template it renders with. Headline codes open an explanation,
+ * the rest are its details.
+ */
+public enum ReasonCode {
+    
+    // Rule headlines
+    VELOCITY_VIOLATION("Velocity violation detected:"),
+    GEO_ANOMALY("Geographical anomaly detected:"),
+    RULE_SKIPPED("Rule not evaluated:"),
+    
+    // Short-circuit evaluation
+    DECISION_SETTLED_BY("decision already settled by %s"),
+    
+    // Circuit breakers
+    CIRCUIT_OPEN("circuit breaker open"),
+    
+    // Account velocity
+    HOURLY_COUNT_EXCEEDED("Hourly transaction count %d exceeds limit %d"),
+    HOURLY_AMOUNT_EXCEEDED("Hourly amount %.2f exceeds limit %.2f"),
+    DAILY_COUNT_EXCEEDED("Daily transaction count %d exceeds limit %d"),
+    DAILY_AMOUNT_EXCEEDED("Daily amount %.2f exceeds limit %.2f"),
+    
+    // Multi-dimensional velocity; arguments start with the dimension and its key
+    SHARED_DEVICE("Device %s used by %d accounts in 24 hours, limit %d"),
+    DIMENSION_HOURLY_COUNT_EXCEEDED("%s %s hourly transaction count %d exceeds limit %d"),
+    DIMENSION_HOURLY_AMOUNT_EXCEEDED("%s %s hourly amount %.2f exceeds limit %.2f"),
+    DIMENSION_DAILY_COUNT_EXCEEDED("%s %s daily transaction count %d exceeds limit %d"),
+    DIMENSION_DAILY_AMOUNT_EXCEEDED("%s %s daily amount %.2f exceeds limit %.2f"),
+    
+    // Geolocation
+    IMPOSSIBLE_TRAVEL("Impossible travel detected - %.2f km in %d minutes"),
+    HIGH_RISK_COUNTRY("Transaction from high-risk country: %s"),
+    MULTIPLE_COUNTRIES("Multiple countries (%d) accessed in short period"),
+    
+    // Decision headlines
+    REJECTED("Transaction rejected due to:"),
+    REVIEW_REQUIRED("Manual review required due to:"),
+    
+    // Decision details
+    VERY_HIGH_RISK_SCORE("Very high risk score (%s)"),
+    HIGH_RISK_SCORE("High risk score (%s)"),
+    CRITICAL_RULE_VIOLATION("Critical fraud rule violation"),
+    CRITICAL_RULE_TRIGGERED("Critical fraud rule triggered"),
+    MULTIPLE_HIGH_SEVERITY_INDICATORS("Multiple high-severity fraud indicators"),
+    MULTIPLE_INDICATORS("Multiple fraud indicators (%d)"),
+    DEGRADED_RULES("Rules evaluated in degraded mode (%s)"),
+    
+    // Contributing factors
+    FACTOR_RISK_SCORE("Risk Score: %s"),
+    FACTOR_CRITICAL_RULE("Critical Rule Violation"),
+    FACTOR_MULTIPLE_HIGH_SEVERITY("Multiple High-Severity Rules"),
+    FACTOR_DEGRADED_RULE("%s (Degraded)"),
+    FACTOR_RULE("%s (Score: %s, Severity: %s)");
+    
+    private final String template;
+    
+    ReasonCode(String template) {
+        this.template = template;
+    }
+    
+    public String getTemplate() {
+        return template;
+    }
+    
+    public String render(Object... args) {
+        return args.length == 0 ? template : String.format(template, args);
+    }
+}
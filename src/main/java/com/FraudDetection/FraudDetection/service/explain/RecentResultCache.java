@@ -0,0 +1,64 @@
+package com.FraudDetection.FraudDetection.service.explain;
+
+import com.FraudDetection.FraudDetection.service.FraudDetectionResult;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Keeps the latest fraud detection results, with their unrendered explanations, by
+ * transaction reference so the explain endpoint can render them on request. Bounded in
+ * size and age; results that fall out are only explained by their persisted alert.
+ */
+@Component
+@Slf4j
+public class RecentResultCache {
+    
+    @Value("${fraud.explain.recent-results.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${fraud.explain.recent-results.maximum-size:10000}")
+    private long maximumSize;
+    
+    @Value("${fraud.explain.recent-results.ttl-minutes:60}")
+    private long ttlMinutes;
+    
+    private Cache<String, FraudDetectionResult> cache;
+    
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        
+        cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+            .build();
+        
+        log.info("Recent result cache enabled (maximumSize={}, ttlMinutes={})", maximumSize, ttlMinutes);
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void put(FraudDetectionResult result) {
+        if (cache != null && result.getTransactionId() != null) {
+            cache.put(result.getTransactionId(), result);
+        }
+    }
+    
+    public FraudDetectionResult get(String transactionReference) {
+        return cache != null ? cache.getIfPresent(transactionReference) : null;
+    }
+    
+    public long getSize() {
+        return cache != null ? cache.estimatedSize() : 0;
+    }
+}
@@ -0,0 +1,169 @@
+package com.FraudDetection.FraudDetection.service.geo;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves "City, State, Country" location strings to coordinates using a place list
+ * loaded from a local CSV file. Places are stored in parallel float arrays and looked up
+ * through a map of normalized, interned names; each distinct location string is parsed
+ * once and its resolution cached.
+ */
+@Component
+@Slf4j
+public class Gazetteer {
+    
+    private final ResourceLoader resourceLoader;
+    
+    @Value("${fraud.rules.geo.gazetteer-file:classpath:geo/gazetteer.csv}")
+    private String gazetteerFile;
+    
+    @Value("${fraud.rules.geo.resolution-cache-size:100000}")
+    private int resolutionCacheSize;
+    
+    private final Map<String, Integer> placeIndex = new HashMap<>();
+    private final Map<String, String> countryAliases = new HashMap<>();
+    private final ConcurrentHashMap<String, ResolvedLocation> resolutions = new ConcurrentHashMap<>();
+    
+    private float[] latitudes = new float[0];
+    private float[] longitudes = new float[0];
+    
+    public Gazetteer(ResourceLoader resourceLoader) {
+        this.resourceLoader = resourceLoader;
+    }
+    
+    @PostConstruct
+    public void load() {
+        Resource resource = resourceLoader.getResource(gazetteerFile);
+        if (!resource.exists()) {
+            log.warn("Gazetteer file {} not found, location names will not resolve to coordinates", gazetteerFile);
+            return;
+        }
+        
+        int count = 0;
+        float[] lat = new float[256];
+        float[] lon = new float[256];
+        
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                
+                String[] fields = line.split(",", -1);
+                if (fields.length != 5) {
+                    log.warn("Skipping malformed gazetteer line {}: {}", lineNumber, line);
+                    continue;
+                }
+                
+                if (count == lat.length) {
+                    lat = Arrays.copyOf(lat, count * 2);
+                    lon = Arrays.copyOf(lon, count * 2);
+                }
+                lat[count] = Float.parseFloat(fields[3].trim());
+                lon[count] = Float.parseFloat(fields[4].trim());
+                
+                String city = normalize(fields[0]);
+                String region = normalize(fields[1]);
+                String[] countryNames = fields[2].split("\\|");
+                String country = normalize(countryNames[0]).intern();
+                
+                if (city.isEmpty()) {
+                    for (String alias : countryNames) {
+                        countryAliases.put(normalize(alias).intern(), country);
+                    }
+                    placeIndex.put(key("", "", country).intern(), count);
+                } else {
+                    placeIndex.put(key(city, region, country).intern(), count);
+                    // City and country alone, for locations written without a region
+                    placeIndex.putIfAbsent(key(city, "", country).intern(), count);
+                }
+                count++;
+            }
+            
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to load gazetteer file {}: {}", gazetteerFile, e.getMessage(), e);
+            placeIndex.clear();
+            countryAliases.clear();
+            return;
+        }
+        
+        latitudes = Arrays.copyOf(lat, count);
+        longitudes = Arrays.copyOf(lon, count);
+        log.info("Loaded {} gazetteer places from {}", count, gazetteerFile);
+    }
+    
+    /**
+     * Resolves a location string, using the most specific place the gazetteer knows:
+     * the city, otherwise the country.
+     */
+    public ResolvedLocation resolve(String location) {
+        if (location == null) {
+            return ResolvedLocation.unlocated(Locations.UNKNOWN_COUNTRY);
+        }
+        
+        ResolvedLocation cached = resolutions.get(location);
+        if (cached != null) {
+            return cached;
+        }
+        
+        ResolvedLocation resolved = parseAndLocate(location);
+        // Bounded so arbitrary free text cannot grow the cache without limit
+        if (resolutions.size() < resolutionCacheSize) {
+            resolutions.put(location, resolved);
+        }
+        return resolved;
+    }
+    
+    public int getPlaceCount() {
+        return latitudes.length;
+    }
+    
+    private ResolvedLocation parseAndLocate(String location) {
+        String country = Locations.countryOf(location);
+        String[] parts = location.split(",");
+        
+        String canonicalCountry = countryAliases.getOrDefault(country, country);
+        String city = parts.length >= 2 ? normalize(parts[0]) : "";
+        String region = parts.length >= 3 ? normalize(parts[parts.length - 2]) : "";
+        
+        Integer index = city.isEmpty() ? null : placeIndex.get(key(city, region, canonicalCountry));
+        if (index == null && !city.isEmpty() && !region.isEmpty()) {
+            index = placeIndex.get(key(city, "", canonicalCountry));
+        }
+        if (index != null) {
+            return new ResolvedLocation(country, true, true, latitudes[index], longitudes[index]);
+        }
+        
+        index = placeIndex.get(key("", "", canonicalCountry));
+        if (index != null) {
+            return new ResolvedLocation(country, true, false, latitudes[index], longitudes[index]);
+        }
+        return ResolvedLocation.unlocated(country);
+    }
+    
+    private static String key(String city, String region, String country) {
+        return city + '|' + region + '|' + country;
+    }
+    
+    private static String normalize(String value) {
+        return value.trim().toUpperCase();
+    }
+}
@@ -0,0 +1,25 @@
+package com.FraudDetection.FraudDetection.service.geo;
+
+/**
+ * Great-circle distance on a spherical Earth.
+ */
+public final class GeoDistance {
+    
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    
+    private GeoDistance() {
+    }
+    
+    public static double haversineKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double phi1 = Math.toRadians(latitude1);
+        double phi2 = Math.toRadians(latitude2);
+        double deltaPhi = phi2 - phi1;
+        double deltaLambda = Math.toRadians(longitude2 - longitude1);
+        
+        double sinHalfPhi = Math.sin(deltaPhi / 2);
+        double sinHalfLambda = Math.sin(deltaLambda / 2);
+        double a = sinHalfPhi * sinHalfPhi + Math.cos(phi1) * Math.cos(phi2) * sinHalfLambda * sinHalfLambda;
+        
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
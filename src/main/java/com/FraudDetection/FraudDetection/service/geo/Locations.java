@@ -0,0 +1,24 @@
+package com.FraudDetection.FraudDetection.service.geo;
+
+/**
+ * Parsing helpers for the free-text "City, State, Country" location strings.
+ */
+public final class Locations {
+    
+    public static final String UNKNOWN_COUNTRY = "UNKNOWN";
+    
+    private Locations() {
+    }
+    
+    /**
+     * Country part of a location: the last comma-separated component, upper-cased.
+     */
+    public static String countryOf(String location) {
+        if (location == null || location.isBlank()) {
+            return UNKNOWN_COUNTRY;
+        }
+        
+        int lastComma = location.lastIndexOf(',');
+        return location.substring(lastComma + 1).trim().toUpperCase();
+    }
+}
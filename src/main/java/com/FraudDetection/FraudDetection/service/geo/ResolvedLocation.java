@@ -0,0 +1,17 @@
+package com.FraudDetection.FraudDetection.service.geo;
+
+/**
+ * A location string parsed once: its country token and, when the gazetteer knows the
+ * place, its coordinates. {@code cityLevel} is false when only the country could be
+ * placed, in which case the coordinates are the country's centre.
+ */
+public record ResolvedLocation(String country, boolean located, boolean cityLevel, double latitude, double longitude) {
+    
+    public static ResolvedLocation unlocated(String country) {
+        return new ResolvedLocation(country, false, false, Double.NaN, Double.NaN);
+    }
+    
+    public static ResolvedLocation exact(String country, double latitude, double longitude) {
+        return new ResolvedLocation(country, true, true, latitude, longitude);
+    }
+}
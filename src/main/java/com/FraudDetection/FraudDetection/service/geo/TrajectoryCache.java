@@ -0,0 +1,250 @@
+package com.FraudDetection.FraudDetection.service.geo;
+
+import com.FraudDetection.FraudDetection.entity.Transaction;
+import com.FraudDetection.FraudDetection.repository.TransactionRepository;
+import com.FraudDetection.FraudDetection.service.velocity.PendingTransactions;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Last known positions per account for impossible-travel checks. Each account keeps a
+ * small ring of its most recent points, loaded from the database the first time the
+ * account is seen and updated as scored transactions commit, see {@link PendingTransactions}. Accounts idle for longer than
+ * {@code expire-after-access-minutes} are evicted, and beyond {@code max-accounts} the
+ * least used ones go first; an evicted account is simply loaded again when it returns.
+ */
+@Component
+@Slf4j
+public class TrajectoryCache {
+    
+    private final TransactionRepository transactionRepository;
+    private final Gazetteer gazetteer;
+    
+    @Value("${fraud.rules.geo.trajectory.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${fraud.rules.geo.trajectory.points:8}")
+    private int pointsPerAccount;
+    
+    @Value("${fraud.rules.geo.trajectory.max-accounts:200000}")
+    private int maxAccounts;
+    
+    @Value("${fraud.rules.geo.trajectory.expire-after-access-minutes:1440}")
+    private long expireAfterAccessMinutes;
+    
+    private final PendingTransactions.Store pendingStore = this::addToTrajectory;
+    
+    private Cache<String, Trajectory> trajectories;
+    
+    public TrajectoryCache(TransactionRepository transactionRepository, Gazetteer gazetteer) {
+        this.transactionRepository = transactionRepository;
+        this.gazetteer = gazetteer;
+    }
+    
+    @PostConstruct
+    public void init() {
+        trajectories = Caffeine.newBuilder()
+            .maximumSize(maxAccounts)
+            .expireAfterAccess(Duration.ofMinutes(expireAfterAccessMinutes))
+            .build();
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * The account's most recent points before the transaction, newest first, including
+     * those of the transactions still pending in {@code pending}.
+     */
+    public List<TrajectoryPoint> recentPoints(Transaction transaction, PendingTransactions pending) {
+        String accountId = transaction.getAccountId();
+        Trajectory trajectory = trajectories.getIfPresent(accountId);
+        
+        if (trajectory == null) {
+            // Loaded outside the cache so a slow query does not block other accounts
+            List<TrajectoryPoint> loaded = load(accountId, transaction.getTimestamp());
+            
+            Trajectory warmed = new Trajectory(pointsPerAccount);
+            // Oldest first so the ring ends with the newest point
+            for (int i = loaded.size() - 1; i >= 0; i--) {
+                warmed.add(loaded.get(i));
+            }
+            trajectory = trajectories.asMap().putIfAbsent(accountId, warmed);
+            if (trajectory == null) {
+                trajectory = warmed;
+            }
+        }
+        
+        return withPending(trajectory.pointsBefore(transaction.getTimestamp(), transaction.getTransactionReference()),
+            transaction, pending);
+    }
+    
+    /**
+     * Like {@link #recentPoints}, but never loads from the database: empty for an account
+     * that is not cached.
+     */
+    public List<TrajectoryPoint> cachedPoints(Transaction transaction, PendingTransactions pending) {
+        Trajectory trajectory = trajectories.getIfPresent(transaction.getAccountId());
+        if (trajectory == null) {
+            return List.of();
+        }
+        return withPending(trajectory.pointsBefore(transaction.getTimestamp(), transaction.getTransactionReference()),
+            transaction, pending);
+    }
+    
+    /**
+     * Adds the transaction's point once {@code pending} commits, or right away when it is null.
+     */
+    public void record(Transaction transaction, PendingTransactions pending) {
+        if (!enabled) {
+            return;
+        }
+        
+        if (pending != null) {
+            pending.add(pendingStore, transaction);
+        } else {
+            addToTrajectory(transaction);
+        }
+    }
+    
+    private void addToTrajectory(Transaction transaction) {
+        Trajectory trajectory = trajectories.getIfPresent(transaction.getAccountId());
+        if (trajectory != null) {
+            trajectory.add(toPoint(transaction));
+        }
+    }
+    
+    private List<TrajectoryPoint> withPending(List<TrajectoryPoint> points, Transaction transaction,
+                                              PendingTransactions pending) {
+        if (pending == null) {
+            return points;
+        }
+        
+        List<TrajectoryPoint> merged = null;
+        for (Transaction other : pending.get(pendingStore)) {
+            if (!Objects.equals(other.getAccountId(), transaction.getAccountId()) || other.getTimestamp() == null
+                    || other.getTimestamp().isAfter(transaction.getTimestamp())
+                    || Objects.equals(other.getTransactionReference(), transaction.getTransactionReference())
+                    || contains(points, other.getTransactionReference())) {
+                continue;
+            }
+            if (merged == null) {
+                merged = new ArrayList<>(points);
+            }
+            merged.add(toPoint(other));
+        }
+        
+        if (merged == null) {
+            return points;
+        }
+        merged.sort(Comparator.comparing(TrajectoryPoint::timestamp).reversed());
+        return merged.size() > pointsPerAccount ? merged.subList(0, pointsPerAccount) : merged;
+    }
+    
+    private static boolean contains(List<TrajectoryPoint> points, String transactionReference) {
+        if (transactionReference == null) {
+            return false;
+        }
+        for (TrajectoryPoint point : points) {
+            if (transactionReference.equals(point.transactionReference())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    public long getTrackedAccountCount() {
+        return trajectories.estimatedSize();
+    }
+    
+    public void clear() {
+        trajectories.invalidateAll();
+    }
+    
+    private List<TrajectoryPoint> load(String accountId, LocalDateTime before) {
+        List<Transaction> recent = transactionRepository.findByAccountIdAndTimestampBeforeOrderByTimestampDesc(
+            accountId, before, PageRequest.of(0, pointsPerAccount));
+        
+        List<TrajectoryPoint> points = new ArrayList<>(recent.size());
+        for (Transaction transaction : recent) {
+            points.add(toPoint(transaction));
+        }
+        return points;
+    }
+    
+    private TrajectoryPoint toPoint(Transaction transaction) {
+        ResolvedLocation place = gazetteer.resolve(transaction.getLocation());
+        if (transaction.getLatitude() != null && transaction.getLongitude() != null) {
+            place = ResolvedLocation.exact(place.country(),
+                transaction.getLatitude().doubleValue(), transaction.getLongitude().doubleValue());
+        }
+        return new TrajectoryPoint(transaction.getTransactionReference(), transaction.getLocation(), place, transaction.getTimestamp());
+    }
+    
+    /**
+     * Fixed-size ring ordered by timestamp, oldest first.
+     */
+    private static final class Trajectory {
+        private final TrajectoryPoint[] points;
+        private int size;
+        
+        private Trajectory(int capacity) {
+            this.points = new TrajectoryPoint[capacity];
+        }
+        
+        synchronized void add(TrajectoryPoint point) {
+            for (int i = 0; i < size; i++) {
+                // The same transaction can be scored again, e.g. when a batch falls back
+                if (points[i].transactionReference() != null
+                    && points[i].transactionReference().equals(point.transactionReference())) {
+                    return;
+                }
+            }
+            
+            int position = size;
+            while (position > 0 && points[position - 1].timestamp().isAfter(point.timestamp())) {
+                position--;
+            }
+            
+            if (size == points.length) {
+                if (position == 0) {
+                    // Older than everything retained
+                    return;
+                }
+                System.arraycopy(points, 1, points, 0, position - 1);
+                points[position - 1] = point;
+                return;
+            }
+            
+            System.arraycopy(points, position, points, position + 1, size - position);
+            points[position] = point;
+            size++;
+        }
+        
+        synchronized List<TrajectoryPoint> pointsBefore(LocalDateTime timestamp, String excludeReference) {
+            List<TrajectoryPoint> result = new ArrayList<>(size);
+            for (int i = size - 1; i >= 0; i--) {
+                TrajectoryPoint point = points[i];
+                if (point.timestamp().isAfter(timestamp)
+                    || (excludeReference != null && excludeReference.equals(point.transactionReference()))) {
+                    continue;
+                }
+                result.add(point);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.FraudDetection.FraudDetection.service.geo;
+
+import java.time.LocalDateTime;
+
+/**
+ * One past position of an account: where and when a transaction happened.
+ */
+public record TrajectoryPoint(String transactionReference, String location, ResolvedLocation place, LocalDateTime timestamp) {
+}
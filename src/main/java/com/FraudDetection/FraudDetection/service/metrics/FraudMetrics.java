@@ -0,0 +1,146 @@
+package com.FraudDetection.FraudDetection.service.metrics;
+
+import com.FraudDetection.FraudDetection.service.RuleResult;
+import com.FraudDetection.FraudDetection.service.rules.RuleRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency histograms per rule and per pipeline stage, and counters of rule outcomes.
+ * Every meter is registered up front and held in arrays indexed by {@link RuleRegistry}
+ * id or stage ordinal, so recording on the scoring path is a lookup and an increment
+ * with no tag or meter allocation. Timers take nanoseconds from {@link System#nanoTime}.
+ * Latencies are published as p50/p99/p999 computed in-process over a sliding window; with
+ * percentile histograms enabled they are published as histogram buckets instead, which
+ * Prometheus can aggregate across instances but cannot carry the in-process percentiles.
+ */
+@Component
+public class FraudMetrics {
+    
+    public static final String RULE_DURATION = "fraud.rule.duration";
+    public static final String RULE_OUTCOMES = "fraud.rule.outcomes";
+    public static final String STAGE_DURATION = "fraud.pipeline.stage.duration";
+    
+    private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+    private static final Duration MIN_EXPECTED = Duration.ofNanos(1_000);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(10);
+    
+    private final RuleRegistry ruleRegistry;
+    private final Timer[] ruleTimers;
+    private final Counter[] triggered;
+    private final Counter[] errored;
+    private final Counter[] timedOut;
+    private final Counter[] skipped;
+    private final Counter[] degraded;
+    private final Timer[] stageTimers;
+    
+    private final boolean percentileHistogram;
+    
+    public FraudMetrics(MeterRegistry meterRegistry, RuleRegistry ruleRegistry,
+                        @Value("${fraud.metrics.percentile-histogram:false}") boolean percentileHistogram) {
+        this.ruleRegistry = ruleRegistry;
+        this.percentileHistogram = percentileHistogram;
+        
+        int rules = ruleRegistry.size();
+        this.ruleTimers = new Timer[rules];
+        this.triggered = new Counter[rules];
+        this.errored = new Counter[rules];
+        this.timedOut = new Counter[rules];
+        this.skipped = new Counter[rules];
+        this.degraded = new Counter[rules];
+        
+        for (int id = 0; id < rules; id++) {
+            String rule = ruleRegistry.nameOf(id);
+            ruleTimers[id] = latencyTimer(RULE_DURATION, "Time to evaluate one fraud rule", "rule", rule, meterRegistry);
+            triggered[id] = outcomeCounter(rule, "triggered", meterRegistry);
+            errored[id] = outcomeCounter(rule, "error", meterRegistry);
+            timedOut[id] = outcomeCounter(rule, "timed_out", meterRegistry);
+            skipped[id] = outcomeCounter(rule, "skipped", meterRegistry);
+            degraded[id] = outcomeCounter(rule, "degraded", meterRegistry);
+        }
+        
+        PipelineStage[] stages = PipelineStage.values();
+        this.stageTimers = new Timer[stages.length];
+        for (PipelineStage stage : stages) {
+            stageTimers[stage.ordinal()] = latencyTimer(STAGE_DURATION, "Time spent in one stage of fraud processing",
+                "stage", stage.name().toLowerCase(Locale.ROOT), meterRegistry);
+        }
+    }
+    
+    /**
+     * Records one evaluation of a rule: its latency, and its outcome when it triggered,
+     * failed or ran degraded.
+     */
+    public void recordRule(RuleResult result, long elapsedNanos) {
+        int id = ruleRegistry.idOf(result.getRuleName());
+        if (id == RuleRegistry.UNKNOWN) {
+            return;
+        }
+        
+        ruleTimers[id].record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (result.isTriggered()) {
+            triggered[id].increment();
+        }
+        if (result.isDegraded()) {
+            degraded[id].increment();
+        } else if ("ERROR".equals(result.getSeverity())) {
+            errored[id].increment();
+        }
+    }
+    
+    /**
+     * Counts a rule that was not evaluated because the decision was already settled.
+     */
+    public void recordSkipped(String ruleName) {
+        int id = ruleRegistry.idOf(ruleName);
+        if (id != RuleRegistry.UNKNOWN) {
+            skipped[id].increment();
+        }
+    }
+    
+    /**
+     * Counts a rule whose result was given up on after its time budget; its latency is
+     * recorded when the evaluation eventually returns.
+     */
+    public void recordTimedOut(String ruleName) {
+        int id = ruleRegistry.idOf(ruleName);
+        if (id != RuleRegistry.UNKNOWN) {
+            timedOut[id].increment();
+        }
+    }
+    
+    public void recordStage(PipelineStage stage, long elapsedNanos) {
+        stageTimers[stage.ordinal()].record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    private Timer latencyTimer(String name, String description, String tagKey, String tagValue,
+                               MeterRegistry meterRegistry) {
+        Timer.Builder builder = Timer.builder(name)
+            .description(description)
+            .tag(tagKey, tagValue);
+        
+        if (percentileHistogram) {
+            builder.publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED)
+                .maximumExpectedValue(MAX_EXPECTED);
+        } else {
+            builder.publishPercentiles(PERCENTILES);
+        }
+        return builder.register(meterRegistry);
+    }
+    
+    private static Counter outcomeCounter(String rule, String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder(RULE_OUTCOMES)
+            .description("Fraud rule evaluations by outcome")
+            .tag("rule", rule)
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
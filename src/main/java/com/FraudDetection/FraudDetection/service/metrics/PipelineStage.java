@@ -0,0 +1,24 @@
+package com.FraudDetection.FraudDetection.service.metrics;
+
+/**
+ * Stages of fraud processing timed by {@link FraudMetrics}. The metric tag is the
+ * lower-case name.
+ */
+public enum PipelineStage {
+    PERSIST("Writing the transaction and its status"),
+    RULES("Evaluating the fraud rules"),
+    SCORING("Calculating the risk score"),
+    DECISION("Making the fraud decision"),
+    ALERT("Creating the fraud alert"),
+    AUDIT("Handing audit log entries to the writer");
+    
+    private final String description;
+    
+    PipelineStage(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,93 @@
+package com.FraudDetection.FraudDetection.service.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Wraps connections so that every statement execution is timed and counted in the
+ * {@link SqlStatementScope}s open on the executing thread.
+ */
+public class SqlStatementCountingDataSource extends DelegatingDataSource {
+    
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+        "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+    
+    public SqlStatementCountingDataSource(DataSource target) {
+        super(target);
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+    
+    private static Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(SqlStatementCountingDataSource.class.getClassLoader(),
+            new Class<?>[] {Connection.class}, new ConnectionHandler(connection));
+    }
+    
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+    
+    private record ConnectionHandler(Connection connection) implements InvocationHandler {
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SqlStatementCountingDataSource.invoke(connection, method, args);
+            
+            Class<?> statementType = switch (method.getName()) {
+                case "createStatement" -> Statement.class;
+                case "prepareStatement" -> PreparedStatement.class;
+                case "prepareCall" -> CallableStatement.class;
+                default -> null;
+            };
+            if (statementType == null) {
+                return result;
+            }
+            return Proxy.newProxyInstance(SqlStatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[] {statementType}, new StatementHandler((Statement) result, (Connection) proxy));
+        }
+    }
+    
+    private record StatementHandler(Statement statement, Connection connection) implements InvocationHandler {
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            // Callers comparing connections must see the wrapper they were handed
+            if (method.getName().equals("getConnection")) {
+                return connection;
+            }
+            if (!EXECUTE_METHODS.contains(method.getName())) {
+                return SqlStatementCountingDataSource.invoke(statement, method, args);
+            }
+            
+            long start = System.nanoTime();
+            try {
+                return SqlStatementCountingDataSource.invoke(statement, method, args);
+            } finally {
+                SqlStatementScope.record(System.nanoTime() - start);
+            }
+        }
+    }
+}
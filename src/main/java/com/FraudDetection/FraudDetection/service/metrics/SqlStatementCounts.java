@@ -0,0 +1,12 @@
+package com.FraudDetection.FraudDetection.service.metrics;
+
+/**
+ * SQL statements executed and the time spent executing them. A JDBC batch counts as one
+ * statement.
+ */
+public record SqlStatementCounts(int statements, long databaseNanos) {
+    
+    public double databaseMillis() {
+        return databaseNanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,10 @@
+package com.FraudDetection.FraudDetection.service.metrics;
+
+import java.util.Map;
+
+/**
+ * SQL statements behind one processed transaction, in total and per rule. Statements of
+ * the asynchronous audit writer run on its own thread and are not included.
+ */
+public record SqlStatementReport(SqlStatementCounts total, Map<String, SqlStatementCounts> byRule) {
+}
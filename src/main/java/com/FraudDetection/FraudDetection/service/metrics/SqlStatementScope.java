@@ -0,0 +1,105 @@
+package com.FraudDetection.FraudDetection.service.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the SQL statements, and the time spent executing them, while it is open on the
+ * current thread. Scopes nest: a statement counts in the innermost scope of its thread and
+ * in every scope that one was opened under, including a parent on another thread, so a
+ * rule evaluated on a pool thread still adds to its transaction. Closing a named scope
+ * reports its counts to the parent as a part.
+ * <p>
+ * Statements are only seen when the data source is wrapped by {@link SqlStatementCountingDataSource}.
+ */
+public final class SqlStatementScope implements AutoCloseable {
+    
+    private static final ThreadLocal<SqlStatementScope> CURRENT = new ThreadLocal<>();
+    
+    private final String name;
+    private final SqlStatementScope parent;
+    private final SqlStatementScope previous;
+    private final Thread owner;
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicLong databaseNanos = new AtomicLong();
+    private List<Part> parts;
+    
+    private SqlStatementScope(String name, SqlStatementScope parent) {
+        this.name = name;
+        this.parent = parent;
+        this.previous = CURRENT.get();
+        this.owner = Thread.currentThread();
+    }
+    
+    /**
+     * Opens a scope under the scope already open on this thread, if any.
+     */
+    public static SqlStatementScope open() {
+        return open(null, CURRENT.get());
+    }
+    
+    /**
+     * Opens a named scope under {@code parent}, which may belong to another thread.
+     */
+    public static SqlStatementScope open(String name, SqlStatementScope parent) {
+        SqlStatementScope scope = new SqlStatementScope(name, parent);
+        CURRENT.set(scope);
+        return scope;
+    }
+    
+    /**
+     * The innermost scope open on this thread, or null.
+     */
+    public static SqlStatementScope current() {
+        return CURRENT.get();
+    }
+    
+    static void record(long nanos) {
+        for (SqlStatementScope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.statements.incrementAndGet();
+            scope.databaseNanos.addAndGet(nanos);
+        }
+    }
+    
+    public int getStatements() {
+        return statements.get();
+    }
+    
+    public long getDatabaseNanos() {
+        return databaseNanos.get();
+    }
+    
+    public SqlStatementCounts getCounts() {
+        return new SqlStatementCounts(statements.get(), databaseNanos.get());
+    }
+    
+    /**
+     * Counts of the named scopes closed under this one, in the order they closed.
+     */
+    public synchronized List<Part> getParts() {
+        return parts != null ? List.copyOf(parts) : Collections.emptyList();
+    }
+    
+    @Override
+    public void close() {
+        if (Thread.currentThread() == owner) {
+            CURRENT.set(previous);
+        }
+        if (name != null && parent != null) {
+            parent.addPart(new Part(name, getCounts()));
+        }
+    }
+    
+    private synchronized void addPart(Part part) {
+        if (parts == null) {
+            parts = new ArrayList<>();
+        }
+        parts.add(part);
+    }
+    
+    public record Part(String name, SqlStatementCounts counts) {
+    }
+}
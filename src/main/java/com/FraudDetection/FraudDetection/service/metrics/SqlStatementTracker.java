@@ -0,0 +1,126 @@
+package com.FraudDetection.FraudDetection.service.metrics;
+
+import com.FraudDetection.FraudDetection.service.FraudDetectionResult;
+import com.FraudDetection.FraudDetection.service.rules.RuleRegistry;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Attributes SQL statements and database time to each processed transaction and to each
+ * rule evaluation, publishes them as metrics and, optionally, attaches them to the result.
+ * Without {@code fraud.metrics.sql-statements.enabled} no scopes are opened and the data
+ * source is not wrapped.
+ */
+@Component
+public class SqlStatementTracker {
+    
+    public static final String TRANSACTION_STATEMENTS = "fraud.transaction.sql.statements";
+    public static final String TRANSACTION_DURATION = "fraud.transaction.sql.duration";
+    public static final String RULE_STATEMENTS = "fraud.rule.sql.statements";
+    public static final String RULE_DURATION = "fraud.rule.sql.duration";
+    
+    private final RuleRegistry ruleRegistry;
+    private final boolean enabled;
+    private final boolean includeInResult;
+    
+    private DistributionSummary transactionStatements;
+    private Timer transactionDuration;
+    private DistributionSummary[] ruleStatements;
+    private Timer[] ruleDuration;
+    
+    public SqlStatementTracker(MeterRegistry meterRegistry, RuleRegistry ruleRegistry,
+                               @Value("${fraud.metrics.sql-statements.enabled:false}") boolean enabled,
+                               @Value("${fraud.metrics.sql-statements.include-in-result:false}") boolean includeInResult) {
+        this.ruleRegistry = ruleRegistry;
+        this.enabled = enabled;
+        this.includeInResult = includeInResult;
+        if (!enabled) {
+            return;
+        }
+        
+        transactionStatements = DistributionSummary.builder(TRANSACTION_STATEMENTS)
+            .description("SQL statements executed to process one transaction")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+        transactionDuration = Timer.builder(TRANSACTION_DURATION)
+            .description("Time spent executing SQL statements to process one transaction")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+        
+        ruleStatements = new DistributionSummary[ruleRegistry.size()];
+        ruleDuration = new Timer[ruleRegistry.size()];
+        for (int id = 0; id < ruleRegistry.size(); id++) {
+            String rule = ruleRegistry.nameOf(id);
+            ruleStatements[id] = DistributionSummary.builder(RULE_STATEMENTS)
+                .description("SQL statements executed by one rule evaluation")
+                .tag("rule", rule)
+                .register(meterRegistry);
+            ruleDuration[id] = Timer.builder(RULE_DURATION)
+                .description("Time spent executing SQL statements in one rule evaluation")
+                .tag("rule", rule)
+                .register(meterRegistry);
+        }
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Opens the scope of one transaction on this thread, or returns null when disabled.
+     */
+    public SqlStatementScope openTransaction() {
+        return enabled ? SqlStatementScope.open() : null;
+    }
+    
+    /**
+     * Closes the transaction scope, records it and, when configured, attaches the counts
+     * to the result. Accepts the null scope of a disabled tracker.
+     */
+    public void closeTransaction(SqlStatementScope scope, FraudDetectionResult result) {
+        if (scope == null) {
+            return;
+        }
+        
+        scope.close();
+        transactionStatements.record(scope.getStatements());
+        transactionDuration.record(scope.getDatabaseNanos(), TimeUnit.NANOSECONDS);
+        
+        if (includeInResult && result != null) {
+            Map<String, SqlStatementCounts> byRule = new LinkedHashMap<>();
+            for (SqlStatementScope.Part part : scope.getParts()) {
+                byRule.merge(part.name(), part.counts(), (a, b) ->
+                    new SqlStatementCounts(a.statements() + b.statements(), a.databaseNanos() + b.databaseNanos()));
+            }
+            result.setSqlStatements(new SqlStatementReport(scope.getCounts(), byRule));
+        }
+    }
+    
+    /**
+     * Opens the scope of one rule evaluation under its transaction's scope, which may be
+     * open on another thread. Returns null when disabled.
+     */
+    public SqlStatementScope openRule(String ruleName, SqlStatementScope transactionScope) {
+        return enabled ? SqlStatementScope.open(ruleName, transactionScope) : null;
+    }
+    
+    public void closeRule(SqlStatementScope scope, String ruleName) {
+        if (scope == null) {
+            return;
+        }
+        
+        scope.close();
+        int id = ruleRegistry.idOf(ruleName);
+        if (id != RuleRegistry.UNKNOWN) {
+            ruleStatements[id].record(scope.getStatements());
+            ruleDuration[id].record(scope.getDatabaseNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+}
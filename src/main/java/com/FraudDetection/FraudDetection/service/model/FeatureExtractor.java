@@ -0,0 +1,77 @@
+package com.FraudDetection.FraudDetection.service.model;
+
+import com.FraudDetection.FraudDetection.entity.Transaction;
+import com.FraudDetection.FraudDetection.entity.TransactionType;
+import com.FraudDetection.FraudDetection.service.FraudDetectionResult;
+import com.FraudDetection.FraudDetection.service.RuleResult;
+
+import java.util.List;
+
+/**
+ * Builds the model feature vector from a transaction, its rule results and the component
+ * scores the risk scoring service has already computed. Indices follow {@link ModelFeature}.
+ */
+public final class FeatureExtractor {
+    
+    private FeatureExtractor() {
+    }
+    
+    public static double[] extract(Transaction transaction, FraudDetectionResult result, double ruleScore,
+                                   double transactionScore, int accountScore, int customerScore) {
+        double[] features = new double[ModelFeature.count()];
+        
+        features[ModelFeature.RULE_SCORE.ordinal()] = ruleScore;
+        features[ModelFeature.TRANSACTION_SCORE.ordinal()] = transactionScore;
+        features[ModelFeature.ACCOUNT_SCORE.ordinal()] = accountScore;
+        features[ModelFeature.CUSTOMER_SCORE.ordinal()] = customerScore;
+        
+        List<RuleResult> ruleResults = result != null ? result.getRuleResults() : null;
+        if (ruleResults != null) {
+            int triggered = 0;
+            double maxRuleScore = 0;
+            for (RuleResult ruleResult : ruleResults) {
+                if (ruleResult.isTriggered()) {
+                    triggered++;
+                }
+                if (ruleResult.getScore() != null) {
+                    maxRuleScore = Math.max(maxRuleScore, ruleResult.getScore().doubleValue());
+                }
+            }
+            features[ModelFeature.TRIGGERED_RULES.ordinal()] = triggered;
+            features[ModelFeature.MAX_RULE_SCORE.ordinal()] = maxRuleScore;
+        }
+        
+        if (transaction.getAmount() != null) {
+            features[ModelFeature.LOG_AMOUNT.ordinal()] = Math.log1p(Math.max(0, transaction.getAmount().doubleValue()));
+        }
+        
+        if (transaction.getTimestamp() != null) {
+            int hour = transaction.getTimestamp().getHour();
+            features[ModelFeature.HOUR_OF_DAY.ordinal()] = hour;
+            features[ModelFeature.NIGHT.ordinal()] = hour >= 23 || hour <= 5 ? 1 : 0;
+        }
+        
+        features[ModelFeature.FOREIGN_CURRENCY.ordinal()] = "USD".equals(transaction.getCurrency()) ? 0 : 1;
+        
+        TransactionType type = transaction.getTransactionType();
+        if (type != null) {
+            switch (type) {
+                case INTERNATIONAL_TRANSFER, WIRE_TRANSFER -> features[ModelFeature.INTERNATIONAL.ordinal()] = 1;
+                case CRYPTOCURRENCY_EXCHANGE -> features[ModelFeature.CRYPTO.ordinal()] = 1;
+                case ONLINE_PAYMENT, MOBILE_PAYMENT -> features[ModelFeature.CARD_NOT_PRESENT.ordinal()] = 1;
+                case ATM_WITHDRAWAL -> features[ModelFeature.ATM.ordinal()] = 1;
+                default -> {
+                }
+            }
+        }
+        
+        features[ModelFeature.HAS_DEVICE.ordinal()] = isPresent(transaction.getDeviceId()) ? 1 : 0;
+        features[ModelFeature.HAS_LOCATION.ordinal()] = isPresent(transaction.getLocation()) ? 1 : 0;
+        
+        return features;
+    }
+    
+    private static boolean isPresent(String value) {
+        return value != null && !value.isBlank();
+    }
+}
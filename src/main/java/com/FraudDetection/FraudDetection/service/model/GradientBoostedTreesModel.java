@@ -0,0 +1,71 @@
+package com.FraudDetection.FraudDetection.service.model;
+
+/**
+ * Gradient-boosted trees with a logistic link, flattened into parallel arrays. Every split
+ * node stores its left child's index and the right child sits right after it, so a step down
+ * the tree is one comparison added to an index instead of a branch on the comparison.
+ * Leaves are marked with feature -1. A feature value below the threshold goes left; NaN goes
+ * right.
+ */
+public final class GradientBoostedTreesModel implements RiskModel {
+    
+    private final String name;
+    private final String version;
+    private final double baseMargin;
+    private final int[] roots;
+    private final int[] feature;
+    private final double[] threshold;
+    private final int[] leftChild;
+    private final double[] leafValue;
+    
+    GradientBoostedTreesModel(String name, String version, double baseMargin, int[] roots, int[] feature,
+                              double[] threshold, int[] leftChild, double[] leafValue) {
+        this.name = name;
+        this.version = version;
+        this.baseMargin = baseMargin;
+        this.roots = roots;
+        this.feature = feature;
+        this.threshold = threshold;
+        this.leftChild = leftChild;
+        this.leafValue = leafValue;
+    }
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public String getVersion() {
+        return version;
+    }
+    
+    @Override
+    public String getType() {
+        return ModelFile.GRADIENT_BOOSTED_TREES;
+    }
+    
+    public int getTreeCount() {
+        return roots.length;
+    }
+    
+    public int getNodeCount() {
+        return feature.length;
+    }
+    
+    @Override
+    public double score(double[] features) {
+        double margin = baseMargin;
+        
+        for (int root : roots) {
+            int node = root;
+            int splitFeature;
+            while ((splitFeature = feature[node]) >= 0) {
+                node = leftChild[node] + (features[splitFeature] < threshold[node] ? 0 : 1);
+            }
+            margin += leafValue[node];
+        }
+        
+        return RiskModel.sigmoid(margin);
+    }
+}
@@ -0,0 +1,47 @@
+package com.FraudDetection.FraudDetection.service.model;
+
+/**
+ * Logistic regression over the full feature vector. Features the model was not trained on
+ * have weight zero.
+ */
+public final class LogisticRegressionModel implements RiskModel {
+    
+    private final String name;
+    private final String version;
+    private final double intercept;
+    private final double[] weights;
+    
+    LogisticRegressionModel(String name, String version, double intercept, double[] weights) {
+        if (weights.length != ModelFeature.count()) {
+            throw new IllegalArgumentException("Expected " + ModelFeature.count() + " weights, got " + weights.length);
+        }
+        this.name = name;
+        this.version = version;
+        this.intercept = intercept;
+        this.weights = weights.clone();
+    }
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public String getVersion() {
+        return version;
+    }
+    
+    @Override
+    public String getType() {
+        return ModelFile.LOGISTIC_REGRESSION;
+    }
+    
+    @Override
+    public double score(double[] features) {
+        double margin = intercept;
+        for (int i = 0; i < weights.length; i++) {
+            margin += weights[i] * features[i];
+        }
+        return RiskModel.sigmoid(margin);
+    }
+}
@@ -0,0 +1,146 @@
+package com.FraudDetection.FraudDetection.service.model;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns a parsed {@link ModelFile} into an evaluable {@link RiskModel}, remapping the
+ * model's own feature order onto {@link ModelFeature} indices and flattening trees.
+ * Malformed models are rejected with {@link IllegalArgumentException}.
+ */
+final class ModelCompiler {
+    
+    private ModelCompiler() {
+    }
+    
+    static RiskModel compile(ModelFile file) {
+        if (file.type() == null) {
+            throw new IllegalArgumentException("Model type is missing");
+        }
+        
+        String name = file.name() != null ? file.name() : "unnamed";
+        String version = file.version() != null ? file.version() : "0";
+        int[] featureIndex = resolveFeatures(file.features());
+        
+        return switch (file.type()) {
+            case ModelFile.LOGISTIC_REGRESSION -> compileLogisticRegression(file, name, version, featureIndex);
+            case ModelFile.GRADIENT_BOOSTED_TREES -> compileTrees(file, name, version, featureIndex);
+            default -> throw new IllegalArgumentException("Unsupported model type: " + file.type());
+        };
+    }
+    
+    private static int[] resolveFeatures(List<String> features) {
+        if (features == null || features.isEmpty()) {
+            throw new IllegalArgumentException("Model lists no features");
+        }
+        
+        int[] index = new int[features.size()];
+        for (int i = 0; i < index.length; i++) {
+            try {
+                index[i] = ModelFeature.valueOf(features.get(i)).ordinal();
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IllegalArgumentException("Unknown model feature: " + features.get(i));
+            }
+        }
+        return index;
+    }
+    
+    private static RiskModel compileLogisticRegression(ModelFile file, String name, String version, int[] featureIndex) {
+        if (file.weights() == null || file.weights().size() != featureIndex.length) {
+            throw new IllegalArgumentException("Logistic regression needs one weight per feature");
+        }
+        
+        double[] weights = new double[ModelFeature.count()];
+        for (int i = 0; i < featureIndex.length; i++) {
+            weights[featureIndex[i]] += finite(file.weights().get(i), "weight");
+        }
+        
+        double intercept = file.intercept() != null ? finite(file.intercept(), "intercept") : 0;
+        return new LogisticRegressionModel(name, version, intercept, weights);
+    }
+    
+    private static RiskModel compileTrees(ModelFile file, String name, String version, int[] featureIndex) {
+        if (file.trees() == null || file.trees().isEmpty()) {
+            throw new IllegalArgumentException("Gradient-boosted trees model has no trees");
+        }
+        
+        int capacity = 0;
+        for (ModelFile.Tree tree : file.trees()) {
+            if (tree == null || tree.nodes() == null || tree.nodes().isEmpty()) {
+                throw new IllegalArgumentException("Tree without nodes");
+            }
+            capacity += tree.nodes().size();
+        }
+        
+        int[] roots = new int[file.trees().size()];
+        int[] feature = new int[capacity];
+        double[] threshold = new double[capacity];
+        int[] leftChild = new int[capacity];
+        double[] leafValue = new double[capacity];
+        int size = 0;
+        
+        for (int t = 0; t < roots.length; t++) {
+            Map<Integer, ModelFile.Node> nodes = new HashMap<>();
+            for (ModelFile.Node node : file.trees().get(t).nodes()) {
+                if (nodes.put(node.id(), node) != null) {
+                    throw new IllegalArgumentException("Tree " + t + " has duplicate node id " + node.id());
+                }
+            }
+            
+            // Breadth-first, so the two children of a split get adjacent slots
+            int treeEnd = size + nodes.size();
+            roots[t] = size;
+            Deque<int[]> pending = new ArrayDeque<>();
+            pending.add(new int[] {0, size++});
+            int placed = 0;
+            
+            while (!pending.isEmpty()) {
+                int[] entry = pending.poll();
+                ModelFile.Node node = nodes.get(entry[0]);
+                int slot = entry[1];
+                if (node == null) {
+                    throw new IllegalArgumentException("Tree " + t + " references missing node " + entry[0]);
+                }
+                if (++placed > nodes.size()) {
+                    throw new IllegalArgumentException("Tree " + t + " is not a tree");
+                }
+                
+                if (node.isLeaf()) {
+                    feature[slot] = -1;
+                    leafValue[slot] = finite(node.leaf(), "leaf");
+                    continue;
+                }
+                
+                if (node.feature() == null || node.feature() < 0 || node.feature() >= featureIndex.length
+                        || node.threshold() == null || node.left() == null || node.right() == null) {
+                    throw new IllegalArgumentException("Tree " + t + " node " + node.id() + " is not a valid split");
+                }
+                if (size + 2 > treeEnd) {
+                    throw new IllegalArgumentException("Tree " + t + " is not a tree");
+                }
+                
+                feature[slot] = featureIndex[node.feature()];
+                threshold[slot] = finite(node.threshold(), "threshold");
+                leftChild[slot] = size;
+                pending.add(new int[] {node.left(), size++});
+                pending.add(new int[] {node.right(), size++});
+            }
+        }
+        
+        double baseMargin = file.baseMargin() != null ? finite(file.baseMargin(), "baseMargin") : 0;
+        return new GradientBoostedTreesModel(name, version, baseMargin, roots,
+            Arrays.copyOf(feature, size), Arrays.copyOf(threshold, size),
+            Arrays.copyOf(leftChild, size), Arrays.copyOf(leafValue, size));
+    }
+    
+    private static double finite(Double value, String field) {
+        if (value == null || !Double.isFinite(value)) {
+            throw new IllegalArgumentException("Model " + field + " must be a finite number");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,41 @@
+package com.FraudDetection.FraudDetection.service.model;
+
+/**
+ * Features available to embedded models. A model file names the features it was trained
+ * on; {@link FeatureExtractor} fills all of them, in this order, into one {@code double[]}.
+ */
+public enum ModelFeature {
+    
+    RULE_SCORE("Aggregated rule score, 0-100"),
+    TRANSACTION_SCORE("Transaction risk score, 0-100"),
+    ACCOUNT_SCORE("Account risk points, 0-100"),
+    CUSTOMER_SCORE("Customer risk points, 0-100"),
+    TRIGGERED_RULES("Number of triggered rules"),
+    MAX_RULE_SCORE("Highest single rule score, 0-100"),
+    LOG_AMOUNT("Natural log of 1 + amount"),
+    HOUR_OF_DAY("Hour of the transaction timestamp, 0-23"),
+    NIGHT("1 when the transaction happened between 23:00 and 05:59"),
+    FOREIGN_CURRENCY("1 when the currency is not USD"),
+    INTERNATIONAL("1 for international and wire transfers"),
+    CRYPTO("1 for cryptocurrency exchanges"),
+    CARD_NOT_PRESENT("1 for online and mobile payments"),
+    ATM("1 for ATM withdrawals"),
+    HAS_DEVICE("1 when a device ID is present"),
+    HAS_LOCATION("1 when a location is present");
+    
+    private static final ModelFeature[] VALUES = values();
+    
+    private final String description;
+    
+    ModelFeature(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    public static int count() {
+        return VALUES.length;
+    }
+}
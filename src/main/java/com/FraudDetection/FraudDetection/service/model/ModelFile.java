@@ -0,0 +1,41 @@
+package com.FraudDetection.FraudDetection.service.model;
+
+import java.util.List;
+
+/**
+ * JSON layout of an exported model. {@code features} lists the {@link ModelFeature} names
+ * the model was trained on; weights and split features refer to positions in that list.
+ * <pre>
+ * {"type": "logistic_regression", "name": "...", "version": "...",
+ *  "features": ["RULE_SCORE", ...], "intercept": -4.2, "weights": [0.05, ...]}
+ *
+ * {"type": "gradient_boosted_trees", "name": "...", "version": "...",
+ *  "features": [...], "baseMargin": -2.0,
+ *  "trees": [{"nodes": [{"id": 0, "feature": 0, "threshold": 50.0, "left": 1, "right": 2},
+ *                       {"id": 1, "leaf": -0.4}, {"id": 2, "leaf": 0.9}]}]}
+ * </pre>
+ * Tree nodes may appear in any order; the root has id 0.
+ */
+record ModelFile(
+    String type,
+    String name,
+    String version,
+    List<String> features,
+    Double intercept,
+    List<Double> weights,
+    Double baseMargin,
+    List<Tree> trees) {
+    
+    static final String LOGISTIC_REGRESSION = "logistic_regression";
+    static final String GRADIENT_BOOSTED_TREES = "gradient_boosted_trees";
+    
+    record Tree(List<Node> nodes) {
+    }
+    
+    record Node(int id, Integer feature, Double threshold, Integer left, Integer right, Double leaf) {
+        
+        boolean isLeaf() {
+            return leaf != null;
+        }
+    }
+}
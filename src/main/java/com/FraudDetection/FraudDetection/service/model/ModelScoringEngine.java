@@ -0,0 +1,206 @@
+package com.FraudDetection.FraudDetection.service.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+
+/**
+ * Evaluates the deployed model file next to the rules and blends its fraud probability
+ * into the risk score. The file is polled for changes and swapped in without a restart;
+ * a file that fails to parse or validate is logged and the previous model stays active.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ModelScoringEngine {
+    
+    private final ObjectMapper objectMapper;
+    
+    @Value("${fraud.scoring.model.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${fraud.scoring.model.file:models/risk-model.json}")
+    private String modelFile;
+    
+    // Share of the final score that comes from the model, 0-1
+    @Value("${fraud.scoring.model.weight:0.3}")
+    private double weight;
+    
+    private volatile LoadedModel current;
+    private volatile String lastError;
+    private FileTime loadedModifiedTime;
+    private long loadedFileSize = -1;
+    
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        
+        if (weight < 0 || weight > 1) {
+            throw new IllegalStateException("fraud.scoring.model.weight must be between 0 and 1, got " + weight);
+        }
+        reloadIfChanged();
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * True when enabled and a model is loaded.
+     */
+    public boolean isActive() {
+        return enabled && current != null;
+    }
+    
+    public double getWeight() {
+        return weight;
+    }
+    
+    public String getModelFile() {
+        return modelFile;
+    }
+    
+    public RiskModel getModel() {
+        LoadedModel loaded = current;
+        return loaded != null ? loaded.model() : null;
+    }
+    
+    public LocalDateTime getLoadedAt() {
+        LoadedModel loaded = current;
+        return loaded != null ? loaded.loadedAt() : null;
+    }
+    
+    public String getLastError() {
+        return lastError;
+    }
+    
+    /**
+     * Model score on the 0-100 risk scale, or null when no model is active.
+     */
+    public BigDecimal score(double[] features) {
+        LoadedModel loaded = current;
+        if (!enabled || loaded == null) {
+            return null;
+        }
+        return BigDecimal.valueOf(100 * loaded.model().score(features)).setScale(2, RoundingMode.HALF_UP);
+    }
+    
+    /**
+     * Weighted blend of the baseline score and the model score; the baseline unchanged when
+     * no model is active.
+     */
+    public BigDecimal blend(BigDecimal baselineScore, double[] features) {
+        LoadedModel loaded = current;
+        if (!enabled || loaded == null) {
+            return baselineScore;
+        }
+        
+        double modelScore = 100 * loaded.model().score(features);
+        double blended = (1 - weight) * baselineScore.doubleValue() + weight * modelScore;
+        return BigDecimal.valueOf(blended).setScale(2, RoundingMode.HALF_UP);
+    }
+    
+    @Scheduled(fixedDelayString = "${fraud.scoring.model.reload-interval-ms:10000}")
+    public void checkForUpdate() {
+        if (enabled) {
+            reloadIfChanged();
+        }
+    }
+    
+    /**
+     * Loads the model file if its modification time or size changed since the last load.
+     */
+    public synchronized void reloadIfChanged() {
+        Path path = Path.of(modelFile);
+        FileTime modifiedTime;
+        long size;
+        
+        try {
+            modifiedTime = Files.getLastModifiedTime(path);
+            size = Files.size(path);
+        
+        } catch (NoSuchFileException e) {
+            if (lastError == null && current == null) {
+                log.warn("Model file {} not found, scoring without a model", modelFile);
+            }
+            lastError = "Model file not found: " + modelFile;
+            return;
+        } catch (IOException e) {
+            lastError = e.getMessage();
+            log.error("Failed to check model file {}: {}", modelFile, e.getMessage());
+            return;
+        }
+        
+        if (modifiedTime.equals(loadedModifiedTime) && size == loadedFileSize) {
+            return;
+        }
+        
+        // Remember the attempt either way, so a broken file is not re-read until it changes
+        loadedModifiedTime = modifiedTime;
+        loadedFileSize = size;
+        try {
+            load(path);
+        } catch (IOException | RuntimeException e) {
+            // Logged by load; the previous model stays active
+        }
+    }
+    
+    /**
+     * Loads the model file now. Returns the new model; on failure the previous model stays
+     * active and the exception is rethrown.
+     */
+    public synchronized RiskModel reload() throws IOException {
+        Path path = Path.of(modelFile);
+        loadedModifiedTime = Files.getLastModifiedTime(path);
+        loadedFileSize = Files.size(path);
+        return load(path);
+    }
+    
+    private RiskModel load(Path path) throws IOException {
+        RiskModel model;
+        try (InputStream in = Files.newInputStream(path)) {
+            model = ModelCompiler.compile(objectMapper.readValue(in, ModelFile.class));
+            
+            // Catch models that only fail on evaluation before they see traffic
+            double probability = model.score(new double[ModelFeature.count()]);
+            if (!Double.isFinite(probability)) {
+                throw new IllegalArgumentException("Model produces a non-finite score");
+            }
+        
+        } catch (IOException | RuntimeException e) {
+            lastError = e.getMessage();
+            log.error("Rejected model file {}, keeping {}: {}", path, describe(current), e.getMessage());
+            throw e;
+        }
+        
+        LoadedModel previous = current;
+        current = new LoadedModel(model, LocalDateTime.now());
+        lastError = null;
+        log.info("Loaded {} model {} version {} from {} (replaces {})",
+            model.getType(), model.getName(), model.getVersion(), path, describe(previous));
+        return model;
+    }
+    
+    private static String describe(LoadedModel loaded) {
+        return loaded != null ? loaded.model().getName() + ":" + loaded.model().getVersion() : "no model";
+    }
+    
+    private record LoadedModel(RiskModel model, LocalDateTime loadedAt) {
+    }
+}
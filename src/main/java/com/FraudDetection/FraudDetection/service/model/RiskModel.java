@@ -0,0 +1,23 @@
+package com.FraudDetection.FraudDetection.service.model;
+
+/**
+ * A trained fraud model evaluated in-process. Implementations are immutable and safe to
+ * share between threads; {@link #score(double[])} does not allocate.
+ */
+public interface RiskModel {
+    
+    String getName();
+    
+    String getVersion();
+    
+    String getType();
+    
+    /**
+     * Fraud probability in [0, 1] for a feature vector laid out as {@link ModelFeature}.
+     */
+    double score(double[] features);
+    
+    static double sigmoid(double margin) {
+        return 1.0 / (1.0 + Math.exp(-margin));
+    }
+}
@@ -0,0 +1,65 @@
+package com.FraudDetection.FraudDetection.service.profile;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * The account numbers held per customer, so evicting a customer's accounts costs one
+ * lookup rather than a scan. Each customer's set is only changed inside a compute on its
+ * entry, which keeps adds and removals for one customer atomic.
+ */
+final class CustomerAccountIndex {
+    
+    private final ConcurrentHashMap<Long, Set<String>> accountsByCustomer = new ConcurrentHashMap<>();
+    
+    void add(Long customerId, String accountNumber) {
+        if (customerId == null || accountNumber == null) {
+            return;
+        }
+        
+        Set<String> accounts = accountsByCustomer.get(customerId);
+        if (accounts != null && accounts.contains(accountNumber)) {
+            return;
+        }
+        
+        accountsByCustomer.compute(customerId, (id, existing) -> {
+            Set<String> target = existing != null ? existing : ConcurrentHashMap.newKeySet();
+            target.add(accountNumber);
+            return target;
+        });
+    }
+    
+    void remove(Long customerId, String accountNumber) {
+        removeIf(customerId, accountNumber, account -> true);
+    }
+    
+    /**
+     * Removes the account from the customer when {@code stale} still holds for it, checked
+     * atomically with respect to {@link #add} for that customer.
+     */
+    void removeIf(Long customerId, String accountNumber, Predicate<String> stale) {
+        if (customerId == null || accountNumber == null) {
+            return;
+        }
+        
+        accountsByCustomer.computeIfPresent(customerId, (id, accounts) -> {
+            if (stale.test(accountNumber)) {
+                accounts.remove(accountNumber);
+            }
+            return accounts.isEmpty() ? null : accounts;
+        });
+    }
+    
+    /**
+     * Drops the customer from the index and returns the accounts it held.
+     */
+    Set<String> removeCustomer(Long customerId) {
+        Set<String> accounts = customerId != null ? accountsByCustomer.remove(customerId) : null;
+        return accounts != null ? accounts : Set.of();
+    }
+    
+    void clear() {
+        accountsByCustomer.clear();
+    }
+}
@@ -0,0 +1,53 @@
+package com.FraudDetection.FraudDetection.service.profile;
+
+import com.FraudDetection.FraudDetection.entity.Account;
+import com.FraudDetection.FraudDetection.entity.AccountStatus;
+import com.FraudDetection.FraudDetection.entity.Customer;
+import com.FraudDetection.FraudDetection.entity.CustomerStatus;
+import com.FraudDetection.FraudDetection.entity.RiskLevel;
+
+import java.time.LocalDateTime;
+
+/**
+ * The account and customer attributes used for risk scoring, detached from the entities.
+ * {@code found} is false for account numbers with no account; {@code customerId} is null
+ * when the account has no customer.
+ */
+public record RiskProfile(
+    String accountNumber,
+    boolean found,
+    RiskLevel accountRiskLevel,
+    AccountStatus accountStatus,
+    boolean flaggedForMonitoring,
+    LocalDateTime openedAt,
+    Long customerId,
+    RiskLevel customerRiskLevel,
+    CustomerStatus customerStatus,
+    LocalDateTime customerSince,
+    LocalDateTime lastLogin) {
+    
+    public static RiskProfile unknownAccount(String accountNumber) {
+        return new RiskProfile(accountNumber, false, null, null, false, null, null, null, null, null, null);
+    }
+    
+    public static RiskProfile of(Account account) {
+        Customer customer = account.getCustomer();
+        
+        return new RiskProfile(
+            account.getAccountNumber(),
+            true,
+            account.getRiskLevel(),
+            account.getStatus(),
+            Boolean.TRUE.equals(account.getFlaggedForMonitoring()),
+            account.getOpenedAt(),
+            customer != null ? customer.getId() : null,
+            customer != null ? customer.getRiskLevel() : null,
+            customer != null ? customer.getStatus() : null,
+            customer != null ? customer.getCustomerSince() : null,
+            customer != null ? customer.getLastLogin() : null);
+    }
+    
+    public boolean hasCustomer() {
+        return customerId != null;
+    }
+}
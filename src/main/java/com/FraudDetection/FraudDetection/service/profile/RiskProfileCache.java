@@ -0,0 +1,146 @@
+package com.FraudDetection.FraudDetection.service.profile;
+
+import com.FraudDetection.FraudDetection.repository.AccountRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Read-through cache of account risk profiles. A miss loads the account and its customer
+ * in one query. Entries expire after a TTL and the cache is bounded in size; changes to
+ * accounts and customers made through JPA evict the affected entries (see
+ * {@link RiskProfileInvalidationListener}). When disabled every lookup goes to the database,
+ * still as a single query. Hit, miss and eviction statistics are published to Micrometer
+ * under the cache name {@code riskProfiles}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RiskProfileCache {
+    
+    private final AccountRepository accountRepository;
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${fraud.scoring.profile-cache.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${fraud.scoring.profile-cache.maximum-size:100000}")
+    private long maximumSize;
+    
+    @Value("${fraud.scoring.profile-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+    
+    private final CustomerAccountIndex customerAccounts = new CustomerAccountIndex();
+    
+    private Cache<String, RiskProfile> cache;
+    
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        
+        cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .removalListener(this::unindex)
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "riskProfiles");
+        
+        log.info("Risk profile cache enabled (maximumSize={}, ttlSeconds={})", maximumSize, ttlSeconds);
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public RiskProfile get(String accountNumber) {
+        if (cache == null) {
+            return load(accountNumber);
+        }
+        RiskProfile profile = cache.get(accountNumber, this::load);
+        // Indexed once cached, so a removal racing with the load cannot drop the fresh entry
+        customerAccounts.add(profile.customerId(), accountNumber);
+        return profile;
+    }
+    
+    public void invalidateAccount(String accountNumber) {
+        if (cache == null || accountNumber == null) {
+            return;
+        }
+        afterCommit(() -> cache.invalidate(accountNumber));
+    }
+    
+    /**
+     * Evicts every cached account of the customer, found through the customer index.
+     */
+    public void invalidateCustomer(Long customerId) {
+        if (cache == null || customerId == null) {
+            return;
+        }
+        afterCommit(() -> cache.invalidateAll(customerAccounts.removeCustomer(customerId)));
+    }
+    
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+            customerAccounts.clear();
+        }
+    }
+    
+    public CacheStats getStats() {
+        return cache != null ? cache.stats() : CacheStats.empty();
+    }
+    
+    public long getSize() {
+        return cache != null ? cache.estimatedSize() : 0;
+    }
+    
+    private void unindex(String accountNumber, RiskProfile profile, RemovalCause cause) {
+        if (accountNumber == null || profile == null) {
+            return;
+        }
+        // Removal listeners run asynchronously; keep the entry if the account was cached again
+        customerAccounts.removeIf(profile.customerId(), accountNumber, account -> {
+            RiskProfile current = cache.asMap().get(account);
+            return current == null || !Objects.equals(current.customerId(), profile.customerId());
+        });
+    }
+    
+    private RiskProfile load(String accountNumber) {
+        return accountRepository.findWithCustomerByAccountNumber(accountNumber)
+            .map(RiskProfile::of)
+            .orElseGet(() -> RiskProfile.unknownAccount(accountNumber));
+    }
+    
+    /**
+     * Evicts now, and again once the surrounding transaction commits, so a profile reloaded
+     * from the not yet committed state in between does not outlive the commit.
+     */
+    private void afterCommit(Runnable eviction) {
+        eviction.run();
+        
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.FraudDetection.FraudDetection.service.profile;
+
+import com.FraudDetection.FraudDetection.entity.Account;
+import com.FraudDetection.FraudDetection.entity.Customer;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that evicts cached risk profiles and precomputed static risk when an
+ * account or customer is written. Hibernate obtains it from the Spring context; the caches
+ * are looked up lazily because listeners are created while the entity manager factory is
+ * still being built.
+ */
+@Component
+public class RiskProfileInvalidationListener {
+    
+    private final ObjectProvider<RiskProfileCache> riskProfileCache;
+    private final ObjectProvider<StaticRiskStore> staticRiskStore;
+    
+    public RiskProfileInvalidationListener(ObjectProvider<RiskProfileCache> riskProfileCache,
+                                           ObjectProvider<StaticRiskStore> staticRiskStore) {
+        this.riskProfileCache = riskProfileCache;
+        this.staticRiskStore = staticRiskStore;
+    }
+    
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        RiskProfileCache cache = riskProfileCache.getIfAvailable();
+        StaticRiskStore staticRisk = staticRiskStore.getIfAvailable();
+        
+        if (entity instanceof Account account) {
+            if (cache != null) {
+                cache.invalidateAccount(account.getAccountNumber());
+            }
+            if (staticRisk != null) {
+                staticRisk.invalidateAccount(account.getAccountNumber());
+            }
+        } else if (entity instanceof Customer customer) {
+            if (cache != null) {
+                cache.invalidateCustomer(customer.getId());
+            }
+            if (staticRisk != null) {
+                staticRisk.invalidateCustomer(customer.getId());
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.FraudDetection.FraudDetection.service.profile;
+
+import com.FraudDetection.FraudDetection.entity.AccountStatus;
+import com.FraudDetection.FraudDetection.entity.CustomerStatus;
+import com.FraudDetection.FraudDetection.entity.RiskLevel;
+
+import java.time.LocalDateTime;
+
+/**
+ * The account and customer risk points of one account, reduced to what does not change
+ * between writes: the points from risk level, status and monitoring flag, plus the instants
+ * at which the age- and inactivity-based points switch on or off. Evaluating it needs only
+ * the current time, so it can be computed ahead of time and looked up by account number.
+ */
+public record StaticRiskComponent(
+    String accountNumber,
+    Long customerId,
+    int accountBasePoints,
+    LocalDateTime newAccountUntil,
+    int customerBasePoints,
+    LocalDateTime newCustomerUntil,
+    LocalDateTime inactiveCustomerFrom) {
+    
+    private static final int NEW_ACCOUNT_DAYS = 30;
+    private static final int NEW_ACCOUNT_POINTS = 15;
+    private static final int NEW_CUSTOMER_DAYS = 90;
+    private static final int NEW_CUSTOMER_POINTS = 10;
+    private static final int INACTIVE_CUSTOMER_DAYS = 180;
+    private static final int INACTIVE_CUSTOMER_POINTS = 15;
+    
+    private static final int DEFAULT_POINTS = 25;
+    private static final int UNKNOWN_ACCOUNT_POINTS = 50;
+    private static final int MAX_POINTS = 100;
+    
+    /**
+     * Used when the profile could not be loaded.
+     */
+    public static final StaticRiskComponent UNAVAILABLE =
+        new StaticRiskComponent(null, null, DEFAULT_POINTS, null, DEFAULT_POINTS, null, null);
+    
+    public static StaticRiskComponent of(RiskProfile profile) {
+        if (profile == null) {
+            return UNAVAILABLE;
+        }
+        
+        if (!profile.found()) {
+            // Unknown account is risky
+            return new StaticRiskComponent(profile.accountNumber(), null, UNKNOWN_ACCOUNT_POINTS, null,
+                DEFAULT_POINTS, null, null);
+        }
+        
+        int accountBasePoints = DEFAULT_POINTS;
+        LocalDateTime newAccountUntil = null;
+        if (profile.accountRiskLevel() != null) {
+            accountBasePoints = accountBasePoints(profile);
+            
+            // New account risk (accounts less than 30 days old)
+            if (profile.openedAt() != null) {
+                newAccountUntil = profile.openedAt().plusDays(NEW_ACCOUNT_DAYS);
+            }
+        }
+        
+        int customerBasePoints = DEFAULT_POINTS;
+        LocalDateTime newCustomerUntil = null;
+        LocalDateTime inactiveCustomerFrom = null;
+        if (profile.hasCustomer() && profile.customerRiskLevel() != null) {
+            customerBasePoints = customerBasePoints(profile);
+            
+            // New customer risk (customers less than 90 days)
+            if (profile.customerSince() != null) {
+                newCustomerUntil = profile.customerSince().plusDays(NEW_CUSTOMER_DAYS);
+            }
+            
+            // Inactive customer risk (no login for more than 180 whole days)
+            if (profile.lastLogin() != null) {
+                inactiveCustomerFrom = profile.lastLogin().plusDays(INACTIVE_CUSTOMER_DAYS + 1);
+            }
+        }
+        
+        return new StaticRiskComponent(profile.accountNumber(), profile.customerId(), accountBasePoints,
+            newAccountUntil, customerBasePoints, newCustomerUntil, inactiveCustomerFrom);
+    }
+    
+    public int accountPoints(LocalDateTime now) {
+        int points = accountBasePoints;
+        if (newAccountUntil != null && now.isBefore(newAccountUntil)) {
+            points += NEW_ACCOUNT_POINTS;
+        }
+        return Math.min(points, MAX_POINTS);
+    }
+    
+    public int customerPoints(LocalDateTime now) {
+        int points = customerBasePoints;
+        if (newCustomerUntil != null && now.isBefore(newCustomerUntil)) {
+            points += NEW_CUSTOMER_POINTS;
+        }
+        if (inactiveCustomerFrom != null && !now.isBefore(inactiveCustomerFrom)) {
+            points += INACTIVE_CUSTOMER_POINTS;
+        }
+        return Math.min(points, MAX_POINTS);
+    }
+    
+    private static int accountBasePoints(RiskProfile profile) {
+        int points = 0;
+        
+        // Risk level-based score
+        switch (profile.accountRiskLevel()) {
+            case VERY_HIGH:
+                points += 40;
+                break;
+            case HIGH:
+                points += 30;
+                break;
+            case MEDIUM:
+                points += 15;
+                break;
+            case LOW:
+                points += 5;
+                break;
+        }
+        
+        // Account status risk
+        if (profile.accountStatus() == AccountStatus.SUSPENDED) {
+            points += 50;
+        } else if (profile.accountStatus() == AccountStatus.RESTRICTED) {
+            points += 25;
+        }
+        
+        // Flagged account risk
+        if (profile.flaggedForMonitoring()) {
+            points += 20;
+        }
+        
+        return points;
+    }
+    
+    private static int customerBasePoints(RiskProfile profile) {
+        int points = 0;
+        
+        // Customer risk level
+        RiskLevel riskLevel = profile.customerRiskLevel();
+        switch (riskLevel) {
+            case VERY_HIGH:
+                points += 35;
+                break;
+            case HIGH:
+                points += 25;
+                break;
+            case MEDIUM:
+                points += 10;
+                break;
+            case LOW:
+                points += 3;
+                break;
+        }
+        
+        // Customer status risk
+        if (profile.customerStatus() == CustomerStatus.SUSPENDED) {
+            points += 40;
+        } else if (profile.customerStatus() == CustomerStatus.BLOCKED) {
+            points += 35;
+        } else if (profile.customerStatus() == CustomerStatus.FROZEN) {
+            points += 20;
+        }
+        
+        return points;
+    }
+}
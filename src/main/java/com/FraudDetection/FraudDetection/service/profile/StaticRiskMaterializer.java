@@ -0,0 +1,294 @@
+package com.FraudDetection.FraudDetection.service.profile;
+
+import com.FraudDetection.FraudDetection.entity.Account;
+import com.FraudDetection.FraudDetection.entity.AccountStaticRisk;
+import com.FraudDetection.FraudDetection.entity.Customer;
+import com.FraudDetection.FraudDetection.repository.AccountRepository;
+import com.FraudDetection.FraudDetection.repository.AccountStaticRiskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Materializes the static risk component of every account into {@code account_static_risk}
+ * and the {@link StaticRiskStore} snapshot. A nightly full run walks the accounts, with
+ * their customers, in id-range chunks on a small thread pool and drops rows of accounts
+ * that no longer exist. Between full runs an incremental refresh recomputes the accounts
+ * whose own or customer's {@code updatedAt} moved past the last run.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StaticRiskMaterializer {
+    
+    // Re-read changes this far before the last run, so rows committed late with an earlier
+    // updatedAt are not missed; recomputing an account twice is harmless
+    private static final Duration WATERMARK_OVERLAP = Duration.ofMinutes(5);
+    
+    private final AccountRepository accountRepository;
+    private final AccountStaticRiskRepository staticRiskRepository;
+    private final StaticRiskStore staticRiskStore;
+    private final PlatformTransactionManager transactionManager;
+    
+    @Value("${fraud.scoring.static-risk.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${fraud.scoring.static-risk.chunk-size:1000}")
+    private int chunkSize;
+    
+    @Value("${fraud.scoring.static-risk.parallelism:4}")
+    private int parallelism;
+    
+    private final ReentrantLock runLock = new ReentrantLock();
+    
+    private volatile LocalDateTime watermark;
+    private volatile StaticRiskRun lastFullRun;
+    private volatile StaticRiskRun lastIncrementalRun;
+    
+    public StaticRiskRun getLastFullRun() {
+        return lastFullRun;
+    }
+    
+    public StaticRiskRun getLastIncrementalRun() {
+        return lastIncrementalRun;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        
+        Thread.ofPlatform().name("static-risk-load").daemon(true).start(() -> {
+            try {
+                long loaded = staticRiskStore.loadFromTable();
+                log.info("Static risk snapshot loaded with {} accounts", loaded);
+                
+                if (loaded == 0) {
+                    materializeAll();
+                } else {
+                    LocalDateTime latest = staticRiskRepository.findLatestSourceUpdate();
+                    watermark = latest.minus(WATERMARK_OVERLAP);
+                    staticRiskStore.markReady();
+                    refreshChanged();
+                }
+            
+            } catch (Exception e) {
+                log.error("Failed to load static risk snapshot, scoring stays on live profiles: {}", e.getMessage(), e);
+            }
+        });
+    }
+    
+    @Scheduled(cron = "${fraud.scoring.static-risk.cron:0 30 2 * * *}")
+    public void nightlyMaterialization() {
+        if (enabled) {
+            materializeAll();
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${fraud.scoring.static-risk.refresh-interval-ms:60000}",
+               initialDelayString = "${fraud.scoring.static-risk.refresh-interval-ms:60000}")
+    public void incrementalRefresh() {
+        if (enabled && watermark != null) {
+            refreshChanged();
+        }
+    }
+    
+    /**
+     * Recomputes every account. Returns null when disabled or another run is in progress.
+     */
+    public StaticRiskRun materializeAll() {
+        if (!enabled || !runLock.tryLock()) {
+            return null;
+        }
+        
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            long start = System.nanoTime();
+            
+            List<Supplier<List<Account>>> chunks = new ArrayList<>();
+            Long minId = accountRepository.findMinId();
+            Long maxId = accountRepository.findMaxId();
+            if (minId != null) {
+                for (long from = minId; from <= maxId; from += chunkSize) {
+                    long fromId = from;
+                    long toId = Math.min(from + chunkSize - 1, maxId);
+                    chunks.add(() -> accountRepository.findWithCustomerByIdBetween(fromId, toId));
+                }
+            }
+            
+            Set<String> materialized = ConcurrentHashMap.newKeySet();
+            ChunkTotals totals = runChunks(chunks, startedAt, materialized);
+            
+            // Only a complete run knows which rows are orphaned
+            if (totals.failedChunks() == 0) {
+                int removed = new TransactionTemplate(transactionManager)
+                    .execute(status -> staticRiskRepository.deleteComputedBefore(startedAt));
+                staticRiskStore.retainOnly(materialized);
+                watermark = startedAt.minus(WATERMARK_OVERLAP);
+                log.debug("Removed {} static risk rows of deleted accounts", removed);
+            }
+            staticRiskStore.markReady();
+            
+            StaticRiskRun run = new StaticRiskRun(StaticRiskRun.Type.FULL, startedAt,
+                (System.nanoTime() - start) / 1_000_000, totals.accounts(), chunks.size(), totals.failedChunks());
+            lastFullRun = run;
+            log.info("Static risk materialization finished: {}", run);
+            return run;
+        
+        } finally {
+            runLock.unlock();
+        }
+    }
+    
+    /**
+     * Recomputes the accounts changed since the last run. Returns null when disabled,
+     * before the first run, or while another run is in progress.
+     */
+    public StaticRiskRun refreshChanged() {
+        if (!enabled || watermark == null || !runLock.tryLock()) {
+            return null;
+        }
+        
+        try {
+            LocalDateTime startedAt = LocalDateTime.now();
+            long start = System.nanoTime();
+            
+            List<Long> changedIds = accountRepository.findIdsUpdatedSince(watermark);
+            List<Supplier<List<Account>>> chunks = new ArrayList<>();
+            for (int from = 0; from < changedIds.size(); from += chunkSize) {
+                List<Long> ids = changedIds.subList(from, Math.min(from + chunkSize, changedIds.size()));
+                chunks.add(() -> accountRepository.findWithCustomerByIdIn(ids));
+            }
+            
+            ChunkTotals totals = runChunks(chunks, startedAt, ConcurrentHashMap.newKeySet());
+            
+            // Failed chunks are picked up again by the next refresh
+            if (totals.failedChunks() == 0) {
+                watermark = startedAt.minus(WATERMARK_OVERLAP);
+            }
+            
+            StaticRiskRun run = new StaticRiskRun(StaticRiskRun.Type.INCREMENTAL, startedAt,
+                (System.nanoTime() - start) / 1_000_000, totals.accounts(), chunks.size(), totals.failedChunks());
+            lastIncrementalRun = run;
+            if (totals.accounts() > 0 || totals.failedChunks() > 0) {
+                log.info("Static risk refresh finished: {}", run);
+            }
+            return run;
+        
+        } finally {
+            runLock.unlock();
+        }
+    }
+    
+    private ChunkTotals runChunks(List<Supplier<List<Account>>> chunks, LocalDateTime computedAt,
+                                  Set<String> materialized) {
+        if (chunks.isEmpty()) {
+            return new ChunkTotals(0, 0);
+        }
+        
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, chunks.size())),
+            Thread.ofPlatform().name("static-risk-", 0).daemon(true).factory());
+        
+        try {
+            List<Future<Integer>> futures = new ArrayList<>(chunks.size());
+            for (Supplier<List<Account>> chunk : chunks) {
+                futures.add(executor.submit(() -> materializeChunk(chunk, computedAt, materialized)));
+            }
+            
+            long accounts = 0;
+            int failedChunks = 0;
+            for (Future<Integer> future : futures) {
+                try {
+                    accounts += future.get();
+                } catch (ExecutionException e) {
+                    failedChunks++;
+                    log.error("Static risk chunk failed: {}", e.getCause().getMessage(), e.getCause());
+                }
+            }
+            return new ChunkTotals(accounts, failedChunks);
+        
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ChunkTotals(0, chunks.size());
+        
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    private int materializeChunk(Supplier<List<Account>> chunk, LocalDateTime computedAt, Set<String> materialized) {
+        List<StaticRiskComponent> components = new ArrayList<>();
+        
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<Account> accounts = chunk.get();
+            if (accounts.isEmpty()) {
+                return;
+            }
+            
+            List<AccountStaticRisk> rows = new ArrayList<>(accounts.size());
+            for (Account account : accounts) {
+                StaticRiskComponent component = StaticRiskComponent.of(RiskProfile.of(account));
+                components.add(component);
+                rows.add(toRow(component, sourceUpdatedAt(account), computedAt));
+            }
+            
+            // Replace the rows: one bulk delete, then batched inserts
+            staticRiskRepository.deleteAllByIdInBatch(rows.stream().map(AccountStaticRisk::getAccountNumber).toList());
+            staticRiskRepository.saveAll(rows);
+        });
+        
+        for (StaticRiskComponent component : components) {
+            staticRiskStore.put(component);
+            materialized.add(component.accountNumber());
+        }
+        return components.size();
+    }
+    
+    private static LocalDateTime sourceUpdatedAt(Account account) {
+        LocalDateTime updatedAt = account.getUpdatedAt();
+        Customer customer = account.getCustomer();
+        if (customer != null && customer.getUpdatedAt() != null
+                && (updatedAt == null || customer.getUpdatedAt().isAfter(updatedAt))) {
+            updatedAt = customer.getUpdatedAt();
+        }
+        return updatedAt != null ? updatedAt : account.getOpenedAt();
+    }
+    
+    private static AccountStaticRisk toRow(StaticRiskComponent component, LocalDateTime sourceUpdatedAt,
+                                           LocalDateTime computedAt) {
+        return AccountStaticRisk.builder()
+            .accountNumber(component.accountNumber())
+            .customerId(component.customerId())
+            .accountBasePoints(component.accountBasePoints())
+            .newAccountUntil(component.newAccountUntil())
+            .customerBasePoints(component.customerBasePoints())
+            .newCustomerUntil(component.newCustomerUntil())
+            .inactiveCustomerFrom(component.inactiveCustomerFrom())
+            .sourceUpdatedAt(sourceUpdatedAt)
+            .computedAt(computedAt)
+            .build();
+    }
+    
+    private record ChunkTotals(long accounts, int failedChunks) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.FraudDetection.FraudDetection.service.profile;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of one static risk materialization run.
+ */
+public record StaticRiskRun(
+    Type type,
+    LocalDateTime startedAt,
+    long durationMs,
+    long accounts,
+    int chunks,
+    int failedChunks) {
+    
+    public enum Type {
+        FULL,
+        INCREMENTAL
+    }
+}
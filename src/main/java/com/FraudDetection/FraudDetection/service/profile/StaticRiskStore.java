@@ -0,0 +1,140 @@
+package com.FraudDetection.FraudDetection.service.profile;
+
+import com.FraudDetection.FraudDetection.entity.AccountStaticRisk;
+import com.FraudDetection.FraudDetection.repository.AccountStaticRiskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory snapshot of the materialized {@code account_static_risk} table, so scoring an
+ * account's static risk is one map lookup. Entries are written by
+ * {@link StaticRiskMaterializer}; writes to accounts and customers evict the affected
+ * entries, and scoring falls back to the live profile until the next refresh recomputes them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StaticRiskStore {
+    
+    private final AccountStaticRiskRepository staticRiskRepository;
+    
+    @Value("${fraud.scoring.static-risk.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${fraud.scoring.static-risk.load-page-size:5000}")
+    private int loadPageSize;
+    
+    private final ConcurrentHashMap<String, StaticRiskComponent> snapshot = new ConcurrentHashMap<>();
+    private final CustomerAccountIndex customerAccounts = new CustomerAccountIndex();
+    
+    private volatile boolean ready;
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    public int getSize() {
+        return snapshot.size();
+    }
+    
+    /**
+     * The precomputed component of the account, or null when it is not materialized (yet).
+     */
+    public StaticRiskComponent get(String accountNumber) {
+        if (!ready || accountNumber == null) {
+            return null;
+        }
+        return snapshot.get(accountNumber);
+    }
+    
+    public void invalidateAccount(String accountNumber) {
+        if (enabled && accountNumber != null) {
+            remove(accountNumber);
+        }
+    }
+    
+    /**
+     * Evicts the customer's accounts, found through the customer index.
+     */
+    public void invalidateCustomer(Long customerId) {
+        if (enabled && customerId != null) {
+            for (String accountNumber : customerAccounts.removeCustomer(customerId)) {
+                snapshot.computeIfPresent(accountNumber,
+                    (k, component) -> Objects.equals(component.customerId(), customerId) ? null : component);
+            }
+        }
+    }
+    
+    /**
+     * Reads the whole table into the snapshot and returns the number of rows loaded.
+     */
+    long loadFromTable() {
+        long loaded = 0;
+        String after = "";
+        
+        while (true) {
+            List<AccountStaticRisk> rows = staticRiskRepository.findByAccountNumberGreaterThanOrderByAccountNumber(
+                after, PageRequest.of(0, loadPageSize));
+            if (rows.isEmpty()) {
+                return loaded;
+            }
+            
+            for (AccountStaticRisk row : rows) {
+                put(toComponent(row));
+            }
+            loaded += rows.size();
+            after = rows.get(rows.size() - 1).getAccountNumber();
+        }
+    }
+    
+    void put(StaticRiskComponent component) {
+        // The index follows the snapshot entry atomically
+        snapshot.compute(component.accountNumber(), (k, previous) -> {
+            if (previous != null && !Objects.equals(previous.customerId(), component.customerId())) {
+                customerAccounts.remove(previous.customerId(), k);
+            }
+            customerAccounts.add(component.customerId(), k);
+            return component;
+        });
+    }
+    
+    void retainOnly(Set<String> accountNumbers) {
+        for (String accountNumber : snapshot.keySet()) {
+            if (!accountNumbers.contains(accountNumber)) {
+                remove(accountNumber);
+            }
+        }
+    }
+    
+    private void remove(String accountNumber) {
+        snapshot.computeIfPresent(accountNumber, (k, component) -> {
+            customerAccounts.remove(component.customerId(), k);
+            return null;
+        });
+    }
+    
+    void markReady() {
+        if (!ready) {
+            ready = true;
+            log.info("Static risk snapshot ready with {} accounts", snapshot.size());
+        }
+    }
+    
+    static StaticRiskComponent toComponent(AccountStaticRisk row) {
+        return new StaticRiskComponent(row.getAccountNumber(), row.getCustomerId(), row.getAccountBasePoints(),
+            row.getNewAccountUntil(), row.getCustomerBasePoints(), row.getNewCustomerUntil(),
+            row.getInactiveCustomerFrom());
+    }
+}
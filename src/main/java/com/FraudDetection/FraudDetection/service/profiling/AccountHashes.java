@@ -0,0 +1,39 @@
+package com.FraudDetection.FraudDetection.service.profiling;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+
+/**
+ * Stands in for account ids in flight recordings, which are often shared outside the team.
+ * The salt is drawn per process, so hashes line up within a recording but cannot be looked
+ * up against a list of account numbers.
+ */
+public final class AccountHashes {
+    
+    private static final byte[] SALT = new byte[16];
+    
+    static {
+        new SecureRandom().nextBytes(SALT);
+    }
+    
+    private AccountHashes() {
+    }
+    
+    public static String of(String accountId) {
+        if (accountId == null) {
+            return null;
+        }
+        
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(SALT);
+            byte[] hash = digest.digest(accountId.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
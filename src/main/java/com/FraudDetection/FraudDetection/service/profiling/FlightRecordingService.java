@@ -0,0 +1,172 @@
+package com.FraudDetection.FraudDetection.service.profiling;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Runs one flight recording at a time on demand, with the JDK's GC, lock and I/O events
+ * next to the fraud pipeline events. A recording is bounded in time and size and written
+ * to a file in the recording directory when it stops, either on request or when its
+ * duration runs out. Without a running recording the pipeline events are disabled and
+ * cost next to nothing.
+ */
+@Component
+@Slf4j
+public class FlightRecordingService {
+    
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    
+    @Value("${fraud.profiling.recording.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${fraud.profiling.recording.directory:data/recordings}")
+    private String directory;
+    
+    // JDK settings file: default (continuous, ~1% overhead) or profile (more detail, ~2%)
+    @Value("${fraud.profiling.recording.settings:profile}")
+    private String settings;
+    
+    @Value("${fraud.profiling.recording.max-duration-minutes:30}")
+    private int maxDurationMinutes;
+    
+    @Value("${fraud.profiling.recording.max-size-mb:250}")
+    private int maxSizeMb;
+    
+    private Recording recording;
+    private Path file;
+    private LocalDateTime startedAt;
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public int getMaxDurationMinutes() {
+        return maxDurationMinutes;
+    }
+    
+    /**
+     * Starts a recording that stops by itself after {@code durationMinutes}, capped at the
+     * configured maximum.
+     * @throws IllegalStateException when recordings are disabled or one is already running
+     * @throws IOException when the recording directory or the settings cannot be read
+     */
+    public synchronized RecordingStatus start(int durationMinutes) throws IOException {
+        if (!enabled) {
+            throw new IllegalStateException("Flight recordings are disabled");
+        }
+        if (isRunning()) {
+            throw new IllegalStateException("A recording is already running, writing to " + file);
+        }
+        if (durationMinutes <= 0) {
+            throw new IllegalArgumentException("Duration must be positive, got " + durationMinutes);
+        }
+        
+        closeRecording();
+        Path dir = Path.of(directory);
+        Files.createDirectories(dir);
+        
+        LocalDateTime now = LocalDateTime.now();
+        Path target = dir.resolve("fraud-" + FILE_TIMESTAMP.format(now) + ".jfr");
+        Duration duration = Duration.ofMinutes(Math.min(durationMinutes, maxDurationMinutes));
+        
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (ParseException e) {
+            throw new IOException("Invalid flight recorder settings " + settings + ": " + e.getMessage(), e);
+        }
+        
+        Recording started = new Recording(configuration);
+        started.setName("fraud-detection");
+        started.enable(FraudTransactionScoredEvent.class);
+        started.enable(FraudRuleEvaluatedEvent.class);
+        started.enable(FraudAlertCreatedEvent.class);
+        started.setToDisk(true);
+        started.setMaxSize(maxSizeMb * 1024L * 1024L);
+        started.setDuration(duration);
+        // Written here when the recording stops, also when the duration runs out
+        started.setDestination(target);
+        started.start();
+        
+        recording = started;
+        file = target;
+        startedAt = now;
+        log.info("Flight recording started for {} with {} settings, writing to {}", duration, settings, target);
+        return getStatus();
+    }
+    
+    /**
+     * Stops the running recording and writes it out. Returns null when no recording was
+     * started since the last stop.
+     */
+    public synchronized RecordingStatus stop() {
+        if (recording == null) {
+            return null;
+        }
+        
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            log.info("Flight recording stopped, written to {}", file);
+        }
+        RecordingStatus status = getStatus();
+        closeRecording();
+        return status;
+    }
+    
+    /**
+     * State of the last started recording, also after its duration ran out, until it is
+     * stopped through {@link #stop()}; null otherwise.
+     */
+    public synchronized RecordingStatus getStatus() {
+        if (recording == null) {
+            return null;
+        }
+        
+        long size = Files.isRegularFile(file) ? sizeOf(file) : recording.getSize();
+        return new RecordingStatus(recording.getState().name(), file.toAbsolutePath().toString(),
+            startedAt, recording.getDuration(), size);
+    }
+    
+    @PreDestroy
+    public synchronized void shutdown() {
+        // Keeps what was recorded so far when the application stops mid-recording
+        stop();
+    }
+    
+    private boolean isRunning() {
+        return recording != null
+            && (recording.getState() == RecordingState.RUNNING || recording.getState() == RecordingState.DELAYED);
+    }
+    
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+    
+    private static long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+    
+    public record RecordingStatus(String state, String file, LocalDateTime startedAt, Duration duration,
+                                  long sizeBytes) {
+    }
+}
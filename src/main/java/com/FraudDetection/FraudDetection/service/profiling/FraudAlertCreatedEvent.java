@@ -0,0 +1,32 @@
+package com.FraudDetection.FraudDetection.service.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One fraud alert saved for a transaction. Alerts of a batch are saved together, so their
+ * events carry no duration.
+ */
+@Name("com.FraudDetection.FraudAlertCreated")
+@Label("Fraud Alert Created")
+@Category({"Fraud Detection"})
+@Description("Fraud alert saved for a rejected or reviewed transaction")
+public class FraudAlertCreatedEvent extends jdk.jfr.Event {
+    
+    @Label("Transaction Reference")
+    public String transactionReference;
+    
+    @Label("Account Hash")
+    public String accountHash;
+    
+    @Label("Decision")
+    public String decision;
+    
+    @Label("Severity")
+    public String severity;
+    
+    @Label("Risk Score")
+    public double riskScore;
+}
@@ -0,0 +1,35 @@
+package com.FraudDetection.FraudDetection.service.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One rule evaluation; its duration is the time spent in the rule itself.
+ */
+@Name("com.FraudDetection.FraudRuleEvaluated")
+@Label("Fraud Rule Evaluated")
+@Category({"Fraud Detection"})
+@Description("Evaluation of one fraud rule against one transaction")
+public class FraudRuleEvaluatedEvent extends jdk.jfr.Event {
+    
+    @Label("Transaction Reference")
+    public String transactionReference;
+    
+    @Label("Account Hash")
+    public String accountHash;
+    
+    @Label("Rule Name")
+    public String ruleName;
+    
+    @Label("Triggered")
+    public boolean triggered;
+    
+    @Label("Score")
+    public double score;
+    
+    @Label("Failed")
+    @Description("The rule threw and was reported as not triggered")
+    public boolean failed;
+}
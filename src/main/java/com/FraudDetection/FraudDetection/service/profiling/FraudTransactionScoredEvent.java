@@ -0,0 +1,35 @@
+package com.FraudDetection.FraudDetection.service.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One processed transaction, from the start of processing until its writes are committed.
+ */
+@Name("com.FraudDetection.FraudTransactionScored")
+@Label("Fraud Transaction Scored")
+@Category({"Fraud Detection"})
+@Description("Fraud detection of one transaction, including rules, scoring, decision and persistence")
+public class FraudTransactionScoredEvent extends jdk.jfr.Event {
+    
+    @Label("Transaction Reference")
+    public String transactionReference;
+    
+    @Label("Account Hash")
+    public String accountHash;
+    
+    @Label("Decision")
+    @Description("Decision type, or ERROR when processing failed")
+    public String decision;
+    
+    @Label("Risk Score")
+    public double riskScore;
+    
+    @Label("Triggered Rules")
+    public int triggeredRules;
+    
+    @Label("Pipeline Mode")
+    public String pipelineMode;
+}
@@ -0,0 +1,147 @@
+package com.FraudDetection.FraudDetection.service.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+
+/**
+ * A circuit breaker over the last calls of one rule. It opens when the share of failed or
+ * of slow calls in the window reaches its threshold, rejects calls while open, and after
+ * the open period lets a few probe calls through: all of them succeeding closes it, any
+ * of them failing or running slow opens it again.
+ */
+@Slf4j
+final class CircuitBreaker {
+    
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+    
+    private final String ruleName;
+    private final CircuitBreakerSettings settings;
+    
+    // Outcomes of the last calls, in a ring
+    private final boolean[] failed;
+    private final boolean[] slow;
+    private int next;
+    private int calls;
+    private int failures;
+    private int slowCalls;
+    
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int probesStarted;
+    private int probesSucceeded;
+    
+    private long rejected;
+    private long opened;
+    
+    CircuitBreaker(String ruleName, CircuitBreakerSettings settings) {
+        this.ruleName = ruleName;
+        this.settings = settings;
+        this.failed = new boolean[settings.windowSize()];
+        this.slow = new boolean[settings.windowSize()];
+    }
+    
+    /**
+     * True when the call may go ahead; every permitted call must be followed by {@link #record}.
+     */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAtNanos < settings.openDurationNanos()) {
+                rejected++;
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probesStarted = 0;
+            probesSucceeded = 0;
+        }
+        
+        if (state == State.HALF_OPEN) {
+            if (probesStarted >= settings.halfOpenProbes()) {
+                rejected++;
+                return false;
+            }
+            probesStarted++;
+        }
+        return true;
+    }
+    
+    synchronized void record(boolean failure, long elapsedNanos) {
+        boolean slowCall = elapsedNanos >= settings.slowCallNanos();
+        
+        switch (state) {
+            case HALF_OPEN -> {
+                if (failure || slowCall) {
+                    open();
+                } else if (++probesSucceeded >= settings.halfOpenProbes()) {
+                    log.info("Circuit breaker of rule {} closed after {} successful probes", ruleName, probesSucceeded);
+                    close();
+                }
+            }
+            case CLOSED -> {
+                if (calls == failed.length) {
+                    failures -= failed[next] ? 1 : 0;
+                    slowCalls -= slow[next] ? 1 : 0;
+                } else {
+                    calls++;
+                }
+                failed[next] = failure;
+                slow[next] = slowCall;
+                failures += failure ? 1 : 0;
+                slowCalls += slowCall ? 1 : 0;
+                next = (next + 1) % failed.length;
+                
+                if (calls >= settings.minimumCalls()
+                        && (failures * 100 >= settings.failureRateThreshold() * calls
+                            || slowCalls * 100 >= settings.slowCallRateThreshold() * calls)) {
+                    open();
+                }
+            }
+            case OPEN -> {
+                // Started before the breaker opened; the window is already discarded
+            }
+        }
+    }
+    
+    synchronized CircuitBreakerStats stats() {
+        return new CircuitBreakerStats(ruleName, currentState().name(), calls,
+            calls > 0 ? 100.0 * failures / calls : 0, calls > 0 ? 100.0 * slowCalls / calls : 0, rejected, opened);
+    }
+    
+    synchronized void reset() {
+        close();
+        rejected = 0;
+        opened = 0;
+    }
+    
+    private State currentState() {
+        if (state == State.OPEN && System.nanoTime() - openedAtNanos >= settings.openDurationNanos()) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+    
+    private void open() {
+        log.warn("Circuit breaker of rule {} opened after {} of {} calls failed and {} ran slow",
+            ruleName, failures, calls, slowCalls);
+        state = State.OPEN;
+        openedAtNanos = System.nanoTime();
+        opened++;
+        clearWindow();
+    }
+    
+    private void close() {
+        state = State.CLOSED;
+        clearWindow();
+    }
+    
+    private void clearWindow() {
+        Arrays.fill(failed, false);
+        Arrays.fill(slow, false);
+        next = 0;
+        calls = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+}
@@ -0,0 +1,10 @@
+package com.FraudDetection.FraudDetection.service.resilience;
+
+/**
+ * Thresholds shared by the rule circuit breakers. Rates are percentages of the calls in
+ * the window.
+ */
+record CircuitBreakerSettings(int windowSize, int minimumCalls, int failureRateThreshold,
+                              long slowCallNanos, int slowCallRateThreshold, long openDurationNanos,
+                              int halfOpenProbes) {
+}
@@ -0,0 +1,9 @@
+package com.FraudDetection.FraudDetection.service.resilience;
+
+/**
+ * State of one rule's circuit breaker. Rates cover the calls in the current window;
+ * rejected and opened count since startup or the last reset.
+ */
+public record CircuitBreakerStats(String ruleName, String state, int windowCalls, double failureRate,
+                                  double slowCallRate, long rejected, long opened) {
+}
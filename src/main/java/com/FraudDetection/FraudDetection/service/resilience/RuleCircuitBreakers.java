@@ -0,0 +1,156 @@
+package com.FraudDetection.FraudDetection.service.resilience;
+
+import com.FraudDetection.FraudDetection.entity.Transaction;
+import com.FraudDetection.FraudDetection.service.RuleResult;
+import com.FraudDetection.FraudDetection.service.metrics.FraudMetrics;
+import com.FraudDetection.FraudDetection.service.metrics.SqlStatementScope;
+import com.FraudDetection.FraudDetection.service.metrics.SqlStatementTracker;
+import com.FraudDetection.FraudDetection.service.rules.FraudRule;
+import com.FraudDetection.FraudDetection.service.rules.RuleEvaluationContext;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Guards rule evaluation with one circuit breaker per rule, driven by error rate and
+ * latency. While a rule's breaker is open the rule is not evaluated: it falls back to its
+ * in-memory approximation when it has one and is skipped otherwise, and the result is
+ * tagged degraded so the decision can apply the degraded-mode policy. Keeps transaction
+ * latency bounded when the database slows down, instead of every rule paying for it.
+ * Every rule evaluation passes through here, so this is also where its latency and SQL
+ * statements are recorded.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RuleCircuitBreakers {
+    
+    private final FraudMetrics fraudMetrics;
+    private final SqlStatementTracker sqlStatementTracker;
+    
+    @Value("${fraud.rules.circuit-breaker.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${fraud.rules.circuit-breaker.window-size:50}")
+    private int windowSize;
+    
+    @Value("${fraud.rules.circuit-breaker.minimum-calls:20}")
+    private int minimumCalls;
+    
+    // Percent of failed calls in the window that opens the breaker
+    @Value("${fraud.rules.circuit-breaker.failure-rate-threshold:50}")
+    private int failureRateThreshold;
+    
+    @Value("${fraud.rules.circuit-breaker.slow-call-threshold-ms:100}")
+    private long slowCallThresholdMs;
+    
+    // Percent of slow calls in the window that opens the breaker
+    @Value("${fraud.rules.circuit-breaker.slow-call-rate-threshold:50}")
+    private int slowCallRateThreshold;
+    
+    @Value("${fraud.rules.circuit-breaker.open-duration-ms:5000}")
+    private long openDurationMs;
+    
+    @Value("${fraud.rules.circuit-breaker.half-open-probes:3}")
+    private int halfOpenProbes;
+    
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    
+    private CircuitBreakerSettings settings;
+    
+    @PostConstruct
+    public void init() {
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize) {
+            throw new IllegalStateException("fraud.rules.circuit-breaker needs 1 <= minimum-calls <= window-size");
+        }
+        if (halfOpenProbes < 1) {
+            throw new IllegalStateException("fraud.rules.circuit-breaker.half-open-probes must be at least 1");
+        }
+        
+        settings = new CircuitBreakerSettings(windowSize, minimumCalls, failureRateThreshold,
+            TimeUnit.MILLISECONDS.toNanos(slowCallThresholdMs), slowCallRateThreshold,
+            TimeUnit.MILLISECONDS.toNanos(openDurationMs), halfOpenProbes);
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Evaluates the rule through its circuit breaker; a plain evaluation when disabled.
+     */
+    public RuleResult evaluate(FraudRule rule, Transaction transaction, RuleEvaluationContext context) {
+        SqlStatementScope sqlScope = sqlStatementTracker.openRule(rule.getRuleName(), context.getSqlStatementScope());
+        long start = System.nanoTime();
+        try {
+            RuleResult result = enabled
+                ? evaluateGuarded(rule, transaction, context, start)
+                : rule.evaluate(transaction, context);
+            fraudMetrics.recordRule(result, System.nanoTime() - start);
+            return result;
+        } finally {
+            sqlStatementTracker.closeRule(sqlScope, rule.getRuleName());
+        }
+    }
+    
+    public List<CircuitBreakerStats> getStats() {
+        List<CircuitBreakerStats> stats = new ArrayList<>(breakers.size());
+        for (CircuitBreaker breaker : breakers.values()) {
+            stats.add(breaker.stats());
+        }
+        return stats;
+    }
+    
+    /**
+     * Closes every breaker and clears its counts.
+     */
+    public void reset() {
+        breakers.values().forEach(CircuitBreaker::reset);
+    }
+    
+    private RuleResult evaluateGuarded(FraudRule rule, Transaction transaction, RuleEvaluationContext context,
+                                       long start) {
+        CircuitBreaker breaker = breakers.get(rule.getRuleName());
+        if (breaker == null) {
+            breaker = breakers.computeIfAbsent(rule.getRuleName(), name -> new CircuitBreaker(name, settings));
+        }
+        if (!breaker.tryAcquire()) {
+            return evaluateDegraded(rule, transaction, context);
+        }
+        
+        boolean failure = true;
+        try {
+            RuleResult result = rule.evaluate(transaction, context);
+            failure = result.isTimedOut() || "ERROR".equals(result.getSeverity());
+            return result;
+        } finally {
+            breaker.record(failure, System.nanoTime() - start);
+        }
+    }
+    
+    private RuleResult evaluateDegraded(FraudRule rule, Transaction transaction, RuleEvaluationContext context) {
+        try {
+            RuleResult approximation = rule.evaluateDegraded(transaction, context);
+            if (approximation != null) {
+                approximation.setDegraded(true);
+                return approximation;
+            }
+            
+            // Skipped: still keep the rule's in-memory history complete
+            rule.observe(transaction, context);
+        
+        } catch (Exception e) {
+            log.warn("Rule {} failed in degraded mode for transaction {}: {}",
+                rule.getRuleName(), transaction.getTransactionReference(), e.getMessage());
+        }
+        return RuleResult.degraded(rule.getRuleName());
+    }
+}
@@ -2,10 +2,14 @@ package com.FraudDetection.FraudDetection.service.rules;
 
 import com.FraudDetection.FraudDetection.entity.Transaction;
 import com.FraudDetection.FraudDetection.service.RuleResult;
+import com.FraudDetection.FraudDetection.service.ScoreThresholds;
+import com.FraudDetection.FraudDetection.service.profiling.AccountHashes;
+import com.FraudDetection.FraudDetection.service.profiling.FraudRuleEvaluatedEvent;
 import lombok.extern.slf4j.Slf4j;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public abstract class AbstractFraudRule implements FraudRule {
@@ -25,7 +29,7 @@ public abstract class AbstractFraudRule implements FraudRule {
     }
     
     @Override
-    public final RuleResult evaluate(Transaction transaction) {
+    public final RuleResult evaluate(Transaction transaction, RuleEvaluationContext context) {
         if (!enabled) {
             log.debug("Rule {} is disabled, skipping evaluation", ruleName);
             return RuleResult.builder()
@@ -39,14 +43,18 @@ public abstract class AbstractFraudRule implements FraudRule {
                 .build();
         }
         
-        long startTime = System.currentTimeMillis();
+        long startTime = System.nanoTime();
+        FraudRuleEvaluatedEvent event = new FraudRuleEvaluatedEvent();
+        event.begin();
         
         try {
             log.debug("Evaluating rule {} for transaction {}", ruleName, transaction.getTransactionReference());
             
-            RuleResult result = executeRule(transaction);
+            RuleResult result = executeRule(transaction, context);
+            event.end();
+            commitEvent(event, transaction, result.isTriggered(), result.getScore(), false);
             
-            long executionTime = System.currentTimeMillis() - startTime;
+            long executionTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
             result.setExecutionTimeMs(executionTime);
             result.setRuleVersion(ruleVersion);
             result.setEvaluatedAt(LocalDateTime.now());
@@ -57,7 +65,10 @@ public abstract class AbstractFraudRule implements FraudRule {
             return result;
             
         } catch (Exception e) {
-            long executionTime = System.currentTimeMillis() - startTime;
+            event.end();
+            commitEvent(event, transaction, false, null, true);
+            
+            long executionTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
             log.error("Error evaluating rule {} for transaction {}: {}", ruleName, transaction.getTransactionReference(), e.getMessage(), e);
             
             return RuleResult.builder()
@@ -73,12 +84,69 @@ public abstract class AbstractFraudRule implements FraudRule {
         }
     }
     
+    private void commitEvent(FraudRuleEvaluatedEvent event, Transaction transaction, boolean triggered,
+                             BigDecimal score, boolean failed) {
+        // False unless a flight recording is running, so the hash is only computed then
+        if (!event.shouldCommit()) {
+            return;
+        }
+        
+        event.transactionReference = transaction.getTransactionReference();
+        event.accountHash = AccountHashes.of(transaction.getAccountId());
+        event.ruleName = ruleName;
+        event.triggered = triggered;
+        event.score = score != null ? score.doubleValue() : 0;
+        event.failed = failed;
+        event.commit();
+    }
+    
+    @Override
+    public final RuleResult evaluateDegraded(Transaction transaction, RuleEvaluationContext context) {
+        if (!enabled) {
+            return null;
+        }
+        
+        RuleResult result = executeDegraded(transaction, context);
+        if (result != null) {
+            result.setRuleVersion(ruleVersion);
+            result.setEvaluatedAt(LocalDateTime.now());
+        }
+        return result;
+    }
+    
+    /**
+     * Subclasses with an in-memory approximation of their checks implement it here
+     * @param transaction The transaction to evaluate
+     * @param context Evaluation context, for its pending transactions only
+     * @return RuleResult of the approximation, or null when the rule has none
+     */
+    protected RuleResult executeDegraded(Transaction transaction, RuleEvaluationContext context) {
+        return null;
+    }
+    
+    @Override
+    public final void observe(Transaction transaction, RuleEvaluationContext context) {
+        if (enabled) {
+            recordHistory(transaction, context);
+        }
+    }
+    
+    /**
+     * Subclasses that keep state about past transactions record the transaction here;
+     * evaluation records it as part of executeRule
+     * @param transaction The transaction to record
+     * @param context Evaluation context, for its pending transactions only
+     */
+    protected void recordHistory(Transaction transaction, RuleEvaluationContext context) {
+    }
+    
     /**
      * Subclasses implement this method to provide rule-specific evaluation logic
      * @param transaction The transaction to evaluate
+     * @param context Inputs shared with the other rules evaluating the same transaction
      * @return RuleResult containing evaluation outcome
      */
-    protected abstract RuleResult executeRule(Transaction transaction);
+    protected abstract RuleResult executeRule(Transaction transaction, RuleEvaluationContext context);
     
     @Override
     public String getRuleName() {
@@ -135,11 +203,11 @@ public abstract class AbstractFraudRule implements FraudRule {
      * Helper method to determine severity based on score
      */
     protected String determineSeverity(BigDecimal score) {
-        if (score.compareTo(BigDecimal.valueOf(90)) >= 0) {
+        if (score.compareTo(ScoreThresholds.CRITICAL) >= 0) {
             return "CRITICAL";
-        } else if (score.compareTo(BigDecimal.valueOf(70)) >= 0) {
+        } else if (score.compareTo(ScoreThresholds.HIGH) >= 0) {
             return "HIGH";
-        } else if (score.compareTo(BigDecimal.valueOf(50)) >= 0) {
+        } else if (score.compareTo(ScoreThresholds.MEDIUM) >= 0) {
             return "MEDIUM";
         } else {
             return "LOW";
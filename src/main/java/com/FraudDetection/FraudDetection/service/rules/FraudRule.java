@@ -3,14 +3,55 @@ package com.FraudDetection.FraudDetection.service.rules;
 import com.FraudDetection.FraudDetection.entity.Transaction;
 import com.FraudDetection.FraudDetection.service.RuleResult;
 
+import java.time.Duration;
+import java.util.Set;
+
 public interface FraudRule {
     
     /**
      * Evaluates the fraud rule against a transaction
      * @param transaction The transaction to evaluate
+     * @param context Inputs shared with the other rules evaluating the same transaction
      * @return RuleResult containing evaluation outcome
      */
-    RuleResult evaluate(Transaction transaction);
+    RuleResult evaluate(Transaction transaction, RuleEvaluationContext context);
+    
+    /**
+     * Evaluates the rule on in-memory state only, without touching the database. Used
+     * while the rule's circuit breaker is open; the result may under-report
+     * @param transaction The transaction to evaluate
+     * @param context Evaluation context, for its pending transactions only
+     * @return RuleResult of the approximation, or null when the rule has none
+     */
+    default RuleResult evaluateDegraded(Transaction transaction, RuleEvaluationContext context) {
+        return null;
+    }
+    
+    /**
+     * Gets the shared inputs this rule reads from its evaluation context
+     * @return The required inputs
+     */
+    default Set<RuleInput> getRequiredInputs() {
+        return Set.of();
+    }
+    
+    /**
+     * Gets how far back the rule reads the account history, when it requires it
+     * @return The history window
+     */
+    default Duration getHistoryWindow() {
+        return Duration.ZERO;
+    }
+    
+    /**
+     * Updates whatever history the rule keeps about past transactions, without evaluating.
+     * Called instead of evaluate when the rule is skipped, so later transactions are still
+     * evaluated against a complete history
+     * @param transaction The transaction that was not evaluated
+     * @param context Evaluation context, for its pending transactions only
+     */
+    default void observe(Transaction transaction, RuleEvaluationContext context) {
+    }
     
     /**
      * Gets the name of the fraud rule
@@ -1,25 +1,36 @@
 package com.FraudDetection.FraudDetection.service.rules;
 
 import com.FraudDetection.FraudDetection.entity.Transaction;
-import com.FraudDetection.FraudDetection.repository.TransactionRepository;
 import com.FraudDetection.FraudDetection.service.RuleResult;
-import lombok.RequiredArgsConstructor;
+import com.FraudDetection.FraudDetection.service.explain.Explanation;
+import com.FraudDetection.FraudDetection.service.explain.ReasonCode;
+import com.FraudDetection.FraudDetection.service.geo.Gazetteer;
+import com.FraudDetection.FraudDetection.service.geo.GeoDistance;
+import com.FraudDetection.FraudDetection.service.geo.ResolvedLocation;
+import com.FraudDetection.FraudDetection.service.geo.TrajectoryCache;
+import com.FraudDetection.FraudDetection.service.geo.TrajectoryPoint;
+import com.FraudDetection.FraudDetection.service.velocity.DistinctCounterStore;
+import com.FraudDetection.FraudDetection.service.velocity.DistinctFeature;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Component
 @Slf4j
 public class GeoLocationFraudRule extends AbstractFraudRule {
     
-    private final TransactionRepository transactionRepository;
+    private final DistinctCounterStore distinctCounterStore;
+    private final Gazetteer gazetteer;
+    private final TrajectoryCache trajectoryCache;
     
     @Value("${fraud.rules.geo.max-distance-km:1000}")
     private double maxDistanceKm;
@@ -30,33 +41,73 @@ public class GeoLocationFraudRule extends AbstractFraudRule {
     @Value("${fraud.rules.geo.high-risk-countries:}")
     private List<String> highRiskCountries;
     
-    public GeoLocationFraudRule(TransactionRepository transactionRepository) {
+    public GeoLocationFraudRule(DistinctCounterStore distinctCounterStore, Gazetteer gazetteer,
+                                TrajectoryCache trajectoryCache) {
         super("GEO_LOCATION_RULE", "1.0", "Detects impossible travel and suspicious geographical patterns", true, 90);
-        this.transactionRepository = transactionRepository;
+        this.distinctCounterStore = distinctCounterStore;
+        this.gazetteer = gazetteer;
+        this.trajectoryCache = trajectoryCache;
     }
     
     @Override
-    protected RuleResult executeRule(Transaction transaction) {
+    public Set<RuleInput> getRequiredInputs() {
+        return Set.of(RuleInput.LAST_TRANSACTION, RuleInput.ACCOUNT_HISTORY);
+    }
+    
+    @Override
+    public Duration getHistoryWindow() {
+        return Duration.ofHours(6);
+    }
+    
+    @Override
+    protected void recordHistory(Transaction transaction, RuleEvaluationContext context) {
+        trajectoryCache.record(transaction, context.getPendingTransactions());
+        distinctCounterStore.record(transaction, context.getPendingTransactions());
+    }
+    
+    @Override
+    protected RuleResult executeRule(Transaction transaction, RuleEvaluationContext context) {
+        // Check for impossible travel
+        ImpossibleTravelCheck travelCheck = checkImpossibleTravel(transaction, context);
+        
+        // Check for multiple countries in short period
+        MultiCountryCheck multiCountryCheck = checkMultipleCountries(transaction, context);
+        
+        return assess(transaction, travelCheck, multiCountryCheck);
+    }
+    
+    /**
+     * Checks what the trajectory cache and the distinct counters can answer, when enabled;
+     * the high-risk country check needs no history.
+     */
+    @Override
+    protected RuleResult executeDegraded(Transaction transaction, RuleEvaluationContext context) {
+        ImpossibleTravelCheck travelCheck = trajectoryCache.isEnabled()
+            ? checkTrajectory(transaction, context,
+                trajectoryCache.cachedPoints(transaction, context.getPendingTransactions()))
+            : noPreviousLocation();
+        
+        distinctCounterStore.record(transaction, context.getPendingTransactions());
+        MultiCountryCheck multiCountryCheck = distinctCounterStore.isEnabled()
+            ? estimateMultipleCountries(transaction, context)
+            : MultiCountryCheck.builder().countryCount(0).countries(List.of()).suspicious(false).build();
+        
+        return assess(transaction, travelCheck, multiCountryCheck);
+    }
+    
+    private RuleResult assess(Transaction transaction, ImpossibleTravelCheck travelCheck, MultiCountryCheck multiCountryCheck) {
         String accountId = transaction.getAccountId();
         String currentLocation = transaction.getLocation();
         String currentCountry = extractCountryFromLocation(transaction.getLocation());
-        LocalDateTime currentTime = transaction.getTimestamp();
-        
-        // Check for impossible travel
-        ImpossibleTravelCheck travelCheck = checkImpossibleTravel(accountId, currentLocation, currentTime);
         
         // Check for high-risk country
         boolean isHighRiskCountry = checkHighRiskCountry(currentCountry);
         
-        // Check for multiple countries in short period
-        MultiCountryCheck multiCountryCheck = checkMultipleCountries(accountId, currentTime);
-        
         // Determine if rule is triggered
         boolean triggered = travelCheck.isImpossibleTravel() || isHighRiskCountry || multiCountryCheck.isSuspicious();
         
         if (triggered) {
             BigDecimal score = calculateGeoScore(travelCheck, isHighRiskCountry, multiCountryCheck);
-            String reason = buildGeoReason(travelCheck, isHighRiskCountry, multiCountryCheck, currentCountry);
             
             Map<String, Object> ruleData = new HashMap<>();
             ruleData.put("currentLocation", currentLocation);
@@ -72,7 +123,7 @@ public class GeoLocationFraudRule extends AbstractFraudRule {
                 .ruleName(ruleName)
                 .triggered(true)
                 .score(score)
-                .reason(reason)
+                .explanation(buildGeoReason(travelCheck, isHighRiskCountry, multiCountryCheck, currentCountry))
                 .severity(determineSeverity(score))
                 .ruleData(ruleData)
                 .recommendation(getGeoRecommendation(score, isHighRiskCountry))
@@ -82,28 +133,52 @@ public class GeoLocationFraudRule extends AbstractFraudRule {
         return createNotTriggeredResult();
     }
     
-    private ImpossibleTravelCheck checkImpossibleTravel(String accountId, String currentLocation, LocalDateTime currentTime) {
-        LocalDateTime lookbackTime = currentTime.minusHours(24);
+    private ImpossibleTravelCheck checkImpossibleTravel(Transaction transaction, RuleEvaluationContext context) {
+        if (trajectoryCache.isEnabled()) {
+            return checkTrajectory(transaction, context,
+                trajectoryCache.recentPoints(transaction, context.getPendingTransactions()));
+        }
         
-        Optional<Transaction> lastTransaction = transactionRepository
-            .findFirstByAccountIdAndTimestampBeforeOrderByTimestampDesc(accountId, currentTime);
+        Optional<Transaction> lastTransaction = context.getLastTransaction();
         
         if (lastTransaction.isEmpty()) {
-            return ImpossibleTravelCheck.builder()
-                .impossibleTravel(false)
-                .distanceKm(0.0)
-                .timeDifferenceMinutes(0)
-                .build();
+            return noPreviousLocation();
         }
         
         Transaction last = lastTransaction.get();
-        String lastLocation = last.getLocation();
+        return checkLeg(last.getLocation(), locate(last), last.getTimestamp(), transaction, locate(transaction));
+    }
+    
+    /**
+     * Checks travel from each of the account's recent positions, not just the last one,
+     * so a burst such as A, B, A is caught even when the last two are close together.
+     */
+    private ImpossibleTravelCheck checkTrajectory(Transaction transaction, RuleEvaluationContext context,
+                                                  List<TrajectoryPoint> recentPoints) {
+        ResolvedLocation currentPlace = locate(transaction);
+        ImpossibleTravelCheck result = null;
         
-        // Calculate distance between locations (simplified calculation)
-        double distance = calculateDistance(lastLocation, currentLocation);
+        for (TrajectoryPoint point : recentPoints) {
+            ImpossibleTravelCheck leg = checkLeg(point.location(), point.place(), point.timestamp(), transaction, currentPlace);
+            
+            // Report the most recent leg unless an older one is impossible; then the longest impossible one
+            if (result == null || (leg.isImpossibleTravel()
+                && (!result.isImpossibleTravel() || leg.getDistanceKm() > result.getDistanceKm()))) {
+                result = leg;
+            }
+        }
+        
+        trajectoryCache.record(transaction, context.getPendingTransactions());
+        return result != null ? result : noPreviousLocation();
+    }
+    
+    private ImpossibleTravelCheck checkLeg(String lastLocation, ResolvedLocation lastPlace, LocalDateTime lastTime,
+                                           Transaction transaction, ResolvedLocation currentPlace) {
+        LocalDateTime currentTime = transaction.getTimestamp();
+        double distance = calculateDistance(lastPlace, lastLocation, currentPlace, transaction.getLocation());
         
         // Calculate time difference in minutes
-        long timeDiffMinutes = java.time.Duration.between(last.getTimestamp(), currentTime).toMinutes();
+        long timeDiffMinutes = java.time.Duration.between(lastTime, currentTime).toMinutes();
         
         // Check if travel is impossible (distance too great for time period)
         // Assuming maximum travel speed of 800 km/h (commercial aircraft)
@@ -115,7 +190,15 @@ public class GeoLocationFraudRule extends AbstractFraudRule {
             .distanceKm(distance)
             .timeDifferenceMinutes((int) timeDiffMinutes)
             .lastLocation(lastLocation)
-            .lastTransactionTime(last.getTimestamp())
+            .lastTransactionTime(lastTime)
+            .build();
+    }
+    
+    private ImpossibleTravelCheck noPreviousLocation() {
+        return ImpossibleTravelCheck.builder()
+            .impossibleTravel(false)
+            .distanceKm(0.0)
+            .timeDifferenceMinutes(0)
             .build();
     }
     
@@ -126,14 +209,17 @@ public class GeoLocationFraudRule extends AbstractFraudRule {
         return highRiskCountries.contains(country.toUpperCase());
     }
     
-    private MultiCountryCheck checkMultipleCountries(String accountId, LocalDateTime currentTime) {
-        LocalDateTime lookbackTime = currentTime.minusHours(6);
+    private MultiCountryCheck checkMultipleCountries(Transaction transaction, RuleEvaluationContext context) {
+        distinctCounterStore.record(transaction, context.getPendingTransactions());
         
-        List<String> recentLocations = transactionRepository
-            .findDistinctCountriesByAccountIdAndTimestampBetween(accountId, lookbackTime, currentTime);
+        if (distinctCounterStore.isReady()) {
+            return estimateMultipleCountries(transaction, context);
+        }
         
-        // Extract unique countries from the location strings
-        List<String> recentCountries = recentLocations.stream()
+        // Extract unique countries from the location strings; the history includes the
+        // in-flight transaction
+        List<String> recentCountries = context.getAccountHistory(Duration.ofHours(6)).stream()
+            .map(Transaction::getLocation)
             .map(this::extractCountryFromLocation)
             .distinct()
             .toList();
@@ -148,15 +234,47 @@ public class GeoLocationFraudRule extends AbstractFraudRule {
             .build();
     }
     
-    private double calculateDistance(String location1, String location2) {
-        // Simplified distance calculation
-        // In a real implementation, you would use actual coordinates and proper distance calculation
+    private MultiCountryCheck estimateMultipleCountries(Transaction transaction, RuleEvaluationContext context) {
+        int countryCount = (int) distinctCounterStore.estimate(DistinctFeature.COUNTRIES_PER_ACCOUNT, transaction, 6,
+            context.getPendingTransactions());
+        
+        return MultiCountryCheck.builder()
+            .countryCount(countryCount)
+            .countries(List.of())
+            .suspicious(countryCount > 3)
+            .build();
+    }
+    
+    private double calculateDistance(ResolvedLocation fromPlace, String fromLocation, ResolvedLocation toPlace, String toLocation) {
+        if (fromPlace.cityLevel() && toPlace.cityLevel()) {
+            return GeoDistance.haversineKm(fromPlace.latitude(), fromPlace.longitude(), toPlace.latitude(), toPlace.longitude());
+        }
+        
+        // Country centres only help to tell different countries apart
+        if (fromPlace.located() && toPlace.located() && !fromPlace.country().equals(toPlace.country())) {
+            return GeoDistance.haversineKm(fromPlace.latitude(), fromPlace.longitude(), toPlace.latitude(), toPlace.longitude());
+        }
+        
+        return estimateDistanceFromNames(fromLocation, toLocation);
+    }
+    
+    private ResolvedLocation locate(Transaction transaction) {
+        ResolvedLocation resolved = gazetteer.resolve(transaction.getLocation());
+        
+        // Captured device coordinates beat any gazetteer position
+        if (transaction.getLatitude() != null && transaction.getLongitude() != null) {
+            return ResolvedLocation.exact(resolved.country(),
+                transaction.getLatitude().doubleValue(), transaction.getLongitude().doubleValue());
+        }
+        return resolved;
+    }
+    
+    private double estimateDistanceFromNames(String location1, String location2) {
+        // Fallback for places the gazetteer does not know
         if (location1 == null || location2 == null || location1.equals(location2)) {
             return 0.0;
         }
         
-        // Mock calculation based on location string similarity
-        // This should be replaced with actual geo-coordinate distance calculation
         if (location1.equalsIgnoreCase(location2)) {
             return 0.0;
         }
@@ -217,41 +335,28 @@ public class GeoLocationFraudRule extends AbstractFraudRule {
         return score.min(BigDecimal.valueOf(100));
     }
     
-    private String buildGeoReason(ImpossibleTravelCheck travelCheck, boolean isHighRiskCountry, 
-                                  MultiCountryCheck multiCountryCheck, String currentCountry) {
-        StringBuilder reason = new StringBuilder("Geographical anomaly detected: ");
+    private Explanation buildGeoReason(ImpossibleTravelCheck travelCheck, boolean isHighRiskCountry,
+                                       MultiCountryCheck multiCountryCheck, String currentCountry) {
+        Explanation reason = Explanation.of(ReasonCode.GEO_ANOMALY);
         
         if (travelCheck.isImpossibleTravel()) {
-            reason.append(String.format("Impossible travel detected - %.2f km in %d minutes; ", 
-                travelCheck.getDistanceKm(), travelCheck.getTimeDifferenceMinutes()));
+            reason.add(ReasonCode.IMPOSSIBLE_TRAVEL, travelCheck.getDistanceKm(), travelCheck.getTimeDifferenceMinutes());
         }
         
         if (isHighRiskCountry) {
-            reason.append(String.format("Transaction from high-risk country: %s; ", currentCountry));
+            reason.add(ReasonCode.HIGH_RISK_COUNTRY, currentCountry);
         }
         
         if (multiCountryCheck.isSuspicious()) {
-            reason.append(String.format("Multiple countries (%d) accessed in short period; ", 
-                multiCountryCheck.getCountryCount()));
+            reason.add(ReasonCode.MULTIPLE_COUNTRIES, multiCountryCheck.getCountryCount());
         }
         
-        return reason.toString().trim();
+        return reason;
     }
     
     private String extractCountryFromLocation(String location) {
-        if (location == null || location.trim().isEmpty()) {
-            return "UNKNOWN";
-        }
-        
-        // Extract country from location string (assuming format: "City, State, Country")
-        String[] parts = location.split(",");
-        if (parts.length >= 3) {
-            return parts[parts.length - 1].trim().toUpperCase();
-        } else if (parts.length == 2) {
-            return parts[1].trim().toUpperCase();
-        } else {
-            return parts[0].trim().toUpperCase();
-        }
+        // Location format is assumed to be "City, State, Country"; parsed once per distinct string
+        return gazetteer.resolve(location).country();
     }
     
     private String getGeoRecommendation(BigDecimal score, boolean isHighRiskCountry) {
@@ -0,0 +1,164 @@
+package com.FraudDetection.FraudDetection.service.rules;
+
+import com.FraudDetection.FraudDetection.entity.Transaction;
+import com.FraudDetection.FraudDetection.service.RuleResult;
+import com.FraudDetection.FraudDetection.service.explain.Explanation;
+import com.FraudDetection.FraudDetection.service.explain.ReasonCode;
+import com.FraudDetection.FraudDetection.service.velocity.DistinctCounterStore;
+import com.FraudDetection.FraudDetection.service.velocity.DistinctFeature;
+import com.FraudDetection.FraudDetection.service.velocity.MultiDimensionalVelocityEngine;
+import com.FraudDetection.FraudDetection.service.velocity.PendingTransactions;
+import com.FraudDetection.FraudDetection.service.velocity.VelocityViolation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Slf4j
+public class MultiDimensionalVelocityRule extends AbstractFraudRule {
+    
+    private final MultiDimensionalVelocityEngine velocityEngine;
+    private final DistinctCounterStore distinctCounterStore;
+    
+    // Distinct accounts one device may use within a day; 0 disables the check
+    @Value("${fraud.rules.velocity.max-accounts-per-device:0}")
+    private int maxAccountsPerDevice;
+    
+    public MultiDimensionalVelocityRule(MultiDimensionalVelocityEngine velocityEngine,
+                                        DistinctCounterStore distinctCounterStore,
+                                        @Value("${fraud.rules.velocity.multi-dimension.enabled:false}") boolean enabled) {
+        super("MULTI_DIMENSION_VELOCITY_RULE", "1.0",
+            "Detects velocity anomalies per device, IP address, merchant and card", enabled, 85);
+        this.velocityEngine = velocityEngine;
+        this.distinctCounterStore = distinctCounterStore;
+    }
+    
+    @Override
+    protected void recordHistory(Transaction transaction, RuleEvaluationContext context) {
+        velocityEngine.record(transaction, context.getPendingTransactions());
+        distinctCounterStore.record(transaction, context.getPendingTransactions());
+    }
+    
+    @Override
+    protected RuleResult executeRule(Transaction transaction, RuleEvaluationContext context) {
+        if (!velocityEngine.isReady()) {
+            // Limits checked against half-loaded windows would only under-report
+            recordHistory(transaction, context);
+            return createNotTriggeredResult();
+        }
+        
+        List<VelocityViolation> violations = velocityEngine.recordAndEvaluate(transaction, context.getPendingTransactions());
+        long accountsOnDevice = countAccountsOnDevice(transaction, context);
+        boolean sharedDevice = maxAccountsPerDevice > 0 && accountsOnDevice > maxAccountsPerDevice;
+        
+        if (violations.isEmpty() && !sharedDevice) {
+            return createNotTriggeredResult();
+        }
+        
+        // The worst dimension drives the score
+        BigDecimal score = BigDecimal.ZERO;
+        for (VelocityViolation violation : violations) {
+            score = score.max(calculateDimensionScore(violation));
+        }
+        
+        if (sharedDevice) {
+            // Many accounts behind one device points to account takeover or mule activity
+            long extraAccounts = accountsOnDevice - maxAccountsPerDevice;
+            score = score.max(BigDecimal.valueOf(Math.min(100, 60 + extraAccounts * 10)));
+        }
+        
+        Map<String, Object> ruleData = new HashMap<>();
+        if (accountsOnDevice > 0) {
+            ruleData.put("distinctAccountsOnDevice", accountsOnDevice);
+        }
+        for (VelocityViolation violation : violations) {
+            ruleData.put(violation.dimension() + ".key", violation.key());
+            ruleData.put(violation.dimension() + ".hourlyTransactionCount", violation.hourly().count());
+            ruleData.put(violation.dimension() + ".hourlyAmount", violation.hourly().amount());
+            ruleData.put(violation.dimension() + ".dailyTransactionCount", violation.daily().count());
+            ruleData.put(violation.dimension() + ".dailyAmount", violation.daily().amount());
+        }
+        
+        return RuleResult.builder()
+            .ruleName(ruleName)
+            .triggered(true)
+            .score(score)
+            .explanation(buildViolationReason(violations, sharedDevice, transaction.getDeviceId(), accountsOnDevice))
+            .severity(determineSeverity(score))
+            .ruleData(ruleData)
+            .recommendation(score.compareTo(BigDecimal.valueOf(80)) >= 0 ? "IMMEDIATE_REVIEW_REQUIRED" : "ENHANCED_MONITORING")
+            .build();
+    }
+    
+    private long countAccountsOnDevice(Transaction transaction, RuleEvaluationContext context) {
+        PendingTransactions pending = context.getPendingTransactions();
+        distinctCounterStore.record(transaction, pending);
+        
+        if (maxAccountsPerDevice <= 0 || !distinctCounterStore.isReady() || transaction.getDeviceId() == null) {
+            return 0;
+        }
+        
+        return distinctCounterStore.estimate(DistinctFeature.ACCOUNTS_PER_DEVICE, transaction, 24, pending);
+    }
+    
+    private BigDecimal calculateDimensionScore(VelocityViolation violation) {
+        double score = 0;
+        
+        // Same weighting as the account velocity rule: hourly violations are more severe
+        if (violation.isHourlyCountViolated()) {
+            score += 50.0 * violation.hourly().count() / violation.maxTransactionsPerHour();
+        }
+        
+        if (violation.isHourlyAmountViolated()) {
+            score += 40.0 * violation.hourly().amountCents() / violation.maxAmountPerHourCents();
+        }
+        
+        if (violation.isDailyCountViolated()) {
+            score += 30.0 * violation.daily().count() / violation.maxTransactionsPerDay();
+        }
+        
+        if (violation.isDailyAmountViolated()) {
+            score += 25.0 * violation.daily().amountCents() / violation.maxAmountPerDayCents();
+        }
+        
+        return BigDecimal.valueOf(Math.min(score, 100.0));
+    }
+    
+    private Explanation buildViolationReason(List<VelocityViolation> violations, boolean sharedDevice,
+                                             String deviceId, long accountsOnDevice) {
+        Explanation reason = Explanation.of(ReasonCode.VELOCITY_VIOLATION);
+        
+        if (sharedDevice) {
+            reason.add(ReasonCode.SHARED_DEVICE, deviceId, accountsOnDevice, maxAccountsPerDevice);
+        }
+        
+        for (VelocityViolation violation : violations) {
+            if (violation.isHourlyCountViolated()) {
+                reason.add(ReasonCode.DIMENSION_HOURLY_COUNT_EXCEEDED, violation.dimension(), violation.key(),
+                    violation.hourly().count(), violation.maxTransactionsPerHour());
+            }
+            
+            if (violation.isHourlyAmountViolated()) {
+                reason.add(ReasonCode.DIMENSION_HOURLY_AMOUNT_EXCEEDED, violation.dimension(), violation.key(),
+                    violation.hourly().amount(), BigDecimal.valueOf(violation.maxAmountPerHourCents(), 2));
+            }
+            
+            if (violation.isDailyCountViolated()) {
+                reason.add(ReasonCode.DIMENSION_DAILY_COUNT_EXCEEDED, violation.dimension(), violation.key(),
+                    violation.daily().count(), violation.maxTransactionsPerDay());
+            }
+            
+            if (violation.isDailyAmountViolated()) {
+                reason.add(ReasonCode.DIMENSION_DAILY_AMOUNT_EXCEEDED, violation.dimension(), violation.key(),
+                    violation.daily().amount(), BigDecimal.valueOf(violation.maxAmountPerDayCents(), 2));
+            }
+        }
+        
+        return reason;
+    }
+}
@@ -0,0 +1,192 @@
+package com.FraudDetection.FraudDetection.service.rules;
+
+import com.FraudDetection.FraudDetection.entity.Transaction;
+import com.FraudDetection.FraudDetection.repository.TransactionRepository;
+import com.FraudDetection.FraudDetection.service.metrics.SqlStatementScope;
+import com.FraudDetection.FraudDetection.service.profile.RiskProfile;
+import com.FraudDetection.FraudDetection.service.profile.RiskProfileCache;
+import com.FraudDetection.FraudDetection.service.velocity.PendingTransactions;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Inputs shared by the rules evaluating one transaction, each loaded on first use and at
+ * most once. The account history is fetched once for the widest window any rule declared
+ * and narrower windows are cut from it; the last transaction is taken from that history
+ * when it is in the window. Safe to use from rules evaluated in parallel: loads are
+ * guarded by locks rather than monitors, so a rule waiting on the database on a virtual
+ * thread does not pin its carrier, and the history and the profile load independently.
+ */
+@Slf4j
+public final class RuleEvaluationContext {
+    
+    private final Transaction transaction;
+    private final Duration historyWindow;
+    private final Duration queryTimeout;
+    private final TransactionRepository transactionRepository;
+    private final RiskProfileCache riskProfileCache;
+    private final SqlStatementScope sqlStatementScope;
+    private final PendingTransactions pendingTransactions;
+    
+    private final ReentrantLock historyLock = new ReentrantLock();
+    private final ReentrantLock riskProfileLock = new ReentrantLock();
+    private final AtomicInteger queries = new AtomicInteger();
+    
+    // Guarded by historyLock
+    private List<Transaction> history;
+    private Optional<Transaction> lastTransaction;
+    
+    // Guarded by riskProfileLock
+    private RiskProfile riskProfile;
+    private boolean riskProfileLoaded;
+    
+    RuleEvaluationContext(Transaction transaction, Duration historyWindow, Duration queryTimeout,
+                          TransactionRepository transactionRepository, RiskProfileCache riskProfileCache,
+                          SqlStatementScope sqlStatementScope, PendingTransactions pendingTransactions) {
+        this.transaction = transaction;
+        this.historyWindow = historyWindow;
+        this.queryTimeout = queryTimeout;
+        this.transactionRepository = transactionRepository;
+        this.riskProfileCache = riskProfileCache;
+        this.sqlStatementScope = sqlStatementScope;
+        this.pendingTransactions = pendingTransactions;
+    }
+    
+    public Transaction getTransaction() {
+        return transaction;
+    }
+    
+    /**
+     * The statement scope of the transaction being processed, so rules evaluated on other
+     * threads count toward it; null when statements are not tracked.
+     */
+    public SqlStatementScope getSqlStatementScope() {
+        return sqlStatementScope;
+    }
+    
+    /**
+     * Transactions scored in the same database transaction and not committed yet, which
+     * stateful rules record into and read back; null when scoring outside a transaction.
+     */
+    public PendingTransactions getPendingTransactions() {
+        return pendingTransactions;
+    }
+    
+    /**
+     * The account's transactions from {@code window} before this transaction up to it, both
+     * ends inclusive, with this transaction included even when it is not committed yet.
+     */
+    public List<Transaction> getAccountHistory(Duration window) {
+        LocalDateTime end = transaction.getTimestamp();
+        LocalDateTime start = end.minus(window);
+        
+        historyLock.lock();
+        try {
+            if (history == null || window.compareTo(historyWindow) > 0) {
+                // A rule that did not declare its window widens the fetch for everyone after it
+                Duration fetchWindow = window.compareTo(historyWindow) > 0 ? window : historyWindow;
+                history = includeInFlight(transactionRepository.findAccountHistory(
+                    transaction.getAccountId(), end.minus(fetchWindow), end, queryTimeout));
+                queries.incrementAndGet();
+            }
+            
+            List<Transaction> inWindow = new ArrayList<>(history.size());
+            for (Transaction previous : history) {
+                LocalDateTime timestamp = previous.getTimestamp();
+                if (!timestamp.isBefore(start) && !timestamp.isAfter(end)) {
+                    inWindow.add(previous);
+                }
+            }
+            return inWindow;
+        } finally {
+            historyLock.unlock();
+        }
+    }
+    
+    /**
+     * The account's latest transaction strictly before this one.
+     */
+    public Optional<Transaction> getLastTransaction() {
+        historyLock.lock();
+        try {
+            if (lastTransaction != null) {
+                return lastTransaction;
+            }
+            
+            LocalDateTime current = transaction.getTimestamp();
+            if (history != null || !historyWindow.isZero()) {
+                Transaction latest = null;
+                for (Transaction previous : getAccountHistory(historyWindow)) {
+                    if (previous.getTimestamp().isBefore(current)
+                            && (latest == null || previous.getTimestamp().isAfter(latest.getTimestamp()))) {
+                        latest = previous;
+                    }
+                }
+                if (latest != null) {
+                    lastTransaction = Optional.of(latest);
+                    return lastTransaction;
+                }
+            }
+            
+            // Nothing in the window: the last transaction, if any, is older
+            lastTransaction = transactionRepository.findLastBefore(transaction.getAccountId(), current, queryTimeout);
+            queries.incrementAndGet();
+            return lastTransaction;
+        } finally {
+            historyLock.unlock();
+        }
+    }
+    
+    /**
+     * Account and customer attributes, or null when the lookup failed.
+     */
+    public RiskProfile getRiskProfile() {
+        riskProfileLock.lock();
+        try {
+            if (!riskProfileLoaded) {
+                try {
+                    riskProfile = riskProfileCache.get(transaction.getAccountId());
+                } catch (Exception e) {
+                    log.error("Error loading risk profile for account {}: {}", transaction.getAccountId(), e.getMessage());
+                }
+                riskProfileLoaded = true;
+                queries.incrementAndGet();
+            }
+            return riskProfile;
+        } finally {
+            riskProfileLock.unlock();
+        }
+    }
+    
+    /**
+     * Loads this context performed so far; profile lookups count even when served from cache.
+     */
+    public int getQueryCount() {
+        return queries.get();
+    }
+    
+    /**
+     * Queries issued outside the request's database transaction (parallel evaluation, or
+     * scoring before the row is written) cannot see the uncommitted row.
+     */
+    private List<Transaction> includeInFlight(List<Transaction> fetched) {
+        for (Transaction previous : fetched) {
+            if (Objects.equals(previous.getTransactionReference(), transaction.getTransactionReference())) {
+                return fetched;
+            }
+        }
+        
+        List<Transaction> merged = new ArrayList<>(fetched.size() + 1);
+        merged.addAll(fetched);
+        merged.add(transaction);
+        return merged;
+    }
+}
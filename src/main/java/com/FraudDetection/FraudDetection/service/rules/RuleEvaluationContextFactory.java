@@ -0,0 +1,70 @@
+package com.FraudDetection.FraudDetection.service.rules;
+
+import com.FraudDetection.FraudDetection.entity.Transaction;
+import com.FraudDetection.FraudDetection.repository.TransactionRepository;
+import com.FraudDetection.FraudDetection.service.RuleExecutionMode;
+import com.FraudDetection.FraudDetection.service.metrics.SqlStatementScope;
+import com.FraudDetection.FraudDetection.service.profile.RiskProfileCache;
+import com.FraudDetection.FraudDetection.service.velocity.PendingTransactions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Creates the {@link RuleEvaluationContext} of each transaction, sized from the inputs the
+ * enabled rules declare. In parallel execution the history queries get a statement timeout
+ * of the rule time budget, since cancelling a rule that ran out of time does not abort the
+ * query it is blocked in. Sequential rules share the database transaction, which a
+ * timed-out statement would abort, so their queries run without one.
+ */
+@Component
+@Slf4j
+public class RuleEvaluationContextFactory {
+    
+    private final TransactionRepository transactionRepository;
+    private final RiskProfileCache riskProfileCache;
+    private final Duration historyWindow;
+    private final Duration queryTimeout;
+    
+    public RuleEvaluationContextFactory(List<FraudRule> fraudRules, TransactionRepository transactionRepository,
+                                        RiskProfileCache riskProfileCache,
+                                        @Value("${fraud.rules.execution.mode:SEQUENTIAL}") RuleExecutionMode executionMode,
+                                        @Value("${fraud.rules.execution.per-rule-timeout-ms:200}") long perRuleTimeoutMs,
+                                        @Value("${fraud.rules.execution.overall-timeout-ms:250}") long overallTimeoutMs) {
+        this.transactionRepository = transactionRepository;
+        this.riskProfileCache = riskProfileCache;
+        this.queryTimeout = executionMode == RuleExecutionMode.PARALLEL
+            ? Duration.ofMillis(Math.min(perRuleTimeoutMs, overallTimeoutMs))
+            : null;
+        
+        Duration widest = Duration.ZERO;
+        for (FraudRule rule : fraudRules) {
+            if (rule.isEnabled() && rule.getRequiredInputs().contains(RuleInput.ACCOUNT_HISTORY)
+                    && rule.getHistoryWindow().compareTo(widest) > 0) {
+                widest = rule.getHistoryWindow();
+            }
+        }
+        this.historyWindow = widest;
+        log.info("Rule evaluation context fetches {} of account history", historyWindow);
+    }
+    
+    public RuleEvaluationContext create(Transaction transaction) {
+        return create(transaction, PendingTransactions.current());
+    }
+    
+    /**
+     * For scoring ahead of the database transaction that writes the result, which then
+     * commits {@code pendingTransactions} through {@link PendingTransactions#attach()}.
+     */
+    public RuleEvaluationContext create(Transaction transaction, PendingTransactions pendingTransactions) {
+        return new RuleEvaluationContext(transaction, historyWindow, queryTimeout, transactionRepository, riskProfileCache,
+            SqlStatementScope.current(), pendingTransactions);
+    }
+    
+    public Duration getHistoryWindow() {
+        return historyWindow;
+    }
+}
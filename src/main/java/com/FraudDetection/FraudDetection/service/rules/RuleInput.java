@@ -0,0 +1,17 @@
+package com.FraudDetection.FraudDetection.service.rules;
+
+/**
+ * Shared inputs a rule can read from its {@link RuleEvaluationContext}. Rules declare the
+ * inputs they use so the context can load them in as few queries as possible.
+ */
+public enum RuleInput {
+    
+    // The account's transactions within the rule's history window, this one included
+    ACCOUNT_HISTORY,
+    
+    // The account's latest transaction before this one
+    LAST_TRANSACTION,
+    
+    // Account and customer attributes
+    RISK_PROFILE
+}
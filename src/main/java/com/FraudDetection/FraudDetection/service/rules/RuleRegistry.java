@@ -0,0 +1,63 @@
+package com.FraudDetection.FraudDetection.service.rules;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns each registered fraud rule a small, stable integer id, so that sets of rules can
+ * be kept as bitsets and looked up without comparing names.
+ */
+@Component
+public class RuleRegistry {
+    
+    public static final int UNKNOWN = -1;
+    
+    private final List<String> ruleNames;
+    private final Map<String, Integer> ids;
+    
+    public RuleRegistry(List<FraudRule> fraudRules) {
+        List<String> names = fraudRules.stream()
+            .map(FraudRule::getRuleName)
+            .distinct()
+            .sorted()
+            .toList();
+        
+        Map<String, Integer> idsByName = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            idsByName.put(names.get(i), i);
+        }
+        
+        this.ruleNames = names;
+        this.ids = Collections.unmodifiableMap(idsByName);
+    }
+    
+    /**
+     * The rule's id, or {@link #UNKNOWN} for names of no registered rule.
+     */
+    public int idOf(String ruleName) {
+        if (ruleName == null) {
+            return UNKNOWN;
+        }
+        return ids.getOrDefault(ruleName, UNKNOWN);
+    }
+    
+    public String nameOf(int ruleId) {
+        return ruleNames.get(ruleId);
+    }
+    
+    public boolean isRegistered(String ruleName) {
+        return ids.containsKey(ruleName);
+    }
+    
+    public int size() {
+        return ruleNames.size();
+    }
+    
+    public List<String> getRuleNames() {
+        return ruleNames;
+    }
+}
@@ -1,24 +1,30 @@
 package com.FraudDetection.FraudDetection.service.rules;
 
 import com.FraudDetection.FraudDetection.entity.Transaction;
-import com.FraudDetection.FraudDetection.repository.TransactionRepository;
 import com.FraudDetection.FraudDetection.service.RuleResult;
+import com.FraudDetection.FraudDetection.service.explain.Explanation;
+import com.FraudDetection.FraudDetection.service.explain.ReasonCode;
+import com.FraudDetection.FraudDetection.service.velocity.PendingTransactions;
+import com.FraudDetection.FraudDetection.service.velocity.VelocityCounterStore;
+import com.FraudDetection.FraudDetection.service.velocity.WindowTotals;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Component
 @Slf4j
 public class VelocityFraudRule extends AbstractFraudRule {
     
-    private final TransactionRepository transactionRepository;
+    private final VelocityCounterStore velocityCounterStore;
     
     @Value("${fraud.rules.velocity.max-transactions-per-hour:10}")
     private int maxTransactionsPerHour;
@@ -32,28 +38,83 @@ public class VelocityFraudRule extends AbstractFraudRule {
     @Value("${fraud.rules.velocity.max-amount-per-day:50000}")
     private BigDecimal maxAmountPerDay;
     
-    public VelocityFraudRule(TransactionRepository transactionRepository) {
+    public VelocityFraudRule(VelocityCounterStore velocityCounterStore) {
         super("VELOCITY_RULE", "1.0", "Detects unusual transaction velocity patterns", true, 80);
-        this.transactionRepository = transactionRepository;
+        this.velocityCounterStore = velocityCounterStore;
     }
     
     @Override
-    protected RuleResult executeRule(Transaction transaction) {
+    public Set<RuleInput> getRequiredInputs() {
+        return Set.of(RuleInput.ACCOUNT_HISTORY);
+    }
+    
+    @Override
+    public Duration getHistoryWindow() {
+        return Duration.ofDays(1);
+    }
+    
+    @Override
+    protected void recordHistory(Transaction transaction, RuleEvaluationContext context) {
+        velocityCounterStore.record(transaction, context.getPendingTransactions());
+    }
+    
+    @Override
+    protected RuleResult executeRule(Transaction transaction, RuleEvaluationContext context) {
         String accountId = transaction.getAccountId();
         LocalDateTime now = transaction.getTimestamp();
         
-        // Check hourly velocity
-        VelocityCheck hourlyCheck = checkHourlyVelocity(accountId, now);
+        PendingTransactions pending = context.getPendingTransactions();
+        
+        VelocityCheck hourlyCheck;
+        VelocityCheck dailyCheck;
         
-        // Check daily velocity
-        VelocityCheck dailyCheck = checkDailyVelocity(accountId, now);
+        velocityCounterStore.record(transaction, pending);
+        
+        if (velocityCounterStore.isReady()) {
+            // In-memory windows already include this transaction
+            WindowTotals hourly = velocityCounterStore.hourlyTotals(accountId, now, pending);
+            WindowTotals daily = velocityCounterStore.dailyTotals(accountId, now, pending);
+            
+            hourlyCheck = buildHourlyCheck(hourly.count(), hourly.amount());
+            dailyCheck = buildDailyCheck(daily.count(), daily.amount());
+        } else {
+            // Check hourly velocity
+            hourlyCheck = checkHourlyVelocity(context);
+            
+            // Check daily velocity
+            dailyCheck = checkDailyVelocity(context);
+        }
         
+        return assess(accountId, hourlyCheck, dailyCheck);
+    }
+    
+    /**
+     * While the counter store is still rebuilding, its windows only hold what was recorded
+     * since startup; the counts are a lower bound.
+     */
+    @Override
+    protected RuleResult executeDegraded(Transaction transaction, RuleEvaluationContext context) {
+        if (!velocityCounterStore.isEnabled()) {
+            return null;
+        }
+        
+        String accountId = transaction.getAccountId();
+        LocalDateTime now = transaction.getTimestamp();
+        PendingTransactions pending = context.getPendingTransactions();
+        velocityCounterStore.record(transaction, pending);
+        
+        WindowTotals hourly = velocityCounterStore.hourlyTotals(accountId, now, pending);
+        WindowTotals daily = velocityCounterStore.dailyTotals(accountId, now, pending);
+        return assess(accountId, buildHourlyCheck(hourly.count(), hourly.amount()),
+            buildDailyCheck(daily.count(), daily.amount()));
+    }
+    
+    private RuleResult assess(String accountId, VelocityCheck hourlyCheck, VelocityCheck dailyCheck) {
         // Determine if rule is triggered
         boolean triggered = hourlyCheck.isViolated() || dailyCheck.isViolated();
         
         if (triggered) {
             BigDecimal score = calculateVelocityScore(hourlyCheck, dailyCheck);
-            String reason = buildViolationReason(hourlyCheck, dailyCheck);
             
             Map<String, Object> ruleData = new HashMap<>();
             ruleData.put("hourlyTransactionCount", hourlyCheck.getTransactionCount());
@@ -66,7 +127,7 @@ public class VelocityFraudRule extends AbstractFraudRule {
                 .ruleName(ruleName)
                 .triggered(true)
                 .score(score)
-                .reason(reason)
+                .explanation(buildViolationReason(hourlyCheck, dailyCheck))
                 .severity(determineSeverity(score))
                 .ruleData(ruleData)
                 .recommendation(getRecommendation(score))
@@ -76,17 +137,18 @@ public class VelocityFraudRule extends AbstractFraudRule {
         return createNotTriggeredResult();
     }
     
-    private VelocityCheck checkHourlyVelocity(String accountId, LocalDateTime timestamp) {
-        LocalDateTime oneHourAgo = timestamp.minusHours(1);
-        
-        List<Transaction> recentTransactions = transactionRepository
-            .findByAccountIdAndTimestampBetween(accountId, oneHourAgo, timestamp);
+    private VelocityCheck checkHourlyVelocity(RuleEvaluationContext context) {
+        List<Transaction> recentTransactions = context.getAccountHistory(Duration.ofHours(1));
         
         int transactionCount = recentTransactions.size();
         BigDecimal totalAmount = recentTransactions.stream()
             .map(Transaction::getAmount)
             .reduce(BigDecimal.ZERO, BigDecimal::add);
         
+        return buildHourlyCheck(transactionCount, totalAmount);
+    }
+    
+    private VelocityCheck buildHourlyCheck(int transactionCount, BigDecimal totalAmount) {
         boolean countViolated = transactionCount > maxTransactionsPerHour;
         boolean amountViolated = totalAmount.compareTo(maxAmountPerHour) > 0;
         
@@ -101,17 +163,18 @@ public class VelocityFraudRule extends AbstractFraudRule {
             .build();
     }
     
-    private VelocityCheck checkDailyVelocity(String accountId, LocalDateTime timestamp) {
-        LocalDateTime oneDayAgo = timestamp.minusDays(1);
-        
-        List<Transaction> recentTransactions = transactionRepository
-            .findByAccountIdAndTimestampBetween(accountId, oneDayAgo, timestamp);
+    private VelocityCheck checkDailyVelocity(RuleEvaluationContext context) {
+        List<Transaction> recentTransactions = context.getAccountHistory(Duration.ofDays(1));
         
         int transactionCount = recentTransactions.size();
         BigDecimal totalAmount = recentTransactions.stream()
             .map(Transaction::getAmount)
             .reduce(BigDecimal.ZERO, BigDecimal::add);
         
+        return buildDailyCheck(transactionCount, totalAmount);
+    }
+    
+    private VelocityCheck buildDailyCheck(int transactionCount, BigDecimal totalAmount) {
         boolean countViolated = transactionCount > maxTransactionsPerDay;
         boolean amountViolated = totalAmount.compareTo(maxAmountPerDay) > 0;
         
@@ -155,30 +218,26 @@ public class VelocityFraudRule extends AbstractFraudRule {
         return score.min(BigDecimal.valueOf(100));
     }
     
-    private String buildViolationReason(VelocityCheck hourlyCheck, VelocityCheck dailyCheck) {
-        StringBuilder reason = new StringBuilder("Velocity violation detected: ");
+    private Explanation buildViolationReason(VelocityCheck hourlyCheck, VelocityCheck dailyCheck) {
+        Explanation reason = Explanation.of(ReasonCode.VELOCITY_VIOLATION);
         
         if (hourlyCheck.isCountViolated()) {
-            reason.append(String.format("Hourly transaction count %d exceeds limit %d; ", 
-                hourlyCheck.getTransactionCount(), hourlyCheck.getMaxTransactions()));
+            reason.add(ReasonCode.HOURLY_COUNT_EXCEEDED, hourlyCheck.getTransactionCount(), hourlyCheck.getMaxTransactions());
         }
         
         if (hourlyCheck.isAmountViolated()) {
-            reason.append(String.format("Hourly amount %.2f exceeds limit %.2f; ", 
-                hourlyCheck.getTotalAmount(), hourlyCheck.getMaxAmount()));
+            reason.add(ReasonCode.HOURLY_AMOUNT_EXCEEDED, hourlyCheck.getTotalAmount(), hourlyCheck.getMaxAmount());
         }
         
         if (dailyCheck.isCountViolated()) {
-            reason.append(String.format("Daily transaction count %d exceeds limit %d; ", 
-                dailyCheck.getTransactionCount(), dailyCheck.getMaxTransactions()));
+            reason.add(ReasonCode.DAILY_COUNT_EXCEEDED, dailyCheck.getTransactionCount(), dailyCheck.getMaxTransactions());
         }
         
         if (dailyCheck.isAmountViolated()) {
-            reason.append(String.format("Daily amount %.2f exceeds limit %.2f; ", 
-                dailyCheck.getTotalAmount(), dailyCheck.getMaxAmount()));
+            reason.add(ReasonCode.DAILY_AMOUNT_EXCEEDED, dailyCheck.getTotalAmount(), dailyCheck.getMaxAmount());
         }
         
-        return reason.toString().trim();
+        return reason;
     }
     
     private String getRecommendation(BigDecimal score) {
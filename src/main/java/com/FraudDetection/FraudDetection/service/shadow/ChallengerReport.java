@@ -0,0 +1,23 @@
+package com.FraudDetection.FraudDetection.service.shadow;
+
+import com.FraudDetection.FraudDetection.service.DecisionType;
+
+import java.util.Map;
+
+/**
+ * How one challenger compared with the champion so far. Score deltas are challenger
+ * minus champion on the 0-100 scale; {@code decisions} counts champion decision
+ * (outer key) against challenger decision (inner key).
+ */
+public record ChallengerReport(
+    String name,
+    long evaluated,
+    long agreed,
+    long disagreed,
+    double agreementRate,
+    long failed,
+    double meanScoreDelta,
+    double meanAbsoluteScoreDelta,
+    double maxAbsoluteScoreDelta,
+    Map<DecisionType, Map<DecisionType, Long>> decisions) {
+}
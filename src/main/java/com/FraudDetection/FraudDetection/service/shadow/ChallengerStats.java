@@ -0,0 +1,88 @@
+package com.FraudDetection.FraudDetection.service.shadow;
+
+import com.FraudDetection.FraudDetection.service.DecisionType;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agreement counters and score deltas of one challenger against the champion. Updated
+ * from the shadow threads without locking; a snapshot taken during updates may be off by
+ * the evaluations in flight.
+ */
+final class ChallengerStats {
+    
+    private static final DecisionType[] DECISIONS = DecisionType.values();
+    
+    private final LongAdder evaluated = new LongAdder();
+    private final LongAdder agreed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    
+    // Indexed by champion decision * DECISIONS.length + challenger decision
+    private final LongAdder[] outcomes = new LongAdder[DECISIONS.length * DECISIONS.length];
+    
+    // Challenger score minus champion score
+    private final DoubleAdder scoreDelta = new DoubleAdder();
+    private final DoubleAdder absoluteScoreDelta = new DoubleAdder();
+    private final LongAccumulator maxAbsoluteDeltaHundredths = new LongAccumulator(Long::max, 0);
+    
+    ChallengerStats() {
+        for (int i = 0; i < outcomes.length; i++) {
+            outcomes[i] = new LongAdder();
+        }
+    }
+    
+    void record(DecisionType championDecision, BigDecimal championScore,
+                DecisionType challengerDecision, BigDecimal challengerScore) {
+        evaluated.increment();
+        if (championDecision == challengerDecision) {
+            agreed.increment();
+        }
+        outcomes[championDecision.ordinal() * DECISIONS.length + challengerDecision.ordinal()].increment();
+        
+        double delta = challengerScore.doubleValue() - championScore.doubleValue();
+        scoreDelta.add(delta);
+        absoluteScoreDelta.add(Math.abs(delta));
+        maxAbsoluteDeltaHundredths.accumulate(Math.round(Math.abs(delta) * 100));
+    }
+    
+    void recordFailure() {
+        failed.increment();
+    }
+    
+    void reset() {
+        evaluated.reset();
+        agreed.reset();
+        failed.reset();
+        for (LongAdder outcome : outcomes) {
+            outcome.reset();
+        }
+        scoreDelta.reset();
+        absoluteScoreDelta.reset();
+        maxAbsoluteDeltaHundredths.reset();
+    }
+    
+    ChallengerReport snapshot(String name) {
+        long evaluatedCount = evaluated.sum();
+        long agreedCount = agreed.sum();
+        
+        Map<DecisionType, Map<DecisionType, Long>> decisions = new EnumMap<>(DecisionType.class);
+        for (DecisionType champion : DECISIONS) {
+            Map<DecisionType, Long> row = new EnumMap<>(DecisionType.class);
+            for (DecisionType challenger : DECISIONS) {
+                row.put(challenger, outcomes[champion.ordinal() * DECISIONS.length + challenger.ordinal()].sum());
+            }
+            decisions.put(champion, row);
+        }
+        
+        return new ChallengerReport(name, evaluatedCount, agreedCount, evaluatedCount - agreedCount,
+            evaluatedCount > 0 ? (double) agreedCount / evaluatedCount : 0, failed.sum(),
+            evaluatedCount > 0 ? scoreDelta.sum() / evaluatedCount : 0,
+            evaluatedCount > 0 ? absoluteScoreDelta.sum() / evaluatedCount : 0,
+            maxAbsoluteDeltaHundredths.get() / 100.0, decisions);
+    }
+}
@@ -0,0 +1,255 @@
+package com.FraudDetection.FraudDetection.service.shadow;
+
+import com.FraudDetection.FraudDetection.entity.Transaction;
+import com.FraudDetection.FraudDetection.service.DecisionPolicy;
+import com.FraudDetection.FraudDetection.service.DecisionPolicySettings;
+import com.FraudDetection.FraudDetection.service.DecisionType;
+import com.FraudDetection.FraudDetection.service.FraudDecision;
+import com.FraudDetection.FraudDetection.service.FraudDecisionEngine;
+import com.FraudDetection.FraudDetection.service.FraudDetectionResult;
+import com.FraudDetection.FraudDetection.service.RiskScoringService;
+import com.FraudDetection.FraudDetection.service.RuleResult;
+import com.FraudDetection.FraudDetection.service.ScoringSettings;
+import com.FraudDetection.FraudDetection.service.profile.StaticRiskComponent;
+import com.FraudDetection.FraudDetection.service.rules.RuleEvaluationContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Champion/challenger shadow decisioning. After the champion has decided, the result is
+ * handed to a small bounded pool where each challenger re-scores and re-decides it with
+ * its own scoring weights, decision policy and rule set, and the outcome is compared with
+ * the champion's. The request thread only enqueues; when the queue is full the
+ * evaluation is dropped and counted. Challengers only compute: they never persist, alert
+ * or audit, and their decisions are discarded after counting.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ShadowEvaluator {
+    
+    private final ShadowProperties properties;
+    private final RiskScoringService riskScoringService;
+    private final FraudDecisionEngine fraudDecisionEngine;
+    
+    @Value("${fraud.shadow.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${fraud.shadow.threads:2}")
+    private int threads;
+    
+    @Value("${fraud.shadow.queue-capacity:1000}")
+    private int queueCapacity;
+    
+    private final List<Challenger> challengers = new ArrayList<>();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    
+    private ThreadPoolExecutor executor;
+    
+    // Whether any challenger re-scores, and so needs the champion's static risk
+    private boolean rescores;
+    
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        
+        for (ShadowProperties.Challenger config : properties.getChallengers()) {
+            try {
+                challengers.add(compile(config));
+            } catch (IllegalArgumentException e) {
+                log.error("Challenger {} is invalid and is not evaluated: {}", config.getName(), e.getMessage());
+            }
+        }
+        
+        if (challengers.isEmpty()) {
+            log.warn("Shadow decisioning is enabled but no valid challenger is configured");
+            return;
+        }
+        
+        rescores = challengers.stream().anyMatch(challenger -> challenger.scoring() != null);
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            Thread.ofPlatform().name("fraud-shadow-", 0).daemon(true).factory(),
+            (task, pool) -> dropped.increment());
+        
+        log.info("Shadow decisioning started with challengers {} ({} threads, queue capacity {})",
+            challengers.stream().map(Challenger::name).toList(), threads, queueCapacity);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+    
+    public boolean isActive() {
+        return executor != null;
+    }
+    
+    /**
+     * Queues the champion's result for the challengers. Returns immediately; the
+     * evaluation is dropped when the shadow queue is full. Challengers that re-score use
+     * the account and customer risk the champion scored with, taken from {@code context}
+     * here, so the shadow threads never load a risk profile.
+     */
+    public void submit(Transaction transaction, FraudDetectionResult result, RuleEvaluationContext context) {
+        if (executor == null || result.getFraudDecision() == null || result.getRiskScore() == null) {
+            return;
+        }
+        
+        // Taken now: the champion result may be changed after this call returns
+        DecisionType championDecision = result.getFraudDecision().getDecision();
+        BigDecimal championScore = result.getRiskScore();
+        List<RuleResult> ruleResults = List.copyOf(result.getRuleResults());
+        StaticRiskComponent staticRisk = rescores ? riskScoringService.staticRisk(transaction, context) : null;
+        
+        submitted.increment();
+        executor.execute(() -> evaluate(transaction, result.getTransactionId(), ruleResults, staticRisk,
+            championDecision, championScore));
+    }
+    
+    public long getSubmitted() {
+        return submitted.sum();
+    }
+    
+    public long getDropped() {
+        return dropped.sum();
+    }
+    
+    public int getQueued() {
+        return executor != null ? executor.getQueue().size() : 0;
+    }
+    
+    public List<ChallengerReport> getReports() {
+        return challengers.stream().map(challenger -> challenger.stats().snapshot(challenger.name())).toList();
+    }
+    
+    public void resetStats() {
+        submitted.reset();
+        dropped.reset();
+        challengers.forEach(challenger -> challenger.stats().reset());
+    }
+    
+    private void evaluate(Transaction transaction, String transactionId, List<RuleResult> ruleResults,
+                          StaticRiskComponent staticRisk, DecisionType championDecision, BigDecimal championScore) {
+        for (Challenger challenger : challengers) {
+            try {
+                FraudDetectionResult view = FraudDetectionResult.builder()
+                    .transactionId(transactionId)
+                    .ruleResults(challenger.ruleResults(ruleResults))
+                    .build();
+                
+                BigDecimal score = challenger.scoring() != null
+                    ? riskScoringService.calculateRiskScore(transaction, view, challenger.scoring(), staticRisk)
+                    : championScore;
+                view.setRiskScore(score);
+                
+                FraudDecision decision = fraudDecisionEngine.makeDecision(view, challenger.policy(fraudDecisionEngine));
+                challenger.stats().record(championDecision, championScore, decision.getDecision(), score);
+            
+            } catch (RuntimeException e) {
+                challenger.stats().recordFailure();
+                log.debug("Challenger {} failed on transaction {}: {}", challenger.name(), transactionId, e.getMessage());
+            }
+        }
+    }
+    
+    private Challenger compile(ShadowProperties.Challenger config) {
+        if (config.getName() == null || config.getName().isBlank()) {
+            throw new IllegalArgumentException("Challenger name is missing");
+        }
+        
+        Set<String> excludedRules = new HashSet<>(config.getExcludedRules());
+        
+        // The champion score is reused unless the challenger scores differently
+        RiskScoringService.Variant scoring = null;
+        if (config.getScoring() != null || !excludedRules.isEmpty()) {
+            scoring = riskScoringService.variant(config.getScoring() != null ? config.getScoring() : new ScoringSettings());
+        }
+        
+        DecisionPolicySettings decision = config.getDecision() != null ? config.getDecision() : new DecisionPolicySettings();
+        Challenger challenger = new Challenger(config.getName(), decision, scoring, excludedRules, new ChallengerStats());
+        
+        // Validate now rather than on the first transaction
+        challenger.policy(fraudDecisionEngine);
+        return challenger;
+    }
+    
+    private static final class Challenger {
+        
+        private final String name;
+        private final DecisionPolicySettings decisionOverrides;
+        private final RiskScoringService.Variant scoring;
+        private final Set<String> excludedRules;
+        private final ChallengerStats stats;
+        
+        // Recompiled when the champion policy changes, so unset fields follow the champion
+        private volatile CompiledPolicy compiled;
+        
+        Challenger(String name, DecisionPolicySettings decisionOverrides, RiskScoringService.Variant scoring,
+                   Set<String> excludedRules, ChallengerStats stats) {
+            this.name = name;
+            this.decisionOverrides = decisionOverrides;
+            this.scoring = scoring;
+            this.excludedRules = excludedRules;
+            this.stats = stats;
+        }
+        
+        String name() {
+            return name;
+        }
+        
+        RiskScoringService.Variant scoring() {
+            return scoring;
+        }
+        
+        ChallengerStats stats() {
+            return stats;
+        }
+        
+        List<RuleResult> ruleResults(List<RuleResult> ruleResults) {
+            if (excludedRules.isEmpty()) {
+                return ruleResults;
+            }
+            
+            List<RuleResult> included = new ArrayList<>(ruleResults.size());
+            for (RuleResult ruleResult : ruleResults) {
+                if (!excludedRules.contains(ruleResult.getRuleName())) {
+                    included.add(ruleResult);
+                }
+            }
+            return included;
+        }
+        
+        DecisionPolicy policy(FraudDecisionEngine engine) {
+            long championVersion = engine.getPolicy().getVersion();
+            CompiledPolicy current = compiled;
+            if (current == null || current.championVersion() != championVersion) {
+                current = new CompiledPolicy(championVersion, engine.compileVariant(decisionOverrides));
+                compiled = current;
+            }
+            return current.policy();
+        }
+    }
+    
+    private record CompiledPolicy(long championVersion, DecisionPolicy policy) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.FraudDetection.FraudDetection.service.shadow;
+
+import com.FraudDetection.FraudDetection.service.DecisionPolicySettings;
+import com.FraudDetection.FraudDetection.service.ScoringSettings;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Challenger configurations bound from {@code fraud.shadow.challengers}. Decision and
+ * scoring fields left unset take the champion's value.
+ */
+@Component
+@ConfigurationProperties(prefix = "fraud.shadow")
+@Data
+public class ShadowProperties {
+    
+    private List<Challenger> challengers = new ArrayList<>();
+    
+    @Data
+    public static class Challenger {
+        private String name;
+        private DecisionPolicySettings decision = new DecisionPolicySettings();
+        private ScoringSettings scoring;
+        // Rule results the challenger ignores, as if those rules were not part of its rule set
+        private List<String> excludedRules = new ArrayList<>();
+    }
+}
@@ -0,0 +1,209 @@
+package com.FraudDetection.FraudDetection.service.velocity;
+
+import com.FraudDetection.FraudDetection.entity.Transaction;
+import com.FraudDetection.FraudDetection.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Approximate distinct counts per key, such as countries per account or accounts per
+ * device, kept as hourly HyperLogLog sketches. Each key costs at most one small sketch per
+ * active hour, and a query merges the hours it covers without touching the database.
+ * Window boundaries have hour resolution: a query for the last N hours also includes the
+ * part of the hour before the window start. Transactions scored inside a database
+ * transaction are only added once it commits, see {@link PendingTransactions}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DistinctCounterStore {
+    
+    private final TransactionRepository transactionRepository;
+    
+    @Value("${fraud.rules.distinct-counts.enabled:false}")
+    private boolean enabled;
+    
+    // 2^precision bytes per sketch; 8 gives ~6.5% standard error on large counts
+    @Value("${fraud.rules.distinct-counts.precision:8}")
+    private int precision;
+    
+    @Value("${fraud.rules.distinct-counts.retention-hours:24}")
+    private int retentionHours;
+    
+    @Value("${fraud.rules.velocity.in-memory.rebuild-page-size:5000}")
+    private int rebuildPageSize;
+    
+    private final Map<DistinctFeature, ConcurrentHashMap<String, HourlySketches>> sketches = createSketchMaps();
+    private final PendingTransactions.Store pendingStore = this::addToSketches;
+    
+    private volatile boolean ready;
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * True once the store is enabled and has been rebuilt from the database.
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+    
+    /**
+     * Adds the transaction to every feature once {@code pending} commits, or right away when
+     * it is null. Recording the same transaction again has no effect, so each rule that
+     * reads a feature can record first without coordination.
+     */
+    public void record(Transaction transaction, PendingTransactions pending) {
+        if (!enabled || transaction.getTimestamp() == null) {
+            return;
+        }
+        
+        if (pending != null) {
+            pending.add(pendingStore, transaction);
+        } else {
+            addToSketches(transaction);
+        }
+    }
+    
+    private void addToSketches(Transaction transaction) {
+        long hour = epochHour(transaction.getTimestamp());
+        for (DistinctFeature feature : DistinctFeature.values()) {
+            String key = feature.key(transaction);
+            String value = feature.value(transaction);
+            if (key == null || value == null) {
+                continue;
+            }
+            
+            long hash = HyperLogLog.hash64(value);
+            // Adding inside compute keeps purgeIdleKeys from dropping the key between lookup and add
+            sketches.get(feature).compute(key, (k, keySketches) -> {
+                HourlySketches target = keySketches != null ? keySketches : new HourlySketches(precision, retentionHours);
+                target.add(hour, hash);
+                return target;
+            });
+        }
+    }
+    
+    /**
+     * Estimated number of distinct values of the feature seen for {@code key} in the
+     * {@code hours} before {@code now}.
+     */
+    public long estimate(DistinctFeature feature, String key, LocalDateTime now, int hours) {
+        if (key == null) {
+            return 0;
+        }
+        
+        HourlySketches keySketches = sketches.get(feature).get(key);
+        if (keySketches == null) {
+            return 0;
+        }
+        
+        long nowHour = epochHour(now);
+        HyperLogLog union = new HyperLogLog(precision);
+        keySketches.mergeInto(union, nowHour - Math.min(hours, retentionHours), nowHour);
+        return union.estimate();
+    }
+    
+    /**
+     * Same as {@link #estimate} for the transaction's own key and timestamp, counting the
+     * transaction's value even if it has not been recorded yet, and the values of the
+     * transactions still pending in {@code pending}.
+     */
+    public long estimate(DistinctFeature feature, Transaction transaction, int hours, PendingTransactions pending) {
+        String key = feature.key(transaction);
+        String value = feature.value(transaction);
+        if (key == null) {
+            return 0;
+        }
+        
+        long nowHour = epochHour(transaction.getTimestamp());
+        long fromHour = nowHour - Math.min(hours, retentionHours);
+        HyperLogLog union = new HyperLogLog(precision);
+        
+        HourlySketches keySketches = sketches.get(feature).get(key);
+        if (keySketches != null) {
+            keySketches.mergeInto(union, fromHour, nowHour);
+        }
+        union.add(value);
+        
+        if (pending != null) {
+            for (Transaction other : pending.get(pendingStore)) {
+                String otherValue = feature.value(other);
+                if (otherValue == null || other.getTimestamp() == null || !key.equals(feature.key(other))) {
+                    continue;
+                }
+                long hour = epochHour(other.getTimestamp());
+                if (hour >= fromHour && hour <= nowHour) {
+                    union.add(otherValue);
+                }
+            }
+        }
+        return union.estimate();
+    }
+    
+    public int getTrackedKeyCount(DistinctFeature feature) {
+        return sketches.get(feature).size();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        
+        Thread.ofPlatform().name("distinct-counter-rebuild").daemon(true).start(() -> {
+            LocalDateTime cutoff = LocalDateTime.now();
+            
+            try {
+                long loaded = RecentTransactionScanner.scan(transactionRepository,
+                    cutoff.minusHours(retentionHours), cutoff.minusNanos(1), rebuildPageSize, this::addToSketches);
+                
+                ready = true;
+                log.info("Distinct counter store rebuilt from {} transactions", loaded);
+                
+            } catch (Exception e) {
+                log.error("Failed to rebuild distinct counter store, rules stay on database queries: {}", e.getMessage(), e);
+            }
+        });
+    }
+    
+    @Scheduled(fixedDelayString = "${fraud.rules.velocity.in-memory.purge-interval-ms:300000}")
+    public void purgeIdleKeys() {
+        if (!enabled) {
+            return;
+        }
+        
+        long retainFromHour = epochHour(LocalDateTime.now()) - retentionHours;
+        for (ConcurrentHashMap<String, HourlySketches> featureSketches : sketches.values()) {
+            for (String key : featureSketches.keySet()) {
+                // The idle check and the removal are atomic per key with respect to record
+                featureSketches.computeIfPresent(key,
+                    (k, keySketches) -> keySketches.isIdle(retainFromHour) ? null : keySketches);
+            }
+        }
+    }
+    
+    private static Map<DistinctFeature, ConcurrentHashMap<String, HourlySketches>> createSketchMaps() {
+        Map<DistinctFeature, ConcurrentHashMap<String, HourlySketches>> maps = new EnumMap<>(DistinctFeature.class);
+        for (DistinctFeature feature : DistinctFeature.values()) {
+            maps.put(feature, new ConcurrentHashMap<>());
+        }
+        return maps;
+    }
+    
+    private static long epochHour(LocalDateTime timestamp) {
+        return Math.floorDiv(timestamp.toEpochSecond(ZoneOffset.UTC), 3600);
+    }
+}
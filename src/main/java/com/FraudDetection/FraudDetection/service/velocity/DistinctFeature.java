@@ -0,0 +1,35 @@
+package com.FraudDetection.FraudDetection.service.velocity;
+
+import com.FraudDetection.FraudDetection.entity.Transaction;
+import com.FraudDetection.FraudDetection.service.geo.Locations;
+
+import java.util.function.Function;
+
+/**
+ * Distinct-count features tracked by {@link DistinctCounterStore}: how many distinct
+ * values of one field were seen for a key.
+ */
+public enum DistinctFeature {
+    COUNTRIES_PER_ACCOUNT(Transaction::getAccountId, transaction -> transaction.getLocation() != null
+        ? Locations.countryOf(transaction.getLocation()) : null),
+    MERCHANTS_PER_ACCOUNT(Transaction::getAccountId, Transaction::getMerchantId),
+    DEVICES_PER_ACCOUNT(Transaction::getAccountId, Transaction::getDeviceId),
+    IPS_PER_ACCOUNT(Transaction::getAccountId, Transaction::getIpAddress),
+    ACCOUNTS_PER_DEVICE(Transaction::getDeviceId, Transaction::getAccountId);
+    
+    private final Function<Transaction, String> keyExtractor;
+    private final Function<Transaction, String> valueExtractor;
+    
+    DistinctFeature(Function<Transaction, String> keyExtractor, Function<Transaction, String> valueExtractor) {
+        this.keyExtractor = keyExtractor;
+        this.valueExtractor = valueExtractor;
+    }
+    
+    public String key(Transaction transaction) {
+        return keyExtractor.apply(transaction);
+    }
+    
+    public String value(Transaction transaction) {
+        return valueExtractor.apply(transaction);
+    }
+}
@@ -0,0 +1,58 @@
+package com.FraudDetection.FraudDetection.service.velocity;
+
+/**
+ * Ring of hourly HyperLogLog sketches for one key. Sketches are allocated only for hours
+ * that saw activity, and a window query merges the hourly sketches it covers.
+ */
+final class HourlySketches {
+    
+    private final int precision;
+    private final long[] hours;
+    private final HyperLogLog[] sketches;
+    
+    HourlySketches(int precision, int retentionHours) {
+        this.precision = precision;
+        this.hours = new long[retentionHours + 1];
+        this.sketches = new HyperLogLog[retentionHours + 1];
+    }
+    
+    synchronized void add(long hour, long hash) {
+        int slot = (int) Math.floorMod(hour, (long) hours.length);
+        HyperLogLog sketch = sketches[slot];
+        
+        if (sketch == null) {
+            sketch = new HyperLogLog(precision);
+            sketches[slot] = sketch;
+            hours[slot] = hour;
+        } else if (hours[slot] != hour) {
+            if (hours[slot] > hour) {
+                // Older than the retention period; the slot already belongs to a newer hour
+                return;
+            }
+            sketch.clear();
+            hours[slot] = hour;
+        }
+        
+        sketch.addHash(hash);
+    }
+    
+    /**
+     * Merges the hours in [fromHour, toHour] into {@code target}.
+     */
+    synchronized void mergeInto(HyperLogLog target, long fromHour, long toHour) {
+        for (int i = 0; i < hours.length; i++) {
+            if (sketches[i] != null && hours[i] >= fromHour && hours[i] <= toHour) {
+                target.merge(sketches[i]);
+            }
+        }
+    }
+    
+    synchronized boolean isIdle(long retainFromHour) {
+        for (int i = 0; i < hours.length; i++) {
+            if (sketches[i] != null && hours[i] >= retainFromHour) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
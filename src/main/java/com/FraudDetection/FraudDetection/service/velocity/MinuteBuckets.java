@@ -0,0 +1,138 @@
+package com.FraudDetection.FraudDetection.service.velocity;
+
+/**
+ * Per-minute count/amount buckets for one key, kept in parallel primitive arrays used as
+ * a ring. Only minutes that saw activity occupy a bucket, so memory follows activity
+ * rather than the retention period. Buckets are ordered by minute; expired buckets are
+ * dropped from the head as new ones are appended at the tail.
+ */
+final class MinuteBuckets {
+    
+    private static final int INITIAL_CAPACITY = 8;
+    
+    private long[] minutes = new long[INITIAL_CAPACITY];
+    private int[] counts = new int[INITIAL_CAPACITY];
+    private long[] amounts = new long[INITIAL_CAPACITY];
+    private int head;
+    private int size;
+    
+    synchronized void add(long minute, int count, long amountCents, long retainFromMinute) {
+        expire(retainFromMinute);
+        
+        if (minute < retainFromMinute) {
+            return;
+        }
+        
+        if (size > 0) {
+            int tail = index(size - 1);
+            if (minutes[tail] == minute) {
+                counts[tail] += count;
+                amounts[tail] += amountCents;
+                return;
+            }
+            
+            if (minutes[tail] > minute) {
+                addOutOfOrder(minute, count, amountCents);
+                return;
+            }
+        }
+        
+        ensureCapacity();
+        int tail = index(size);
+        minutes[tail] = minute;
+        counts[tail] = count;
+        amounts[tail] = amountCents;
+        size++;
+    }
+    
+    /**
+     * Sums the buckets between the two minutes, both inclusive.
+     */
+    synchronized WindowTotals totals(long fromMinute, long toMinute) {
+        int count = 0;
+        long amountCents = 0;
+        
+        for (int i = size - 1; i >= 0; i--) {
+            int slot = index(i);
+            long minute = minutes[slot];
+            if (minute < fromMinute) {
+                break;
+            }
+            if (minute <= toMinute) {
+                count += counts[slot];
+                amountCents += amounts[slot];
+            }
+        }
+        
+        return new WindowTotals(count, amountCents);
+    }
+    
+    synchronized boolean isIdle(long retainFromMinute) {
+        expire(retainFromMinute);
+        return size == 0;
+    }
+    
+    private void addOutOfOrder(long minute, int count, long amountCents) {
+        // Late arrivals are rare (history rebuild, clock skew); walk back from the tail
+        int position = size;
+        while (position > 0 && minutes[index(position - 1)] > minute) {
+            position--;
+        }
+        
+        if (position > 0 && minutes[index(position - 1)] == minute) {
+            int slot = index(position - 1);
+            counts[slot] += count;
+            amounts[slot] += amountCents;
+            return;
+        }
+        
+        ensureCapacity();
+        for (int i = size; i > position; i--) {
+            int to = index(i);
+            int from = index(i - 1);
+            minutes[to] = minutes[from];
+            counts[to] = counts[from];
+            amounts[to] = amounts[from];
+        }
+        
+        int slot = index(position);
+        minutes[slot] = minute;
+        counts[slot] = count;
+        amounts[slot] = amountCents;
+        size++;
+    }
+    
+    private void expire(long retainFromMinute) {
+        while (size > 0 && minutes[head] < retainFromMinute) {
+            head = (head + 1) % minutes.length;
+            size--;
+        }
+    }
+    
+    private void ensureCapacity() {
+        if (size < minutes.length) {
+            return;
+        }
+        
+        int capacity = minutes.length * 2;
+        long[] newMinutes = new long[capacity];
+        int[] newCounts = new int[capacity];
+        long[] newAmounts = new long[capacity];
+        
+        for (int i = 0; i < size; i++) {
+            int slot = index(i);
+            newMinutes[i] = minutes[slot];
+            newCounts[i] = counts[slot];
+            newAmounts[i] = amounts[slot];
+        }
+        
+        minutes = newMinutes;
+        counts = newCounts;
+        amounts = newAmounts;
+        head = 0;
+    }
+    
+    private int index(int offset) {
+        return (head + offset) % minutes.length;
+    }
+}
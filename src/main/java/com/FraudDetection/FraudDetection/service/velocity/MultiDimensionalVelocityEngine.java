@@ -0,0 +1,229 @@
+package com.FraudDetection.FraudDetection.service.velocity;
+
+import com.FraudDetection.FraudDetection.entity.Transaction;
+import com.FraudDetection.FraudDetection.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sliding-window velocity for any configured key: device, IP, merchant, card, account,
+ * or a combination of them. One call records the transaction in every dimension and
+ * checks every dimension's limits, all in memory. Like {@link VelocityCounterStore},
+ * transactions scored inside a database transaction only enter the windows once it
+ * commits, and the limits are only meaningful once the startup rebuild has finished.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MultiDimensionalVelocityEngine {
+
+    private static final long RETENTION_MINUTES = 24 * 60;
+
+    private final VelocityDimensionProperties properties;
+    private final TransactionRepository transactionRepository;
+
+    @Value("${fraud.rules.velocity.multi-dimension.enabled:false}")
+    private boolean enabled;
+
+    @Value("${fraud.rules.velocity.in-memory.rebuild-page-size:5000}")
+    private int rebuildPageSize;
+
+    private CompiledDimension[] dimensions = new CompiledDimension[0];
+
+    private volatile boolean ready;
+
+    @PostConstruct
+    public void compile() {
+        List<CompiledDimension> compiled = new ArrayList<>();
+
+        for (VelocityDimensionProperties.Dimension dimension : properties.getDimensions()) {
+            if (dimension.getKeys() == null || dimension.getKeys().isEmpty()) {
+                log.warn("Velocity dimension {} has no key fields and is ignored", dimension.getName());
+                continue;
+            }
+
+            compiled.add(new CompiledDimension(
+                dimension.getName(),
+                dimension.getKeys().toArray(new VelocityKeyField[0]),
+                dimension.getMaxTransactionsPerHour(),
+                dimension.getMaxTransactionsPerDay(),
+                SlidingWindowCounter.toCents(dimension.getMaxAmountPerHour()),
+                SlidingWindowCounter.toCents(dimension.getMaxAmountPerDay()),
+                new SlidingWindowCounter(RETENTION_MINUTES)));
+        }
+
+        dimensions = compiled.toArray(new CompiledDimension[0]);
+        // Nothing to rebuild without dimensions
+        ready = dimensions.length == 0;
+
+        if (enabled) {
+            log.info("Multi-dimensional velocity engine configured with {} dimensions", dimensions.length);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * True once the engine is enabled and its windows have been rebuilt from the database.
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Records the transaction in every dimension without evaluating the limits, once
+     * {@code pending} commits or right away when it is null.
+     */
+    public void record(Transaction transaction, PendingTransactions pending) {
+        for (CompiledDimension dimension : dimensions) {
+            record(dimension, transaction, pending);
+        }
+    }
+
+    /**
+     * Records the transaction in every dimension like {@link #record} and returns the
+     * dimensions whose limits it pushed over, counting the transactions still pending in
+     * {@code pending}. Returns an empty list when nothing is violated.
+     */
+    public List<VelocityViolation> recordAndEvaluate(Transaction transaction, PendingTransactions pending) {
+        LocalDateTime timestamp = transaction.getTimestamp();
+        List<VelocityViolation> violations = List.of();
+
+        for (CompiledDimension dimension : dimensions) {
+            String key = record(dimension, transaction, pending);
+            if (key == null) {
+                continue;
+            }
+
+            WindowTotals hourly = dimension.counter.totals(key, timestamp, 60);
+            WindowTotals daily = dimension.counter.totals(key, timestamp, RETENTION_MINUTES);
+            if (pending != null) {
+                for (Transaction other : pending.get(dimension)) {
+                    if (!key.equals(dimension.key(other)) || other.getTimestamp() == null) {
+                        continue;
+                    }
+                    if (SlidingWindowCounter.inWindow(other.getTimestamp(), timestamp, 60)) {
+                        hourly = hourly.plus(other.getAmount());
+                    }
+                    if (SlidingWindowCounter.inWindow(other.getTimestamp(), timestamp, RETENTION_MINUTES)) {
+                        daily = daily.plus(other.getAmount());
+                    }
+                }
+            }
+
+            VelocityViolation candidate = new VelocityViolation(dimension.name, key, hourly, daily,
+                dimension.maxTransactionsPerHour, dimension.maxTransactionsPerDay,
+                dimension.maxAmountPerHourCents, dimension.maxAmountPerDayCents);
+
+            if (candidate.isViolated()) {
+                if (violations.isEmpty()) {
+                    violations = new ArrayList<>(2);
+                }
+                violations.add(candidate);
+            }
+        }
+
+        return violations;
+    }
+
+    private static String record(CompiledDimension dimension, Transaction transaction, PendingTransactions pending) {
+        String key = dimension.key(transaction);
+        if (key == null) {
+            return null;
+        }
+
+        if (pending != null) {
+            pending.add(dimension, transaction);
+        } else {
+            dimension.commit(transaction);
+        }
+        return key;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!enabled || dimensions.length == 0) {
+            return;
+        }
+
+        Thread.ofPlatform().name("velocity-dimension-rebuild").daemon(true).start(() -> {
+            LocalDateTime cutoff = LocalDateTime.now();
+
+            try {
+                long loaded = RecentTransactionScanner.scan(transactionRepository,
+                    cutoff.minusMinutes(RETENTION_MINUTES), cutoff.minusNanos(1), rebuildPageSize, transaction -> {
+                        for (CompiledDimension dimension : dimensions) {
+                            if (dimension.key(transaction) != null) {
+                                dimension.commit(transaction);
+                            }
+                        }
+                    });
+
+                ready = true;
+                log.info("Multi-dimensional velocity windows rebuilt from {} transactions", loaded);
+
+            } catch (Exception e) {
+                log.error("Failed to rebuild multi-dimensional velocity windows, dimension limits stay unchecked: {}",
+                    e.getMessage(), e);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${fraud.rules.velocity.in-memory.purge-interval-ms:300000}")
+    public void purgeIdleKeys() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (CompiledDimension dimension : dimensions) {
+            dimension.counter.purgeIdle(now);
+        }
+    }
+
+    private record CompiledDimension(
+        String name,
+        VelocityKeyField[] keyFields,
+        int maxTransactionsPerHour,
+        int maxTransactionsPerDay,
+        long maxAmountPerHourCents,
+        long maxAmountPerDayCents,
+        SlidingWindowCounter counter) implements PendingTransactions.Store {
+
+        @Override
+        public void commit(Transaction transaction) {
+            counter.record(key(transaction), transaction.getTimestamp(), transaction.getAmount());
+        }
+
+        String key(Transaction transaction) {
+            if (keyFields.length == 1) {
+                return keyFields[0].extract(transaction);
+            }
+
+            StringBuilder key = new StringBuilder(64);
+            for (int i = 0; i < keyFields.length; i++) {
+                String value = keyFields[i].extract(transaction);
+                if (value == null) {
+                    return null;
+                }
+                if (i > 0) {
+                    key.append('|');
+                }
+                key.append(value);
+            }
+            return key.toString();
+        }
+    }
+}
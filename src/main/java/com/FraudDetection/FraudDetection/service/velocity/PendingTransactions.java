@@ -0,0 +1,129 @@
+package com.FraudDetection.FraudDetection.service.velocity;
+
+import com.FraudDetection.FraudDetection.entity.Transaction;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Scored transactions held back from the in-memory velocity windows until the database
+ * transaction that writes them commits, and dropped if it rolls back. A store adds each
+ * transaction once per reference, however often it is scored or observed, and includes
+ * the pending ones in its answers so later transactions of the same batch see earlier ones.
+ * Rules reach it through their evaluation context, also from pool threads, and hand it to
+ * the stores they record into.
+ */
+public final class PendingTransactions implements TransactionSynchronization {
+    
+    /**
+     * Receives a store's pending transactions once they are committed.
+     */
+    public interface Store {
+        void commit(Transaction transaction);
+    }
+    
+    private final Map<Store, Map<Object, Transaction>> pending = new LinkedHashMap<>();
+    
+    /**
+     * The pending transactions of the database transaction active on this thread, created
+     * on first use; null outside a transaction, where stores record right away.
+     */
+    public static PendingTransactions current() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        
+        PendingTransactions current = (PendingTransactions) TransactionSynchronizationManager.getResource(PendingTransactions.class);
+        if (current == null) {
+            current = new PendingTransactions();
+            current.attach();
+        }
+        return current;
+    }
+    
+    /**
+     * Commits these transactions together with the database transaction active on this
+     * thread, for transactions scored before it began.
+     * @throws IllegalStateException when no transaction is active
+     */
+    public void attach() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("No active transaction to attach pending transactions to");
+        }
+        
+        PendingTransactions existing = (PendingTransactions) TransactionSynchronizationManager.getResource(PendingTransactions.class);
+        if (existing == null) {
+            TransactionSynchronizationManager.bindResource(PendingTransactions.class, this);
+            TransactionSynchronizationManager.registerSynchronization(this);
+        } else if (existing != this) {
+            existing.addAll(this);
+        }
+    }
+    
+    /**
+     * The pending entries of one transaction, for writing it on its own after the database
+     * transaction it was scored in rolled back. Entries are kept on rollback for this.
+     */
+    public synchronized PendingTransactions select(Transaction transaction) {
+        Object key = keyOf(transaction);
+        PendingTransactions selected = new PendingTransactions();
+        pending.forEach((store, transactions) -> {
+            Transaction match = transactions.get(key);
+            if (match != null) {
+                selected.add(store, match);
+            }
+        });
+        return selected;
+    }
+    
+    public synchronized void add(Store store, Transaction transaction) {
+        pending.computeIfAbsent(store, s -> new LinkedHashMap<>()).putIfAbsent(keyOf(transaction), transaction);
+    }
+    
+    public synchronized List<Transaction> get(Store store) {
+        Map<Object, Transaction> transactions = pending.get(store);
+        return transactions != null ? new ArrayList<>(transactions.values()) : List.of();
+    }
+    
+    private static Object keyOf(Transaction transaction) {
+        // Without a reference only the same instance is recognized again
+        return transaction.getTransactionReference() != null ? transaction.getTransactionReference() : transaction;
+    }
+    
+    private void addAll(PendingTransactions other) {
+        Map<Store, Map<Object, Transaction>> copy;
+        synchronized (other) {
+            copy = new LinkedHashMap<>(other.pending);
+        }
+        copy.forEach((store, transactions) -> transactions.values().forEach(transaction -> add(store, transaction)));
+    }
+    
+    @Override
+    public void suspend() {
+        TransactionSynchronizationManager.unbindResourceIfPossible(PendingTransactions.class);
+    }
+    
+    @Override
+    public void resume() {
+        TransactionSynchronizationManager.bindResource(PendingTransactions.class, this);
+    }
+    
+    @Override
+    public void afterCompletion(int status) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(PendingTransactions.class);
+        if (status != STATUS_COMMITTED) {
+            return;
+        }
+        
+        Map<Store, Map<Object, Transaction>> committed;
+        synchronized (this) {
+            committed = new LinkedHashMap<>(pending);
+            pending.clear();
+        }
+        committed.forEach((store, transactions) -> transactions.values().forEach(store::commit));
+    }
+}
@@ -0,0 +1,40 @@
+package com.FraudDetection.FraudDetection.service.velocity;
+
+import com.FraudDetection.FraudDetection.entity.Transaction;
+import com.FraudDetection.FraudDetection.repository.TransactionRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Pages through committed transactions in a time range to warm in-memory windows.
+ */
+final class RecentTransactionScanner {
+    
+    private RecentTransactionScanner() {
+    }
+    
+    /**
+     * @return number of transactions passed to the consumer
+     */
+    static long scan(TransactionRepository transactionRepository, LocalDateTime from, LocalDateTime to,
+                     int pageSize, Consumer<Transaction> consumer) {
+        long loaded = 0;
+        Page<Transaction> page;
+        int pageNumber = 0;
+        
+        do {
+            page = transactionRepository.findByTimestampBetween(from, to, 
+                PageRequest.of(pageNumber++, pageSize, Sort.by("id")));
+            
+            page.getContent().forEach(consumer);
+            loaded += page.getNumberOfElements();
+            
+        } while (page.hasNext());
+        
+        return loaded;
+    }
+}
@@ -0,0 +1,98 @@
+package com.FraudDetection.FraudDetection.service.velocity;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keyed sliding-window counters with per-minute resolution.
+ * Window queries cost O(active minutes in the window) and never touch the database.
+ */
+public final class SlidingWindowCounter {
+    
+    private final long retentionMinutes;
+    private final ConcurrentHashMap<String, MinuteBuckets> windows = new ConcurrentHashMap<>();
+    
+    public SlidingWindowCounter(long retentionMinutes) {
+        this.retentionMinutes = retentionMinutes;
+    }
+    
+    public void record(String key, LocalDateTime timestamp, BigDecimal amount) {
+        if (key == null || timestamp == null) {
+            return;
+        }
+        
+        long minute = epochMinute(timestamp);
+        long amountCents = toCents(amount);
+        // Adding inside compute keeps purgeIdle from dropping the key between lookup and add
+        windows.compute(key, (k, buckets) -> {
+            MinuteBuckets target = buckets != null ? buckets : new MinuteBuckets();
+            target.add(minute, 1, amountCents, minute - retentionMinutes);
+            return target;
+        });
+    }
+    
+    /**
+     * Totals for the {@code windowMinutes} minutes ending with the minute of {@code now},
+     * that minute included.
+     */
+    public WindowTotals totals(String key, LocalDateTime now, long windowMinutes) {
+        MinuteBuckets buckets = key != null ? windows.get(key) : null;
+        if (buckets == null) {
+            return WindowTotals.EMPTY;
+        }
+        
+        long nowMinute = epochMinute(now);
+        return buckets.totals(windowStart(nowMinute, windowMinutes), nowMinute);
+    }
+    
+    /**
+     * Whether {@code timestamp} falls in the window that {@link #totals} sums for {@code now}.
+     */
+    static boolean inWindow(LocalDateTime timestamp, LocalDateTime now, long windowMinutes) {
+        long minute = epochMinute(timestamp);
+        long nowMinute = epochMinute(now);
+        return minute >= windowStart(nowMinute, windowMinutes) && minute <= nowMinute;
+    }
+    
+    private static long windowStart(long nowMinute, long windowMinutes) {
+        return nowMinute - windowMinutes + 1;
+    }
+    
+    /**
+     * Drops keys with no activity inside the retention period.
+     * @return number of keys removed
+     */
+    public int purgeIdle(LocalDateTime now) {
+        long retainFromMinute = epochMinute(now) - retentionMinutes;
+        int removed = 0;
+        for (String key : windows.keySet()) {
+            // The idle check and the removal are atomic per key with respect to record
+            if (windows.computeIfPresent(key, (k, buckets) -> buckets.isIdle(retainFromMinute) ? null : buckets) == null) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+    
+    public int size() {
+        return windows.size();
+    }
+    
+    public void clear() {
+        windows.clear();
+    }
+    
+    static long epochMinute(LocalDateTime timestamp) {
+        return Math.floorDiv(timestamp.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+    
+    static long toCents(BigDecimal amount) {
+        if (amount == null) {
+            return 0;
+        }
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+}
@@ -0,0 +1,141 @@
+package com.FraudDetection.FraudDetection.service.velocity;
+
+import com.FraudDetection.FraudDetection.entity.Transaction;
+import com.FraudDetection.FraudDetection.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * In-memory per-account velocity windows backing {@code VelocityFraudRule}.
+ * The store is rebuilt from the last day of transactions on startup; until the rebuild
+ * finishes the rule keeps querying the database. Transactions scored inside a database
+ * transaction are only added once it commits, see {@link PendingTransactions}. Counts are
+ * local to this instance, so deployments with several instances should route an account
+ * to one instance (or use account lanes) for the counts to be complete.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VelocityCounterStore {
+    
+    private static final long RETENTION_MINUTES = 24 * 60;
+    
+    private final TransactionRepository transactionRepository;
+    
+    @Value("${fraud.rules.velocity.in-memory.enabled:false}")
+    private boolean enabled;
+    
+    @Value("${fraud.rules.velocity.in-memory.rebuild-page-size:5000}")
+    private int rebuildPageSize;
+    
+    private final SlidingWindowCounter accountWindows = new SlidingWindowCounter(RETENTION_MINUTES);
+    private final PendingTransactions.Store pendingStore = this::addToWindows;
+    
+    private volatile boolean ready;
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * True once the store is enabled and has been rebuilt from the database.
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+    
+    /**
+     * Adds the transaction once {@code pending} commits, or right away when it is null.
+     */
+    public void record(Transaction transaction, PendingTransactions pending) {
+        if (!enabled) {
+            return;
+        }
+        
+        if (pending != null) {
+            pending.add(pendingStore, transaction);
+        } else {
+            addToWindows(transaction);
+        }
+    }
+    
+    public WindowTotals hourlyTotals(String accountId, LocalDateTime now, PendingTransactions pending) {
+        return withPending(accountWindows.totals(accountId, now, 60), accountId, now, 60, pending);
+    }
+    
+    public WindowTotals dailyTotals(String accountId, LocalDateTime now, PendingTransactions pending) {
+        return withPending(accountWindows.totals(accountId, now, RETENTION_MINUTES), accountId, now, RETENTION_MINUTES, pending);
+    }
+    
+    private WindowTotals withPending(WindowTotals totals, String accountId, LocalDateTime now, long windowMinutes,
+                                     PendingTransactions pending) {
+        if (pending == null) {
+            return totals;
+        }
+        
+        for (Transaction transaction : pending.get(pendingStore)) {
+            if (Objects.equals(transaction.getAccountId(), accountId) && transaction.getTimestamp() != null
+                    && SlidingWindowCounter.inWindow(transaction.getTimestamp(), now, windowMinutes)) {
+                totals = totals.plus(transaction.getAmount());
+            }
+        }
+        return totals;
+    }
+    
+    private void addToWindows(Transaction transaction) {
+        accountWindows.record(transaction.getAccountId(), transaction.getTimestamp(), transaction.getAmount());
+    }
+    
+    public int getTrackedAccountCount() {
+        return accountWindows.size();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        
+        Thread.ofPlatform().name("velocity-store-rebuild").daemon(true).start(this::rebuild);
+    }
+    
+    /**
+     * Loads the last day of transactions that were committed before the rebuild started.
+     * Transactions scored after that point are recorded live by the rule.
+     */
+    void rebuild() {
+        LocalDateTime cutoff = LocalDateTime.now();
+        LocalDateTime from = cutoff.minusMinutes(RETENTION_MINUTES);
+        
+        try {
+            long loaded = RecentTransactionScanner.scan(transactionRepository, from, cutoff.minusNanos(1), rebuildPageSize,
+                this::addToWindows);
+            
+            ready = true;
+            log.info("Velocity counter store rebuilt from {} transactions for {} accounts", loaded, accountWindows.size());
+            
+        } catch (Exception e) {
+            log.error("Failed to rebuild velocity counter store, velocity rule stays on database queries: {}", e.getMessage(), e);
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${fraud.rules.velocity.in-memory.purge-interval-ms:300000}")
+    public void purgeIdleAccounts() {
+        if (!enabled) {
+            return;
+        }
+        
+        int removed = accountWindows.purgeIdle(LocalDateTime.now());
+        if (removed > 0) {
+            log.debug("Purged {} idle accounts from velocity counter store", removed);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.FraudDetection.FraudDetection.service.velocity;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-dimension velocity limits bound from {@code fraud.rules.velocity.dimensions}.
+ * A limit left unset (or zero) is not enforced.
+ */
+@Component
+@ConfigurationProperties(prefix = "fraud.rules.velocity")
+@Data
+public class VelocityDimensionProperties {
+    
+    private List<Dimension> dimensions = new ArrayList<>();
+    
+    @Data
+    public static class Dimension {
+        private String name;
+        private List<VelocityKeyField> keys = new ArrayList<>();
+        private int maxTransactionsPerHour;
+        private int maxTransactionsPerDay;
+        private BigDecimal maxAmountPerHour;
+        private BigDecimal maxAmountPerDay;
+    }
+}
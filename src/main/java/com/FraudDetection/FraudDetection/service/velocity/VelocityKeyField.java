@@ -0,0 +1,23 @@
+package com.FraudDetection.FraudDetection.service.velocity;
+
+import com.FraudDetection.FraudDetection.entity.Transaction;
+
+import java.util.function.Function;
+
+public enum VelocityKeyField {
+    ACCOUNT_ID(Transaction::getAccountId),
+    DEVICE_ID(Transaction::getDeviceId),
+    IP_ADDRESS(Transaction::getIpAddress),
+    MERCHANT_ID(Transaction::getMerchantId),
+    CARD_LAST4(Transaction::getCardLast4);
+    
+    private final Function<Transaction, String> extractor;
+    
+    VelocityKeyField(Function<Transaction, String> extractor) {
+        this.extractor = extractor;
+    }
+    
+    public String extract(Transaction transaction) {
+        return extractor.apply(transaction);
+    }
+}
@@ -0,0 +1,36 @@
+package com.FraudDetection.FraudDetection.service.velocity;
+
+/**
+ * A dimension whose hourly or daily window exceeded one of its limits.
+ * Limits of 0 mean "not enforced" and never produce a violation.
+ */
+public record VelocityViolation(
+    String dimension,
+    String key,
+    WindowTotals hourly,
+    WindowTotals daily,
+    int maxTransactionsPerHour,
+    int maxTransactionsPerDay,
+    long maxAmountPerHourCents,
+    long maxAmountPerDayCents) {
+
+    public boolean isHourlyCountViolated() {
+        return maxTransactionsPerHour > 0 && hourly.count() > maxTransactionsPerHour;
+    }
+
+    public boolean isHourlyAmountViolated() {
+        return maxAmountPerHourCents > 0 && hourly.amountCents() > maxAmountPerHourCents;
+    }
+
+    public boolean isDailyCountViolated() {
+        return maxTransactionsPerDay > 0 && daily.count() > maxTransactionsPerDay;
+    }
+
+    public boolean isDailyAmountViolated() {
+        return maxAmountPerDayCents > 0 && daily.amountCents() > maxAmountPerDayCents;
+    }
+
+    public boolean isViolated() {
+        return isHourlyCountViolated() || isHourlyAmountViolated() || isDailyCountViolated() || isDailyAmountViolated();
+    }
+}
@@ -0,0 +1,19 @@
+package com.FraudDetection.FraudDetection.service.velocity;
+
+import java.math.BigDecimal;
+
+/**
+ * Transaction count and summed amount (in cents) over a sliding window.
+ */
+public record WindowTotals(int count, long amountCents) {
+    
+    public static final WindowTotals EMPTY = new WindowTotals(0, 0);
+    
+    public WindowTotals plus(BigDecimal amount) {
+        return new WindowTotals(count + 1, amountCents + SlidingWindowCounter.toCents(amount));
+    }
+    
+    public BigDecimal amount() {
+        return BigDecimal.valueOf(amountCents, 2);
+    }
+}
@@ -0,0 +1,127 @@
+package com.FraudDetection.FraudDetection.service;
+
+import com.FraudDetection.FraudDetection.entity.AuditLog;
+import com.FraudDetection.FraudDetection.entity.AuditSeverity;
+import com.FraudDetection.FraudDetection.entity.Transaction;
+import com.FraudDetection.FraudDetection.entity.TransactionStatus;
+import com.FraudDetection.FraudDetection.entity.TransactionType;
+import com.FraudDetection.FraudDetection.repository.AuditLogRepository;
+import com.FraudDetection.FraudDetection.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * The error entry of a failed transaction is committed on its own, whatever happens to the
+ * database transaction the failure occurred in.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:error-audit;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false",
+    "fraud.audit.async.enabled=false"
+})
+class ErrorAuditTests {
+    
+    private static final AtomicInteger REFERENCES = new AtomicInteger();
+    
+    @Autowired
+    private FraudDetectionService fraudDetectionService;
+    
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @MockitoBean
+    private FraudDecisionEngine fraudDecisionEngine;
+    
+    @BeforeEach
+    void failDecisions() {
+        when(fraudDecisionEngine.makeDecision(any())).thenThrow(new IllegalStateException("decision engine down"));
+    }
+    
+    @AfterEach
+    void restorePipelineMode() {
+        setPipelineMode(PipelineMode.PERSIST_FIRST);
+    }
+    
+    @Test
+    void errorEntryIsCommittedWhenScoringFails() {
+        Transaction transaction = transaction();
+        
+        assertThrows(FraudDetectionException.class, () -> fraudDetectionService.processTransaction(transaction));
+        
+        assertTrue(transactionRepository.findByTransactionReference(transaction.getTransactionReference()).isEmpty(),
+            "The failed transaction should have been rolled back");
+        assertErrorEntry(transaction.getTransactionReference());
+    }
+    
+    @Test
+    void decideFirstReportsTheScoringFailureNotTheAuditWrite() {
+        setPipelineMode(PipelineMode.DECIDE_FIRST);
+        Transaction transaction = transaction();
+        
+        FraudDetectionException thrown = assertThrows(FraudDetectionException.class,
+            () -> fraudDetectionService.processTransaction(transaction));
+        
+        assertInstanceOf(IllegalStateException.class, thrown.getCause());
+        assertErrorEntry(transaction.getTransactionReference());
+    }
+    
+    private void setPipelineMode(PipelineMode mode) {
+        FraudDetectionService target = AopTestUtils.getUltimateTargetObject(fraudDetectionService);
+        ReflectionTestUtils.setField(target, "pipelineMode", mode);
+    }
+    
+    private void assertErrorEntry(String reference) {
+        List<AuditLog> entries = auditLogRepository.findByEntityId(reference);
+        assertEquals(1, entries.size(), "Expected only the error entry: " + entries);
+        
+        AuditLog entry = entries.get(0);
+        assertEquals("FRAUD_DETECTION_ERROR", entry.getAction());
+        assertEquals(AuditSeverity.ERROR, entry.getSeverity());
+        assertTrue(entry.getErrorMessage().contains("decision engine down"), entry.getErrorMessage());
+        assertNull(entry.getTransaction());
+    }
+    
+    private static Transaction transaction() {
+        return Transaction.builder()
+            .transactionReference("ERROR-AUDIT-" + REFERENCES.incrementAndGet())
+            .accountId("ERROR-ACC-1")
+            .amount(new BigDecimal("25.00"))
+            .currency("USD")
+            .merchantId("MERCH-1")
+            .merchantName("Corner Store")
+            .transactionType(TransactionType.POS_PURCHASE)
+            .status(TransactionStatus.PENDING)
+            .timestamp(LocalDateTime.now())
+            .location("New York, NY, USA")
+            .ipAddress("10.0.0.1")
+            .userAgent("Terminal")
+            .deviceId("DEV-1")
+            .build();
+    }
+}
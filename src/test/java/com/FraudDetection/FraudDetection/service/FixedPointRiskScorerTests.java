@@ -0,0 +1,74 @@
+package com.FraudDetection.FraudDetection.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FixedPointRiskScorerTests {
+    
+    private static final int[] FACTOR_POINTS = { 0, 5, 10, 15, 20, 25, 30, 35, 40, 45, 50 };
+    
+    private final FixedPointRiskScorer scorer = new FixedPointRiskScorer(0.6, 0.2, 0.1, 0.1, 20, 100);
+    
+    @Test
+    void fixedPointTotalsMatchBigDecimalTotals() {
+        Random random = new Random(42);
+        int unresolved = 0;
+        
+        for (int i = 0; i < 200_000; i++) {
+            ScoringInput input = ScoringInput.random(random);
+            
+            BigDecimal exact = exactScore(input);
+            long hundredths = fastHundredths(input);
+            
+            if (hundredths == FixedPointRiskScorer.UNRESOLVED) {
+                unresolved++;
+                continue;
+            }
+            // equals, not compareTo: value and scale must both match
+            assertEquals(exact, BigDecimal.valueOf(hundredths, 2), input.toString());
+        }
+        
+        // Only genuine half-hundredth ties should fall back; the input mix makes those ~1%
+        assertTrue(unresolved < 10_000, "Too many inputs fell back to the exact path: " + unresolved);
+    }
+    
+    private BigDecimal exactScore(ScoringInput input) {
+        return scorer.exactTotal(
+            FixedPointRiskScorer.exactRuleScore(input.maxRuleScore, input.triggeredCount),
+            FixedPointRiskScorer.exactTransactionScore(input.factorPoints, input.amountPoints, input.largeAmount),
+            BigDecimal.valueOf(input.accountScore),
+            BigDecimal.valueOf(input.customerScore));
+    }
+    
+    private long fastHundredths(ScoringInput input) {
+        return scorer.totalHundredths(
+            FixedPointRiskScorer.ruleScore(input.maxRuleScore.doubleValue(), input.triggeredCount),
+            FixedPointRiskScorer.transactionScore(input.factorPoints, input.amountPoints),
+            input.accountScore,
+            input.customerScore);
+    }
+    
+    private record ScoringInput(BigDecimal maxRuleScore, int triggeredCount, int factorPoints, double amountPoints,
+                                boolean largeAmount, int accountScore, int customerScore) {
+        
+        static ScoringInput random(Random random) {
+            // Half the rule scores have one decimal, as the rules produce, which makes
+            // half-hundredth ties after weighting reasonably frequent
+            BigDecimal maxRuleScore = random.nextBoolean()
+                ? BigDecimal.valueOf(random.nextInt(1001), 1)
+                : BigDecimal.valueOf(random.nextDouble() * 100);
+            
+            BigDecimal amount = BigDecimal.valueOf(random.nextInt(10_000_000), 2);
+            boolean largeAmount = amount.compareTo(BigDecimal.valueOf(10000)) > 0;
+            double amountPoints = largeAmount ? 30 * Math.min(amount.doubleValue() / 50000, 1.0) : 0;
+            
+            return new ScoringInput(maxRuleScore, random.nextInt(7), FACTOR_POINTS[random.nextInt(FACTOR_POINTS.length)],
+                amountPoints, largeAmount, random.nextInt(101), random.nextInt(101));
+        }
+    }
+}
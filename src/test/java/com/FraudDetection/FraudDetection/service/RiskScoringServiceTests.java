@@ -0,0 +1,169 @@
+package com.FraudDetection.FraudDetection.service;
+
+import com.FraudDetection.FraudDetection.entity.Transaction;
+import com.FraudDetection.FraudDetection.entity.TransactionType;
+import com.FraudDetection.FraudDetection.service.model.ModelScoringEngine;
+import com.FraudDetection.FraudDetection.service.profile.RiskProfileCache;
+import com.FraudDetection.FraudDetection.service.profile.StaticRiskComponent;
+import com.FraudDetection.FraudDetection.service.profile.StaticRiskStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks the fixed-point scoring path of {@link RiskScoringService} against the original
+ * BigDecimal formula, written out here independently of {@link FixedPointRiskScorer}.
+ */
+class RiskScoringServiceTests {
+    
+    private static final int ACCOUNT_POINTS = 25;
+    private static final int CUSTOMER_POINTS = 25;
+    
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final String[] CURRENCIES = { "USD", "EUR" };
+    
+    private final StaticRiskStore staticRiskStore = mock(StaticRiskStore.class);
+    private final RiskScoringService service = new RiskScoringService(
+        mock(RiskProfileCache.class), staticRiskStore, mock(ModelScoringEngine.class));
+    
+    RiskScoringServiceTests() {
+        ReflectionTestUtils.setField(service, "baseScore", 20);
+        ReflectionTestUtils.setField(service, "maxScore", 100);
+        ReflectionTestUtils.setField(service, "ruleWeight", 0.6);
+        ReflectionTestUtils.setField(service, "transactionWeight", 0.2);
+        ReflectionTestUtils.setField(service, "accountWeight", 0.1);
+        ReflectionTestUtils.setField(service, "customerWeight", 0.1);
+        service.initScorer();
+        
+        when(staticRiskStore.get(anyString())).thenReturn(
+            new StaticRiskComponent("ACC-1", 1L, ACCOUNT_POINTS, null, CUSTOMER_POINTS, null, null));
+    }
+    
+    @Test
+    void scoresMatchBaselineFormula() {
+        Random random = new Random(7);
+        
+        for (int i = 0; i < 20_000; i++) {
+            Transaction transaction = transaction(
+                BigDecimal.valueOf(random.nextInt(6_000_000), 2),
+                random.nextInt(24),
+                TYPES[random.nextInt(TYPES.length)],
+                CURRENCIES[random.nextInt(CURRENCIES.length)]);
+            
+            List<RuleResult> ruleResults = new ArrayList<>();
+            int rules = random.nextInt(8);
+            for (int r = 0; r < rules; r++) {
+                // One or three decimals, so some totals land on a half-hundredth
+                BigDecimal score = random.nextBoolean()
+                    ? BigDecimal.valueOf(random.nextInt(1001), 1)
+                    : BigDecimal.valueOf(random.nextInt(100_001), 3);
+                ruleResults.add(ruleResult(score, random.nextInt(3) > 0));
+            }
+            FraudDetectionResult result = FraudDetectionResult.builder().ruleResults(ruleResults).build();
+            
+            // equals, not compareTo: value and scale must both match
+            assertEquals(baselineScore(transaction, result), service.calculateRiskScore(transaction, result),
+                transaction.getAmount() + " " + transaction.getTransactionType() + " " + ruleResults);
+        }
+    }
+    
+    @Test
+    void halfHundredthTieRoundsLikeBaseline() {
+        // 10.025 * 0.6 + 0 * 0.2 + 25 * 0.1 + 25 * 0.1 + 20 = 31.015, a tie the fast path cannot resolve
+        FixedPointRiskScorer scorer = new FixedPointRiskScorer(0.6, 0.2, 0.1, 0.1, 20, 100);
+        assertEquals(FixedPointRiskScorer.UNRESOLVED, scorer.totalHundredths(
+            FixedPointRiskScorer.ruleScore(10.025, 1), 0, ACCOUNT_POINTS, CUSTOMER_POINTS));
+        
+        Transaction transaction = transaction(new BigDecimal("500.00"), 12, TransactionType.PURCHASE, "USD");
+        FraudDetectionResult result = FraudDetectionResult.builder()
+            .ruleResults(List.of(ruleResult(new BigDecimal("10.025"), true)))
+            .build();
+        
+        BigDecimal expected = baselineScore(transaction, result);
+        assertEquals(new BigDecimal("31.02"), expected);
+        assertEquals(expected, service.calculateRiskScore(transaction, result));
+    }
+    
+    private static BigDecimal baselineScore(Transaction transaction, FraudDetectionResult result) {
+        return baselineRuleScore(result).multiply(BigDecimal.valueOf(0.6))
+            .add(baselineTransactionScore(transaction).multiply(BigDecimal.valueOf(0.2)))
+            .add(BigDecimal.valueOf(ACCOUNT_POINTS).multiply(BigDecimal.valueOf(0.1)))
+            .add(BigDecimal.valueOf(CUSTOMER_POINTS).multiply(BigDecimal.valueOf(0.1)))
+            .add(BigDecimal.valueOf(20))
+            .min(BigDecimal.valueOf(100))
+            .setScale(2, RoundingMode.HALF_UP);
+    }
+    
+    private static BigDecimal baselineRuleScore(FraudDetectionResult result) {
+        if (result.getRuleResults().isEmpty() || result.getTriggeredRuleResults().isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+        
+        BigDecimal maxRuleScore = result.getMaxRuleScore();
+        BigDecimal score = maxRuleScore;
+        int additionalRules = Math.min(result.getTriggeredRuleCount() - 1, 4);
+        for (int i = 1; i <= additionalRules; i++) {
+            score = score.add(maxRuleScore.multiply(BigDecimal.valueOf(Math.pow(0.5, i - 1) * 0.1)));
+        }
+        return score.min(BigDecimal.valueOf(100));
+    }
+    
+    private static BigDecimal baselineTransactionScore(Transaction transaction) {
+        BigDecimal score = BigDecimal.ZERO;
+        
+        BigDecimal amount = transaction.getAmount();
+        if (amount.compareTo(BigDecimal.valueOf(10000)) > 0) {
+            double amountFactor = Math.min(amount.doubleValue() / 50000, 1.0);
+            score = score.add(BigDecimal.valueOf(30 * amountFactor));
+        }
+        
+        int hour = transaction.getTimestamp().getHour();
+        if (hour >= 23 || hour <= 5) {
+            score = score.add(BigDecimal.valueOf(15));
+        }
+        
+        switch (transaction.getTransactionType()) {
+            case CRYPTOCURRENCY_EXCHANGE -> score = score.add(BigDecimal.valueOf(25));
+            case INTERNATIONAL_TRANSFER, WIRE_TRANSFER -> score = score.add(BigDecimal.valueOf(20));
+            case ONLINE_PAYMENT, MOBILE_PAYMENT -> score = score.add(BigDecimal.valueOf(10));
+            case ATM_WITHDRAWAL -> score = score.add(BigDecimal.valueOf(5));
+            default -> { }
+        }
+        
+        if (!"USD".equals(transaction.getCurrency())) {
+            score = score.add(BigDecimal.valueOf(10));
+        }
+        
+        return score.min(BigDecimal.valueOf(100));
+    }
+    
+    private static Transaction transaction(BigDecimal amount, int hour, TransactionType type, String currency) {
+        Transaction transaction = new Transaction();
+        transaction.setTransactionReference("TX-1");
+        transaction.setAccountId("ACC-1");
+        transaction.setAmount(amount);
+        transaction.setTimestamp(LocalDateTime.of(2025, 3, 14, hour, 30));
+        transaction.setTransactionType(type);
+        transaction.setCurrency(currency);
+        return transaction;
+    }
+    
+    private static RuleResult ruleResult(BigDecimal score, boolean triggered) {
+        return RuleResult.builder()
+            .ruleName("RULE")
+            .triggered(triggered)
+            .score(score)
+            .build();
+    }
+}
@@ -0,0 +1,168 @@
+package com.FraudDetection.FraudDetection.service;
+
+import com.FraudDetection.FraudDetection.entity.Account;
+import com.FraudDetection.FraudDetection.entity.AccountStatus;
+import com.FraudDetection.FraudDetection.entity.AccountType;
+import com.FraudDetection.FraudDetection.entity.Customer;
+import com.FraudDetection.FraudDetection.entity.CustomerStatus;
+import com.FraudDetection.FraudDetection.entity.RiskLevel;
+import com.FraudDetection.FraudDetection.entity.Transaction;
+import com.FraudDetection.FraudDetection.entity.TransactionStatus;
+import com.FraudDetection.FraudDetection.entity.TransactionType;
+import com.FraudDetection.FraudDetection.repository.AccountRepository;
+import com.FraudDetection.FraudDetection.repository.CustomerRepository;
+import com.FraudDetection.FraudDetection.repository.TransactionRepository;
+import com.FraudDetection.FraudDetection.service.metrics.SqlStatementCounts;
+import com.FraudDetection.FraudDetection.service.metrics.SqlStatementReport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fails when processing a transaction starts costing more SQL statements, such as an N+1
+ * query in a rule or in scoring. Audit entries are written synchronously here so their
+ * statements are counted too. Raise a budget only together with the change that needs it.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "spring.datasource.url=jdbc:h2:mem:sql-budget;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false",
+    "fraud.audit.async.enabled=false",
+    "fraud.metrics.sql-statements.enabled=true",
+    "fraud.metrics.sql-statements.include-in-result=true"
+})
+class SqlStatementBudgetTests {
+    
+    // Includes the sequence fetches of the pooled id generators, which only some
+    // transactions pay for
+    private static final int TRANSACTION_BUDGET = 10;
+    private static final int RULE_BUDGET = 4;
+    
+    private static final AtomicInteger ACCOUNTS = new AtomicInteger();
+    
+    @Autowired
+    private FraudDetectionService fraudDetectionService;
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Test
+    void firstTransactionOfAccountStaysWithinBudget() {
+        String accountNumber = createAccount();
+        
+        SqlStatementReport report = process(transaction(accountNumber, LocalDateTime.now()));
+        
+        assertWithinBudget(report);
+    }
+    
+    @Test
+    void statementsDoNotGrowWithAccountHistory() {
+        String quietAccount = createAccount();
+        String busyAccount = createAccount();
+        LocalDateTime now = LocalDateTime.now();
+        
+        List<Transaction> history = new ArrayList<>();
+        for (int i = 1; i <= 40; i++) {
+            history.add(transaction(busyAccount, now.minusMinutes(30L * i)));
+        }
+        transactionRepository.saveAll(history);
+        
+        SqlStatementReport quiet = process(transaction(quietAccount, now));
+        SqlStatementReport busy = process(transaction(busyAccount, now));
+        
+        assertWithinBudget(busy);
+        // Rules only, as sequence fetches depend on the id pool; a first transaction also
+        // looks up the account's last one, so the quiet account may cost more
+        assertTrue(ruleStatements(busy) <= ruleStatements(quiet),
+            "Rule statements grew with history size: " + busy + " vs " + quiet);
+    }
+    
+    private SqlStatementReport process(Transaction transaction) {
+        FraudDetectionResult result = fraudDetectionService.processTransaction(transaction);
+        assertNotNull(result.getSqlStatements(), "Statement counts missing from the result");
+        return result.getSqlStatements();
+    }
+    
+    private static void assertWithinBudget(SqlStatementReport report) {
+        assertTrue(report.total().statements() <= TRANSACTION_BUDGET,
+            "Transaction used " + report.total().statements() + " statements, budget " + TRANSACTION_BUDGET + ": " + report);
+        for (Map.Entry<String, SqlStatementCounts> rule : report.byRule().entrySet()) {
+            assertTrue(rule.getValue().statements() <= RULE_BUDGET,
+                rule.getKey() + " used " + rule.getValue().statements() + " statements, budget " + RULE_BUDGET);
+        }
+    }
+    
+    private static int ruleStatements(SqlStatementReport report) {
+        return report.byRule().values().stream().mapToInt(SqlStatementCounts::statements).sum();
+    }
+    
+    private String createAccount() {
+        int index = ACCOUNTS.incrementAndGet();
+        Customer customer = customerRepository.save(Customer.builder()
+            .customerNumber("BUDGET-" + index)
+            .firstName("Budget")
+            .lastName("Test")
+            .email("budget" + index + "@example.com")
+            .phoneNumber("+1555000" + index)
+            .dateOfBirth(LocalDate.of(1980, 1, 1))
+            .address("1 Main St")
+            .city("New York")
+            .state("NY")
+            .zipCode("10001")
+            .country("USA")
+            .status(CustomerStatus.ACTIVE)
+            .riskLevel(RiskLevel.LOW)
+            .lastLogin(LocalDateTime.now().minusDays(1))
+            .build());
+        
+        return accountRepository.save(Account.builder()
+            .accountNumber("BUDGET-ACC-" + index)
+            .customer(customer)
+            .accountType(AccountType.CHECKING)
+            .balance(BigDecimal.valueOf(5000))
+            .availableBalance(BigDecimal.valueOf(5000))
+            .currency("USD")
+            .status(AccountStatus.ACTIVE)
+            .riskLevel(RiskLevel.LOW)
+            .flaggedForMonitoring(false)
+            .build()).getAccountNumber();
+    }
+    
+    private static Transaction transaction(String accountNumber, LocalDateTime timestamp) {
+        return Transaction.builder()
+            .transactionReference("BUDGET-" + accountNumber + "-" + timestamp)
+            .accountId(accountNumber)
+            .amount(new BigDecimal("25.00"))
+            .currency("USD")
+            .merchantId("MERCH-1")
+            .merchantName("Corner Store")
+            .transactionType(TransactionType.POS_PURCHASE)
+            .status(TransactionStatus.PENDING)
+            .timestamp(timestamp)
+            .location("New York, NY, USA")
+            .ipAddress("10.0.0.1")
+            .userAgent("Terminal")
+            .deviceId("DEV-1")
+            .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.FraudDetection.FraudDetection.service.profile;
+
+import com.FraudDetection.FraudDetection.entity.Account;
+import com.FraudDetection.FraudDetection.entity.Customer;
+import com.FraudDetection.FraudDetection.repository.AccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RiskProfileCacheTests {
+    
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RiskProfileCache cache = new RiskProfileCache(accountRepository, meterRegistry);
+    
+    RiskProfileCacheTests() {
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maximumSize", 100L);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 300L);
+        cache.init();
+        
+        when(accountRepository.findWithCustomerByAccountNumber(anyString())).thenAnswer(invocation -> {
+            String accountNumber = invocation.getArgument(0);
+            Customer customer = new Customer();
+            customer.setId(accountNumber.startsWith("A") ? 1L : 2L);
+            Account account = new Account();
+            account.setAccountNumber(accountNumber);
+            account.setCustomer(customer);
+            return Optional.of(account);
+        });
+    }
+    
+    @Test
+    void customerInvalidationEvictsOnlyThatCustomersAccounts() {
+        cache.get("A-1");
+        cache.get("A-2");
+        cache.get("B-1");
+        
+        cache.invalidateCustomer(1L);
+        
+        cache.get("A-1");
+        cache.get("A-2");
+        cache.get("B-1");
+        verify(accountRepository, times(2)).findWithCustomerByAccountNumber("A-1");
+        verify(accountRepository, times(2)).findWithCustomerByAccountNumber("A-2");
+        verify(accountRepository, times(1)).findWithCustomerByAccountNumber("B-1");
+    }
+    
+    @Test
+    void statisticsArePublishedToMicrometer() {
+        cache.get("A-1");
+        cache.get("A-1");
+        
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "riskProfiles").tag("result", "hit")
+            .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "riskProfiles").tag("result", "miss")
+            .functionCounter().count());
+    }
+}
@@ -0,0 +1,78 @@
+package com.FraudDetection.FraudDetection.service.velocity;
+
+import com.FraudDetection.FraudDetection.entity.Transaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DistinctCounterStoreTests {
+    
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 14, 12, 30);
+    
+    private final DistinctCounterStore store = new DistinctCounterStore(null);
+    
+    DistinctCounterStoreTests() {
+        ReflectionTestUtils.setField(store, "enabled", true);
+        ReflectionTestUtils.setField(store, "precision", 8);
+        ReflectionTestUtils.setField(store, "retentionHours", 24);
+    }
+    
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(PendingTransactions.class);
+    }
+    
+    @Test
+    void pendingDevicesCountUntilCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        PendingTransactions pending = PendingTransactions.current();
+        
+        store.record(transaction("TX-1", "DEV-1"), pending);
+        store.record(transaction("TX-2", "DEV-2"), pending);
+        
+        Transaction current = transaction("TX-3", "DEV-3");
+        assertEquals(3, store.estimate(DistinctFeature.DEVICES_PER_ACCOUNT, current, 24, pending));
+        assertEquals(1, store.estimate(DistinctFeature.DEVICES_PER_ACCOUNT, current, 24, null));
+        
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        
+        assertEquals(3, store.estimate(DistinctFeature.DEVICES_PER_ACCOUNT, current, 24, null));
+    }
+    
+    @Test
+    void rolledBackTransactionsAreNotCounted() {
+        TransactionSynchronizationManager.initSynchronization();
+        PendingTransactions pending = PendingTransactions.current();
+        
+        store.record(transaction("TX-1", "DEV-1"), pending);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        
+        assertEquals(0, store.getTrackedKeyCount(DistinctFeature.DEVICES_PER_ACCOUNT));
+        assertEquals(1, store.estimate(DistinctFeature.DEVICES_PER_ACCOUNT, transaction("TX-2", "DEV-2"), 24, null));
+    }
+    
+    private static void complete(int status) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(status);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+    
+    private static Transaction transaction(String reference, String deviceId) {
+        Transaction transaction = new Transaction();
+        transaction.setTransactionReference(reference);
+        transaction.setAccountId("ACC-1");
+        transaction.setDeviceId(deviceId);
+        transaction.setTimestamp(NOW.minusMinutes(5));
+        return transaction;
+    }
+}
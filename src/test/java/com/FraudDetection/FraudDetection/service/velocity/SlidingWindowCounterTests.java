@@ -0,0 +1,69 @@
+package com.FraudDetection.FraudDetection.service.velocity;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlidingWindowCounterTests {
+    
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 14, 12, 30, 45);
+    
+    @Test
+    void bucketTotalsIncludeBothBoundaryMinutes() {
+        MinuteBuckets buckets = new MinuteBuckets();
+        buckets.add(99, 1, 100, 0);
+        buckets.add(100, 2, 200, 0);
+        buckets.add(110, 4, 400, 0);
+        buckets.add(111, 8, 800, 0);
+        
+        assertEquals(new WindowTotals(6, 600), buckets.totals(100, 110));
+    }
+    
+    @Test
+    void hourlyWindowSpansSixtyMinutes() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(24 * 60);
+        counter.record("ACC-1", NOW, BigDecimal.ONE);
+        counter.record("ACC-1", NOW.minusMinutes(59), BigDecimal.ONE);
+        counter.record("ACC-1", NOW.minusMinutes(60), BigDecimal.ONE);
+        
+        assertEquals(2, counter.totals("ACC-1", NOW, 60).count());
+        assertEquals(200, counter.totals("ACC-1", NOW, 60).amountCents());
+    }
+    
+    @Test
+    void windowStartsAtTheBeginningOfItsFirstMinute() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(24 * 60);
+        LocalDateTime firstMinute = NOW.minusMinutes(59).withSecond(0);
+        counter.record("ACC-1", firstMinute, BigDecimal.ONE);
+        counter.record("ACC-1", firstMinute.minusNanos(1), BigDecimal.ONE);
+        
+        assertEquals(1, counter.totals("ACC-1", NOW, 60).count());
+    }
+    
+    @Test
+    void purgeDropsOnlyIdleKeys() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(60);
+        counter.record("ACC-IDLE", NOW.minusMinutes(120), BigDecimal.ONE);
+        counter.record("ACC-ACTIVE", NOW.minusMinutes(5), BigDecimal.ONE);
+        
+        assertEquals(1, counter.purgeIdle(NOW));
+        assertEquals(1, counter.size());
+        assertEquals(1, counter.totals("ACC-ACTIVE", NOW, 60).count());
+        
+        counter.record("ACC-IDLE", NOW, BigDecimal.ONE);
+        assertEquals(1, counter.totals("ACC-IDLE", NOW, 60).count());
+    }
+    
+    @Test
+    void inWindowMatchesTotals() {
+        assertTrue(SlidingWindowCounter.inWindow(NOW, NOW, 60));
+        assertTrue(SlidingWindowCounter.inWindow(NOW.minusMinutes(59), NOW, 60));
+        assertFalse(SlidingWindowCounter.inWindow(NOW.minusMinutes(60), NOW, 60));
+        assertFalse(SlidingWindowCounter.inWindow(NOW.plusMinutes(1), NOW, 60));
+    }
+}
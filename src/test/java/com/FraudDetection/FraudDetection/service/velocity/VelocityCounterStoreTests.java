@@ -0,0 +1,90 @@
+package com.FraudDetection.FraudDetection.service.velocity;
+
+import com.FraudDetection.FraudDetection.entity.Transaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class VelocityCounterStoreTests {
+    
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 14, 12, 30);
+    
+    private final VelocityCounterStore store = new VelocityCounterStore(null);
+    
+    VelocityCounterStoreTests() {
+        ReflectionTestUtils.setField(store, "enabled", true);
+    }
+    
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(PendingTransactions.class);
+    }
+    
+    @Test
+    void repeatedRecordsOfOneTransactionCountOnce() {
+        TransactionSynchronizationManager.initSynchronization();
+        PendingTransactions pending = PendingTransactions.current();
+        Transaction transaction = transaction("TX-1");
+        
+        store.record(transaction, pending);
+        store.record(transaction, pending);
+        store.record(transaction("TX-2"), pending);
+        
+        assertEquals(2, store.hourlyTotals("ACC-1", NOW, pending).count());
+        assertEquals(0, store.hourlyTotals("ACC-1", NOW, null).count());
+        
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        
+        assertEquals(2, store.hourlyTotals("ACC-1", NOW, null).count());
+    }
+    
+    @Test
+    void rolledBackTransactionsAreNotCounted() {
+        TransactionSynchronizationManager.initSynchronization();
+        PendingTransactions pending = PendingTransactions.current();
+        
+        store.record(transaction("TX-1"), pending);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        
+        assertEquals(0, store.hourlyTotals("ACC-1", NOW, null).count());
+        assertEquals(0, store.dailyTotals("ACC-1", NOW, null).count());
+    }
+    
+    @Test
+    void transactionsScoredBeforeTheWriteCommitWithIt() {
+        PendingTransactions pending = new PendingTransactions();
+        store.record(transaction("TX-1"), pending);
+        
+        TransactionSynchronizationManager.initSynchronization();
+        pending.attach();
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        
+        assertEquals(1, store.hourlyTotals("ACC-1", NOW, null).count());
+    }
+    
+    private static void complete(int status) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(status);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+    
+    private static Transaction transaction(String reference) {
+        Transaction transaction = new Transaction();
+        transaction.setTransactionReference(reference);
+        transaction.setAccountId("ACC-1");
+        transaction.setAmount(new BigDecimal("100.00"));
+        transaction.setTimestamp(NOW.minusMinutes(5));
+        return transaction;
+    }
+}